@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.benchmarks.processing;
+
+import com.google.auto.benchmarks.processing.Measurement.ProcessorMeasurement;
+import com.google.common.collect.ImmutableList;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Accumulates the measurements of a harness run and formats them as JSON, for trend tracking, or as
+ * a one-line summary per measurement, for people.
+ *
+ * <p>The JSON report is an object with the environment ({@code javaVersion}, {@code javaVmName},
+ * {@code timestamp}), the harness settings, and a {@code results} array with one entry per shape
+ * and size. Times are in milliseconds. Each entry describes the compilation with the median time
+ * and has a {@code processors} array with the time and allocation of each processor. Its {@code
+ * iterationMillis} array has the total time of every measured compilation.
+ */
+final class BenchmarkReport {
+  private final boolean procOnly;
+  private final int warmup;
+  private final int iterations;
+  private final String timestamp = Instant.now().toString();
+  private final List<ImmutableList<Measurement>> results = new ArrayList<>();
+
+  BenchmarkReport(boolean procOnly, int warmup, int iterations) {
+    this.procOnly = procOnly;
+    this.warmup = warmup;
+    this.iterations = iterations;
+  }
+
+  /** Adds the measured compilations of one shape and size. */
+  void add(List<Measurement> measurements) {
+    results.add(ImmutableList.copyOf(measurements));
+  }
+
+  String toJson() {
+    StringBuilder json = new StringBuilder();
+    json.append("{\n");
+    json.append("  \"javaVersion\": ").append(quote(System.getProperty("java.version")));
+    json.append(",\n  \"javaVmName\": ").append(quote(System.getProperty("java.vm.name")));
+    json.append(",\n  \"timestamp\": ").append(quote(timestamp));
+    json.append(",\n  \"procOnly\": ").append(procOnly);
+    json.append(",\n  \"warmupIterations\": ").append(warmup);
+    json.append(",\n  \"iterations\": ").append(iterations);
+    json.append(",\n  \"results\": [");
+    String separator = "\n";
+    for (ImmutableList<Measurement> measurements : results) {
+      json.append(separator);
+      appendResult(json, measurements);
+      separator = ",\n";
+    }
+    json.append("\n  ]\n}\n");
+    return json.toString();
+  }
+
+  private static void appendResult(StringBuilder json, ImmutableList<Measurement> measurements) {
+    Measurement m = ProcessingBenchmark.median(measurements);
+    json.append("    {\n");
+    json.append("      \"shape\": ").append(quote(m.shape().name()));
+    json.append(",\n      \"types\": ").append(m.types());
+    json.append(",\n      \"rounds\": ").append(m.rounds());
+    json.append(",\n      \"generatedFiles\": ").append(m.generatedFiles());
+    json.append(",\n      \"millis\": ").append(millis(m.nanos()));
+    json.append(",\n      \"millisPerType\": ").append(millis(m.nanos() / m.types()));
+    json.append(",\n      \"allocatedBytes\": ").append(m.allocatedBytes());
+    json.append(",\n      \"allocatedBytesPerType\": ").append(perType(m.allocatedBytes(), m));
+    json.append(",\n      \"iterationMillis\": [");
+    String separator = "";
+    for (Measurement iteration : measurements) {
+      json.append(separator).append(millis(iteration.nanos()));
+      separator = ", ";
+    }
+    json.append("],\n      \"processors\": [");
+    separator = "\n";
+    for (ProcessorMeasurement p : m.processors()) {
+      json.append(separator);
+      json.append("        {\"name\": ").append(quote(p.name()));
+      json.append(", \"millis\": ").append(millis(p.nanos()));
+      json.append(", \"millisPerType\": ").append(millis(p.nanos() / m.types()));
+      json.append(", \"allocatedBytes\": ").append(p.allocatedBytes());
+      json.append(", \"allocatedBytesPerType\": ").append(perType(p.allocatedBytes(), m));
+      json.append('}');
+      separator = ",\n";
+    }
+    json.append("\n      ]\n    }");
+  }
+
+  /** Returns a line such as {@code AUTO_VALUE x 1000: 3 rounds, 1.234 ms/type, ...}. */
+  static String summary(Measurement m) {
+    StringBuilder summary = new StringBuilder();
+    summary.append(
+        String.format(
+            Locale.ROOT,
+            "%s x %d: %d rounds, %s ms/type, %d bytes/type",
+            m.shape(),
+            m.types(),
+            m.rounds(),
+            millis(m.nanos() / m.types()),
+            perType(m.allocatedBytes(), m)));
+    for (ProcessorMeasurement p : m.processors()) {
+      summary.append(
+          String.format(
+              Locale.ROOT,
+              "; %s %s ms/type, %d bytes/type",
+              p.name(),
+              millis(p.nanos() / m.types()),
+              perType(p.allocatedBytes(), m)));
+    }
+    return summary.toString();
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+  }
+
+  private static long perType(long bytes, Measurement m) {
+    return (bytes < 0) ? -1 : bytes / m.types();
+  }
+
+  private static String quote(String s) {
+    StringBuilder quoted = new StringBuilder("\"");
+    for (char c : s.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        quoted.append('\\').append(c);
+      } else if (c < 0x20) {
+        quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+      } else {
+        quoted.append(c);
+      }
+    }
+    return quoted.append('"').toString();
+  }
+}
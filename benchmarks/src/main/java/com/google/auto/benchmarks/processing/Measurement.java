@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.benchmarks.processing;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+
+/** The result of compiling one set of synthesized sources with the processors under test. */
+@AutoValue
+abstract class Measurement {
+  abstract SourceShape shape();
+
+  /** The number of synthesized types, not counting support types. */
+  abstract int types();
+
+  /** The number of processing rounds, including the final one. */
+  abstract int rounds();
+
+  /** The number of source and resource files that the processors generated. */
+  abstract int generatedFiles();
+
+  /** The time taken by the whole compilation, including parsing and code generation. */
+  abstract long nanos();
+
+  /** The bytes allocated by the whole compilation, or -1 if that could not be measured. */
+  abstract long allocatedBytes();
+
+  /** The measurements for each processor, in the order they were given to javac. */
+  abstract ImmutableList<ProcessorMeasurement> processors();
+
+  static Measurement create(
+      SourceShape shape,
+      int types,
+      int rounds,
+      int generatedFiles,
+      long nanos,
+      long allocatedBytes,
+      ImmutableList<ProcessorMeasurement> processors) {
+    return new AutoValue_Measurement(
+        shape, types, rounds, generatedFiles, nanos, allocatedBytes, processors);
+  }
+
+  /** The time and allocation attributed to one processor during a compilation. */
+  @AutoValue
+  abstract static class ProcessorMeasurement {
+    abstract String name();
+
+    /** The time spent in the processor's {@code init} and {@code process} methods. */
+    abstract long nanos();
+
+    /** The bytes allocated in those methods, or -1 if that could not be measured. */
+    abstract long allocatedBytes();
+
+    static ProcessorMeasurement create(String name, long nanos, long allocatedBytes) {
+      return new AutoValue_Measurement_ProcessorMeasurement(name, nanos, allocatedBytes);
+    }
+  }
+}
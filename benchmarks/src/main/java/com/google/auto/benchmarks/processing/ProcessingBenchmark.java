@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.benchmarks.processing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparingLong;
+
+import com.google.auto.benchmarks.processing.Measurement.ProcessorMeasurement;
+import com.google.auto.factory.processor.AutoFactoryProcessor;
+import com.google.auto.service.processor.AutoServiceProcessor;
+import com.google.auto.value.processor.AutoValueProcessor;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+/**
+ * Measures how long the AutoValue, AutoFactory and AutoService processors take to process
+ * synthesized sources, and how much they allocate, using the same in-process javac as the
+ * compilation tests.
+ *
+ * <p>For each requested {@linkplain SourceShape shape} and number of types, the harness generates
+ * the sources once and then compiles them several times in this JVM, after some warmup
+ * compilations. The report gives the compilation with the median time, with the time and allocation
+ * attributed to each processor, and the total time of every measured compilation so that noisy runs
+ * can be spotted. Options:
+ *
+ * <ul>
+ *   <li>{@code --shapes AUTO_VALUE,MIXED}: the shapes to measure. The default is all of them.
+ *   <li>{@code --sizes 100,1000}: the numbers of types to generate. The default is {@code
+ *       100,1000,10000}.
+ *   <li>{@code --warmup 2}: the number of unmeasured compilations before each measurement.
+ *   <li>{@code --iterations 5}: the number of measured compilations.
+ *   <li>{@code --proc-only}: run javac with {@code -proc:only}, so that no class files are written
+ *       and the total time is dominated by the processors.
+ *   <li>{@code --output report.json}: where to write the JSON report. By default it is written to
+ *       standard output, after the human-readable summary.
+ * </ul>
+ */
+public final class ProcessingBenchmark {
+  private ProcessingBenchmark() {}
+
+  public static void main(String[] args) throws IOException {
+    List<SourceShape> shapes = ImmutableList.copyOf(SourceShape.values());
+    List<Integer> sizes = ImmutableList.of(100, 1_000, 10_000);
+    int warmup = 1;
+    int iterations = 3;
+    boolean procOnly = false;
+    Path output = null;
+    for (int i = 0; i < args.length; i++) {
+      String arg = args[i];
+      switch (arg) {
+        case "--shapes":
+          ImmutableList.Builder<SourceShape> shapesBuilder = ImmutableList.builder();
+          for (String shape : Splitter.on(',').split(args[++i])) {
+            shapesBuilder.add(SourceShape.valueOf(shape.toUpperCase(Locale.ROOT)));
+          }
+          shapes = shapesBuilder.build();
+          break;
+        case "--sizes":
+          ImmutableList.Builder<Integer> sizesBuilder = ImmutableList.builder();
+          for (String size : Splitter.on(',').split(args[++i])) {
+            sizesBuilder.add(Integer.parseInt(size));
+          }
+          sizes = sizesBuilder.build();
+          break;
+        case "--warmup":
+          warmup = Integer.parseInt(args[++i]);
+          break;
+        case "--iterations":
+          iterations = Integer.parseInt(args[++i]);
+          break;
+        case "--proc-only":
+          procOnly = true;
+          break;
+        case "--output":
+          output = Paths.get(args[++i]);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option " + arg);
+      }
+    }
+
+    PrintStream out = System.out;
+    BenchmarkReport report = new BenchmarkReport(procOnly, warmup, iterations);
+    for (SourceShape shape : shapes) {
+      for (int size : sizes) {
+        ImmutableMap<String, String> sources = sources(shape, size);
+        for (int i = 0; i < warmup; i++) {
+          measure(shape, size, sources, procOnly);
+        }
+        List<Measurement> measurements = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+          measurements.add(measure(shape, size, sources, procOnly));
+        }
+        report.add(measurements);
+        out.println(BenchmarkReport.summary(median(measurements)));
+      }
+    }
+    if (output == null) {
+      out.println(report.toJson());
+    } else {
+      if (output.getParent() != null) {
+        Files.createDirectories(output.getParent());
+      }
+      try (Writer writer = Files.newBufferedWriter(output, UTF_8)) {
+        writer.write(report.toJson());
+      }
+      out.println("Wrote " + output);
+    }
+  }
+
+  /**
+   * Returns the sources for {@code types} types of the given shape, plus the support types they
+   * refer to, as a map from fully-qualified type name to source code.
+   */
+  static ImmutableMap<String, String> sources(SourceShape shape, int types) {
+    Map<String, String> sources = new LinkedHashMap<>(SourceShape.supportSources());
+    for (int i = 0; i < types; i++) {
+      shape.addSources(i, sources);
+    }
+    return ImmutableMap.copyOf(sources);
+  }
+
+  /**
+   * Compiles {@code sources} with the processors under test and returns what was measured.
+   *
+   * @throws IllegalStateException if the compilation fails
+   */
+  static Measurement measure(
+      SourceShape shape, int types, ImmutableMap<String, String> sources, boolean procOnly)
+      throws IOException {
+    JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    Path root = Files.createTempDirectory("ProcessingBenchmark");
+    try (StandardJavaFileManager fileManager =
+        javac.getStandardFileManager(diagnostics, Locale.ROOT, UTF_8)) {
+      Path classes = Files.createDirectory(root.resolve("classes"));
+      Path generated = Files.createDirectory(root.resolve("generated"));
+      fileManager.setLocation(
+          StandardLocation.CLASS_OUTPUT, Collections.singleton(classes.toFile()));
+      fileManager.setLocation(
+          StandardLocation.SOURCE_OUTPUT, Collections.singleton(generated.toFile()));
+      List<JavaFileObject> compilationUnits = new ArrayList<>();
+      sources.forEach((name, source) -> compilationUnits.add(new SourceFile(name, source)));
+      List<String> options = new ArrayList<>();
+      options.add("-classpath");
+      options.add(System.getProperty("java.class.path"));
+      if (procOnly) {
+        options.add("-proc:only");
+      }
+
+      RoundCountingProcessor roundCounter = new RoundCountingProcessor();
+      ImmutableList<TimingProcessor> processors =
+          ImmutableList.of(
+              new TimingProcessor(new AutoValueProcessor()),
+              new TimingProcessor(new AutoFactoryProcessor()),
+              new TimingProcessor(new AutoServiceProcessor()));
+      JavaCompiler.CompilationTask task =
+          javac.getTask(null, fileManager, diagnostics, options, null, compilationUnits);
+      task.setProcessors(
+          ImmutableList.<Processor>builder().add(roundCounter).addAll(processors).build());
+
+      long startBytes = TimingProcessor.threadAllocatedBytes();
+      long startNanos = System.nanoTime();
+      boolean success = task.call();
+      long nanos = System.nanoTime() - startNanos;
+      long allocatedBytes =
+          (startBytes < 0) ? -1 : TimingProcessor.threadAllocatedBytes() - startBytes;
+      if (!success) {
+        throw new IllegalStateException("Compilation failed: " + errors(diagnostics));
+      }
+      return Measurement.create(
+          shape,
+          types,
+          roundCounter.rounds(),
+          countFiles(generated) + countFiles(classes.resolve("META-INF")),
+          nanos,
+          allocatedBytes,
+          processors.stream()
+              .map(p -> ProcessorMeasurement.create(p.name(), p.nanos(), p.allocatedBytes()))
+              .collect(ImmutableList.toImmutableList()));
+    } finally {
+      MoreFiles.deleteRecursively(root, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+  }
+
+  static Measurement median(List<Measurement> measurements) {
+    List<Measurement> sorted = new ArrayList<>(measurements);
+    sorted.sort(comparingLong(Measurement::nanos));
+    return sorted.get(sorted.size() / 2);
+  }
+
+  private static String errors(DiagnosticCollector<JavaFileObject> diagnostics) {
+    StringBuilder errors = new StringBuilder();
+    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+      if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+        errors.append('\n').append(diagnostic);
+      }
+    }
+    return errors.toString();
+  }
+
+  private static int countFiles(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return 0;
+    }
+    try (Stream<Path> files = Files.walk(directory)) {
+      return (int) files.filter(Files::isRegularFile).count();
+    }
+  }
+
+  /** A source file whose contents are held in memory. */
+  private static final class SourceFile extends SimpleJavaFileObject {
+    private final String source;
+
+    SourceFile(String typeName, String source) {
+      super(URI.create("string:///" + typeName.replace('.', '/') + ".java"), Kind.SOURCE);
+      this.source = source;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return source;
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.benchmarks.processing;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+
+/**
+ * The kinds of source file that the harness can synthesize. Each constant generates one top-level
+ * type for each index, annotated so that one of the processors under test will handle it. The types
+ * are spread over packages of {@value #TYPES_PER_PACKAGE}, and refer to a small set of shared
+ * {@linkplain #supportSources support types} such as service interfaces.
+ */
+enum SourceShape {
+  /** {@code @AutoValue} classes with a few properties and a static factory method. */
+  AUTO_VALUE {
+    @Override
+    void addSources(int i, Map<String, String> sources) {
+      add(
+          sources,
+          i,
+          "Value" + i,
+          "import com.google.auto.value.AutoValue;\n"
+              + "import java.util.List;\n"
+              + "\n"
+              + "@AutoValue\n"
+              + "public abstract class %1$s {\n"
+              + "  public abstract int id();\n"
+              + "  public abstract String name();\n"
+              + "  public abstract List<String> tags();\n"
+              + "\n"
+              + "  public static %1$s create(int id, String name, List<String> tags) {\n"
+              + "    return new AutoValue_%1$s(id, name, tags);\n"
+              + "  }\n"
+              + "}\n");
+    }
+  },
+
+  /**
+   * {@code @AutoValue} classes with a builder, {@code toBuilder()}, a collection-property builder,
+   * an {@code Optional} property and a {@code @Memoized} method, so that extensions run too.
+   */
+  AUTO_VALUE_BUILDER {
+    @Override
+    void addSources(int i, Map<String, String> sources) {
+      add(
+          sources,
+          i,
+          "Built" + i,
+          "import com.google.auto.value.AutoValue;\n"
+              + "import com.google.auto.value.extension.memoized.Memoized;\n"
+              + "import com.google.common.collect.ImmutableList;\n"
+              + "import java.util.Optional;\n"
+              + "\n"
+              + "@AutoValue\n"
+              + "public abstract class %1$s {\n"
+              + "  public abstract int id();\n"
+              + "  public abstract String name();\n"
+              + "  public abstract Optional<String> description();\n"
+              + "  public abstract ImmutableList<String> tags();\n"
+              + "\n"
+              + "  @Memoized\n"
+              + "  public String summary() {\n"
+              + "    return name() + tags();\n"
+              + "  }\n"
+              + "\n"
+              + "  public abstract Builder toBuilder();\n"
+              + "\n"
+              + "  public static Builder builder() {\n"
+              + "    return new AutoValue_%1$s.Builder();\n"
+              + "  }\n"
+              + "\n"
+              + "  @AutoValue.Builder\n"
+              + "  public abstract static class Builder {\n"
+              + "    public abstract Builder id(int id);\n"
+              + "    public abstract Builder name(String name);\n"
+              + "    public abstract Builder description(String description);\n"
+              + "    public abstract ImmutableList.Builder<String> tagsBuilder();\n"
+              + "    public abstract %1$s build();\n"
+              + "  }\n"
+              + "}\n");
+    }
+  },
+
+  /** {@code @AutoFactory} classes with two constructors that have {@code @Provided} parameters. */
+  AUTO_FACTORY {
+    @Override
+    void addSources(int i, Map<String, String> sources) {
+      add(
+          sources,
+          i,
+          "Made" + i,
+          "import com.google.auto.factory.AutoFactory;\n"
+              + "import com.google.auto.factory.Provided;\n"
+              + "\n"
+              + "@AutoFactory\n"
+              + "public final class %1$s {\n"
+              + "  public %1$s(@Provided %2$s dep, @Provided %3$s otherDep, String name) {}\n"
+              + "\n"
+              + "  public %1$s(@Provided %2$s dep, int size) {}\n"
+              + "}\n",
+          supportName("Dep", i),
+          supportName("Dep", i + 1));
+    }
+  },
+
+  /** {@code @AutoService} providers, each implementing one of the shared service interfaces. */
+  AUTO_SERVICE {
+    @Override
+    void addSources(int i, Map<String, String> sources) {
+      add(
+          sources,
+          i,
+          "Provider" + i,
+          "import com.google.auto.service.AutoService;\n"
+              + "\n"
+              + "@AutoService(%2$s.class)\n"
+              + "public final class %1$s implements %2$s {}\n",
+          supportName("Service", i));
+    }
+  },
+
+  /** An even mix of the other shapes, as a project that uses all three processors might have. */
+  MIXED {
+    @Override
+    void addSources(int i, Map<String, String> sources) {
+      SINGLE_SHAPES[i % SINGLE_SHAPES.length].addSources(i, sources);
+    }
+  };
+
+  static final int TYPES_PER_PACKAGE = 100;
+  private static final int SUPPORT_TYPES = 10;
+  private static final SourceShape[] SINGLE_SHAPES = {
+    AUTO_VALUE, AUTO_VALUE_BUILDER, AUTO_FACTORY, AUTO_SERVICE
+  };
+
+  /**
+   * Adds the source of the type with index {@code i} to {@code sources}, which maps the fully
+   * qualified name of each type to its source code.
+   */
+  abstract void addSources(int i, Map<String, String> sources);
+
+  /**
+   * Returns the sources of the types that the generated types refer to, in the same form as {@link
+   * #addSources}. These are compiled with every shape, but are not counted as types.
+   */
+  static ImmutableMap<String, String> supportSources() {
+    ImmutableMap.Builder<String, String> sources = ImmutableMap.builder();
+    for (int i = 0; i < SUPPORT_TYPES; i++) {
+      sources.put(
+          "bench.support.Dep" + i, "package bench.support; public interface Dep" + i + " {}");
+      sources.put(
+          "bench.support.Service" + i,
+          "package bench.support; public interface Service" + i + " {}");
+    }
+    return sources.buildOrThrow();
+  }
+
+  private static String supportName(String prefix, int i) {
+    return "bench.support." + prefix + (i % SUPPORT_TYPES);
+  }
+
+  /**
+   * Adds a type called {@code simpleName} whose source, after the package declaration, is {@code
+   * template} formatted with {@code simpleName} as the first argument followed by {@code args}.
+   */
+  private static void add(
+      Map<String, String> sources, int i, String simpleName, String template, Object... args) {
+    String packageName = "bench.p" + (i / TYPES_PER_PACKAGE);
+    Object[] formatArgs = new Object[args.length + 1];
+    formatArgs[0] = simpleName;
+    System.arraycopy(args, 0, formatArgs, 1, args.length);
+    sources.put(
+        packageName + "." + simpleName,
+        "package " + packageName + ";\n\n" + String.format(template, formatArgs));
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.benchmarks.processing;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import javax.annotation.processing.Completion;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * A {@link Processor} that forwards to another one, recording how long the delegate spends in
+ * {@link #init} and {@link #process} and how many bytes it allocates there.
+ *
+ * <p>javac calls processors on the thread that is running the compilation, so the allocation is
+ * measured with {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)} for the
+ * current thread. If the JVM does not support that, the allocation is reported as -1.
+ */
+final class TimingProcessor implements Processor {
+  private final Processor delegate;
+  private long nanos;
+  private long allocatedBytes;
+  private int rounds;
+
+  TimingProcessor(Processor delegate) {
+    this.delegate = delegate;
+  }
+
+  /** The simple name of the class of the processor being timed. */
+  String name() {
+    return delegate.getClass().getSimpleName();
+  }
+
+  long nanos() {
+    return nanos;
+  }
+
+  long allocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /** The number of rounds in which javac called the delegate's {@code process} method. */
+  int rounds() {
+    return rounds;
+  }
+
+  @Override
+  public Set<String> getSupportedOptions() {
+    return delegate.getSupportedOptions();
+  }
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return delegate.getSupportedAnnotationTypes();
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return delegate.getSupportedSourceVersion();
+  }
+
+  @Override
+  public void init(ProcessingEnvironment processingEnv) {
+    long startNanos = System.nanoTime();
+    long startBytes = threadAllocatedBytes();
+    try {
+      delegate.init(processingEnv);
+    } finally {
+      record(startNanos, startBytes);
+    }
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    rounds++;
+    long startNanos = System.nanoTime();
+    long startBytes = threadAllocatedBytes();
+    try {
+      return delegate.process(annotations, roundEnv);
+    } finally {
+      record(startNanos, startBytes);
+    }
+  }
+
+  @Override
+  public Iterable<? extends Completion> getCompletions(
+      Element element, AnnotationMirror annotation, ExecutableElement member, String userText) {
+    return delegate.getCompletions(element, annotation, member, userText);
+  }
+
+  private void record(long startNanos, long startBytes) {
+    nanos += System.nanoTime() - startNanos;
+    allocatedBytes = (startBytes < 0) ? -1 : allocatedBytes + threadAllocatedBytes() - startBytes;
+  }
+
+  /**
+   * Returns the number of bytes allocated so far by the current thread, or -1 if the JVM cannot
+   * measure that.
+   */
+  static long threadAllocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+      if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+        return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.benchmarks.processing;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.auto.benchmarks.processing.Measurement.ProcessorMeasurement;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ProcessingBenchmarkTest {
+  @Test
+  public void everyShapeCompiles() throws IOException {
+    for (SourceShape shape : SourceShape.values()) {
+      ImmutableMap<String, String> sources = ProcessingBenchmark.sources(shape, 8);
+      Measurement measurement = ProcessingBenchmark.measure(shape, 8, sources, false);
+      assertThat(measurement.types()).isEqualTo(8);
+      assertThat(measurement.rounds()).isAtLeast(2);
+      assertThat(measurement.generatedFiles()).isGreaterThan(0);
+      assertThat(measurement.nanos()).isGreaterThan(0L);
+    }
+  }
+
+  @Test
+  public void measuresEachProcessor() throws IOException {
+    ImmutableMap<String, String> sources = ProcessingBenchmark.sources(SourceShape.MIXED, 8);
+    Measurement measurement = ProcessingBenchmark.measure(SourceShape.MIXED, 8, sources, true);
+    assertThat(measurement.processors().stream().map(ProcessorMeasurement::name))
+        .containsExactly("AutoValueProcessor", "AutoFactoryProcessor", "AutoServiceProcessor")
+        .inOrder();
+    for (ProcessorMeasurement processor : measurement.processors()) {
+      assertThat(processor.nanos()).isGreaterThan(0L);
+      assertThat(processor.allocatedBytes()).isNotEqualTo(0L);
+    }
+    // 2 simple AutoValue classes, 2 with @Memoized that each get an extra class, 2 factories, and
+    // a service file for each of the 2 services.
+    assertThat(measurement.generatedFiles()).isEqualTo(10);
+  }
+
+  @Test
+  public void jsonReport() throws IOException {
+    ImmutableMap<String, String> sources = ProcessingBenchmark.sources(SourceShape.AUTO_SERVICE, 4);
+    Measurement measurement =
+        ProcessingBenchmark.measure(SourceShape.AUTO_SERVICE, 4, sources, true);
+    BenchmarkReport report = new BenchmarkReport(true, 0, 1);
+    report.add(ImmutableList.of(measurement));
+    String json = report.toJson();
+    assertThat(json).contains("\"procOnly\": true");
+    assertThat(json).contains("\"shape\": \"AUTO_SERVICE\"");
+    assertThat(json).contains("\"types\": 4");
+    assertThat(json).contains("\"rounds\": " + measurement.rounds());
+    assertThat(json).contains("{\"name\": \"AutoServiceProcessor\", \"millis\": ");
+  }
+}
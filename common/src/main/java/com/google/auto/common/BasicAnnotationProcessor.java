@@ -131,6 +131,7 @@ public abstract class BasicAnnotationProcessor extends AbstractProcessor {
 
   private Elements elementUtils;
   private Messager messager;
+  private ProcessingCaches processingCaches;
   private ImmutableList<? extends Step> steps;
 
   @Override
@@ -138,9 +139,20 @@ public abstract class BasicAnnotationProcessor extends AbstractProcessor {
     super.init(processingEnv);
     this.elementUtils = processingEnv.getElementUtils();
     this.messager = processingEnv.getMessager();
+    this.processingCaches = ProcessingCaches.create(processingEnv);
     this.steps = ImmutableList.copyOf(steps());
   }
 
+  /**
+   * Returns lookup caches for this processor's {@link #processingEnv}, which {@linkplain
+   * ProcessingCaches#clear() are cleared} at the start of each round. Steps can use them to avoid
+   * repeating the same lookups for every element they process.
+   */
+  protected final ProcessingCaches processingCaches() {
+    checkState(processingCaches != null);
+    return processingCaches;
+  }
+
   /**
    * Creates {@linkplain ProcessingStep processing steps} for this processor. {@link #processingEnv}
    * is guaranteed to be set when this method is invoked.
@@ -187,7 +199,7 @@ public abstract class BasicAnnotationProcessor extends AbstractProcessor {
 
   private ImmutableSet<TypeElement> getSupportedAnnotationTypeElements(Step step) {
     return step.annotations().stream()
-        .map(elementUtils::getTypeElement)
+        .map(processingCaches::getTypeElement)
         .filter(Objects::nonNull)
         .collect(toImmutableSet());
   }
@@ -208,6 +220,8 @@ public abstract class BasicAnnotationProcessor extends AbstractProcessor {
     checkState(messager != null);
     checkState(steps != null);
 
+    processingCaches.clear();
+
     // If this is the last round, report all of the missing elements if there
     // were no errors raised in the round; otherwise reporting the missing
     // elements just adds noise to the output.
@@ -394,7 +394,7 @@ public final class MoreElements {
     return getLocalAndInheritedMethods(type, new ExplicitOverrides(typeUtils));
   }
 
-  private static ImmutableSet<ExecutableElement> getLocalAndInheritedMethods(
+  static ImmutableSet<ExecutableElement> getLocalAndInheritedMethods(
       TypeElement type, Overrides overrides) {
     PackageElement pkg = getPackage(type);
 
@@ -459,16 +459,16 @@ public final class MoreElements {
     return getAllMethods(type, new ExplicitOverrides(typeUtils));
   }
 
-  private static ImmutableSet<ExecutableElement> getAllMethods(
-      TypeElement type, Overrides overrides) {
+  static ImmutableSet<ExecutableElement> getAllMethods(TypeElement type, Overrides overrides) {
     SetMultimap<String, ExecutableElement> methodMap = LinkedHashMultimap.create();
     getAllMethods(type, methodMap);
     // Find methods that are overridden. We do this using `Elements.overrides`, which means
     // that it is inherently a quadratic operation, since we have to compare every method against
-    // every other method. We reduce the performance impact by (a) grouping methods by name, since
-    // a method cannot override another method with a different name, and (b) making sure that
-    // methods in ancestor types precede those in descendant types, which means we only have to
-    // check a method against the ones that follow it in that order.
+    // every other method. We reduce the performance impact by (a) grouping methods by name and
+    // number of parameters, since a method cannot override another method with a different name or
+    // a different number of parameters, and (b) making sure that methods in ancestor types precede
+    // those in descendant types, which means we only have to check a method against the ones that
+    // follow it in that order.
     Set<ExecutableElement> overridden = new LinkedHashSet<ExecutableElement>();
     for (Collection<ExecutableElement> methods : methodMap.asMap().values()) {
       List<ExecutableElement> methodList = ImmutableList.copyOf(methods);
@@ -491,9 +491,10 @@ public final class MoreElements {
   // Add to `methods` the static and instance methods from `type`. This means all methods from
   // `type` itself and all methods it inherits from its ancestors. This method does not take
   // overriding into account, so it will add both an ancestor method and a descendant method that
-  // overrides it. `methods` is a multimap from a method name to all of the methods with that name,
-  // including methods that override or overload one another. Within those methods, those in
-  // ancestor types always precede those in descendant types.
+  // overrides it. `methods` is a multimap from a method name and number of parameters to all of the
+  // methods with that name and number of parameters, including methods that override or overload
+  // one another. Within those methods, those in ancestor types always precede those in descendant
+  // types.
   private static void getAllMethods(
       TypeElement type, SetMultimap<String, ExecutableElement> methods) {
     for (TypeMirror superInterface : type.getInterfaces()) {
@@ -505,7 +506,7 @@ public final class MoreElements {
       getAllMethods(MoreTypes.asTypeElement(type.getSuperclass()), methods);
     }
     for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
-      methods.put(method.getSimpleName().toString(), method);
+      methods.put(Overrides.nameAndArity(method), method);
     }
   }
 
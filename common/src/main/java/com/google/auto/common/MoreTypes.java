@@ -28,14 +28,17 @@ import com.google.common.base.Equivalence;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import java.util.HashSet;
+import com.google.common.collect.MapMaker;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.Name;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.TypeParameterElement;
 import javax.lang.model.element.VariableElement;
@@ -66,14 +69,36 @@ public final class MoreTypes {
   private static final class TypeEquivalence extends Equivalence<TypeMirror> {
     private static final TypeEquivalence INSTANCE = new TypeEquivalence();
 
+    // The structural hash of a type can be expensive to compute for deeply-nested generic types,
+    // and Equivalence.Wrapper recomputes it every time its hashCode() is called, for example on
+    // every lookup in a HashMap. So we remember the hash of each TypeMirror we have seen. The keys
+    // are weak and compared by identity, so a type that is no longer referenced by the compiler
+    // can be collected, and a stale entry can never be confused with a different type.
+    private final ConcurrentMap<TypeMirror, Integer> hashes = new MapMaker().weakKeys().makeMap();
+
     @Override
     protected boolean doEquivalent(TypeMirror a, TypeMirror b) {
-      return MoreTypes.equal(a, b, ImmutableSet.<ComparedElements>of());
+      // If we already know the hashes of both types, they can only be equivalent if their hashes
+      // are equal. This is typically the case when the types are wrapped as keys in a HashMap.
+      Integer aHash = hashes.get(a);
+      if (aHash != null) {
+        Integer bHash = hashes.get(b);
+        if (bHash != null && !aHash.equals(bHash)) {
+          return false;
+        }
+      }
+      return MoreTypes.equal(a, b);
     }
 
     @Override
     protected int doHash(TypeMirror t) {
-      return MoreTypes.hash(t, ImmutableSet.<Element>of());
+      Integer cached = hashes.get(t);
+      if (cached != null) {
+        return cached;
+      }
+      int hash = MoreTypes.hash(t, Visiting.<Name>empty());
+      hashes.put(t, hash);
+      return hash;
     }
 
     @Override
@@ -96,18 +121,62 @@ public final class MoreTypes {
    *   <li>If you want wildcard types to compare equal if they have the same bounds. {@code
    *       Types.isSameType} never considers wildcards equal, even when comparing a type to itself.
    * </ul>
+   *
+   * <p>The hash code of each {@code TypeMirror} instance is computed only once, so repeatedly
+   * looking up the same types in a set or map of {@linkplain Equivalence#wrap wrapped} types is
+   * cheap.
    */
   public static Equivalence<TypeMirror> equivalence() {
     return TypeEquivalence.INSTANCE;
   }
 
-  // So EQUAL_VISITOR can be a singleton, we maintain visiting state, in particular which types
-  // have been seen already, in this object.
-  // The logic for handling recursive types like Comparable<T extends Comparable<T>> is very tricky.
-  // If we're not careful we'll end up with an infinite recursion. So we record the types that
-  // we've already seen during the recursion, and if we see the same pair of types again we just
-  // return true provisionally. But "the same pair of types" is itself poorly-defined. We can't
-  // just say that it is an equal pair of TypeMirrors, because of course if we knew how to
+  /**
+   * The elements, or pairs of elements, that enclose the part of a type that is currently being
+   * visited. This is an immutable linked list rather than a set, so that adding an element for a
+   * nested type does not copy what is already there. The lists are only as long as the nesting
+   * depth of the type, so searching them linearly is cheap.
+   */
+  private static final class Visiting<T> {
+    private static final Visiting<Object> EMPTY = new Visiting<>(null, null);
+
+    private final @Nullable T head;
+    private final @Nullable Visiting<T> tail;
+
+    private Visiting(@Nullable T head, @Nullable Visiting<T> tail) {
+      this.head = head;
+      this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked") // EMPTY contains no elements, so it is a Visiting<T> for any T.
+    static <T> Visiting<T> empty() {
+      return (Visiting<T>) EMPTY;
+    }
+
+    Visiting<T> plus(T element) {
+      return new Visiting<>(element, this);
+    }
+
+    boolean contains(T element) {
+      for (Visiting<T> v = this; v.tail != null; v = v.tail) {
+        if (element.equals(v.head)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  // We compare types without recursion, by keeping a stack of the pairs of types that still need
+  // to be compared. The EqualVisitor compares the parts of a pair that can be compared directly,
+  // such as their kinds and elements, and pushes the pairs of component types onto the stack.
+  // Two types are equal if every pair that is pushed is equal, so we can stop as soon as we find
+  // one that isn't.
+  // Each pair carries the state of what has been visited on the way to it. The logic for handling
+  // recursive types like Comparable<T extends Comparable<T>> is very tricky.
+  // If we're not careful we'll end up with an infinite loop. So we record the types that
+  // we've already seen on the way to the current pair, and if we see the same pair of types again
+  // we just treat it as equal provisionally. But "the same pair of types" is itself poorly-defined.
+  // We can't just say that it is an equal pair of TypeMirrors, because of course if we knew how to
   // determine that then we wouldn't need the complicated type visitor at all. On the other hand,
   // we can't say that it is an identical pair of TypeMirrors either, because there's no
   // guarantee that the TypeMirrors for the two Ts in Comparable<T extends Comparable<T>> will be
@@ -117,22 +186,65 @@ public final class MoreTypes {
   // approximate by comparing the Elements and, if there are any type arguments, requiring them to
   // be identical. This may not be foolproof either but it is sufficient for all the cases we've
   // encountered so far.
+  private static final class PendingComparison {
+    final @Nullable TypeMirror a;
+    final @Nullable TypeMirror b;
+    final Visiting<ComparedElements> visiting;
+
+    PendingComparison(
+        @Nullable TypeMirror a, @Nullable TypeMirror b, Visiting<ComparedElements> visiting) {
+      this.a = a;
+      this.b = b;
+      this.visiting = visiting;
+    }
+  }
+
   private static final class EqualVisitorParam {
     TypeMirror type;
-    Set<ComparedElements> visiting;
+    Visiting<ComparedElements> visiting;
+    final Deque<PendingComparison> pending = new ArrayDeque<>();
+
+    void push(@Nullable TypeMirror a, @Nullable TypeMirror b, Visiting<ComparedElements> visiting) {
+      pending.push(new PendingComparison(a, b, visiting));
+    }
+
+    /**
+     * Pushes the pairs of corresponding types from the two lists, or returns false if the lists
+     * have different sizes. The pairs are pushed in reverse order so that they are compared from
+     * left to right.
+     */
+    boolean pushLists(
+        List<? extends TypeMirror> a,
+        List<? extends TypeMirror> b,
+        Visiting<ComparedElements> visiting) {
+      int size = a.size();
+      if (size != b.size()) {
+        return false;
+      }
+      if (size == 0) {
+        return true;
+      }
+      // Copy to arrays in case the Lists aren't RandomAccess.
+      TypeMirror[] aArray = a.toArray(new TypeMirror[size]);
+      TypeMirror[] bArray = b.toArray(new TypeMirror[size]);
+      for (int i = size - 1; i >= 0; i--) {
+        push(aArray[i], bArray[i], visiting);
+      }
+      return true;
+    }
   }
 
   private static class ComparedElements {
     final Element a;
-    final ImmutableList<TypeMirror> aArguments;
+    final List<? extends TypeMirror> aArguments;
     final Element b;
-    final ImmutableList<TypeMirror> bArguments;
+    final List<? extends TypeMirror> bArguments;
 
     ComparedElements(
         Element a,
-        ImmutableList<TypeMirror> aArguments,
+        List<? extends TypeMirror> aArguments,
         Element b,
-        ImmutableList<TypeMirror> bArguments) {
+        List<? extends TypeMirror> bArguments) {
       this.a = a;
       this.aArguments = aArguments;
       this.b = b;
@@ -160,33 +272,43 @@ public final class MoreTypes {
       }
 
       /*
-       * The purpose here is just to avoid the infinite recursion that we would otherwise have
+       * The purpose here is just to avoid the infinite loop that we would otherwise have
        * if Enum<E extends Enum<E>> is compared against itself, for example. If we are able to
-       * see that the inner Enum<E> is the same object as the outer one then we don't need a
-       * recursive call to compare the "a" Enum<E> against the "b" Enum<E>. The same-object check
+       * see that the inner Enum<E> is the same object as the outer one then we don't need to
+       * compare the "a" Enum<E> against the "b" Enum<E> again. The same-object check
        * may not be completely justified, but it relies on the practical assumption that the
        * compiler is not going to conjure up an infinite regress of objects to represent this
        * recursive type. Other comparison methods like comparing their toString() are expensive
        * and not warranted.
        */
-      for (int i = 0; i < nArguments; i++) {
-        if (this.aArguments.get(i) != that.aArguments.get(i)) {
-          return false;
-        }
-        if (this.bArguments.get(i) != that.bArguments.get(i)) {
-          return false;
-        }
-      }
-
-      return true;
+      return sameElements(this.aArguments, that.aArguments)
+          && sameElements(this.bArguments, that.bArguments);
     }
 
     @Override
     public int hashCode() {
       return a.hashCode() * 31 + b.hashCode();
     }
+
+    // Use iterators in case the Lists aren't RandomAccess. The lists have the same size.
+    private static boolean sameElements(
+        List<? extends TypeMirror> these, List<? extends TypeMirror> those) {
+      Iterator<? extends TypeMirror> theseIterator = these.iterator();
+      Iterator<? extends TypeMirror> thoseIterator = those.iterator();
+      while (theseIterator.hasNext()) {
+        if (theseIterator.next() != thoseIterator.next()) {
+          return false;
+        }
+      }
+      return true;
+    }
   }
 
+  /**
+   * Compares the two types in {@code p}, except for their component types, which are pushed onto
+   * {@link EqualVisitorParam#pending} to be compared later. Returns false if the types are
+   * definitely not equal.
+   */
   private static final class EqualVisitor extends SimpleTypeVisitor8<Boolean, EqualVisitorParam> {
     private static final EqualVisitor INSTANCE = new EqualVisitor();
 
@@ -199,7 +321,8 @@ public final class MoreTypes {
     public Boolean visitArray(ArrayType a, EqualVisitorParam p) {
       if (p.type.getKind().equals(ARRAY)) {
         ArrayType b = (ArrayType) p.type;
-        return equal(a.getComponentType(), b.getComponentType(), p.visiting);
+        p.push(a.getComponentType(), b.getComponentType(), p.visiting);
+        return true;
       }
       return false;
     }
@@ -210,10 +333,9 @@ public final class MoreTypes {
         DeclaredType b = (DeclaredType) p.type;
         Element aElement = a.asElement();
         Element bElement = b.asElement();
-        Set<ComparedElements> newVisiting =
-            visitingSetPlus(
-                p.visiting, aElement, a.getTypeArguments(), bElement, b.getTypeArguments());
-        if (newVisiting.equals(p.visiting)) {
+        ComparedElements comparedElements =
+            new ComparedElements(aElement, a.getTypeArguments(), bElement, b.getTypeArguments());
+        if (p.visiting.contains(comparedElements)) {
           // We're already visiting this pair of elements.
           // This can happen for example with Enum in Enum<E extends Enum<E>>. Return a
           // provisional true value since if the Elements are not in fact equal the original
@@ -222,9 +344,15 @@ public final class MoreTypes {
           // differs at exactly this point.
           return true;
         }
-        return aElement.equals(bElement)
-            && equal(enclosingType(a), enclosingType(b), newVisiting)
-            && equalLists(a.getTypeArguments(), b.getTypeArguments(), newVisiting);
+        if (!aElement.equals(bElement)) {
+          return false;
+        }
+        Visiting<ComparedElements> newVisiting = p.visiting.plus(comparedElements);
+        if (!p.pushLists(a.getTypeArguments(), b.getTypeArguments(), newVisiting)) {
+          return false;
+        }
+        p.push(enclosingType(a), enclosingType(b), newVisiting);
+        return true;
       }
       return false;
     }
@@ -239,10 +367,13 @@ public final class MoreTypes {
     public Boolean visitExecutable(ExecutableType a, EqualVisitorParam p) {
       if (p.type.getKind().equals(EXECUTABLE)) {
         ExecutableType b = (ExecutableType) p.type;
-        return equalLists(a.getParameterTypes(), b.getParameterTypes(), p.visiting)
-            && equal(a.getReturnType(), b.getReturnType(), p.visiting)
-            && equalLists(a.getThrownTypes(), b.getThrownTypes(), p.visiting)
-            && equalLists(a.getTypeVariables(), b.getTypeVariables(), p.visiting);
+        // The pairs are pushed in reverse order, so the parameter types are compared first.
+        if (!p.pushLists(a.getTypeVariables(), b.getTypeVariables(), p.visiting)
+            || !p.pushLists(a.getThrownTypes(), b.getThrownTypes(), p.visiting)) {
+          return false;
+        }
+        p.push(a.getReturnType(), b.getReturnType(), p.visiting);
+        return p.pushLists(a.getParameterTypes(), b.getParameterTypes(), p.visiting);
       }
       return false;
     }
@@ -251,7 +382,7 @@ public final class MoreTypes {
     public Boolean visitIntersection(IntersectionType a, EqualVisitorParam p) {
       if (p.type.getKind().equals(INTERSECTION)) {
         IntersectionType b = (IntersectionType) p.type;
-        return equalLists(a.getBounds(), b.getBounds(), p.visiting);
+        return p.pushLists(a.getBounds(), b.getBounds(), p.visiting);
       }
       return false;
     }
@@ -262,21 +393,26 @@ public final class MoreTypes {
         TypeVariable b = (TypeVariable) p.type;
         TypeParameterElement aElement = (TypeParameterElement) a.asElement();
         TypeParameterElement bElement = (TypeParameterElement) b.asElement();
-        Set<ComparedElements> newVisiting = visitingSetPlus(p.visiting, aElement, bElement);
-        if (newVisiting.equals(p.visiting)) {
+        ImmutableList<TypeMirror> noArguments = ImmutableList.of();
+        ComparedElements comparedElements =
+            new ComparedElements(aElement, noArguments, bElement, noArguments);
+        if (p.visiting.contains(comparedElements)) {
           // We're already visiting this pair of elements.
           // This can happen with our friend Eclipse when looking at <T extends Comparable<T>>.
           // It incorrectly reports the upper bound of T as T itself.
           return true;
         }
+        if (!aElement.getSimpleName().equals(bElement.getSimpleName())) {
+          return false;
+        }
+        Visiting<ComparedElements> newVisiting = p.visiting.plus(comparedElements);
         // We use aElement.getBounds() instead of a.getUpperBound() to avoid having to deal with
         // the different way intersection types (like <T extends Number & Comparable<T>>) are
         // represented before and after Java 8. We do have an issue that this code may consider
         // that <T extends Foo & Bar> is different from <T extends Bar & Foo>, but it's very
         // hard to avoid that, and not likely to be much of a problem in practice.
-        return equalLists(aElement.getBounds(), bElement.getBounds(), newVisiting)
-            && equal(a.getLowerBound(), b.getLowerBound(), newVisiting)
-            && a.asElement().getSimpleName().equals(b.asElement().getSimpleName());
+        p.push(a.getLowerBound(), b.getLowerBound(), newVisiting);
+        return p.pushLists(aElement.getBounds(), bElement.getBounds(), newVisiting);
       }
       return false;
     }
@@ -285,8 +421,9 @@ public final class MoreTypes {
     public Boolean visitWildcard(WildcardType a, EqualVisitorParam p) {
       if (p.type.getKind().equals(WILDCARD)) {
         WildcardType b = (WildcardType) p.type;
-        return equal(a.getExtendsBound(), b.getExtendsBound(), p.visiting)
-            && equal(a.getSuperBound(), b.getSuperBound(), p.visiting);
+        p.push(a.getSuperBound(), b.getSuperBound(), p.visiting);
+        p.push(a.getExtendsBound(), b.getExtendsBound(), p.visiting);
+        return true;
       }
       return false;
     }
@@ -295,32 +432,30 @@ public final class MoreTypes {
     public Boolean visitUnknown(TypeMirror a, EqualVisitorParam p) {
       throw new UnsupportedOperationException();
     }
+  }
 
-    private Set<ComparedElements> visitingSetPlus(
-        Set<ComparedElements> visiting, Element a, Element b) {
-      ImmutableList<TypeMirror> noArguments = ImmutableList.of();
-      return visitingSetPlus(visiting, a, noArguments, b, noArguments);
-    }
-
-    private Set<ComparedElements> visitingSetPlus(
-        Set<ComparedElements> visiting,
-        Element a,
-        List<? extends TypeMirror> aArguments,
-        Element b,
-        List<? extends TypeMirror> bArguments) {
-      ComparedElements comparedElements =
-          new ComparedElements(
-              a, ImmutableList.<TypeMirror>copyOf(aArguments),
-              b, ImmutableList.<TypeMirror>copyOf(bArguments));
-      Set<ComparedElements> newVisiting = new HashSet<ComparedElements>(visiting);
-      newVisiting.add(comparedElements);
-      return newVisiting;
+  private static boolean equal(TypeMirror a, TypeMirror b) {
+    EqualVisitorParam p = new EqualVisitorParam();
+    p.push(a, b, Visiting.<ComparedElements>empty());
+    while (!p.pending.isEmpty()) {
+      PendingComparison next = p.pending.pop();
+      if (!shallowEqual(next.a, next.b, next.visiting, p)) {
+        return false;
+      }
     }
+    return true;
   }
 
+  /**
+   * Compares the given types, except for their component types, which are pushed onto {@code
+   * p.pending}.
+   */
   @SuppressWarnings("TypeEquals")
-  private static boolean equal(
-      @Nullable TypeMirror a, @Nullable TypeMirror b, Set<ComparedElements> visiting) {
+  private static boolean shallowEqual(
+      @Nullable TypeMirror a,
+      @Nullable TypeMirror b,
+      Visiting<ComparedElements> visiting,
+      EqualVisitorParam p) {
     if (a == b) {
       return true;
     }
@@ -329,7 +464,7 @@ public final class MoreTypes {
     }
     // TypeMirror.equals is not guaranteed to return true for types that are equal, but we can
     // assume that if it does return true then the types are equal. This check also avoids getting
-    // stuck in infinite recursion when Eclipse decrees that the upper bound of the second K in
+    // stuck in an infinite loop when Eclipse decrees that the upper bound of the second K in
     // <K extends Comparable<K>> is a distinct but equal K.
     // The javac implementation of ExecutableType, at least in some versions, does not take thrown
     // exceptions into account in its equals implementation, so avoid this optimization for
@@ -339,7 +474,6 @@ public final class MoreTypes {
     if (equal && a.getKind() != TypeKind.EXECUTABLE) {
       return true;
     }
-    EqualVisitorParam p = new EqualVisitorParam();
     p.type = b;
     p.visiting = visiting;
     return a.accept(EqualVisitor.INSTANCE, p);
@@ -361,30 +495,10 @@ public final class MoreTypes {
     return enclosing;
   }
 
-  private static boolean equalLists(
-      List<? extends TypeMirror> a, List<? extends TypeMirror> b, Set<ComparedElements> visiting) {
-    int size = a.size();
-    if (size != b.size()) {
-      return false;
-    }
-    // Use iterators in case the Lists aren't RandomAccess
-    Iterator<? extends TypeMirror> aIterator = a.iterator();
-    Iterator<? extends TypeMirror> bIterator = b.iterator();
-    while (aIterator.hasNext()) {
-      // We checked that the lists have the same size, so we know that bIterator.hasNext() too.
-      TypeMirror nextMirrorA = aIterator.next();
-      TypeMirror nextMirrorB = bIterator.next();
-      if (!equal(nextMirrorA, nextMirrorB, visiting)) {
-        return false;
-      }
-    }
-    return true;
-  }
-
   private static final int HASH_SEED = 17;
   private static final int HASH_MULTIPLIER = 31;
 
-  private static final class HashVisitor extends SimpleTypeVisitor8<Integer, Set<Element>> {
+  private static final class HashVisitor extends SimpleTypeVisitor8<Integer, Visiting<Name>> {
     private static final HashVisitor INSTANCE = new HashVisitor();
 
     int hashKind(int seed, TypeMirror t) {
@@ -394,12 +508,12 @@ public final class MoreTypes {
     }
 
     @Override
-    protected Integer defaultAction(TypeMirror e, Set<Element> visiting) {
+    protected Integer defaultAction(TypeMirror e, Visiting<Name> visiting) {
       return hashKind(HASH_SEED, e);
     }
 
     @Override
-    public Integer visitArray(ArrayType t, Set<Element> visiting) {
+    public Integer visitArray(ArrayType t, Visiting<Name> visiting) {
       int result = hashKind(HASH_SEED, t);
       result *= HASH_MULTIPLIER;
       result += t.getComponentType().accept(this, visiting);
@@ -407,25 +521,19 @@ public final class MoreTypes {
     }
 
     @Override
-    public Integer visitDeclared(DeclaredType t, Set<Element> visiting) {
-      Element element = t.asElement();
-      if (visiting.contains(element)) {
-        return 0;
-      }
-      Set<Element> newVisiting = new HashSet<Element>(visiting);
-      newVisiting.add(element);
+    public Integer visitDeclared(DeclaredType t, Visiting<Name> visiting) {
       int result = hashKind(HASH_SEED, t);
       result *= HASH_MULTIPLIER;
       result += t.asElement().hashCode();
       result *= HASH_MULTIPLIER;
-      result += t.getEnclosingType().accept(this, newVisiting);
+      result += t.getEnclosingType().accept(this, visiting);
       result *= HASH_MULTIPLIER;
-      result += hashList(t.getTypeArguments(), newVisiting);
+      result += hashList(t.getTypeArguments(), visiting);
       return result;
     }
 
     @Override
-    public Integer visitExecutable(ExecutableType t, Set<Element> visiting) {
+    public Integer visitExecutable(ExecutableType t, Visiting<Name> visiting) {
       int result = hashKind(HASH_SEED, t);
       result *= HASH_MULTIPLIER;
       result += hashList(t.getParameterTypes(), visiting);
@@ -439,20 +547,34 @@ public final class MoreTypes {
     }
 
     @Override
-    public Integer visitTypeVariable(TypeVariable t, Set<Element> visiting) {
+    public Integer visitTypeVariable(TypeVariable t, Visiting<Name> visiting) {
+      // A type can only refer to itself through the bounds of a type variable, as in
+      // Enum<E extends Enum<E>>. So this is the only place where we need to check whether we are
+      // already visiting something. Checking declared types too would mean that all types like
+      // List<List<List<...>>> had the same hash code.
+      // We check the name of the type variable rather than its element. EqualVisitor considers
+      // distinct type variables equal if they have the same names and bounds, and it checks the
+      // names along the way, so two equal types reach a repeated name at the same point even if
+      // their type variables are different objects. Cutting at repeated elements could stop at
+      // different points in the two types, and give them different hashes.
+      TypeParameterElement element = (TypeParameterElement) t.asElement();
+      Name name = element.getSimpleName();
+      if (visiting.contains(name)) {
+        return 0;
+      }
+      Visiting<Name> newVisiting = visiting.plus(name);
       int result = hashKind(HASH_SEED, t);
       result *= HASH_MULTIPLIER;
-      result += t.getLowerBound().accept(this, visiting);
-      TypeParameterElement element = (TypeParameterElement) t.asElement();
+      result += t.getLowerBound().accept(this, newVisiting);
       for (TypeMirror bound : element.getBounds()) {
         result *= HASH_MULTIPLIER;
-        result += bound.accept(this, visiting);
+        result += bound.accept(this, newVisiting);
       }
       return result;
     }
 
     @Override
-    public Integer visitWildcard(WildcardType t, Set<Element> visiting) {
+    public Integer visitWildcard(WildcardType t, Visiting<Name> visiting) {
       int result = hashKind(HASH_SEED, t);
       result *= HASH_MULTIPLIER;
       result += (t.getExtendsBound() == null) ? 0 : t.getExtendsBound().accept(this, visiting);
@@ -462,12 +584,12 @@ public final class MoreTypes {
     }
 
     @Override
-    public Integer visitUnknown(TypeMirror t, Set<Element> visiting) {
+    public Integer visitUnknown(TypeMirror t, Visiting<Name> visiting) {
       throw new UnsupportedOperationException();
     }
   }
 
-  private static int hashList(List<? extends TypeMirror> mirrors, Set<Element> visiting) {
+  private static int hashList(List<? extends TypeMirror> mirrors, Visiting<Name> visiting) {
     int result = HASH_SEED;
     for (TypeMirror mirror : mirrors) {
       result *= HASH_MULTIPLIER;
@@ -476,7 +598,7 @@ public final class MoreTypes {
     return result;
   }
 
-  private static int hash(TypeMirror mirror, Set<Element> visiting) {
+  private static int hash(TypeMirror mirror, Visiting<Name> visiting) {
     return mirror == null ? 0 : mirror.accept(HashVisitor.INSTANCE, visiting);
   }
 
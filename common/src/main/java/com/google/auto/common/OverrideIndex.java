@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.common;
+
+import com.google.common.collect.ImmutableSet;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Types;
+
+/**
+ * A reusable version of {@link MoreElements#getLocalAndInheritedMethods(TypeElement, Types,
+ * javax.lang.model.util.Elements)} and related methods, for processors that look at many types.
+ *
+ * <p>Working out which methods override which others involves computing erasures, subtype
+ * relations, and the bindings of type variables between a type and each of its ancestors. An {@code
+ * OverrideIndex} remembers all of these, so when several types share the same ancestors, as is
+ * typical for value types that implement the same wide interfaces or extend the same generated base
+ * classes, the work for those ancestors is only done once. The static methods in {@link
+ * MoreElements} use a new index for each call.
+ *
+ * <p>An {@code OverrideIndex} holds on to {@link TypeElement} and {@link
+ * javax.lang.model.type.TypeMirror} objects, which are only valid during the processing round in
+ * which they were obtained. So a new index should be created for each round, for example at the
+ * start of {@link javax.annotation.processing.Processor#process process}, and it should not be
+ * shared between threads.
+ */
+public final class OverrideIndex {
+  private final Overrides.ExplicitOverrides overrides;
+
+  private OverrideIndex(Types typeUtils) {
+    this.overrides = new Overrides.ExplicitOverrides(typeUtils);
+  }
+
+  /**
+   * Returns a new, empty index.
+   *
+   * @param typeUtils a {@link Types} object, typically returned by {@link
+   *     javax.annotation.processing.AbstractProcessor#processingEnv processingEnv}.{@link
+   *     javax.annotation.processing.ProcessingEnvironment#getTypeUtils getTypeUtils()}
+   */
+  public static OverrideIndex create(Types typeUtils) {
+    return new OverrideIndex(typeUtils);
+  }
+
+  /**
+   * Returns the same result as {@link MoreElements#getLocalAndInheritedMethods(TypeElement, Types,
+   * javax.lang.model.util.Elements)}.
+   */
+  public ImmutableSet<ExecutableElement> getLocalAndInheritedMethods(TypeElement type) {
+    return MoreElements.getLocalAndInheritedMethods(type, overrides);
+  }
+
+  /**
+   * Returns the same result as {@link MoreElements#getAllMethods(TypeElement, Types,
+   * javax.lang.model.util.Elements)}.
+   */
+  public ImmutableSet<ExecutableElement> getAllMethods(TypeElement type) {
+    return MoreElements.getAllMethods(type, overrides);
+  }
+
+  /**
+   * Returns the same result as {@link MoreElements#overrides(ExecutableElement, ExecutableElement,
+   * TypeElement, Types)}.
+   */
+  public boolean overrides(
+      ExecutableElement overrider, ExecutableElement overridden, TypeElement type) {
+    return overrides.overrides(overrider, overridden, type);
+  }
+}
@@ -15,17 +15,25 @@
  */
 package com.google.auto.common;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
+import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.Table;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
@@ -59,6 +67,14 @@ abstract class Overrides {
   abstract boolean overrides(
       ExecutableElement overrider, ExecutableElement overridden, TypeElement in);
 
+  /**
+   * A key that is the same for any two methods where one might override the other. Methods with
+   * different names or different numbers of parameters can never override each other.
+   */
+  static String nameAndArity(ExecutableElement method) {
+    return method.getSimpleName() + "/" + method.getParameters().size();
+  }
+
   static class NativeOverrides extends Overrides {
     private final Elements elementUtils;
 
@@ -72,9 +88,52 @@ abstract class Overrides {
     }
   }
 
+  /**
+   * Reimplementation of {@link Elements#overrides}. An instance remembers the intermediate results
+   * that are likely to be needed again when comparing other pairs of methods in the same type
+   * hierarchy: erased types, subtype relations, the types of methods as members of a given type,
+   * and the type variable bindings between a type and each of its ancestors. This means that an
+   * instance must not be used after the end of the processing round in which it was created.
+   */
   static class ExplicitOverrides extends Overrides {
     private final Types typeUtils;
 
+    /** The erasure of {@code t.asType()} for each type {@code t}. */
+    private final Map<TypeElement, TypeMirror> erasures = new HashMap<>();
+
+    /** Whether the erasure of the row type is a subtype of the erasure of the column type. */
+    private final Table<TypeElement, TypeElement, Boolean> erasedSubtypes = HashBasedTable.create();
+
+    /**
+     * The result of {@code typeUtils.asMemberOf(in.asType(), method)}, or empty if that threw
+     * {@link IllegalArgumentException}. The rows are the {@code in} types.
+     */
+    private final Table<TypeElement, ExecutableElement, Optional<ExecutableType>> memberTypes =
+        HashBasedTable.create();
+
+    /**
+     * The bindings of the type variables of each ancestor (the column) as seen from a descendant
+     * (the row), or empty if the column type is not in fact an ancestor of the row type.
+     */
+    private final Table<
+            TypeElement, TypeElement, Optional<ImmutableMap<TypeParameterElement, TypeMirror>>>
+        typeBindingsCache = HashBasedTable.create();
+
+    /** The result of {@link #erasedParameterTypes} for each method (row) and type (column). */
+    private final Table<ExecutableElement, TypeElement, Optional<ImmutableList<TypeMirror>>>
+        erasedParameterTypesCache = HashBasedTable.create();
+
+    /** The erased parameter types of each method, as it is declared. */
+    private final Map<ExecutableElement, ImmutableList<TypeMirror>>
+        declaredErasedParameterTypesCache = new HashMap<>();
+
+    /**
+     * For each type, its declared methods indexed by {@link #nameAndArity}. This means we don't
+     * have to scan every method of the type when looking for the one that matches another.
+     */
+    private final Map<TypeElement, ImmutableListMultimap<String, ExecutableElement>> methodIndexes =
+        new HashMap<>();
+
     ExplicitOverrides(Types typeUtils) {
       this.typeUtils = typeUtils;
     }
@@ -138,8 +197,7 @@ abstract class Overrides {
       // not a subtype of the one we get for Collection<E> since the two E instances are not the
       // same. For the purposes of overriding, type parameters in the containing type should not
       // matter because if the code compiles at all then they must be consistent.
-      if (!typeUtils.isSubtype(
-          typeUtils.erasure(in.asType()), typeUtils.erasure(overriddenType.asType()))) {
+      if (!isErasedSubtype(in, overriddenType)) {
         return false;
       }
       if (in.getKind().isClass()) {
@@ -186,27 +244,54 @@ abstract class Overrides {
         // except that `overrider` must also be in a subinterface of `overridden`.
         // If this is not an interface then we don't know what it is so we say no.
         TypeElement overriderType = MoreElements.asType(overrider.getEnclosingElement());
-        return in.getKind().isInterface()
-            && typeUtils.isSubtype(
-                typeUtils.erasure(overriderType.asType()),
-                typeUtils.erasure(overriddenType.asType()));
+        return in.getKind().isInterface() && isErasedSubtype(overriderType, overriddenType);
+      }
+    }
+
+    private TypeMirror erasure(TypeElement type) {
+      TypeMirror erasure = erasures.get(type);
+      if (erasure == null) {
+        erasure = typeUtils.erasure(type.asType());
+        erasures.put(type, erasure);
+      }
+      return erasure;
+    }
+
+    private boolean isErasedSubtype(TypeElement subtype, TypeElement supertype) {
+      Boolean isSubtype = erasedSubtypes.get(subtype, supertype);
+      if (isSubtype == null) {
+        isSubtype = typeUtils.isSubtype(erasure(subtype), erasure(supertype));
+        erasedSubtypes.put(subtype, supertype, isSubtype);
       }
+      return isSubtype;
+    }
+
+    private Optional<ExecutableType> memberType(TypeElement in, ExecutableElement method) {
+      Optional<ExecutableType> memberType = memberTypes.get(in, method);
+      if (memberType == null) {
+        DeclaredType inType = MoreTypes.asDeclared(in.asType());
+        try {
+          memberType = Optional.of(MoreTypes.asExecutable(typeUtils.asMemberOf(inType, method)));
+        } catch (IllegalArgumentException e) {
+          memberType = Optional.empty();
+        }
+        memberTypes.put(in, method, memberType);
+      }
+      return memberType;
     }
 
     private boolean isSubsignature(
         ExecutableElement overrider, ExecutableElement overridden, TypeElement in) {
-      DeclaredType inType = MoreTypes.asDeclared(in.asType());
-      try {
-        ExecutableType overriderExecutable =
-            MoreTypes.asExecutable(typeUtils.asMemberOf(inType, overrider));
-        ExecutableType overriddenExecutable =
-            MoreTypes.asExecutable(typeUtils.asMemberOf(inType, overridden));
-        return typeUtils.isSubsignature(overriderExecutable, overriddenExecutable);
-      } catch (IllegalArgumentException e) {
-        // This might mean that at least one of the methods is not in fact declared in or inherited
-        // by `in` (in which case we should indeed return false); or it might mean that we are
-        // tickling an Eclipse bug such as https://bugs.eclipse.org/bugs/show_bug.cgi?id=499026
-        // (in which case we fall back on explicit code to find the parameters).
+      Optional<ExecutableType> overriderExecutable = memberType(in, overrider);
+      Optional<ExecutableType> overriddenExecutable = memberType(in, overridden);
+      if (overriderExecutable.isPresent() && overriddenExecutable.isPresent()) {
+        return typeUtils.isSubsignature(overriderExecutable.get(), overriddenExecutable.get());
+      } else {
+        // asMemberOf threw IllegalArgumentException. This might mean that at least one of the
+        // methods is not in fact declared in or inherited by `in` (in which case we should indeed
+        // return false); or it might mean that we are tickling an Eclipse bug such as
+        // https://bugs.eclipse.org/bugs/show_bug.cgi?id=499026 (in which case we fall back on
+        // explicit code to find the parameters).
         int nParams = overrider.getParameters().size();
         if (overridden.getParameters().size() != nParams) {
           return false;
@@ -241,7 +326,86 @@ abstract class Overrides {
       if (method.getParameters().isEmpty()) {
         return ImmutableList.of();
       }
-      return new TypeSubstVisitor().erasedParameterTypes(method, in);
+      Optional<ImmutableList<TypeMirror>> params = erasedParameterTypesCache.get(method, in);
+      if (params == null) {
+        params = Optional.ofNullable(computeErasedParameterTypes(method, in));
+        erasedParameterTypesCache.put(method, in, params);
+      }
+      return params.orElse(null);
+    }
+
+    private @Nullable ImmutableList<TypeMirror> computeErasedParameterTypes(
+        ExecutableElement method, TypeElement in) {
+      if (!MoreElements.isType(method.getEnclosingElement())) {
+        return null;
+      }
+      TypeElement methodContainer = MoreElements.asType(method.getEnclosingElement());
+      Optional<ImmutableMap<TypeParameterElement, TypeMirror>> bindings =
+          typeBindings(in, methodContainer);
+      if (!bindings.isPresent()) {
+        return null;
+      }
+      TypeSubstVisitor visitor = new TypeSubstVisitor(bindings.get());
+      ImmutableList.Builder<TypeMirror> params = ImmutableList.builder();
+      for (VariableElement param : method.getParameters()) {
+        params.add(typeUtils.erasure(visitor.visit(param.asType())));
+      }
+      return params.build();
+    }
+
+    /**
+     * Returns the bindings of the type variables of every type on the path from {@code in} up to
+     * its ancestor {@code ancestor}, or empty if there is no such path. If {@code in} has several
+     * paths to {@code ancestor}, for example both through its superclass and through one of its
+     * interfaces, then we use the first one, preferring the superclass, then the interfaces in
+     * order. This is the same regardless of which method we are interested in, so when one type
+     * inherits many methods from the same ancestor we only compute it once.
+     */
+    private Optional<ImmutableMap<TypeParameterElement, TypeMirror>> typeBindings(
+        TypeElement in, TypeElement ancestor) {
+      Optional<ImmutableMap<TypeParameterElement, TypeMirror>> bindings =
+          typeBindingsCache.get(in, ancestor);
+      if (bindings == null) {
+        bindings = computeTypeBindings(in, ancestor);
+        typeBindingsCache.put(in, ancestor, bindings);
+      }
+      return bindings;
+    }
+
+    private Optional<ImmutableMap<TypeParameterElement, TypeMirror>> computeTypeBindings(
+        TypeElement in, TypeElement ancestor) {
+      if (in.equals(ancestor)) {
+        return Optional.of(ImmutableMap.of());
+      }
+      // Make a list of supertypes we are going to visit recursively: the superclass, if there
+      // is one, plus the superinterfaces.
+      List<TypeMirror> supers = Lists.newArrayList();
+      if (in.getSuperclass().getKind() == TypeKind.DECLARED) {
+        supers.add(in.getSuperclass());
+      }
+      supers.addAll(in.getInterfaces());
+      for (TypeMirror supertype : supers) {
+        DeclaredType declared = MoreTypes.asDeclared(supertype);
+        TypeElement element = MoreElements.asType(declared.asElement());
+        Optional<ImmutableMap<TypeParameterElement, TypeMirror>> fromSuper =
+            typeBindings(element, ancestor);
+        if (fromSuper.isPresent()) {
+          List<? extends TypeMirror> actuals = declared.getTypeArguments();
+          List<? extends TypeParameterElement> formals = element.getTypeParameters();
+          if (actuals.isEmpty()) {
+            // Either the formal type arguments are also empty or `declared` is raw.
+            actuals = formals.stream().map(t -> t.getBounds().get(0)).collect(toList());
+          }
+          Verify.verify(actuals.size() == formals.size());
+          Map<TypeParameterElement, TypeMirror> bindings = new LinkedHashMap<>();
+          for (int i = 0; i < actuals.size(); i++) {
+            bindings.put(formals.get(i), actuals.get(i));
+          }
+          bindings.putAll(fromSuper.get());
+          return Optional.of(ImmutableMap.copyOf(bindings));
+        }
+      }
+      return Optional.empty();
     }
 
     /**
@@ -256,12 +420,12 @@ abstract class Overrides {
      */
     private class TypeSubstVisitor extends SimpleTypeVisitor8<TypeMirror, Void> {
       /**
-       * The bindings of type variables. We can put them all in one map because E in {@code List<E>}
-       * is not the same as E in {@code Collection<E>}. As we ascend the type hierarchy we'll add
-       * mappings for all the variables we see. We could equivalently create a new map for each type
-       * we visit, but this is slightly simpler and probably about as performant.
+       * The bindings of type variables. They can all be in one map because E in {@code List<E>} is
+       * not the same as E in {@code Collection<E>}. This is the result of {@link
+       * ExplicitOverrides#typeBindings} for the type we are looking at and the type containing the
+       * method we are interested in.
        */
-      private final Map<TypeParameterElement, TypeMirror> typeBindings = Maps.newLinkedHashMap();
+      private final Map<TypeParameterElement, TypeMirror> typeBindings;
 
       /**
        * Type elements that we are currently visiting. This helps us stay out of trouble when
@@ -270,41 +434,8 @@ abstract class Overrides {
        */
       private final Set<TypeElement> visitingTypes = new LinkedHashSet<>();
 
-      @Nullable ImmutableList<TypeMirror> erasedParameterTypes(
-          ExecutableElement method, TypeElement in) {
-        if (method.getEnclosingElement().equals(in)) {
-          ImmutableList.Builder<TypeMirror> params = ImmutableList.builder();
-          for (VariableElement param : method.getParameters()) {
-            params.add(typeUtils.erasure(visit(param.asType())));
-          }
-          return params.build();
-        }
-        // Make a list of supertypes we are going to visit recursively: the superclass, if there
-        // is one, plus the superinterfaces.
-        List<TypeMirror> supers = Lists.newArrayList();
-        if (in.getSuperclass().getKind() == TypeKind.DECLARED) {
-          supers.add(in.getSuperclass());
-        }
-        supers.addAll(in.getInterfaces());
-        for (TypeMirror supertype : supers) {
-          DeclaredType declared = MoreTypes.asDeclared(supertype);
-          TypeElement element = MoreElements.asType(declared.asElement());
-          List<? extends TypeMirror> actuals = declared.getTypeArguments();
-          List<? extends TypeParameterElement> formals = element.getTypeParameters();
-          if (actuals.isEmpty()) {
-            // Either the formal type arguments are also empty or `declared` is raw.
-            actuals = formals.stream().map(t -> t.getBounds().get(0)).collect(toList());
-          }
-          Verify.verify(actuals.size() == formals.size());
-          for (int i = 0; i < actuals.size(); i++) {
-            typeBindings.put(formals.get(i), actuals.get(i));
-          }
-          ImmutableList<TypeMirror> params = erasedParameterTypes(method, element);
-          if (params != null) {
-            return params;
-          }
-        }
-        return null;
+      TypeSubstVisitor(Map<TypeParameterElement, TypeMirror> typeBindings) {
+        this.typeBindings = typeBindings;
       }
 
       @Override
@@ -415,21 +546,41 @@ abstract class Overrides {
         return null;
       }
       methods:
-      for (ExecutableElement tMethod : ElementFilter.methodsIn(type.getEnclosedElements())) {
-        if (tMethod.getSimpleName().equals(method.getSimpleName())
-            && tMethod.getParameters().size() == nParams) {
-          for (int i = 0; i < nParams; i++) {
-            TypeMirror tParamType = typeUtils.erasure(tMethod.getParameters().get(i).asType());
-            if (!typeUtils.isSameType(params.get(i), tParamType)) {
-              continue methods;
-            }
+      for (ExecutableElement tMethod : methodIndex(type).get(nameAndArity(method))) {
+        List<TypeMirror> tParams = declaredErasedParameterTypes(tMethod);
+        for (int i = 0; i < nParams; i++) {
+          if (!typeUtils.isSameType(params.get(i), tParams.get(i))) {
+            continue methods;
           }
-          return tMethod;
         }
+        return tMethod;
       }
       return null;
     }
 
+    private ImmutableListMultimap<String, ExecutableElement> methodIndex(TypeElement type) {
+      ImmutableListMultimap<String, ExecutableElement> index = methodIndexes.get(type);
+      if (index == null) {
+        index =
+            Multimaps.index(
+                ElementFilter.methodsIn(type.getEnclosedElements()), Overrides::nameAndArity);
+        methodIndexes.put(type, index);
+      }
+      return index;
+    }
+
+    private ImmutableList<TypeMirror> declaredErasedParameterTypes(ExecutableElement method) {
+      ImmutableList<TypeMirror> params = declaredErasedParameterTypesCache.get(method);
+      if (params == null) {
+        params =
+            method.getParameters().stream()
+                .map(p -> typeUtils.erasure(p.asType()))
+                .collect(toImmutableList());
+        declaredErasedParameterTypesCache.put(method, params);
+      }
+      return params;
+    }
+
     private @Nullable TypeElement superclass(TypeElement type) {
       TypeMirror sup = type.getSuperclass();
       if (sup.getKind() == TypeKind.DECLARED) {
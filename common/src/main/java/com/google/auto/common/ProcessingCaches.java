@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.common;
+
+import com.google.common.collect.Maps;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Remembers the results of {@link Elements} and {@link Types} lookups that annotation processors
+ * tend to repeat many times in the same round. Typical examples are looking up the {@link
+ * TypeElement} for a well-known class such as {@code java.lang.Object} or {@code
+ * com.google.common.collect.ImmutableList} every time a class is generated, or computing the
+ * erasure of the same {@code TypeMirror} for every property of every class.
+ *
+ * <p>The results of these lookups are only valid during the round in which they were made. A class
+ * that does not exist in one round might be generated for the next, and the elements and types from
+ * one round are not guaranteed to be usable in the next. So {@link #clear()} must be called at the
+ * start of every round, typically as the first thing in {@link
+ * javax.annotation.processing.Processor#process process}. {@link BasicAnnotationProcessor} does
+ * this for the instance returned by {@link BasicAnnotationProcessor#processingCaches()}.
+ *
+ * <p>Instances of this class are not thread-safe.
+ */
+public final class ProcessingCaches {
+  private final Elements elementUtils;
+  private final Types typeUtils;
+
+  private final Map<String, Optional<TypeElement>> typeElements = new HashMap<>();
+  private final Map<String, Optional<DeclaredType>> declaredTypes = new HashMap<>();
+  // TypeMirror.equals is not reliable, but identity is: the erasure of a given TypeMirror instance
+  // does not change within a round.
+  private final Map<TypeMirror, TypeMirror> erasures = Maps.newIdentityHashMap();
+
+  private ProcessingCaches(ProcessingEnvironment processingEnv) {
+    this.elementUtils = processingEnv.getElementUtils();
+    this.typeUtils = processingEnv.getTypeUtils();
+  }
+
+  /** Returns a new, empty set of caches for the given processing environment. */
+  public static ProcessingCaches create(ProcessingEnvironment processingEnv) {
+    return new ProcessingCaches(processingEnv);
+  }
+
+  /**
+   * Forgets everything that has been remembered. This must be called at the start of each round.
+   */
+  public void clear() {
+    typeElements.clear();
+    declaredTypes.clear();
+    erasures.clear();
+  }
+
+  /**
+   * Returns the same result as {@link Elements#getTypeElement Elements.getTypeElement(name)}, which
+   * is null if there is no type with the given canonical name.
+   */
+  public @Nullable TypeElement getTypeElement(CharSequence name) {
+    return typeElements
+        .computeIfAbsent(name.toString(), n -> Optional.ofNullable(elementUtils.getTypeElement(n)))
+        .orElse(null);
+  }
+
+  /**
+   * Returns the type of the class or interface with the given canonical name, without any type
+   * arguments, or null if there is no such type. This is the same as {@link Types#getDeclaredType
+   * Types.getDeclaredType(getTypeElement(name))}. For a generic type like {@code java.util.List} it
+   * is the raw type {@code List}, which is also the erasure of {@code List<E>}.
+   */
+  public @Nullable DeclaredType getDeclaredType(CharSequence name) {
+    String key = name.toString();
+    Optional<DeclaredType> cached = declaredTypes.get(key);
+    if (cached == null) {
+      TypeElement typeElement = getTypeElement(key);
+      cached =
+          (typeElement == null)
+              ? Optional.empty()
+              : Optional.of(typeUtils.getDeclaredType(typeElement));
+      declaredTypes.put(key, cached);
+    }
+    return cached.orElse(null);
+  }
+
+  /** Returns the same result as {@link Types#erasure Types.erasure(type)}. */
+  public TypeMirror erasure(TypeMirror type) {
+    return erasures.computeIfAbsent(type, typeUtils::erasure);
+  }
+}
@@ -22,6 +22,7 @@ import static javax.lang.model.type.TypeKind.VOID;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.fail;
 
+import com.google.common.base.Equivalence;
 import com.google.common.base.Optional;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
@@ -32,11 +33,15 @@ import com.google.common.testing.EquivalenceTester;
 import com.google.common.truth.Expect;
 import com.google.testing.compile.CompilationRule;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.TypeParameterElement;
 import javax.lang.model.element.VariableElement;
@@ -227,6 +232,115 @@ public class MoreTypesTest {
   @SuppressWarnings("unused")
   private static final class FunkierBounds<T extends Number & Comparable<T> & Cloneable> {}
 
+  @Test
+  public void equivalence_deeplyNested() {
+    Types types = compilationRule.getTypes();
+    Elements elements = compilationRule.getElements();
+    TypeMirror stringType = elements.getTypeElement(String.class.getCanonicalName()).asType();
+    TypeMirror integerType = elements.getTypeElement(Integer.class.getCanonicalName()).asType();
+    // Separately-constructed instances of Map<String, List<Map<String, List<...<T>...>>>>, which
+    // differ only at the innermost level when T is String or Integer.
+    TypeMirror string1 = deeplyNested(types, elements, stringType, 100);
+    TypeMirror string2 = deeplyNested(types, elements, stringType, 100);
+    TypeMirror integer = deeplyNested(types, elements, integerType, 100);
+    EquivalenceTester.<TypeMirror>of(MoreTypes.equivalence())
+        .addEquivalenceGroup(string1, string2)
+        .addEquivalenceGroup(integer)
+        .test();
+    // The hashes are now cached. Check that the answers are still the same.
+    expect.that(MoreTypes.equivalence().equivalent(string1, string2)).isTrue();
+    expect.that(MoreTypes.equivalence().equivalent(string1, integer)).isFalse();
+    Set<Equivalence.Wrapper<TypeMirror>> wrapped = new HashSet<>();
+    wrapped.add(MoreTypes.equivalence().wrap(string1));
+    expect.that(wrapped).contains(MoreTypes.equivalence().wrap(string2));
+    expect.that(wrapped).doesNotContain(MoreTypes.equivalence().wrap(integer));
+  }
+
+  private static TypeMirror deeplyNested(
+      Types types, Elements elements, TypeMirror innermost, int depth) {
+    TypeElement mapElement = elements.getTypeElement(Map.class.getCanonicalName());
+    TypeElement listElement = elements.getTypeElement(List.class.getCanonicalName());
+    TypeMirror stringType = elements.getTypeElement(String.class.getCanonicalName()).asType();
+    TypeMirror type = innermost;
+    for (int i = 0; i < depth; i++) {
+      type =
+          types.getDeclaredType(mapElement, stringType, types.getDeclaredType(listElement, type));
+    }
+    return type;
+  }
+
+  @Test
+  public void equivalence_fBoundedTypeVariables() {
+    Elements elements = compilationRule.getElements();
+    TypeElement fBounded = elements.getTypeElement(FBounded.class.getCanonicalName());
+    Map<String, ExecutableElement> methods = new HashMap<>();
+    for (ExecutableElement method : ElementFilter.methodsIn(fBounded.getEnclosedElements())) {
+      methods.put(method.getSimpleName().toString(), method);
+    }
+    // Each method declares its own type variables, so the type variables in an equivalence group
+    // are distinct mirrors of distinct elements, with the same names and bounds.
+    ImmutableList<ImmutableList<TypeMirror>> groups =
+        ImmutableList.of(
+            typeVariables(methods, 0, "enum1", "enum2"),
+            typeVariables(methods, 0, "comparable1", "comparable2"),
+            typeVariables(methods, 0, "mutual1", "mutual2"),
+            typeVariables(methods, 1, "mutual1", "mutual2"),
+            typeVariables(methods, 0, "notMutual"),
+            typeVariables(methods, 1, "notMutual"),
+            ImmutableList.of(methods.get("enum1").asType(), methods.get("enum2").asType()),
+            ImmutableList.of(methods.get("mutual1").asType(), methods.get("mutual2").asType()),
+            ImmutableList.of(methods.get("notMutual").asType()));
+    List<TypeMirror> all = new ArrayList<>();
+    groups.forEach(all::addAll);
+
+    // Compare every pair before any hashes are cached, then again after, when equivalent() can
+    // use the cached hashes to answer false without comparing. The answers must not change.
+    Equivalence<TypeMirror> equivalence = MoreTypes.equivalence();
+    boolean[][] before = new boolean[all.size()][all.size()];
+    for (int i = 0; i < all.size(); i++) {
+      for (int j = 0; j < all.size(); j++) {
+        before[i][j] = equivalence.equivalent(all.get(i), all.get(j));
+      }
+    }
+    EquivalenceTester<TypeMirror> tester = EquivalenceTester.of(equivalence);
+    groups.forEach(tester::addEquivalenceGroup);
+    tester.test();
+    for (int i = 0; i < all.size(); i++) {
+      for (int j = 0; j < all.size(); j++) {
+        expect
+            .withMessage("%s and %s", all.get(i), all.get(j))
+            .that(equivalence.equivalent(all.get(i), all.get(j)))
+            .isEqualTo(before[i][j]);
+      }
+    }
+  }
+
+  private static ImmutableList<TypeMirror> typeVariables(
+      Map<String, ExecutableElement> methods, int index, String... methodNames) {
+    ImmutableList.Builder<TypeMirror> typeVariables = ImmutableList.builder();
+    for (String methodName : methodNames) {
+      typeVariables.add(methods.get(methodName).getTypeParameters().get(index).asType());
+    }
+    return typeVariables.build();
+  }
+
+  @SuppressWarnings("unused")
+  private static final class FBounded {
+    <E extends Enum<E>> void enum1(E e) {}
+
+    <E extends Enum<E>> void enum2(E e) {}
+
+    <T extends Comparable<T>> void comparable1(T t) {}
+
+    <T extends Comparable<T>> void comparable2(T t) {}
+
+    <A extends Comparable<B>, B extends Comparable<A>> void mutual1(A a, B b) {}
+
+    <A extends Comparable<B>, B extends Comparable<A>> void mutual2(A a, B b) {}
+
+    <A extends Comparable<A>, B extends Comparable<A>> void notMutual(A a, B b) {}
+  }
+
   @Test
   public void testReferencedTypes() {
     Elements elements = compilationRule.getElements();
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.common;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.truth.Expect;
+import com.google.testing.compile.CompilationRule;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests that an {@link OverrideIndex} that is reused across many types gives the same answers as
+ * the static methods in {@link MoreElements}, which start afresh each time.
+ */
+@RunWith(JUnit4.class)
+public class OverrideIndexTest {
+  @Rule public CompilationRule compilation = new CompilationRule();
+  @Rule public Expect expect = Expect.create();
+
+  private Elements elements;
+  private Types types;
+
+  @Before
+  public void setUp() {
+    elements = compilation.getElements();
+    types = compilation.getTypes();
+  }
+
+  // These share a lot of ancestors, in various parameterizations, so reusing one index for all of
+  // them exercises the cached erasures and type bindings.
+  private static final ImmutableList<Class<?>> CLASSES =
+      ImmutableList.of(
+          AbstractList.class,
+          ArrayList.class,
+          StringList.class,
+          GenericList.class,
+          TreeMap.class,
+          LinkedHashMap.class,
+          EnumMap.class,
+          ConcurrentSkipListMap.class,
+          MoreElementsTest.FakeProto.Builder.class,
+          MoreElementsTest.AbstractMessageLite.Builder.class);
+
+  private abstract static class StringList extends AbstractList<String> {
+    @Override
+    public abstract String get(int index);
+
+    @Override
+    public boolean addAll(Collection<? extends String> strings) {
+      return false;
+    }
+  }
+
+  private abstract static class GenericList<E extends Comparable<E>> extends ArrayList<E>
+      implements List<E> {
+    @Override
+    public abstract boolean add(E element);
+
+    public abstract boolean add(String string);
+  }
+
+  @Test
+  public void getLocalAndInheritedMethods() {
+    OverrideIndex index = OverrideIndex.create(types);
+    for (Class<?> c : CLASSES) {
+      TypeElement type = elements.getTypeElement(c.getCanonicalName());
+      ImmutableSet<ExecutableElement> expected =
+          MoreElements.getLocalAndInheritedMethods(type, types, elements);
+      expect
+          .withMessage("methods of %s", c)
+          .that(index.getLocalAndInheritedMethods(type))
+          .containsExactlyElementsIn(expected)
+          .inOrder();
+    }
+  }
+
+  @Test
+  public void getAllMethods() {
+    OverrideIndex index = OverrideIndex.create(types);
+    for (Class<?> c : CLASSES) {
+      TypeElement type = elements.getTypeElement(c.getCanonicalName());
+      ImmutableSet<ExecutableElement> expected = MoreElements.getAllMethods(type, types, elements);
+      expect
+          .withMessage("methods of %s", c)
+          .that(index.getAllMethods(type))
+          .containsExactlyElementsIn(expected)
+          .inOrder();
+    }
+  }
+
+  @Test
+  public void overrides() {
+    OverrideIndex index = OverrideIndex.create(types);
+    for (Class<?> c : CLASSES) {
+      TypeElement type = elements.getTypeElement(c.getCanonicalName());
+      ImmutableSet<ExecutableElement> methods = MoreElements.getAllMethods(type, types, elements);
+      for (ExecutableElement overrider : methods) {
+        for (ExecutableElement overridden : methods) {
+          boolean expected = MoreElements.overrides(overrider, overridden, type, types);
+          if (index.overrides(overrider, overridden, type) != expected) {
+            expect.withMessage("%s overrides %s in %s", overrider, overridden, c).fail();
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.common;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.sun.source.util.JavacTask;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link MoreElements#getLocalAndInheritedMethods(TypeElement, Types, Elements)} against a
+ * reused {@link OverrideIndex}, on a generated hierarchy of 500 methods.
+ *
+ * <p>The hierarchy has {@value #LEVELS} levels, each declaring {@value #METHODS_PER_LEVEL} methods.
+ * Every level is generic and passes a different parameterization to its parent, and every level
+ * overrides some of its parent's methods, so deciding whether a method overrides another requires
+ * substituting type variables along the whole chain. All methods at a level share their names with
+ * the methods at the other levels and differ only in arity. Several leaf classes extend the deepest
+ * level, as happens when many {@code @AutoValue} classes implement the same interfaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverridesBenchmark {
+  static final int LEVELS = 5;
+  static final int METHODS_PER_LEVEL = 100;
+  static final int OVERRIDES_PER_LEVEL = 20;
+  static final int LEAVES = 10;
+
+  private JavacTask task;
+  private Types types;
+  private Elements elements;
+  private ImmutableList<TypeElement> leaves;
+
+  @Setup
+  public void setUp() throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    task =
+        (JavacTask)
+            compiler.getTask(
+                null, null, null, ImmutableList.of("-proc:none"), null, hierarchySources());
+    task.analyze();
+    types = task.getTypes();
+    elements = task.getElements();
+    leaves =
+        IntStream.range(0, LEAVES)
+            .mapToObj(i -> elements.getTypeElement("bench.Leaf" + i))
+            .collect(toImmutableList());
+    int methodCount =
+        MoreElements.getLocalAndInheritedMethods(leaves.get(0), types, elements).size();
+    checkState(methodCount > LEVELS * METHODS_PER_LEVEL, "Only %s methods", methodCount);
+  }
+
+  /** Starts afresh for each leaf class, as the static methods in {@link MoreElements} do. */
+  @Benchmark
+  public void staticMethods(Blackhole blackhole) {
+    for (TypeElement leaf : leaves) {
+      blackhole.consume(MoreElements.getLocalAndInheritedMethods(leaf, types, elements));
+    }
+  }
+
+  /** Shares one index between all the leaf classes, as a processor would within a round. */
+  @Benchmark
+  public void sharedIndex(Blackhole blackhole) {
+    OverrideIndex index = OverrideIndex.create(types);
+    for (TypeElement leaf : leaves) {
+      blackhole.consume(index.getLocalAndInheritedMethods(leaf));
+    }
+  }
+
+  private static List<JavaFileObject> hierarchySources() {
+    List<JavaFileObject> sources = new ArrayList<>();
+    // Level0<T> is an interface with methods m0(T)...m99(T). LevelN<T> extends Level(N-1)<List<T>>,
+    // adds abstract methods m0(T, ...)...m99(T, ...) with N+1 parameters, and implements some of
+    // the methods of Level(N-1) with N parameters of type List<T>.
+    for (int level = 0; level < LEVELS; level++) {
+      List<String> lines = new ArrayList<>();
+      String name = "Level" + level;
+      if (level == 0) {
+        lines.add("public interface " + name + "<T> {");
+      } else {
+        String parent = "Level" + (level - 1) + "<java.util.List<T>>";
+        String relation = (level == 1) ? "implements" : "extends";
+        lines.add("public abstract class " + name + "<T> " + relation + " " + parent + " {");
+        for (int i = 0; i < OVERRIDES_PER_LEVEL; i++) {
+          lines.add(
+              "  @Override public java.util.List<T> m"
+                  + i
+                  + "("
+                  + parameters("java.util.List<T>", level)
+                  + ") { return null; }");
+        }
+      }
+      String modifiers = (level == 0) ? "  " : "  public abstract ";
+      for (int i = 0; i < METHODS_PER_LEVEL; i++) {
+        lines.add(modifiers + "T m" + i + "(" + parameters("T", level + 1) + ");");
+      }
+      lines.add("}");
+      sources.add(source(name, lines));
+    }
+    String deepest = "Level" + (LEVELS - 1) + "<String>";
+    for (int leaf = 0; leaf < LEAVES; leaf++) {
+      String name = "Leaf" + leaf;
+      List<String> lines = new ArrayList<>();
+      lines.add("public abstract class " + name + " extends " + deepest + " {");
+      lines.add("  @Override public String m" + leaf + "(" + parameters("String", LEVELS) + ") {");
+      lines.add("    return null;");
+      lines.add("  }");
+      lines.add("}");
+      sources.add(source(name, lines));
+    }
+    return sources;
+  }
+
+  private static String parameters(String type, int count) {
+    return Joiner.on(", ")
+        .join(IntStream.range(0, count).mapToObj(i -> type + " p" + i).iterator());
+  }
+
+  private static JavaFileObject source(String name, List<String> lines) {
+    String text = "package bench;\n" + Joiner.on('\n').join(lines) + "\n";
+    URI uri = URI.create("string:///bench/" + name + ".java");
+    return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return text;
+      }
+    };
+  }
+}
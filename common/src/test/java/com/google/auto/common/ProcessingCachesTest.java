@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.common;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ProcessingCachesTest {
+  private static final JavaFileObject SOURCE =
+      JavaFileObjects.forSourceLines(
+          "test.Foo",
+          "package test;",
+          "",
+          "import java.util.List;",
+          "import java.util.Map;",
+          "",
+          "class Foo {",
+          "  List<String> list;",
+          "  Map<String, List<Integer>> map;",
+          "}");
+
+  @SupportedAnnotationTypes("*")
+  private static class CachingProcessor extends AbstractProcessor {
+    private ProcessingCaches caches;
+    int round;
+    int erasuresChecked;
+    boolean generatedFoundInNextRound;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+      return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+      if (caches == null) {
+        caches = ProcessingCaches.create(processingEnv);
+      }
+      caches.clear();
+      round++;
+      if (round == 1) {
+        firstRound();
+      } else if (round == 2) {
+        generatedFoundInNextRound = caches.getTypeElement("test.Generated") != null;
+      }
+      return false;
+    }
+
+    private void firstRound() {
+      Types types = processingEnv.getTypeUtils();
+      assertThat(caches.getTypeElement("java.lang.Object"))
+          .isSameInstanceAs(caches.getTypeElement("java.lang.Object"));
+      assertThat(caches.getTypeElement("test.Generated")).isNull();
+      writeSource("test.Generated", "package test; class Generated {}");
+      // The answer doesn't change during this round even though the class has now been generated.
+      assertThat(caches.getTypeElement("test.Generated")).isNull();
+
+      DeclaredType list = caches.getDeclaredType("java.util.List");
+      assertThat(list).isSameInstanceAs(caches.getDeclaredType("java.util.List"));
+      TypeElement listElement = caches.getTypeElement("java.util.List");
+      assertThat(types.isSameType(list, types.erasure(listElement.asType()))).isTrue();
+      assertThat(caches.getDeclaredType("test.Missing")).isNull();
+
+      TypeElement foo = caches.getTypeElement("test.Foo");
+      for (VariableElement field : ElementFilter.fieldsIn(foo.getEnclosedElements())) {
+        TypeMirror erasure = caches.erasure(field.asType());
+        assertThat(erasure).isSameInstanceAs(caches.erasure(field.asType()));
+        assertThat(types.isSameType(erasure, types.erasure(field.asType()))).isTrue();
+        erasuresChecked++;
+      }
+    }
+
+    private void writeSource(String name, String text) {
+      try (Writer writer = processingEnv.getFiler().createSourceFile(name).openWriter()) {
+        writer.write(text);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  @Test
+  public void cachesAreRoundScoped() {
+    CachingProcessor processor = new CachingProcessor();
+    Compilation compilation = javac().withProcessors(processor).compile(SOURCE);
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(processor.erasuresChecked).isEqualTo(2);
+    assertThat(processor.generatedFoundInNextRound).isTrue();
+  }
+}
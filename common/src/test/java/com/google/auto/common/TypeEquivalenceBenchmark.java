@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.common;
+
+import com.google.common.base.Equivalence;
+import com.google.common.collect.ImmutableList;
+import com.sun.source.util.JavacTask;
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MoreTypes#equivalence()} on deeply-nested generic types and on self-referential
+ * types.
+ *
+ * <p>The deep types are {@code Map<String, List<Map<String, List<...<T>...>>>>}, with {@link
+ * #depth} levels of {@code Map}. Each is constructed twice, so that comparing the two copies cannot
+ * be short-circuited by an identity check, and once more with a different innermost type, so that
+ * comparing against it has to go all the way down before finding a difference. The self-referential
+ * types are variations on {@code Node<N extends Node<N, E>, E extends Edge<N, E>>} where each type
+ * variable's bound refers back to the declaring type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeEquivalenceBenchmark {
+  private static final String SELF_REFERENTIAL_SOURCE =
+      String.join(
+          "\n",
+          "package bench;",
+          "public class Graph {",
+          "  public interface Node<N extends Node<N, E>, E extends Edge<N, E>> {}",
+          "  public interface Edge<N extends Node<N, E>, E extends Edge<N, E>> {}",
+          "  public interface Weighted<W extends Comparable<W>> extends Comparable<Weighted<W>> {}",
+          "  public abstract static class Road<R extends Road<R>> implements Edge<City<R>, R> {}",
+          "  public abstract static class City<R extends Road<R>> implements Node<City<R>, R> {}",
+          "  public java.util.Map<City<?>, java.util.List<Weighted<Integer>>> first;",
+          "  public java.util.Map<City<?>, java.util.List<Weighted<Integer>>> second;",
+          "}");
+
+  @Param({"4", "16", "64"})
+  public int depth;
+
+  private final Equivalence<TypeMirror> equivalence = MoreTypes.equivalence();
+
+  private JavacTask task;
+  private TypeMirror deep;
+  private TypeMirror deepCopy;
+  private TypeMirror deepDifferent;
+  private TypeMirror nodeType;
+  private TypeMirror nodeTypeCopy;
+  private TypeMirror field;
+  private TypeMirror fieldCopy;
+  private Map<Equivalence.Wrapper<TypeMirror>, Integer> map;
+
+  @Setup
+  public void setUp() throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    JavaFileObject source =
+        new SimpleJavaFileObject(
+            URI.create("string:///bench/Graph.java"), JavaFileObject.Kind.SOURCE) {
+          @Override
+          public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return SELF_REFERENTIAL_SOURCE;
+          }
+        };
+    task =
+        (JavacTask)
+            compiler.getTask(
+                null, null, null, ImmutableList.of("-proc:none"), null, ImmutableList.of(source));
+    task.analyze();
+    Types types = task.getTypes();
+    Elements elements = task.getElements();
+
+    TypeMirror string = elements.getTypeElement("java.lang.String").asType();
+    TypeMirror integer = elements.getTypeElement("java.lang.Integer").asType();
+    deep = deeplyNested(types, elements, string);
+    deepCopy = deeplyNested(types, elements, string);
+    deepDifferent = deeplyNested(types, elements, integer);
+
+    // Node<City<R>, R>, where R is the type variable of City<R extends Road<R>>.
+    TypeElement node = elements.getTypeElement("bench.Graph.Node");
+    TypeElement city = elements.getTypeElement("bench.Graph.City");
+    TypeMirror r = city.getTypeParameters().get(0).asType();
+    nodeType = types.getDeclaredType(node, types.getDeclaredType(city, r), r);
+    nodeTypeCopy = types.getDeclaredType(node, types.getDeclaredType(city, r), r);
+    TypeElement graph = elements.getTypeElement("bench.Graph");
+    field =
+        graph.getEnclosedElements().stream()
+            .filter(e -> e.getSimpleName().contentEquals("first"))
+            .findFirst()
+            .get()
+            .asType();
+    fieldCopy =
+        graph.getEnclosedElements().stream()
+            .filter(e -> e.getSimpleName().contentEquals("second"))
+            .findFirst()
+            .get()
+            .asType();
+    if (!equivalence.equivalent(deep, deepCopy)
+        || equivalence.equivalent(deep, deepDifferent)
+        || !equivalence.equivalent(nodeType, nodeTypeCopy)
+        || !equivalence.equivalent(field, fieldCopy)) {
+      throw new AssertionError("Unexpected equivalence results");
+    }
+
+    map = new HashMap<>();
+    map.put(equivalence.wrap(deep), 1);
+    map.put(equivalence.wrap(deepDifferent), 2);
+    map.put(equivalence.wrap(field), 3);
+  }
+
+  private TypeMirror deeplyNested(Types types, Elements elements, TypeMirror innermost) {
+    TypeElement mapElement = elements.getTypeElement("java.util.Map");
+    TypeElement listElement = elements.getTypeElement("java.util.List");
+    TypeMirror string = elements.getTypeElement("java.lang.String").asType();
+    TypeMirror type = innermost;
+    for (int i = 0; i < depth; i++) {
+      type = types.getDeclaredType(mapElement, string, types.getDeclaredType(listElement, type));
+    }
+    return type;
+  }
+
+  @Benchmark
+  public boolean deepEqual() {
+    return equivalence.equivalent(deep, deepCopy);
+  }
+
+  @Benchmark
+  public boolean deepDifferentAtBottom() {
+    return equivalence.equivalent(deep, deepDifferent);
+  }
+
+  @Benchmark
+  public int deepHash() {
+    return equivalence.hash(deepCopy);
+  }
+
+  /** Looks up a wrapped type in a map, as {@code TypeMirrorSet} and similar classes do. */
+  @Benchmark
+  public Integer deepMapLookup() {
+    return map.get(equivalence.wrap(deepCopy));
+  }
+
+  @Benchmark
+  public boolean selfReferentialEqual() {
+    return equivalence.equivalent(nodeType, nodeTypeCopy);
+  }
+
+  @Benchmark
+  public boolean selfReferentialFieldEqual() {
+    return equivalence.equivalent(field, fieldCopy);
+  }
+
+  @Benchmark
+  public Integer selfReferentialMapLookup() {
+    return map.get(equivalence.wrap(fieldCopy));
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.factory;
+
+import com.google.auto.factory.Provided.Caching;
+import javax.inject.Provider;
+
+@AutoFactory
+public final class CachedFoo {
+  private final String name;
+  private final Dependency dependency;
+  private final Dependency qualifiedDependency;
+  private final Provider<Dependency> dependencyProvider;
+
+  CachedFoo(
+      String name,
+      @Provided(caching = Caching.EAGER) Dependency dependency,
+      @Provided(caching = Caching.LAZY) @Qualifier Dependency qualifiedDependency,
+      @Provided @Qualifier Provider<Dependency> dependencyProvider) {
+    this.name = name;
+    this.dependency = dependency;
+    this.qualifiedDependency = qualifiedDependency;
+    this.dependencyProvider = dependencyProvider;
+  }
+
+  String name() {
+    return name;
+  }
+
+  Dependency dependency() {
+    return dependency;
+  }
+
+  Dependency qualifiedDependency() {
+    return qualifiedDependency;
+  }
+
+  Provider<Dependency> dependencyProvider() {
+    return dependencyProvider;
+  }
+}
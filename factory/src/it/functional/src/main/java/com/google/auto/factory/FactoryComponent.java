@@ -23,6 +23,8 @@ import dagger.Component;
 interface FactoryComponent {
   FooFactory factory();
 
+  CachedFooFactory cachedFooFactory();
+
   GenericFooFactory<Number> generatedFactory();
 
   ReferencePackageFactory referencePackageFactory();
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.factory;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+import com.google.inject.name.Names;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Named;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares creating {@code count} objects by calling {@code create} in a loop with creating them
+ * with one call to the {@code createAll} method generated by {@link AutoFactory#batchMethods}. Each
+ * object has three {@code @Provided} singleton dependencies, which the loop looks up through Guice
+ * for every object and {@code createAll} looks up once.
+ *
+ * <p>After {@code mvn install} in the {@code factory} directory, run it from the copy of this
+ * project that the invoker plugin makes:
+ *
+ * <pre>
+ * cd target/it/functional
+ * mvn test-compile exec:exec -P benchmarks -Djmh.args=BatchCreationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BatchCreationBenchmark {
+  @AutoFactory(batchMethods = true)
+  static final class Item {
+    final int index;
+    final Dependency d0;
+    final Dependency d1;
+    final Dependency d2;
+
+    Item(
+        int index,
+        @Provided @Named("0") Dependency d0,
+        @Provided @Named("1") Dependency d1,
+        @Provided @Named("2") Dependency d2) {
+      this.index = index;
+      this.d0 = d0;
+      this.d1 = d1;
+      this.d2 = d2;
+    }
+  }
+
+  @Param({"10", "1000"})
+  public int count;
+
+  private BatchCreationBenchmark_ItemFactory factory;
+  private int[] indexes;
+
+  @Setup
+  public void setUp() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                for (int i = 0; i < 3; i++) {
+                  bind(Dependency.class)
+                      .annotatedWith(Names.named(String.valueOf(i)))
+                      .to(DependencyImpl.class)
+                      .in(Singleton.class);
+                }
+              }
+            });
+    factory = injector.getInstance(BatchCreationBenchmark_ItemFactory.class);
+    indexes = new int[count];
+    for (int i = 0; i < count; i++) {
+      indexes[i] = i;
+    }
+  }
+
+  @Benchmark
+  public List<Item> loop() {
+    List<Item> items = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      items.add(factory.create(0));
+    }
+    return items;
+  }
+
+  @Benchmark
+  public List<Item> createAllWithCount() {
+    return factory.createAll(count, 0);
+  }
+
+  @Benchmark
+  public List<Item> loopWithIndexes() {
+    List<Item> items = new ArrayList<>(count);
+    for (int index : indexes) {
+      items.add(factory.create(index));
+    }
+    return items;
+  }
+
+  @Benchmark
+  public List<Item> createAllWithArrays() {
+    return factory.createAll(indexes);
+  }
+}
@@ -1,6 +1,7 @@
 package com.google.auto.factory;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
 
 import com.google.auto.factory.GenericFoo.DepE;
 import com.google.auto.factory.GenericFoo.IntAndStringAccessor;
@@ -10,6 +11,7 @@ import com.google.inject.Guice;
 import com.google.inject.Key;
 import com.google.inject.TypeLiteral;
 import java.util.ArrayList;
+import java.util.List;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -39,6 +41,11 @@ public class DependencyInjectionIntegrationTest {
     assertThat(two.qualifiedPrimitive()).isEqualTo(2);
   }
 
+  @Test
+  public void daggerInjectedCachingFactory() {
+    checkCachingFactory(DaggerFactoryComponent.create().cachedFooFactory());
+  }
+
   @Test
   public void daggerInjectedGenericFactory() {
     GenericFooFactory<Number> genericFooFactory =
@@ -97,6 +104,84 @@ public class DependencyInjectionIntegrationTest {
     assertThat(two.qualifiedPrimitive()).isEqualTo(2);
   }
 
+  @Test
+  public void guiceInjectedCachingFactory() {
+    checkCachingFactory(
+        Guice.createInjector(new GuiceModule()).getInstance(CachedFooFactory.class));
+  }
+
+  private static void checkCachingFactory(CachedFooFactory cachedFooFactory) {
+    CachedFoo one = cachedFooFactory.create("A");
+    CachedFoo two = cachedFooFactory.create("B");
+    assertThat(one.name()).isEqualTo("A");
+    assertThat(two.name()).isEqualTo("B");
+    // Neither binding is scoped, so these are only the same because the factory caches them.
+    assertThat(one.dependency()).isInstanceOf(DependencyImpl.class);
+    assertThat(two.dependency()).isSameInstanceAs(one.dependency());
+    assertThat(one.qualifiedDependency()).isInstanceOf(QualifiedDependencyImpl.class);
+    assertThat(two.qualifiedDependency()).isSameInstanceAs(one.qualifiedDependency());
+    // A Provider parameter with the same key as a cached parameter still gets a fresh value.
+    assertThat(one.dependencyProvider().get()).isInstanceOf(QualifiedDependencyImpl.class);
+    assertThat(one.dependencyProvider().get()).isNotSameInstanceAs(one.qualifiedDependency());
+  }
+
+  @Test
+  public void pooledFactory() {
+    PooledFooFactory pooledFooFactory =
+        Guice.createInjector(new GuiceModule()).getInstance(PooledFooFactory.class);
+    PooledFoo one = pooledFooFactory.create("A");
+    PooledFoo two = pooledFooFactory.create("B");
+    assertThat(two).isNotSameInstanceAs(one);
+    pooledFooFactory.release(one);
+    PooledFoo three = pooledFooFactory.create("C");
+    assertThat(three).isSameInstanceAs(one);
+    assertThat(three.name()).isEqualTo("C");
+    assertThat(pooledFooFactory.create("D")).isNotSameInstanceAs(one);
+  }
+
+  @Test
+  public void pooledFactory_releaseTwice() {
+    PooledFooFactory pooledFooFactory =
+        Guice.createInjector(new GuiceModule()).getInstance(PooledFooFactory.class);
+    PooledFoo one = pooledFooFactory.create("A");
+    pooledFooFactory.release(one);
+    pooledFooFactory.release(one);
+    PooledFoo two = pooledFooFactory.create("B");
+    PooledFoo three = pooledFooFactory.create("C");
+    assertThat(two).isSameInstanceAs(one);
+    assertThat(three).isNotSameInstanceAs(one);
+  }
+
+  @Test
+  public void pooledFactory_nullArgumentKeepsPooledInstance() {
+    PooledFooFactory pooledFooFactory =
+        Guice.createInjector(new GuiceModule()).getInstance(PooledFooFactory.class);
+    PooledFoo one = pooledFooFactory.create("A");
+    pooledFooFactory.release(one);
+    assertThrows(NullPointerException.class, () -> pooledFooFactory.create(null));
+    assertThat(pooledFooFactory.create("B")).isSameInstanceAs(one);
+  }
+
+  @Test
+  public void batchFactory() {
+    BatchFooFactory batchFooFactory =
+        Guice.createInjector(new GuiceModule()).getInstance(BatchFooFactory.class);
+    List<BatchFoo> foos = batchFooFactory.createAll(3, "A");
+    assertThat(foos).hasSize(3);
+    assertThat(foos.get(0)).isNotSameInstanceAs(foos.get(1));
+    for (BatchFoo foo : foos) {
+      assertThat(foo.name()).isEqualTo("A");
+      assertThat(foo.dependency()).isSameInstanceAs(foos.get(0).dependency());
+    }
+    // Dependency is not scoped, so each create call gets a new one.
+    assertThat(batchFooFactory.create("A").dependency())
+        .isNotSameInstanceAs(foos.get(0).dependency());
+    List<BatchFoo> named = batchFooFactory.createAll(new String[] {"B", "C"});
+    assertThat(named).hasSize(2);
+    assertThat(named.get(0).name()).isEqualTo("B");
+    assertThat(named.get(1).name()).isEqualTo("C");
+  }
+
   @Test
   public void guiceInjectedGenericFactory() {
     GenericFooFactory<Number> genericFooFactory =
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.factory;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares creating short-lived objects with a pooled {@code @AutoFactory(poolSize = ...)} factory
+ * against a plain factory that always allocates, with 1, 4, 16 and 64 threads sharing one factory.
+ * Each object has a 4 KiB scratch buffer, like a per-request parser would. Every benchmark
+ * invocation creates an object, writes into its buffer, and for the pooled factory releases it
+ * again.
+ *
+ * <p>After {@code mvn install} in the {@code factory} directory, run it from the copy of this
+ * project that the invoker plugin makes:
+ *
+ * <pre>
+ * cd target/it/functional
+ * mvn test-compile exec:exec -P benchmarks -Djmh.args=PoolingBenchmark
+ * </pre>
+ *
+ * <p>Running with {@code -prof gc} shows the allocation rate of each variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PoolingBenchmark {
+  static final int BUFFER_SIZE = 4096;
+
+  @AutoFactory
+  static final class Plain {
+    final byte[] buffer = new byte[BUFFER_SIZE];
+    int length;
+
+    Plain(int length) {
+      this.length = length;
+    }
+  }
+
+  @AutoFactory(poolSize = 64)
+  static final class Pooled {
+    final byte[] buffer = new byte[BUFFER_SIZE];
+    int length;
+
+    Pooled(int length) {
+      this.length = length;
+    }
+
+    void reset(int length) {
+      this.length = length;
+    }
+  }
+
+  private final PoolingBenchmark_PlainFactory plainFactory = new PoolingBenchmark_PlainFactory();
+  private final PoolingBenchmark_PooledFactory pooledFactory = new PoolingBenchmark_PooledFactory();
+
+  private int plain() {
+    Plain plain = plainFactory.create(BUFFER_SIZE / 2);
+    plain.buffer[plain.length] = 1;
+    return plain.buffer.length;
+  }
+
+  private int pooled() {
+    Pooled pooled = pooledFactory.create(BUFFER_SIZE / 2);
+    pooled.buffer[pooled.length] = 1;
+    int result = pooled.buffer.length;
+    pooledFactory.release(pooled);
+    return result;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int plain01() {
+    return plain();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int pooled01() {
+    return pooled();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int plain04() {
+    return plain();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int pooled04() {
+    return pooled();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public int plain16() {
+    return plain();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public int pooled16() {
+    return pooled();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public int plain64() {
+    return plain();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public int pooled64() {
+    return pooled();
+  }
+}
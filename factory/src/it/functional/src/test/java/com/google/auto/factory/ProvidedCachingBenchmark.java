@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.factory;
+
+import com.google.auto.factory.Provided.Caching;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Singleton;
+import com.google.inject.name.Names;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Named;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of {@code create} for a Guice-injected factory with six {@code @Provided}
+ * singleton dependencies, when the factory calls {@code Provider.get()} for each of them every time
+ * and when it caches them with {@link Provided#caching}. The {@code baseline} benchmark calls the
+ * constructor directly with dependencies that have already been obtained.
+ *
+ * <p>After {@code mvn install} in the {@code factory} directory, run it from the copy of this
+ * project that the invoker plugin makes:
+ *
+ * <pre>
+ * cd target/it/functional
+ * mvn test-compile exec:exec -P benchmarks -Djmh.args=ProvidedCachingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProvidedCachingBenchmark {
+  static final int DEPENDENCIES = 6;
+
+  @AutoFactory
+  static final class Uncached {
+    final String name;
+    final Dependency d0;
+    final Dependency d1;
+    final Dependency d2;
+    final Dependency d3;
+    final Dependency d4;
+    final Dependency d5;
+
+    Uncached(
+        String name,
+        @Provided @Named("0") Dependency d0,
+        @Provided @Named("1") Dependency d1,
+        @Provided @Named("2") Dependency d2,
+        @Provided @Named("3") Dependency d3,
+        @Provided @Named("4") Dependency d4,
+        @Provided @Named("5") Dependency d5) {
+      this.name = name;
+      this.d0 = d0;
+      this.d1 = d1;
+      this.d2 = d2;
+      this.d3 = d3;
+      this.d4 = d4;
+      this.d5 = d5;
+    }
+  }
+
+  @AutoFactory
+  static final class EagerlyCached {
+    final String name;
+    final Dependency d0;
+    final Dependency d1;
+    final Dependency d2;
+    final Dependency d3;
+    final Dependency d4;
+    final Dependency d5;
+
+    EagerlyCached(
+        String name,
+        @Provided(caching = Caching.EAGER) @Named("0") Dependency d0,
+        @Provided(caching = Caching.EAGER) @Named("1") Dependency d1,
+        @Provided(caching = Caching.EAGER) @Named("2") Dependency d2,
+        @Provided(caching = Caching.EAGER) @Named("3") Dependency d3,
+        @Provided(caching = Caching.EAGER) @Named("4") Dependency d4,
+        @Provided(caching = Caching.EAGER) @Named("5") Dependency d5) {
+      this.name = name;
+      this.d0 = d0;
+      this.d1 = d1;
+      this.d2 = d2;
+      this.d3 = d3;
+      this.d4 = d4;
+      this.d5 = d5;
+    }
+  }
+
+  @AutoFactory
+  static final class LazilyCached {
+    final String name;
+    final Dependency d0;
+    final Dependency d1;
+    final Dependency d2;
+    final Dependency d3;
+    final Dependency d4;
+    final Dependency d5;
+
+    LazilyCached(
+        String name,
+        @Provided(caching = Caching.LAZY) @Named("0") Dependency d0,
+        @Provided(caching = Caching.LAZY) @Named("1") Dependency d1,
+        @Provided(caching = Caching.LAZY) @Named("2") Dependency d2,
+        @Provided(caching = Caching.LAZY) @Named("3") Dependency d3,
+        @Provided(caching = Caching.LAZY) @Named("4") Dependency d4,
+        @Provided(caching = Caching.LAZY) @Named("5") Dependency d5) {
+      this.name = name;
+      this.d0 = d0;
+      this.d1 = d1;
+      this.d2 = d2;
+      this.d3 = d3;
+      this.d4 = d4;
+      this.d5 = d5;
+    }
+  }
+
+  private ProvidedCachingBenchmark_UncachedFactory uncachedFactory;
+  private ProvidedCachingBenchmark_EagerlyCachedFactory eagerlyCachedFactory;
+  private ProvidedCachingBenchmark_LazilyCachedFactory lazilyCachedFactory;
+  private Dependency[] dependencies;
+
+  @Setup
+  public void setUp() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                for (int i = 0; i < DEPENDENCIES; i++) {
+                  bind(Dependency.class)
+                      .annotatedWith(Names.named(String.valueOf(i)))
+                      .to(DependencyImpl.class)
+                      .in(Singleton.class);
+                }
+              }
+            });
+    uncachedFactory = injector.getInstance(ProvidedCachingBenchmark_UncachedFactory.class);
+    eagerlyCachedFactory =
+        injector.getInstance(ProvidedCachingBenchmark_EagerlyCachedFactory.class);
+    lazilyCachedFactory = injector.getInstance(ProvidedCachingBenchmark_LazilyCachedFactory.class);
+    dependencies = new Dependency[DEPENDENCIES];
+    for (int i = 0; i < DEPENDENCIES; i++) {
+      dependencies[i] =
+          injector.getInstance(Key.get(Dependency.class, Names.named(String.valueOf(i))));
+    }
+  }
+
+  @Benchmark
+  public Object baseline() {
+    Dependency[] d = dependencies;
+    return new Uncached("name", d[0], d[1], d[2], d[3], d[4], d[5]);
+  }
+
+  @Benchmark
+  public Object uncached() {
+    return uncachedFactory.create("name");
+  }
+
+  @Benchmark
+  public Object eagerlyCached() {
+    return eagerlyCachedFactory.create("name");
+  }
+
+  @Benchmark
+  public Object lazilyCached() {
+    return lazilyCachedFactory.create("name");
+  }
+}
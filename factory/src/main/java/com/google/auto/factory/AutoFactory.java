@@ -61,6 +61,59 @@ public @interface AutoFactory {
    */
   boolean allowSubclasses() default false;
 
+  /**
+   * The maximum number of released instances that the generated factory keeps for reuse. The
+   * default of 0 means that every {@code create} call makes a new instance.
+   *
+   * <p>If this is positive, the factory also has a {@code release(T)} method that gives an instance
+   * back to the factory once the caller is finished with it. A later {@code create} call may then
+   * return that instance instead of calling the constructor. For each constructor with parameters
+   * {@code (A a, B b)}, the class must have a non-private, non-static method {@code void reset(A a,
+   * B b)}. The factory calls it on a released instance with the same arguments that it would have
+   * passed to the constructor, including {@code @Provided} ones, and it must leave the instance in
+   * the same state as a newly constructed one. Callers must not use an instance after releasing it.
+   *
+   * <p>The pool is bounded and lock-free. It is an array whose size is {@code poolSize} rounded up
+   * to a power of two, at most {@value #MAX_POOL_SIZE}. Each thread starts looking for a free or
+   * occupied slot at its own position in the array and tries only a few slots, so threads mostly
+   * use different slots. If the pool is full, a released instance is dropped and left to the
+   * garbage collector. Pooling cannot be used for generic classes.
+   *
+   * <p>Each instance must be released at most once between {@code create} calls that return it. If
+   * it were in the pool twice, two later {@code create} calls would return the same object. {@code
+   * release} ignores an instance that is already in one of the slots it looks at, which catches the
+   * usual mistake of releasing twice from the same thread, but it cannot catch every case.
+   */
+  int poolSize() default 0;
+
+  /** The largest allowed value of {@link #poolSize}. */
+  int MAX_POOL_SIZE = 1 << 16;
+
+  /**
+   * Whether the generated factory should also have {@code createAll} methods, which create many
+   * instances in one call. For each {@code create(A a, B b)} method there are two:
+   *
+   * <ul>
+   *   <li>{@code List<T> createAll(int count, A a, B b)} returns {@code count} instances that are
+   *       all created with the same arguments.
+   *   <li>{@code List<T> createAll(A[] a, B[] b)} returns one instance for each index of the
+   *       arrays, which must all have the same length. This method is omitted if {@code create} has
+   *       no parameters.
+   * </ul>
+   *
+   * <p>Within one call, the value of each {@code @Provided} parameter is obtained only once and is
+   * shared by every instance created, and arguments shared by every instance are checked for null
+   * only once. The returned list is a new, presized {@code ArrayList}. Batch creation never uses
+   * the pool of released instances when {@link #poolSize} is also set.
+   *
+   * <p>If a type in {@link #implementing} or {@link #extending} declares an abstract {@code
+   * createAll} method, then the generated factory implements it with the matching batch method, and
+   * the batch methods are generated even if this is false. The declared return type must be a
+   * supertype of {@code List<E>}, where {@code E} is its type argument if it has a single one that
+   * is not a wildcard, or else the type returned by {@code create}.
+   */
+  boolean batchMethods() default false;
+
   /**
    * Specifies that an annotation should be used to determine how to annotate generated AutoFactory
    * classes. For example, suppose you have this annotation:
@@ -28,7 +28,40 @@ import java.lang.annotation.Target;
  * is on the classpath. Compile with {@code -Acom.google.auto.factory.InjectApi=javax} if you want
  * to use {@code javax.inject} even when {@code jakarta.inject} is available.
  *
+ * <p>By default the generated factory calls {@code Provider.get()} every time it creates an
+ * instance. If the dependency is effectively a singleton, {@link #caching} can be used to have the
+ * factory call {@code get()} only once and reuse the result.
+ *
  * @author Gregory Kick
  */
 @Target(PARAMETER)
-public @interface Provided {}
+public @interface Provided {
+  /**
+   * Whether the generated factory should reuse the value obtained from the {@code Provider} for
+   * this parameter. The default is {@link Caching#NONE}, which calls {@code get()} for every
+   * instance created.
+   *
+   * <p>Caching cannot be used for parameters whose type is itself a {@code Provider} or a Dagger
+   * {@code Lazy}, since those parameters are requesting a new value each time.
+   */
+  Caching caching() default Caching.NONE;
+
+  /** How the generated factory obtains the value of a {@link Provided} parameter. */
+  enum Caching {
+    /** Call {@code Provider.get()} every time an instance is created. */
+    NONE,
+
+    /**
+     * Call {@code Provider.get()} once, the first time an instance is created, and reuse the
+     * result. The value is safely published to other threads. A {@code null} result from a
+     * {@code @Nullable} parameter is not cached, so {@code get()} will be called again next time.
+     */
+    LAZY,
+
+    /**
+     * Call {@code Provider.get()} once, in the constructor of the factory, and reuse the result.
+     * This means that the dependency must be available when the factory itself is injected.
+     */
+    EAGER,
+  }
+}
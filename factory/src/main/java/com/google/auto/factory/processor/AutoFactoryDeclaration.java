@@ -71,6 +71,12 @@ abstract class AutoFactoryDeclaration {
 
   abstract boolean allowSubclasses();
 
+  /** The size of the pool of released instances, or 0 if the factory does not pool instances. */
+  abstract int poolSize();
+
+  /** Whether the factory should have {@code createAll} methods. */
+  abstract boolean batchMethods();
+
   abstract AnnotationMirror mirror();
 
   abstract ImmutableMap<String, AnnotationValue> valuesMap();
@@ -188,6 +194,26 @@ abstract class AutoFactoryDeclaration {
       AnnotationValue allowSubclassesValue = checkNotNull(values.get("allowSubclasses"));
       boolean allowSubclasses = AnnotationValues.asBoolean(allowSubclassesValue);
 
+      AnnotationValue poolSizeValue = checkNotNull(values.get("poolSize"));
+      int poolSize = AnnotationValues.asInt(poolSizeValue);
+      if (poolSize < 0 || poolSize > AutoFactory.MAX_POOL_SIZE) {
+        messager.printMessage(
+            ERROR,
+            String.format("poolSize must be between 0 and %d", AutoFactory.MAX_POOL_SIZE),
+            element,
+            mirror,
+            poolSizeValue);
+        return Optional.empty();
+      }
+      if (poolSize > 0 && !getAnnotatedType(element).getTypeParameters().isEmpty()) {
+        messager.printMessage(
+            ERROR, "poolSize cannot be used for a generic class", element, mirror, poolSizeValue);
+        return Optional.empty();
+      }
+
+      AnnotationValue batchMethodsValue = checkNotNull(values.get("batchMethods"));
+      boolean batchMethods = AnnotationValues.asBoolean(batchMethodsValue);
+
       return Optional.<AutoFactoryDeclaration>of(
           new AutoValue_AutoFactoryDeclaration(
               getAnnotatedType(element),
@@ -197,6 +223,8 @@ abstract class AutoFactoryDeclaration {
               extendingType,
               implementingTypes,
               allowSubclasses,
+              poolSize,
+              batchMethods,
               mirror,
               ImmutableMap.copyOf(values)));
     }
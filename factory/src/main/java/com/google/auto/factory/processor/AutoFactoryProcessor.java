@@ -121,7 +121,7 @@ public final class AutoFactoryProcessor extends AbstractProcessor {
     providedChecker = new ProvidedChecker(messager);
     declarationFactory = new AutoFactoryDeclaration.Factory(elements, messager);
     factoryDescriptorGenerator =
-        new FactoryDescriptorGenerator(messager, types, declarationFactory, injectApi);
+        new FactoryDescriptorGenerator(messager, types, elements, declarationFactory, injectApi);
   }
 
   @Override
@@ -155,17 +155,27 @@ public final class AutoFactoryProcessor extends AbstractProcessor {
         ImmutableListMultimap.builder();
     ImmutableSetMultimap.Builder<PackageAndClass, ImplementationMethodDescriptor>
         implementationMethodDescriptorsBuilder = ImmutableSetMultimap.builder();
+    ImmutableSetMultimap.Builder<PackageAndClass, ImplementationMethodDescriptor>
+        batchMethodDeclarationsBuilder = ImmutableSetMultimap.builder();
     // Iterate over the classes and constructors that are annotated with @AutoFactory.
     for (Element element : roundEnv.getElementsAnnotatedWith(AutoFactory.class)) {
       Optional<AutoFactoryDeclaration> declaration = declarationFactory.createIfValid(element);
       if (declaration.isPresent()) {
         PackageAndClass factoryName = declaration.get().getFactoryName();
         TypeElement extendingType = declaration.get().extendingType();
-        implementationMethodDescriptorsBuilder.putAll(
-            factoryName, implementationMethods(extendingType, element));
+        ImmutableSet.Builder<ImplementationMethodDescriptor> supertypeMethods =
+            ImmutableSet.builder();
+        supertypeMethods.addAll(implementationMethods(extendingType, element));
         for (TypeElement implementingType : declaration.get().implementingTypes()) {
-          implementationMethodDescriptorsBuilder.putAll(
-              factoryName, implementationMethods(implementingType, element));
+          supertypeMethods.addAll(implementationMethods(implementingType, element));
+        }
+        // An abstract createAll method is implemented by a batch method, not by calling create.
+        for (ImplementationMethodDescriptor method : supertypeMethods.build()) {
+          if (method.name().equals(FactoryDescriptor.BATCH_METHOD_NAME)) {
+            batchMethodDeclarationsBuilder.put(factoryName, method);
+          } else {
+            implementationMethodDescriptorsBuilder.put(factoryName, method);
+          }
         }
       }
 
@@ -180,6 +190,8 @@ public final class AutoFactoryProcessor extends AbstractProcessor {
         implementationMethodDescriptors = implementationMethodDescriptorsBuilder.build();
     ImmutableListMultimap<PackageAndClass, FactoryMethodDescriptor> indexedMethods =
         indexedMethodsBuilder.build();
+    ImmutableSetMultimap<PackageAndClass, ImplementationMethodDescriptor> batchMethodDeclarations =
+        batchMethodDeclarationsBuilder.build();
     ImmutableSetMultimap<String, PackageAndClass> factoriesBeingCreated =
         simpleNamesToNames(indexedMethods.keySet());
     FactoryWriter factoryWriter =
@@ -203,6 +215,8 @@ public final class AutoFactoryProcessor extends AbstractProcessor {
               ImmutableSortedSet.Builder<TypeMirror> implementing = newTypeSetBuilder();
               boolean publicType = false;
               Set<Boolean> allowSubclassesSet = new HashSet<>();
+              Set<Integer> poolSizeSet = new HashSet<>();
+              boolean batchMethods = false;
               boolean skipCreation = false;
               for (FactoryMethodDescriptor methodDescriptor : methodDescriptors) {
                 annotationsBuilder.addAll(methodDescriptor.declaration().annotations());
@@ -222,9 +236,21 @@ public final class AutoFactoryProcessor extends AbstractProcessor {
                       methodDescriptor.declaration().mirror(),
                       methodDescriptor.declaration().valuesMap().get("allowSubclasses"));
                 }
+                batchMethods |= methodDescriptor.declaration().batchMethods();
+                poolSizeSet.add(methodDescriptor.declaration().poolSize());
+                if (poolSizeSet.size() > 1) {
+                  skipCreation = true;
+                  messager.printMessage(
+                      Kind.ERROR,
+                      "Cannot mix different values of poolSize in one factory.",
+                      methodDescriptor.declaration().target(),
+                      methodDescriptor.declaration().mirror(),
+                      methodDescriptor.declaration().valuesMap().get("poolSize"));
+                }
               }
-              // The set can't be empty because we eliminated methodDescriptors.isEmpty() above.
+              // The sets can't be empty because we eliminated methodDescriptors.isEmpty() above.
               boolean allowSubclasses = allowSubclassesSet.iterator().next();
+              int poolSize = poolSizeSet.iterator().next();
               if (!skipCreation) {
                 try {
                   factoryWriter.writeFactory(
@@ -236,7 +262,10 @@ public final class AutoFactoryProcessor extends AbstractProcessor {
                           publicType,
                           ImmutableSet.copyOf(methodDescriptors),
                           implementationMethodDescriptors.get(factoryName),
-                          allowSubclasses));
+                          allowSubclasses,
+                          poolSize,
+                          batchMethods,
+                          batchMethodDeclarations.get(factoryName)));
                 } catch (IOException e) {
                   messager.printMessage(Kind.ERROR, "failed: " + e);
                 }
@@ -262,10 +291,16 @@ public final class AutoFactoryProcessor extends AbstractProcessor {
                 methodType.getParameterTypes(),
                 types,
                 injectApi);
+        String name = implementationMethod.getSimpleName().toString();
+        // A createAll method keeps its declared return type, since it is a collection.
+        TypeMirror returnType =
+            name.equals(FactoryDescriptor.BATCH_METHOD_NAME)
+                ? methodType.getReturnType()
+                : getAnnotatedType(autoFactoryElement);
         implementationMethodsBuilder.add(
             ImplementationMethodDescriptor.builder()
-                .name(implementationMethod.getSimpleName().toString())
-                .returnType(getAnnotatedType(autoFactoryElement))
+                .name(name)
+                .returnType(returnType)
                 .publicMethod()
                 .passedParameters(passedParameters)
                 .isVarArgs(implementationMethod.isVarArgs())
@@ -15,6 +15,9 @@
  */
 package com.google.auto.factory.processor;
 
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
+import com.google.auto.factory.Provided;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.CharMatcher;
 import com.google.common.collect.ImmutableBiMap;
@@ -24,7 +27,10 @@ import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Streams;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import javax.lang.model.element.AnnotationMirror;
@@ -45,6 +51,12 @@ abstract class FactoryDescriptor {
         }
       };
 
+  /** The name of the batch creation methods. */
+  static final String BATCH_METHOD_NAME = "createAll";
+
+  static final ImmutableSet<String> POOL_MEMBER_NAMES =
+      ImmutableSet.of("pool", "acquire", "release");
+
   abstract PackageAndClass name();
 
   abstract ImmutableSet<AnnotationMirror> annotations();
@@ -63,6 +75,18 @@ abstract class FactoryDescriptor {
 
   abstract ImmutableMap<Key, ProviderField> providers();
 
+  /** The size of the pool of released instances, or 0 if the factory does not pool instances. */
+  abstract int poolSize();
+
+  /** Whether the factory has {@code createAll} methods. */
+  abstract boolean batchMethods();
+
+  /**
+   * Abstract {@code createAll} methods from the supertypes of the factory, which are implemented by
+   * the matching batch methods rather than by calling {@code create}.
+   */
+  abstract ImmutableSet<ImplementationMethodDescriptor> batchMethodDeclarations();
+
   final AutoFactoryDeclaration declaration() {
     // There is always at least one method descriptor.
     return methodDescriptors().iterator().next().declaration();
@@ -92,7 +116,10 @@ abstract class FactoryDescriptor {
       boolean publicType,
       ImmutableSet<FactoryMethodDescriptor> methodDescriptors,
       ImmutableSet<ImplementationMethodDescriptor> implementationMethodDescriptors,
-      boolean allowSubclasses) {
+      boolean allowSubclasses,
+      int poolSize,
+      boolean batchMethods,
+      ImmutableSet<ImplementationMethodDescriptor> batchMethodDeclarations) {
     ImmutableSetMultimap.Builder<Key, Parameter> parametersForProviders =
         ImmutableSetMultimap.builder();
     for (FactoryMethodDescriptor descriptor : methodDescriptors) {
@@ -100,10 +127,10 @@ abstract class FactoryDescriptor {
         parametersForProviders.put(parameter.key(), parameter);
       }
     }
-    ImmutableMap.Builder<Key, ProviderField> providersBuilder = ImmutableMap.builder();
+    ImmutableSetMultimap<Key, Parameter> parametersByKey = parametersForProviders.build();
+    Map<Key, ProviderField> providers = new LinkedHashMap<>();
     UniqueNameSet uniqueNames = new UniqueNameSet();
-    parametersForProviders
-        .build()
+    parametersByKey
         .asMap()
         .forEach(
             (key, parameters) -> {
@@ -112,7 +139,7 @@ abstract class FactoryDescriptor {
                   throw new AssertionError();
                 case 1:
                   Parameter parameter = Iterables.getOnlyElement(parameters);
-                  providersBuilder.put(
+                  providers.put(
                       key,
                       ProviderField.create(
                           uniqueNames.getUniqueName(parameter.name() + "Provider"),
@@ -121,18 +148,33 @@ abstract class FactoryDescriptor {
                   break;
                 default:
                   String providerName =
-                      uniqueNames.getUniqueName(
-                          INVALID_IDENTIFIER_CHARACTERS.replaceFrom(key.toString(), '_')
-                              + "Provider");
+                      uniqueNames.getUniqueName(fieldNameBase(key, parameters) + "Provider");
                   Optional<AnnotationMirror> nullable =
                       parameters.stream()
                           .map(Parameter::nullable)
                           .flatMap(Streams::stream)
                           .findFirst();
-                  providersBuilder.put(key, ProviderField.create(providerName, key, nullable));
+                  providers.put(key, ProviderField.create(providerName, key, nullable));
                   break;
               }
             });
+    if (poolSize > 0) {
+      // These are the names of the members that FactoryWriter adds to a pooled factory.
+      POOL_MEMBER_NAMES.forEach(uniqueNames::getUniqueName);
+    }
+    // Names for cached values are chosen after all the provider names, so that asking for caching
+    // never changes the name of a provider field.
+    providers.replaceAll(
+        (key, provider) -> {
+          Provided.Caching caching = strongestCaching(parametersByKey.get(key));
+          if (caching.equals(Provided.Caching.NONE)) {
+            return provider;
+          }
+          String cachedName =
+              uniqueNames.getUniqueName(fieldNameBase(key, parametersByKey.get(key)));
+          return ProviderField.create(
+              provider.name(), key, provider.nullable(), caching, Optional.of(cachedName));
+        });
 
     ImmutableBiMap<FactoryMethodDescriptor, ImplementationMethodDescriptor>
         duplicateMethodDescriptors =
@@ -155,7 +197,32 @@ abstract class FactoryDescriptor {
         deduplicatedMethodDescriptors,
         deduplicatedImplementationMethodDescriptors,
         allowSubclasses,
-        providersBuilder.build());
+        ImmutableMap.copyOf(providers),
+        poolSize,
+        batchMethods || !batchMethodDeclarations.isEmpty(),
+        batchMethodDeclarations);
+  }
+
+  private static String fieldNameBase(Key key, Collection<Parameter> parameters) {
+    return (parameters.size() == 1)
+        ? Iterables.getOnlyElement(parameters).name()
+        : INVALID_IDENTIFIER_CHARACTERS.replaceFrom(key.toString(), '_');
+  }
+
+  /**
+   * Returns the most eager caching asked for by any of the given parameters, which all have the
+   * same key and so share a provider.
+   */
+  private static Provided.Caching strongestCaching(Collection<Parameter> parameters) {
+    ImmutableSet<Provided.Caching> cachings =
+        parameters.stream().map(Parameter::caching).collect(toImmutableSet());
+    if (cachings.contains(Provided.Caching.EAGER)) {
+      return Provided.Caching.EAGER;
+    }
+    if (cachings.contains(Provided.Caching.LAZY)) {
+      return Provided.Caching.LAZY;
+    }
+    return Provided.Caching.NONE;
   }
 
   /**
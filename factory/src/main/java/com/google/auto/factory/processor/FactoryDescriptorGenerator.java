@@ -19,28 +19,40 @@ import static com.google.auto.common.MoreElements.isAnnotationPresent;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.partitioningBy;
 import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
 import static javax.tools.Diagnostic.Kind.ERROR;
 
 import com.google.auto.common.MoreElements;
+import com.google.auto.common.MoreTypes;
 import com.google.auto.factory.AutoFactory;
 import com.google.auto.factory.Provided;
 import com.google.common.base.Function;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import javax.annotation.processing.Messager;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.ElementKindVisitor6;
+import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 
 /**
@@ -51,16 +63,19 @@ import javax.lang.model.util.Types;
 final class FactoryDescriptorGenerator {
   private final Messager messager;
   private final Types types;
+  private final Elements elements;
   private final AutoFactoryDeclaration.Factory declarationFactory;
   private final InjectApi injectApi;
 
   FactoryDescriptorGenerator(
       Messager messager,
       Types types,
+      Elements elements,
       AutoFactoryDeclaration.Factory declarationFactory,
       InjectApi injectApi) {
     this.messager = messager;
     this.types = types;
+    this.elements = elements;
     this.declarationFactory = declarationFactory;
     this.injectApi = injectApi;
   }
@@ -140,6 +155,10 @@ final class FactoryDescriptorGenerator {
         Parameter.forParameterList(requireNonNull(parameterMap.get(true)), types, injectApi);
     ImmutableSet<Parameter> passedParameters =
         Parameter.forParameterList(requireNonNull(parameterMap.get(false)), types, injectApi);
+    checkCaching(requireNonNull(parameterMap.get(true)), providedParameters);
+    if (declaration.poolSize() > 0) {
+      checkResetMethod(declaration, classElement, constructor.getParameters());
+    }
     return FactoryMethodDescriptor.builder(declaration)
         .name("create")
         .returnType(classElement.asType())
@@ -154,8 +173,94 @@ final class FactoryDescriptorGenerator {
         .build();
   }
 
+  /**
+   * Reports an error for any {@code @Provided} parameter that asks for caching when its type is
+   * {@code Provider<T>} or {@code Lazy<T>}. Such a parameter is asking for a new value each time,
+   * which caching would defeat.
+   */
+  private void checkCaching(
+      List<VariableElement> providedElements, ImmutableSet<Parameter> providedParameters) {
+    int i = 0;
+    for (Parameter parameter : providedParameters) {
+      VariableElement element = providedElements.get(i++);
+      if (parameter.caching().equals(Provided.Caching.NONE)) {
+        continue;
+      }
+      TypeMirror type = parameter.type().get();
+      if (injectApi.isProvider(type) || isDaggerLazy(type)) {
+        messager.printMessage(
+            ERROR,
+            "@Provided(caching = "
+                + parameter.caching()
+                + ") cannot be used for a parameter of type "
+                + types.erasure(type),
+            element,
+            Mirrors.getAnnotationMirror(element, Provided.class).get());
+      }
+    }
+  }
+
+  private static boolean isDaggerLazy(TypeMirror type) {
+    return type.getKind().equals(TypeKind.DECLARED)
+        && MoreTypes.asTypeElement(type).getQualifiedName().contentEquals("dagger.Lazy");
+  }
+
+  /**
+   * Reports an error if a pooled factory's target class has no {@code reset} method, declared or
+   * inherited, with the same parameter types as the given constructor parameters. The generated
+   * factory is in the package of the target class, so the method must be public or declared in that
+   * package.
+   */
+  private void checkResetMethod(
+      AutoFactoryDeclaration declaration,
+      TypeElement classElement,
+      List<? extends VariableElement> constructorParameters) {
+    DeclaredType classType = MoreTypes.asDeclared(classElement.asType());
+    PackageElement classPackage = MoreElements.getPackage(classElement);
+    for (ExecutableElement method :
+        MoreElements.getLocalAndInheritedMethods(classElement, types, elements)) {
+      Set<Modifier> modifiers = method.getModifiers();
+      if (method.getSimpleName().contentEquals("reset")
+          && !modifiers.contains(PRIVATE)
+          && !modifiers.contains(STATIC)
+          && (modifiers.contains(PUBLIC) || MoreElements.getPackage(method).equals(classPackage))
+          && method.getReturnType().getKind().equals(TypeKind.VOID)
+          && sameParameterTypes(
+              MoreTypes.asExecutable(types.asMemberOf(classType, method)).getParameterTypes(),
+              constructorParameters)) {
+        return;
+      }
+    }
+    String parameterTypes =
+        constructorParameters.stream().map(p -> p.asType().toString()).collect(joining(", "));
+    messager.printMessage(
+        ERROR,
+        String.format(
+            "@AutoFactory(poolSize = %d) requires a non-private method void reset(%s) in %s",
+            declaration.poolSize(), parameterTypes, classElement.getSimpleName()),
+        declaration.target(),
+        declaration.mirror(),
+        declaration.valuesMap().get("poolSize"));
+  }
+
+  private boolean sameParameterTypes(
+      List<? extends TypeMirror> a, List<? extends VariableElement> b) {
+    if (a.size() != b.size()) {
+      return false;
+    }
+    for (int i = 0; i < a.size(); i++) {
+      if (!types.isSameType(a.get(i), b.get(i).asType())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private ImmutableSet<FactoryMethodDescriptor> generateDescriptorForDefaultConstructor(
       AutoFactoryDeclaration declaration, TypeElement type) {
+    if (declaration.poolSize() > 0) {
+      checkResetMethod(declaration, type, ImmutableList.of());
+    }
     return ImmutableSet.of(
         FactoryMethodDescriptor.builder(declaration)
             .name("create")
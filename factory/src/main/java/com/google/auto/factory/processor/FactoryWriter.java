@@ -17,6 +17,7 @@ package com.google.auto.factory.processor;
 
 import static com.google.auto.common.GeneratedAnnotationSpecs.generatedAnnotationSpec;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.squareup.javapoet.MethodSpec.constructorBuilder;
 import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static com.squareup.javapoet.TypeSpec.classBuilder;
@@ -27,8 +28,10 @@ import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.element.Modifier.VOLATILE;
 
 import com.google.auto.common.MoreTypes;
+import com.google.auto.factory.Provided;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -36,8 +39,10 @@ import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
@@ -45,8 +50,14 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
+import com.squareup.javapoet.WildcardTypeName;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.SourceVersion;
@@ -57,6 +68,8 @@ import javax.lang.model.type.TypeVariable;
 import javax.lang.model.util.Elements;
 
 final class FactoryWriter {
+  /** The most slots of the pool that {@code acquire} and {@code release} look at. */
+  private static final int POOL_PROBES = 4;
 
   private final InjectApi injectApi;
   private final Filer filer;
@@ -103,6 +116,8 @@ final class FactoryWriter {
     addFactoryTypeParameters(factory, factoryTypeVariables);
     addConstructorAndProviderFields(factory, descriptor);
     addFactoryMethods(factory, descriptor, factoryTypeVariables);
+    addBatchMethods(factory, descriptor, factoryTypeVariables);
+    addPool(factory, descriptor);
     addImplementationMethods(factory, descriptor);
     addCheckNotNullMethod(factory, descriptor);
 
@@ -143,10 +158,68 @@ final class FactoryWriter {
           argumentNumber,
           providerFields.size());
     }
+    argumentNumber = 0;
+    for (ProviderField provider : providerFields) {
+      ++argumentNumber;
+      if (!provider.cachedName().isPresent()) {
+        continue;
+      }
+      String cachedName = provider.cachedName().get();
+      TypeName typeName = resolveTypeName(provider.key().type().get()).box();
+      CodeBlock resolve = resolveProvider(provider, argumentNumber, providerFields.size());
+      switch (provider.caching()) {
+        case EAGER:
+          factory.addField(typeName, cachedName, PRIVATE, FINAL);
+          constructor.addStatement("this.$L = $L", cachedName, resolve);
+          break;
+        case LAZY:
+          factory.addField(typeName, cachedName, PRIVATE, VOLATILE);
+          factory.addMethod(lazyAccessor(typeName, cachedName, resolve));
+          break;
+        case NONE:
+          throw new AssertionError(provider);
+      }
+    }
 
     factory.addMethod(constructor.build());
   }
 
+  /**
+   * Returns the code that calls {@code provider} to get the value that will be cached. The value is
+   * checked for null here, rather than in every {@code create} method, unless the provider is
+   * {@code @Nullable}.
+   */
+  private static CodeBlock resolveProvider(
+      ProviderField provider, int argumentNumber, int argumentCount) {
+    CodeBlock get = CodeBlock.of("$L.get()", provider.name());
+    return provider.nullable().isPresent()
+        ? get
+        : CodeBlock.of("checkNotNull($L, $L, $L)", get, argumentNumber, argumentCount);
+  }
+
+  /**
+   * Returns a method that calls the provider the first time it is needed and caches the result in a
+   * volatile field. The double-checked locking means that {@code get()} is called at most once,
+   * unless it returns null, and that the cached value is safely published to other threads.
+   */
+  private static MethodSpec lazyAccessor(TypeName type, String cachedName, CodeBlock resolve) {
+    return methodBuilder(cachedName)
+        .addModifiers(PRIVATE)
+        .returns(type)
+        .addStatement("$T result = this.$L", type, cachedName)
+        .beginControlFlow("if (result == null)")
+        .beginControlFlow("synchronized (this)")
+        .addStatement("result = this.$L", cachedName)
+        .beginControlFlow("if (result == null)")
+        .addStatement("result = $L", resolve)
+        .addStatement("this.$L = result", cachedName)
+        .endControlFlow()
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("return result")
+        .build();
+  }
+
   private void addFactoryMethods(
       TypeSpec.Builder factory,
       FactoryDescriptor descriptor,
@@ -168,6 +241,12 @@ final class FactoryWriter {
       CodeBlock.Builder args = CodeBlock.builder();
       method.addParameters(parameters(methodDescriptor.passedParameters()));
       ImmutableSet<Parameter> parameters = methodDescriptor.creationParameters();
+      boolean pooled = descriptor.poolSize() > 0;
+      // With a pool, the arguments are evaluated and checked before anything is taken from the
+      // pool, so that a null argument does not lose a pooled instance. Those that are not simply
+      // parameters are stored in locals, whose names must not hide parameters or provider fields.
+      Set<String> usedNames = new HashSet<>(parameterNames(methodDescriptor));
+      descriptor.providers().values().forEach(provider -> usedNames.add(provider.name()));
       int argumentNumber = 0;
       String sep = "";
       for (Parameter parameter : parameters) {
@@ -175,8 +254,9 @@ final class FactoryWriter {
         args.add(sep);
         sep = ", ";
         boolean checkNotNull = !parameter.nullable().isPresent();
+        boolean passed = methodDescriptor.passedParameters().contains(parameter);
         CodeBlock argument;
-        if (methodDescriptor.passedParameters().contains(parameter)) {
+        if (passed) {
           argument = CodeBlock.of(parameter.name());
           if (parameter.isPrimitive()) {
             checkNotNull = false;
@@ -187,6 +267,15 @@ final class FactoryWriter {
           if (injectApi.isProvider(parameter.type().get())) {
             // Providers are checked for nullness in the Factory's constructor.
             checkNotNull = false;
+          } else if (!parameter.caching().equals(Provided.Caching.NONE)) {
+            String cachedName = provider.cachedName().get();
+            argument =
+                provider.caching().equals(Provided.Caching.EAGER)
+                    ? CodeBlock.of("this.$L", cachedName)
+                    : CodeBlock.of("$L()", cachedName);
+            // A cached value was checked for nullness when it was obtained from the provider,
+            // unless the provider is @Nullable because some other parameter with the same key is.
+            checkNotNull &= provider.nullable().isPresent();
           } else {
             argument = CodeBlock.of("$L.get()", argument);
           }
@@ -195,13 +284,295 @@ final class FactoryWriter {
           argument =
               CodeBlock.of("checkNotNull($L, $L, $L)", argument, argumentNumber, parameters.size());
         }
+        if (pooled && passed) {
+          if (checkNotNull) {
+            method.addStatement("$L", argument);
+          }
+          argument = CodeBlock.of("$L", parameter.name());
+        } else if (pooled && !injectApi.isProvider(parameter.type().get())) {
+          String local = unusedName(parameter.name(), usedNames);
+          method.addStatement(
+              "$T $L = $L", resolveTypeName(parameter.type().get()), local, argument);
+          argument = CodeBlock.of("$L", local);
+        }
         args.add(argument);
       }
-      method.addStatement("return new $T($L)", methodDescriptor.returnType(), args.build());
+      if (pooled) {
+        TypeName targetType = ClassName.get(descriptor.declaration().targetType());
+        String recycled = unusedName("recycled", usedNames);
+        method.addStatement("$T $L = acquire()", targetType, recycled);
+        method.beginControlFlow("if ($L == null)", recycled);
+        method.addStatement("return new $T($L)", methodDescriptor.returnType(), args.build());
+        method.endControlFlow();
+        method.addStatement("$L.reset($L)", recycled, args.build());
+        method.addStatement("return $L", recycled);
+      } else {
+        method.addStatement("return new $T($L)", methodDescriptor.returnType(), args.build());
+      }
       factory.addMethod(method.build());
     }
   }
 
+  /**
+   * Adds the {@code createAll} methods for each factory method, if the factory has them. The two
+   * variants differ only in how they get the passed arguments: the same ones for every instance, or
+   * one element from each argument array per instance. Everything else, including the {@code
+   * Provider.get()} calls, happens once before the loop.
+   */
+  private void addBatchMethods(
+      TypeSpec.Builder factory,
+      FactoryDescriptor descriptor,
+      ImmutableSet<TypeVariableName> factoryTypeVariables) {
+    if (!descriptor.batchMethods()) {
+      return;
+    }
+    for (FactoryMethodDescriptor methodDescriptor : descriptor.methodDescriptors()) {
+      addBatchMethod(factory, descriptor, methodDescriptor, factoryTypeVariables, false);
+      if (!methodDescriptor.passedParameters().isEmpty()) {
+        addBatchMethod(factory, descriptor, methodDescriptor, factoryTypeVariables, true);
+      }
+    }
+  }
+
+  private void addBatchMethod(
+      TypeSpec.Builder factory,
+      FactoryDescriptor descriptor,
+      FactoryMethodDescriptor methodDescriptor,
+      ImmutableSet<TypeVariableName> factoryTypeVariables,
+      boolean fromArrays) {
+    ImmutableSet<Parameter> parameters = methodDescriptor.creationParameters();
+    Set<String> takenNames = new HashSet<>();
+    parameters.forEach(p -> takenNames.add(p.name()));
+    String count = unusedName("count", takenNames);
+    String result = unusedName("result", takenNames);
+    String index = unusedName("i", takenNames);
+
+    ImmutableList.Builder<ParameterSpec> parameterSpecs = ImmutableList.builder();
+    if (!fromArrays) {
+      parameterSpecs.add(ParameterSpec.builder(TypeName.INT, count).build());
+      parameterSpecs.addAll(parameters(methodDescriptor.passedParameters()));
+    } else {
+      for (Parameter parameter : methodDescriptor.passedParameters()) {
+        TypeName type = ArrayTypeName.of(resolveTypeName(parameter.type().get()));
+        parameterSpecs.add(ParameterSpec.builder(type, parameter.name()).build());
+      }
+    }
+    ImmutableList<ParameterSpec> batchParameters = parameterSpecs.build();
+    Optional<ImplementationMethodDescriptor> declared =
+        descriptor.batchMethodDeclarations().stream()
+            .filter(d -> sameParameterTypes(d.passedParameters(), batchParameters))
+            .findFirst();
+    TypeName elementType = TypeName.get(methodDescriptor.returnType());
+    TypeName returnType = ParameterizedTypeName.get(ClassName.get(List.class), elementType);
+    if (declared.isPresent()) {
+      returnType = TypeName.get(declared.get().returnType());
+      if (returnType instanceof ParameterizedTypeName) {
+        List<TypeName> typeArguments = ((ParameterizedTypeName) returnType).typeArguments;
+        if (typeArguments.size() == 1 && !(typeArguments.get(0) instanceof WildcardTypeName)) {
+          elementType = typeArguments.get(0);
+        }
+      }
+    }
+
+    MethodSpec.Builder method =
+        methodBuilder(FactoryDescriptor.BATCH_METHOD_NAME)
+            .addTypeVariables(getMethodTypeVariables(methodDescriptor, factoryTypeVariables))
+            .returns(returnType)
+            .addParameters(batchParameters)
+            .varargs(!fromArrays && methodDescriptor.isVarArgs())
+            .addExceptions(
+                methodDescriptor.exceptions().stream().map(TypeName::get).collect(toList()));
+    if (declared.isPresent()) {
+      method.addAnnotation(Override.class);
+    }
+    if (declared.isPresent() || methodDescriptor.publicMethod()) {
+      method.addModifiers(PUBLIC);
+    }
+
+    int argumentCount = parameters.size();
+    if (fromArrays) {
+      String first = methodDescriptor.passedParameters().iterator().next().name();
+      method.addStatement("int $L = checkNotNull($L, 1, $L).length", count, first, argumentCount);
+      int argumentNumber = 1;
+      for (Parameter parameter : Iterables.skip(methodDescriptor.passedParameters(), 1)) {
+        ++argumentNumber;
+        method
+            .beginControlFlow(
+                "if (checkNotNull($L, $L, $L).length != $L)",
+                parameter.name(),
+                argumentNumber,
+                argumentCount,
+                count)
+            .addStatement(
+                "throw new $T($S)",
+                IllegalArgumentException.class,
+                "@AutoFactory createAll arguments are arrays of different lengths")
+            .endControlFlow();
+      }
+    }
+
+    CodeBlock.Builder args = CodeBlock.builder();
+    int argumentNumber = 0;
+    String sep = "";
+    for (Parameter parameter : parameters) {
+      ++argumentNumber;
+      args.add(sep);
+      sep = ", ";
+      boolean checkNotNull = !parameter.nullable().isPresent() && !parameter.isPrimitive();
+      if (methodDescriptor.passedParameters().contains(parameter)) {
+        if (fromArrays) {
+          CodeBlock element = CodeBlock.of("$L[$L]", parameter.name(), index);
+          args.add(
+              checkNotNull
+                  ? CodeBlock.of("checkNotNull($L, $L, $L)", element, argumentNumber, argumentCount)
+                  : element);
+        } else {
+          if (checkNotNull) {
+            method.addStatement(
+                "checkNotNull($L, $L, $L)", parameter.name(), argumentNumber, argumentCount);
+          }
+          args.add("$L", parameter.name());
+        }
+        continue;
+      }
+      ProviderField provider = requireNonNull(descriptor.providers().get(parameter.key()));
+      if (injectApi.isProvider(parameter.type().get())) {
+        args.add("this.$L", provider.name());
+        continue;
+      }
+      CodeBlock value;
+      if (!parameter.caching().equals(Provided.Caching.NONE)) {
+        String cachedName = provider.cachedName().get();
+        value =
+            provider.caching().equals(Provided.Caching.EAGER)
+                ? CodeBlock.of("this.$L", cachedName)
+                : CodeBlock.of("$L()", cachedName);
+        checkNotNull &= provider.nullable().isPresent();
+      } else {
+        value = CodeBlock.of("this.$L.get()", provider.name());
+      }
+      if (checkNotNull) {
+        value = CodeBlock.of("checkNotNull($L, $L, $L)", value, argumentNumber, argumentCount);
+      }
+      TypeName type = resolveTypeName(parameter.type().get());
+      method.addStatement("$T $L = $L", type, parameter.name(), value);
+      args.add("$L", parameter.name());
+    }
+
+    TypeName listType = ParameterizedTypeName.get(ClassName.get(List.class), elementType);
+    method
+        .addStatement("$T $L = new $T<>($L)", listType, result, ArrayList.class, count)
+        .beginControlFlow("for (int $1L = 0; $1L < $2L; $1L++)", index, count)
+        .addStatement("$L.add(new $T($L))", result, methodDescriptor.returnType(), args.build())
+        .endControlFlow()
+        .addStatement("return $L", result);
+    factory.addMethod(method.build());
+  }
+
+  private boolean sameParameterTypes(
+      ImmutableSet<Parameter> declaredParameters, ImmutableList<ParameterSpec> parameters) {
+    if (declaredParameters.size() != parameters.size()) {
+      return false;
+    }
+    int i = 0;
+    for (Parameter declared : declaredParameters) {
+      TypeName declaredType = resolveTypeName(declared.type().get()).withoutAnnotations();
+      if (!declaredType.equals(parameters.get(i++).type.withoutAnnotations())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns {@code name}, with as many leading underscores as it needs to be unused, and adds the
+   * result to {@code usedNames}.
+   */
+  private static String unusedName(String name, Set<String> usedNames) {
+    while (!usedNames.add(name)) {
+      name = "_" + name;
+    }
+    return name;
+  }
+
+  private static ImmutableSet<String> parameterNames(FactoryMethodDescriptor methodDescriptor) {
+    return methodDescriptor.passedParameters().stream()
+        .map(Parameter::name)
+        .collect(toImmutableSet());
+  }
+
+  /**
+   * Adds the pool of released instances to a factory with a positive {@link
+   * FactoryDescriptor#poolSize()}, along with the {@code release} method that fills it and the
+   * {@code acquire} method that {@code create} uses to empty it.
+   *
+   * <p>The pool is an {@link AtomicReferenceArray} whose length is a power of two. Each thread
+   * starts at a slot determined by its identity hash code and looks at no more than {@value
+   * #POOL_PROBES} consecutive slots. That keeps the cost of a miss small and means that threads
+   * mostly use disjoint slots, without needing a {@code ThreadLocal}, which would keep instances
+   * alive for as long as the thread.
+   *
+   * <p>{@code release} looks at all of those slots before filling a free one, so that it can ignore
+   * an instance that is already there. Otherwise releasing an instance twice would let two later
+   * {@code create} calls return the same object.
+   */
+  private static void addPool(TypeSpec.Builder factory, FactoryDescriptor descriptor) {
+    if (descriptor.poolSize() == 0) {
+      return;
+    }
+    int length = Integer.highestOneBit(descriptor.poolSize());
+    if (length < descriptor.poolSize()) {
+      length <<= 1;
+    }
+    int probes = Math.min(length, POOL_PROBES);
+    TypeName targetType = ClassName.get(descriptor.declaration().targetType());
+    TypeName poolType =
+        ParameterizedTypeName.get(ClassName.get(AtomicReferenceArray.class), targetType);
+    factory.addField(
+        FieldSpec.builder(poolType, "pool", PRIVATE, FINAL)
+            .initializer("new $T<>($L)", AtomicReferenceArray.class, length)
+            .build());
+
+    MethodSpec.Builder release =
+        methodBuilder("release")
+            .addParameter(targetType, "instance")
+            .addStatement("checkNotNull(instance, 1, 1)")
+            .addStatement("int start = $T.identityHashCode(Thread.currentThread())", System.class)
+            .addStatement("int free = -1")
+            .beginControlFlow("for (int i = 0; i < $L; i++)", probes)
+            .addStatement("int index = (start + i) & $L", length - 1)
+            .addStatement("$T current = pool.get(index)", targetType)
+            .beginControlFlow("if (current == instance)")
+            .addStatement("return")
+            .endControlFlow()
+            .beginControlFlow("if (current == null && free < 0)")
+            .addStatement("free = index")
+            .endControlFlow()
+            .endControlFlow()
+            .beginControlFlow("if (free >= 0)")
+            .addStatement("pool.compareAndSet(free, null, instance)")
+            .endControlFlow();
+    if (descriptor.publicType()) {
+      release.addModifiers(PUBLIC);
+    }
+    factory.addMethod(release.build());
+
+    factory.addMethod(
+        methodBuilder("acquire")
+            .addModifiers(PRIVATE)
+            .returns(targetType)
+            .addStatement("int start = $T.identityHashCode(Thread.currentThread())", System.class)
+            .beginControlFlow("for (int i = 0; i < $L; i++)", probes)
+            .addStatement("int index = (start + i) & $L", length - 1)
+            .addStatement("$T instance = pool.get(index)", targetType)
+            .beginControlFlow("if (instance != null && pool.compareAndSet(index, instance, null))")
+            .addStatement("return instance")
+            .endControlFlow()
+            .endControlFlow()
+            .addStatement("return null")
+            .build());
+  }
+
   private void addImplementationMethods(TypeSpec.Builder factory, FactoryDescriptor descriptor) {
     for (ImplementationMethodDescriptor methodDescriptor :
         descriptor.implementationMethodDescriptors()) {
@@ -265,7 +636,7 @@ final class FactoryWriter {
   }
 
   private static boolean shouldGenerateCheckNotNull(FactoryDescriptor descriptor) {
-    if (!descriptor.providers().isEmpty()) {
+    if (!descriptor.providers().isEmpty() || descriptor.poolSize() > 0) {
       return true;
     }
     for (FactoryMethodDescriptor method : descriptor.methodDescriptors()) {
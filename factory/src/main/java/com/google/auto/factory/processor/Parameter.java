@@ -24,6 +24,7 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import com.google.auto.common.AnnotationMirrors;
 import com.google.auto.common.MoreElements;
 import com.google.auto.common.MoreTypes;
+import com.google.auto.factory.Provided;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Equivalence;
 import com.google.common.collect.ImmutableList;
@@ -75,6 +76,12 @@ abstract class Parameter {
     return unwrapOptionalEquivalence(nullableWrapper());
   }
 
+  /**
+   * How the value of a {@code @Provided} parameter is cached by the factory. This is always {@link
+   * Provided.Caching#NONE} for parameters that are not {@code @Provided}.
+   */
+  abstract Provided.Caching caching();
+
   private static Parameter forVariableElement(
       VariableElement variable, TypeMirror type, Types types, InjectApi injectApi) {
     ImmutableList<AnnotationMirror> allAnnotations =
@@ -94,13 +101,24 @@ abstract class Parameter {
             .map(AnnotationMirrors.equivalence()::wrap)
             .filter(annotation -> !typeAnnotationWrappers.contains(annotation))
             .collect(toImmutableList());
+    Provided.Caching caching =
+        Mirrors.getAnnotationMirror(variable, Provided.class)
+            .map(Parameter::caching)
+            .orElse(Provided.Caching.NONE);
 
     return new AutoValue_Parameter(
         MoreTypes.equivalence().wrap(type),
         variable.getSimpleName().toString(),
         key,
         parameterAnnotationWrappers,
-        wrapOptionalInEquivalence(AnnotationMirrors.equivalence(), nullable));
+        wrapOptionalInEquivalence(AnnotationMirrors.equivalence(), nullable),
+        caching);
+  }
+
+  private static Provided.Caching caching(AnnotationMirror provided) {
+    // The value of an enum-valued annotation element is the VariableElement for the constant.
+    Object value = AnnotationMirrors.getAnnotationValue(provided, "caching").getValue();
+    return Provided.Caching.valueOf(((VariableElement) value).getSimpleName().toString());
   }
 
   private static boolean isNullable(AnnotationMirror annotation) {
@@ -19,6 +19,7 @@ import static com.google.auto.factory.processor.Mirrors.unwrapOptionalEquivalenc
 import static com.google.auto.factory.processor.Mirrors.wrapOptionalInEquivalence;
 
 import com.google.auto.common.AnnotationMirrors;
+import com.google.auto.factory.Provided;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Equivalence;
 import java.util.Optional;
@@ -36,8 +37,31 @@ abstract class ProviderField {
     return unwrapOptionalEquivalence(nullableWrapper());
   }
 
+  /**
+   * How the value from the provider is cached. If parameters with the same key ask for different
+   * kinds of caching then this is the most eager of them. Parameters that do not ask for caching
+   * still call the provider every time.
+   */
+  abstract Provided.Caching caching();
+
+  /** The name of the field that holds the cached value, if {@link #caching()} is not NONE. */
+  abstract Optional<String> cachedName();
+
   static ProviderField create(String name, Key key, Optional<AnnotationMirror> nullable) {
+    return create(name, key, nullable, Provided.Caching.NONE, Optional.empty());
+  }
+
+  static ProviderField create(
+      String name,
+      Key key,
+      Optional<AnnotationMirror> nullable,
+      Provided.Caching caching,
+      Optional<String> cachedName) {
     return new AutoValue_ProviderField(
-        name, key, wrapOptionalInEquivalence(AnnotationMirrors.equivalence(), nullable));
+        name,
+        key,
+        wrapOptionalInEquivalence(AnnotationMirrors.equivalence(), nullable),
+        caching,
+        cachedName);
   }
 }
@@ -75,6 +75,32 @@ public class AutoFactoryProcessorNegativeTest {
         .onLineContaining("@Provided");
   }
 
+  @Test
+  public void providedCachingOnProvider() {
+    JavaFileObject file = JavaFileObjects.forResource("bad/ProvidedCachingProvider.java");
+    Compilation compilation = javac.compile(file);
+    assertThat(compilation).failed();
+    assertThat(compilation)
+        .hadErrorContaining(
+            "@Provided(caching = LAZY) cannot be used for a parameter of type"
+                + " jakarta.inject.Provider")
+        .inFile(file)
+        .onLineContaining("@Provided");
+  }
+
+  @Test
+  public void pooledWithoutReset() {
+    JavaFileObject file = JavaFileObjects.forResource("bad/PooledWithoutReset.java");
+    Compilation compilation = javac.compile(file);
+    assertThat(compilation).failed();
+    assertThat(compilation)
+        .hadErrorContaining(
+            "@AutoFactory(poolSize = 8) requires a non-private method"
+                + " void reset(java.lang.String) in PooledWithoutReset")
+        .inFile(file)
+        .onLineContaining("@AutoFactory");
+  }
+
   @Test
   public void invalidCustomName() {
     JavaFileObject file = JavaFileObjects.forResource("bad/InvalidCustomName.java");
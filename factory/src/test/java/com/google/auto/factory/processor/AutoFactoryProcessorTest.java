@@ -74,8 +74,7 @@ public class AutoFactoryProcessorTest {
     JAVAX_ONLY_ON_CLASSPATH(ImmutableList.of(InjectPackage.JAVAX), InjectPackage.JAVAX),
     JAKARTA_ONLY_ON_CLASSPATH(ImmutableList.of(InjectPackage.JAKARTA), InjectPackage.JAKARTA),
     BOTH_ON_CLASSPATH(
-        ImmutableList.of(InjectPackage.JAVAX, InjectPackage.JAKARTA),
-        InjectPackage.JAKARTA),
+        ImmutableList.of(InjectPackage.JAVAX, InjectPackage.JAKARTA), InjectPackage.JAKARTA),
     EXPLICIT_JAVAX(
         ImmutableList.of(InjectPackage.JAVAX, InjectPackage.JAKARTA),
         InjectPackage.JAVAX,
@@ -343,6 +342,47 @@ public class AutoFactoryProcessorTest {
             "expected/SimpleClassProvidedProviderDepsFactory.java"));
   }
 
+  @Test
+  public void providedCaching() {
+    goldenTest(
+        ImmutableList.of(
+            "good/ProvidedCaching.java", "support/AQualifier.java", "support/BQualifier.java"),
+        ImmutableMap.of("tests.ProvidedCachingFactory", "expected/ProvidedCachingFactory.java"));
+  }
+
+  @Test
+  public void pooled() {
+    goldenTest(
+        ImmutableList.of("good/Pooled.java"),
+        ImmutableMap.of("tests.PooledFactory", "expected/PooledFactory.java"));
+  }
+
+  @Test
+  public void pooledWithInheritedReset() {
+    goldenTest(
+        ImmutableList.of("good/PooledWithInheritedReset.java"),
+        ImmutableMap.of(
+            "tests.PooledWithInheritedResetFactory",
+            "expected/PooledWithInheritedResetFactory.java"));
+  }
+
+  @Test
+  public void batchMethods() {
+    goldenTest(
+        ImmutableList.of(
+            "good/BatchMethods.java", "support/AQualifier.java", "support/BQualifier.java"),
+        ImmutableMap.of("tests.BatchMethodsFactory", "expected/BatchMethodsFactory.java"));
+  }
+
+  @Test
+  public void factoryImplementingCreateAll() {
+    goldenTest(
+        ImmutableList.of("good/FactoryImplementingCreateAll.java"),
+        ImmutableMap.of(
+            "tests.FactoryImplementingCreateAll_ConcreteClassFactory",
+            "expected/FactoryImplementingCreateAll_ConcreteClassFactory.java"));
+  }
+
   @Test
   public void constructorAnnotated() {
     goldenTest(
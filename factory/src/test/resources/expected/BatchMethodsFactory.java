@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.processing.Generated;
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+@Generated(
+    value = "com.google.auto.factory.processor.AutoFactoryProcessor",
+    comments = "https://github.com/google/auto/tree/main/factory"
+    )
+final class BatchMethodsFactory {
+  private final Provider<String> _tests_AQualifier_java_lang_StringProvider;
+  private final Provider<String> _tests_BQualifier_java_lang_StringProvider;
+  private final String _tests_BQualifier_java_lang_String;
+
+  @Inject
+  BatchMethodsFactory(
+      @AQualifier Provider<String> _tests_AQualifier_java_lang_StringProvider,
+      @BQualifier Provider<String> _tests_BQualifier_java_lang_StringProvider) {
+    this._tests_AQualifier_java_lang_StringProvider =
+        checkNotNull(_tests_AQualifier_java_lang_StringProvider, 1, 2);
+    this._tests_BQualifier_java_lang_StringProvider =
+        checkNotNull(_tests_BQualifier_java_lang_StringProvider, 2, 2);
+    this._tests_BQualifier_java_lang_String =
+        checkNotNull(_tests_BQualifier_java_lang_StringProvider.get(), 2, 2);
+  }
+
+  BatchMethods create(String name, @Nullable String nickname, int index) {
+    return new BatchMethods(
+        checkNotNull(name, 1, 6),
+        nickname,
+        index,
+        checkNotNull(_tests_AQualifier_java_lang_StringProvider.get(), 4, 6),
+        this._tests_BQualifier_java_lang_String,
+        _tests_BQualifier_java_lang_StringProvider);
+  }
+
+  BatchMethods create() {
+    return new BatchMethods(checkNotNull(_tests_AQualifier_java_lang_StringProvider.get(), 1, 1));
+  }
+
+  List<BatchMethods> createAll(int count, String name, @Nullable String nickname, int index) {
+    checkNotNull(name, 1, 6);
+    String dep = checkNotNull(this._tests_AQualifier_java_lang_StringProvider.get(), 4, 6);
+    String cachedDep = this._tests_BQualifier_java_lang_String;
+    List<BatchMethods> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      result.add(
+          new BatchMethods(
+              name,
+              nickname,
+              index,
+              dep,
+              cachedDep,
+              this._tests_BQualifier_java_lang_StringProvider));
+    }
+    return result;
+  }
+
+  List<BatchMethods> createAll(String[] name, String[] nickname, int[] index) {
+    int count = checkNotNull(name, 1, 6).length;
+    if (checkNotNull(nickname, 2, 6).length != count) {
+      throw new IllegalArgumentException(
+          "@AutoFactory createAll arguments are arrays of different lengths");
+    }
+    if (checkNotNull(index, 3, 6).length != count) {
+      throw new IllegalArgumentException(
+          "@AutoFactory createAll arguments are arrays of different lengths");
+    }
+    String dep = checkNotNull(this._tests_AQualifier_java_lang_StringProvider.get(), 4, 6);
+    String cachedDep = this._tests_BQualifier_java_lang_String;
+    List<BatchMethods> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      result.add(
+          new BatchMethods(
+              checkNotNull(name[i], 1, 6),
+              nickname[i],
+              index[i],
+              dep,
+              cachedDep,
+              this._tests_BQualifier_java_lang_StringProvider));
+    }
+    return result;
+  }
+
+  List<BatchMethods> createAll(int _count) {
+    String count = checkNotNull(this._tests_AQualifier_java_lang_StringProvider.get(), 1, 1);
+    List<BatchMethods> result = new ArrayList<>(_count);
+    for (int i = 0; i < _count; i++) {
+      result.add(new BatchMethods(count));
+    }
+    return result;
+  }
+
+  private static <T> T checkNotNull(T reference, int argumentNumber, int argumentCount) {
+    if (reference == null) {
+      throw new NullPointerException(
+          "@AutoFactory method argument is null but is not marked @Nullable. Argument "
+              + argumentNumber
+              + " of "
+              + argumentCount);
+    }
+    return reference;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.processing.Generated;
+import javax.inject.Inject;
+
+@Generated(
+    value = "com.google.auto.factory.processor.AutoFactoryProcessor",
+    comments = "https://github.com/google/auto/tree/main/factory"
+    )
+final class FactoryImplementingCreateAll_ConcreteClassFactory
+    implements FactoryImplementingCreateAll.FactoryInterfaceWithCreateAll {
+  @Inject
+  FactoryImplementingCreateAll_ConcreteClassFactory() {}
+
+  @Override
+  public FactoryImplementingCreateAll.ConcreteClass create(String name) {
+    return new FactoryImplementingCreateAll.ConcreteClass(checkNotNull(name, 1, 1));
+  }
+
+  @Override
+  public List<FactoryImplementingCreateAll.Interface> createAll(int count, String name) {
+    checkNotNull(name, 1, 1);
+    List<FactoryImplementingCreateAll.Interface> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      result.add(new FactoryImplementingCreateAll.ConcreteClass(name));
+    }
+    return result;
+  }
+
+  @Override
+  public Iterable<? extends FactoryImplementingCreateAll.Interface> createAll(String[] name) {
+    int count = checkNotNull(name, 1, 1).length;
+    List<FactoryImplementingCreateAll.ConcreteClass> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      result.add(new FactoryImplementingCreateAll.ConcreteClass(checkNotNull(name[i], 1, 1)));
+    }
+    return result;
+  }
+
+  private static <T> T checkNotNull(T reference, int argumentNumber, int argumentCount) {
+    if (reference == null) {
+      throw new NullPointerException(
+          "@AutoFactory method argument is null but is not marked @Nullable. Argument "
+              + argumentNumber
+              + " of "
+              + argumentCount);
+    }
+    return reference;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tests;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.processing.Generated;
+import javax.inject.Inject;
+
+@Generated(
+    value = "com.google.auto.factory.processor.AutoFactoryProcessor",
+    comments = "https://github.com/google/auto/tree/main/factory"
+    )
+final class PooledWithInheritedResetFactory {
+  private final AtomicReferenceArray<PooledWithInheritedReset> pool =
+      new AtomicReferenceArray<>(4);
+
+  @Inject
+  PooledWithInheritedResetFactory() {}
+
+  PooledWithInheritedReset create(String value) {
+    checkNotNull(value, 1, 1);
+    PooledWithInheritedReset recycled = acquire();
+    if (recycled == null) {
+      return new PooledWithInheritedReset(value);
+    }
+    recycled.reset(value);
+    return recycled;
+  }
+
+  void release(PooledWithInheritedReset instance) {
+    checkNotNull(instance, 1, 1);
+    int start = System.identityHashCode(Thread.currentThread());
+    int free = -1;
+    for (int i = 0; i < 4; i++) {
+      int index = (start + i) & 3;
+      PooledWithInheritedReset current = pool.get(index);
+      if (current == instance) {
+        return;
+      }
+      if (current == null && free < 0) {
+        free = index;
+      }
+    }
+    if (free >= 0) {
+      pool.compareAndSet(free, null, instance);
+    }
+  }
+
+  private PooledWithInheritedReset acquire() {
+    int start = System.identityHashCode(Thread.currentThread());
+    for (int i = 0; i < 4; i++) {
+      int index = (start + i) & 3;
+      PooledWithInheritedReset instance = pool.get(index);
+      if (instance != null && pool.compareAndSet(index, instance, null)) {
+        return instance;
+      }
+    }
+    return null;
+  }
+
+  private static <T> T checkNotNull(T reference, int argumentNumber, int argumentCount) {
+    if (reference == null) {
+      throw new NullPointerException(
+          "@AutoFactory method argument is null but is not marked @Nullable. Argument "
+              + argumentNumber
+              + " of "
+              + argumentCount);
+    }
+    return reference;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tests;
+
+import javax.annotation.processing.Generated;
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+@Generated(
+    value = "com.google.auto.factory.processor.AutoFactoryProcessor",
+    comments = "https://github.com/google/auto/tree/main/factory"
+    )
+final class ProvidedCachingFactory {
+  private final Provider<String> eagerDepProvider;
+  private final Provider<Integer> lazyPrimitiveProvider;
+  private final Provider<Object> nullableLazyDepProvider;
+  private final Provider<String> _tests_BQualifier_java_lang_StringProvider;
+  private final String eagerDep;
+  private volatile Integer lazyPrimitive;
+  private volatile Object nullableLazyDep;
+
+  @Inject
+  ProvidedCachingFactory(
+      @AQualifier Provider<String> eagerDepProvider,
+      Provider<Integer> lazyPrimitiveProvider,
+      Provider<Object> nullableLazyDepProvider,
+      @BQualifier Provider<String> _tests_BQualifier_java_lang_StringProvider) {
+    this.eagerDepProvider = checkNotNull(eagerDepProvider, 1, 4);
+    this.lazyPrimitiveProvider = checkNotNull(lazyPrimitiveProvider, 2, 4);
+    this.nullableLazyDepProvider = checkNotNull(nullableLazyDepProvider, 3, 4);
+    this._tests_BQualifier_java_lang_StringProvider =
+        checkNotNull(_tests_BQualifier_java_lang_StringProvider, 4, 4);
+    this.eagerDep = checkNotNull(eagerDepProvider.get(), 1, 4);
+  }
+
+  private Integer lazyPrimitive() {
+    Integer result = this.lazyPrimitive;
+    if (result == null) {
+      synchronized (this) {
+        result = this.lazyPrimitive;
+        if (result == null) {
+          result = checkNotNull(lazyPrimitiveProvider.get(), 2, 4);
+          this.lazyPrimitive = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  private Object nullableLazyDep() {
+    Object result = this.nullableLazyDep;
+    if (result == null) {
+      synchronized (this) {
+        result = this.nullableLazyDep;
+        if (result == null) {
+          result = nullableLazyDepProvider.get();
+          this.nullableLazyDep = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  ProvidedCaching create(String passed) {
+    return new ProvidedCaching(
+        checkNotNull(passed, 1, 6),
+        this.eagerDep,
+        lazyPrimitive(),
+        nullableLazyDep(),
+        checkNotNull(_tests_BQualifier_java_lang_StringProvider.get(), 5, 6),
+        _tests_BQualifier_java_lang_StringProvider);
+  }
+
+  private static <T> T checkNotNull(T reference, int argumentNumber, int argumentCount) {
+    if (reference == null) {
+      throw new NullPointerException(
+          "@AutoFactory method argument is null but is not marked @Nullable. Argument "
+              + argumentNumber
+              + " of "
+              + argumentCount);
+    }
+    return reference;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tests;
+
+import com.google.auto.factory.AutoFactory;
+import com.google.auto.factory.Provided;
+import javax.annotation.Nullable;
+import javax.inject.Provider;
+
+@AutoFactory
+@SuppressWarnings("unused")
+final class ProvidedCaching {
+  private final String passed;
+  private final String eagerDep;
+  private final int lazyPrimitive;
+  private final Object nullableLazyDep;
+  private final String uncachedDep;
+  private final Provider<String> providerDep;
+
+  ProvidedCaching(
+      String passed,
+      @Provided(caching = Provided.Caching.EAGER) @AQualifier String eagerDep,
+      @Provided(caching = Provided.Caching.LAZY) int lazyPrimitive,
+      @Provided(caching = Provided.Caching.LAZY) @Nullable Object nullableLazyDep,
+      @Provided @BQualifier String uncachedDep,
+      @Provided @BQualifier Provider<String> providerDep) {
+    this.passed = passed;
+    this.eagerDep = eagerDep;
+    this.lazyPrimitive = lazyPrimitive;
+    this.nullableLazyDep = nullableLazyDep;
+    this.uncachedDep = uncachedDep;
+    this.providerDep = providerDep;
+  }
+}
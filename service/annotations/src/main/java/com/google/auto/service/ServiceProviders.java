@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.service;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Finds service providers using the {@link ServiceRegistry} classes generated by the {@link
+ * AutoService} processor, falling back to {@link ServiceLoader} for services that no registry knows
+ * about.
+ *
+ * <p>For example, if every jar that provides a {@code Plugin} was compiled with {@code
+ * -AserviceRegistry=...}, then
+ *
+ * <pre>{@code
+ * List<Plugin> plugins = ServiceProviders.load(Plugin.class);
+ * }</pre>
+ *
+ * <p>returns the same providers as {@code ServiceLoader.load(Plugin.class)}, but it instantiates
+ * them without reflection and without reading any {@code META-INF/services/Plugin} files. The
+ * registries themselves are found with a single {@code ServiceLoader} lookup of {@link
+ * ServiceRegistry}, the first time a given {@code ClassLoader} is used. Code that knows its
+ * registries, for example because it is going to be compiled with GraalVM {@code native-image}, can
+ * avoid even that by calling {@link #load(Class, Iterable)} directly.
+ *
+ * <p>If at least one registry knows about a service, {@code ServiceLoader} is not consulted for it.
+ * So a jar that provides a service without a registry will be missed if another jar provides the
+ * same service with one. Either every jar that provides a given service should have a registry, or
+ * none should.
+ */
+public final class ServiceProviders {
+  // The registries are instances of classes loaded by the key, so the values must not be strongly
+  // reachable or the key could never be collected.
+  private static final Map<ClassLoader, SoftReference<List<ServiceRegistry>>> registriesByLoader =
+      new WeakHashMap<>();
+
+  private ServiceProviders() {}
+
+  /**
+   * Returns a new instance of every provider of {@code service} that is visible to the {@linkplain
+   * Thread#getContextClassLoader context class loader}, as {@link ServiceLoader#load(Class)} does.
+   */
+  public static <S> List<S> load(Class<S> service) {
+    return load(service, Thread.currentThread().getContextClassLoader());
+  }
+
+  /**
+   * Returns a new instance of every provider of {@code service} that is visible to {@code loader}.
+   * The providers come from the {@link ServiceRegistry} instances listed in the {@code
+   * META-INF/services} files visible to {@code loader}, or from {@link ServiceLoader#load(Class,
+   * ClassLoader)} if none of those registries knows about {@code service}.
+   */
+  public static <S> List<S> load(Class<S> service, ClassLoader loader) {
+    List<S> providers = load(service, registries(loader));
+    if (!providers.isEmpty()) {
+      return providers;
+    }
+    for (S provider : ServiceLoader.load(service, loader)) {
+      providers.add(provider);
+    }
+    return providers;
+  }
+
+  /**
+   * Returns a new instance of every provider of {@code service} that is known to the given
+   * registries. This never consults {@code META-INF/services} files.
+   */
+  public static <S> List<S> load(Class<S> service, Iterable<? extends ServiceRegistry> registries) {
+    List<S> providers = new ArrayList<>();
+    for (ServiceRegistry registry : registries) {
+      for (Supplier<?> supplier : registry.providers(service.getName())) {
+        providers.add(service.cast(supplier.get()));
+      }
+    }
+    return providers;
+  }
+
+  /** Returns a new instance of every provider of {@code service} known to the given registries. */
+  public static <S> List<S> load(Class<S> service, ServiceRegistry... registries) {
+    return load(service, Arrays.asList(registries));
+  }
+
+  private static List<ServiceRegistry> registries(ClassLoader loader) {
+    synchronized (registriesByLoader) {
+      SoftReference<List<ServiceRegistry>> ref = registriesByLoader.get(loader);
+      List<ServiceRegistry> registries = (ref == null) ? null : ref.get();
+      if (registries == null) {
+        List<ServiceRegistry> found = new ArrayList<>();
+        for (ServiceRegistry registry : ServiceLoader.load(ServiceRegistry.class, loader)) {
+          found.add(registry);
+        }
+        registries = Collections.unmodifiableList(found);
+        registriesByLoader.put(loader, new SoftReference<>(registries));
+      }
+      return registries;
+    }
+  }
+}
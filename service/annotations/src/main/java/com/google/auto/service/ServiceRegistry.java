@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A registry of the {@link AutoService} providers in one compilation unit, such as a jar or a
+ * module. The annotation processor generates an implementation of this interface when it is run
+ * with {@code -AserviceRegistry=com.example.MyServices}. The generated class creates providers by
+ * calling their constructors directly, so finding them does not involve reading the {@code
+ * META-INF/services} files or reflection. See {@link ServiceProviders} for how to use it.
+ */
+public interface ServiceRegistry {
+  /**
+   * Returns a supplier for each provider of the service with the given {@linkplain Class#getName
+   * binary name}, in the same order as in the {@code META-INF/services} file for that service. Each
+   * call to {@link Supplier#get()} returns a new instance of the provider. The list is empty if
+   * this registry does not know any providers of the service.
+   */
+  List<Supplier<?>> providers(String serviceName);
+}
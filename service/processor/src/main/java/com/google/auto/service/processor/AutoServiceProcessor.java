@@ -16,24 +16,32 @@
 package com.google.auto.service.processor;
 
 import static com.google.auto.common.AnnotationMirrors.getAnnotationValue;
+import static com.google.auto.common.GeneratedAnnotations.generatedAnnotation;
 import static com.google.auto.common.MoreElements.getAnnotationMirror;
 import static com.google.common.base.Throwables.getStackTraceAsString;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static javax.lang.model.util.ElementFilter.constructorsIn;
 
 import com.google.auto.common.MoreElements;
 import com.google.auto.common.MoreTypes;
 import com.google.auto.service.AutoService;
+import com.google.auto.service.ServiceRegistry;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.SortedSetMultimap;
 import com.google.common.collect.TreeMultimap;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import javax.annotation.processing.AbstractProcessor;
@@ -44,6 +52,7 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
@@ -53,6 +62,7 @@ import javax.lang.model.util.SimpleAnnotationValueVisitor8;
 import javax.lang.model.util.Types;
 import javax.tools.Diagnostic.Kind;
 import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
 import javax.tools.StandardLocation;
 
 /**
@@ -64,14 +74,40 @@ import javax.tools.StandardLocation;
  * <ul>
  *   <li>{@code -Adebug} - turns on debug statements
  *   <li>{@code -Averify=true} - turns on extra verification
+ *   <li>{@code -AserviceRegistry=com.example.MyServices} - also generates a {@link ServiceRegistry}
+ *       called {@code com.example.MyServices} that creates every provider in the compilation
+ *       directly, and lists it in {@code
+ *       META-INF/services/com.google.auto.service.ServiceRegistry}. See {@link
+ *       com.google.auto.service.ServiceProviders ServiceProviders}.
+ *   <li>{@code -AserviceFragments=true} - instead of the {@code META-INF/services} files, writes a
+ *       fragment for each provider under {@code META-INF/services-fragments} in the generated
+ *       sources directory, which {@link ServiceFragments} merges into the usual files in the
+ *       classes directory after compilation. Each fragment depends only on the class it was
+ *       generated for, which allows Gradle to treat the processor as isolating rather than
+ *       aggregating.
  * </ul>
  */
-@SupportedOptions({"debug", "verify"})
+@SupportedOptions({
+  "debug",
+  "verify",
+  AutoServiceProcessor.SERVICE_REGISTRY_OPTION,
+  AutoServiceProcessor.SERVICE_FRAGMENTS_OPTION
+})
 public class AutoServiceProcessor extends AbstractProcessor {
 
   @VisibleForTesting
   static final String MISSING_SERVICES_ERROR = "No service interfaces provided for element!";
 
+  static final String SERVICE_REGISTRY_OPTION = "serviceRegistry";
+
+  static final String SERVICE_FRAGMENTS_OPTION = "serviceFragments";
+
+  // Gradle asks processors registered as DYNAMIC in
+  // META-INF/gradle/incremental.annotation.processors
+  // which kind they are through getSupportedOptions().
+  private static final String GRADLE_ISOLATING = "org.gradle.annotation.processing.isolating";
+  private static final String GRADLE_AGGREGATING = "org.gradle.annotation.processing.aggregating";
+
   private final List<String> exceptionStacks = Collections.synchronizedList(new ArrayList<>());
 
   /**
@@ -83,11 +119,40 @@ public class AutoServiceProcessor extends AbstractProcessor {
    */
   private final SortedSetMultimap<String, String> providers = TreeMultimap.create();
 
+  /**
+   * Like {@link #providers}, but only for the providers found in the current round, which have not
+   * yet been written to a {@link ServiceRegistry}. Only populated if {@code -AserviceRegistry} was
+   * given.
+   */
+  private final SortedSetMultimap<String, String> registryProviders = TreeMultimap.create();
+
+  /**
+   * Maps the binary names of the classes in {@link #registryProviders} to their canonical names.
+   */
+  private final Map<String, String> providerSourceNames = new HashMap<>();
+
+  /** The annotated classes that {@link #registryProviders} came from. */
+  private final List<Element> registryElements = new ArrayList<>();
+
+  private int registryCount;
+
   @Override
   public ImmutableSet<String> getSupportedAnnotationTypes() {
     return ImmutableSet.of(AutoService.class.getName());
   }
 
+  @Override
+  public ImmutableSet<String> getSupportedOptions() {
+    // A registry depends on every provider in the compilation, so only fragments without a registry
+    // are isolating.
+    boolean isolating =
+        processingEnv != null && writeFragments() && !serviceRegistryName().isPresent();
+    return ImmutableSet.<String>builder()
+        .addAll(super.getSupportedOptions())
+        .add(isolating ? GRADLE_ISOLATING : GRADLE_AGGREGATING)
+        .build();
+  }
+
   @Override
   public SourceVersion getSupportedSourceVersion() {
     return SourceVersion.latestSupported();
@@ -131,9 +196,18 @@ public class AutoServiceProcessor extends AbstractProcessor {
 
   private void processImpl(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
     if (roundEnv.processingOver()) {
-      generateConfigFiles();
+      if (!writeFragments()) {
+        generateConfigFiles();
+      }
     } else {
       processAnnotations(annotations, roundEnv);
+      // The registry is written in the same round as its providers were found, because javac warns
+      // about source files that are created in the final round. If a later round finds more
+      // providers, for example in code generated by another processor, they go into another
+      // registry.
+      if (!registryProviders.isEmpty()) {
+        serviceRegistryName().ifPresent(this::generateRegistry);
+      }
     }
   }
 
@@ -161,7 +235,15 @@ public class AutoServiceProcessor extends AbstractProcessor {
         log("provider implementer: " + providerImplementer.getQualifiedName());
 
         if (checkImplementer(providerImplementer, providerType, annotationMirror)) {
-          providers.put(getBinaryName(providerType), getBinaryName(providerImplementer));
+          String implementerName = getBinaryName(providerImplementer);
+          addProvider(getBinaryName(providerType), implementerName, providerImplementer);
+          if (serviceRegistryName().isPresent()
+              && checkInstantiable(providerImplementer, annotationMirror)) {
+            registryProviders.put(getBinaryName(providerType), implementerName);
+            registryElements.add(providerImplementer);
+            providerSourceNames.put(
+                implementerName, providerImplementer.getQualifiedName().toString());
+          }
         } else {
           String message =
               "ServiceProviders must implement their service provider interface. "
@@ -174,6 +256,78 @@ public class AutoServiceProcessor extends AbstractProcessor {
     }
   }
 
+  private boolean writeFragments() {
+    return Boolean.parseBoolean(processingEnv.getOptions().get(SERVICE_FRAGMENTS_OPTION));
+  }
+
+  /**
+   * Records that {@code provider} provides {@code service}. Normally that means adding it to {@link
+   * #providers}, to be written at the end of processing. With {@code -AserviceFragments}, it means
+   * writing a fragment straight away, with the elements that caused it as its originating elements.
+   * The fragment goes to {@link StandardLocation#SOURCE_OUTPUT}, like generated sources, so that it
+   * is not packaged with the classes. Only the service files that it is merged into are.
+   */
+  private void addProvider(String service, String provider, Element... originatingElements) {
+    if (!writeFragments()) {
+      providers.put(service, provider);
+      return;
+    }
+    String resourceFile = ServicesFiles.getFragmentPath(service, provider);
+    log("Writing fragment: " + resourceFile);
+    try {
+      FileObject fileObject =
+          processingEnv
+              .getFiler()
+              .createResource(
+                  StandardLocation.SOURCE_OUTPUT, "", resourceFile, originatingElements);
+      try (OutputStream out = fileObject.openOutputStream()) {
+        ServicesFiles.writeServiceFile(ImmutableList.of(provider), out);
+      }
+    } catch (IOException e) {
+      fatalError("Unable to create " + resourceFile + ", " + getStackTraceAsString(e));
+    }
+  }
+
+  private Optional<String> serviceRegistryName() {
+    return Optional.ofNullable(processingEnv.getOptions().get(SERVICE_REGISTRY_OPTION));
+  }
+
+  /**
+   * Writes a {@link ServiceRegistry} for the providers found in this round, and adds it to the
+   * providers of {@code ServiceRegistry} so that it is listed in the corresponding {@code
+   * META-INF/services} file. The first registry has the name given by {@code -AserviceRegistry},
+   * and any later ones have a number appended to that name.
+   */
+  private void generateRegistry(String baseName) {
+    registryCount++;
+    String registryName = (registryCount == 1) ? baseName : baseName + registryCount;
+    ImmutableListMultimap.Builder<String, String> sourceNames = ImmutableListMultimap.builder();
+    registryProviders.forEach(
+        (service, provider) -> sourceNames.put(service, providerSourceNames.get(provider)));
+    Element[] originatingElements = registryElements.toArray(new Element[0]);
+    registryProviders.clear();
+    providerSourceNames.clear();
+    registryElements.clear();
+    Optional<String> generatedAnnotation =
+        generatedAnnotation(processingEnv.getElementUtils(), processingEnv.getSourceVersion())
+            .map(annotation -> annotation.getQualifiedName().toString());
+    String source =
+        ServiceRegistryWriter.registrySource(
+            registryName, sourceNames.build(), generatedAnnotation);
+    log("Registry source: " + source);
+    try {
+      JavaFileObject sourceFile =
+          processingEnv.getFiler().createSourceFile(registryName, originatingElements);
+      try (Writer writer = sourceFile.openWriter()) {
+        writer.write(source);
+      }
+    } catch (IOException e) {
+      fatalError("Unable to create " + registryName + ", " + getStackTraceAsString(e));
+      return;
+    }
+    addProvider(ServiceRegistry.class.getName(), registryName, originatingElements);
+  }
+
   private void generateConfigFiles() {
     Filer filer = processingEnv.getFiler();
 
@@ -264,6 +418,40 @@ public class AutoServiceProcessor extends AbstractProcessor {
     return true;
   }
 
+  /**
+   * Checks that the generated {@link ServiceRegistry} will be able to create an instance of {@code
+   * providerImplementer} with {@code new}. That requires a public top-level or static nested class
+   * with a public no-arg constructor, which is also what {@link java.util.ServiceLoader} requires.
+   */
+  private boolean checkInstantiable(
+      TypeElement providerImplementer, AnnotationMirror annotationMirror) {
+    boolean accessible = true;
+    for (Element e = providerImplementer; e instanceof TypeElement; e = e.getEnclosingElement()) {
+      Set<Modifier> modifiers = e.getModifiers();
+      if (!modifiers.contains(Modifier.PUBLIC)
+          || (e.getEnclosingElement() instanceof TypeElement
+              && !modifiers.contains(Modifier.STATIC)
+              && e.getKind().equals(ElementKind.CLASS))) {
+        accessible = false;
+      }
+    }
+    boolean hasPublicNoArgConstructor =
+        constructorsIn(providerImplementer.getEnclosedElements()).stream()
+            .anyMatch(
+                c -> c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC));
+    if (accessible && hasPublicNoArgConstructor) {
+      return true;
+    }
+    error(
+        "With -A"
+            + SERVICE_REGISTRY_OPTION
+            + ", @AutoService can only be applied to a public class with a public no-arg"
+            + " constructor",
+        providerImplementer,
+        annotationMirror);
+    return false;
+  }
+
   private static boolean suppresses(Element element, String warning) {
     for (; element != null; element = element.getEnclosingElement()) {
       SuppressWarnings suppress = element.getAnnotation(SuppressWarnings.class);
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.service.processor;
+
+import com.google.common.collect.ImmutableSortedSet;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Merges the fragments written by {@link AutoServiceProcessor} with {@code -AserviceFragments=true}
+ * into the {@code META-INF/services} files that {@link java.util.ServiceLoader} reads.
+ *
+ * <p>The processor writes the fragments to the generated sources directory, which is given to javac
+ * with {@code -s}, so that they are not packaged with the classes. This should run after
+ * compilation and before the classes directory is packaged or used, for example from a Gradle
+ * {@code doLast} action on the compile task or from the {@code exec-maven-plugin} in the {@code
+ * process-classes} phase:
+ *
+ * <pre>
+ * java -cp auto-service.jar com.google.auto.service.processor.ServiceFragments \
+ *     build/generated/sources/annotationProcessor/java/main build/classes/java/main
+ * </pre>
+ *
+ * <p>Without {@code -s}, javac writes generated sources, and so the fragments, to the classes
+ * directory. Then that directory is given twice, and the fragments are packaged as well. That is
+ * harmless, since {@link java.util.ServiceLoader} only reads {@code META-INF/services}.
+ *
+ * <p>Merging only reads the small fragment files, so it is much cheaper than reprocessing every
+ * {@code @AutoService} class, which is what Gradle must do for an aggregating processor whenever
+ * any one of them changes.
+ */
+public final class ServiceFragments {
+  private ServiceFragments() {}
+
+  /**
+   * Merges fragments. The arguments are pairs of a generated sources directory and the classes
+   * directory of the same compilation.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0 || args.length % 2 != 0) {
+      throw new IllegalArgumentException(
+          "Usage: ServiceFragments <generated sources directory> <classes directory>...");
+    }
+    for (int i = 0; i < args.length; i += 2) {
+      merge(Paths.get(args[i]), Paths.get(args[i + 1]));
+    }
+  }
+
+  /**
+   * Writes {@code META-INF/services/<service>} in {@code classesDirectory} for every service that
+   * has fragments in {@code generatedSourcesDirectory}. The record of what was merged, which a
+   * later merge needs, is kept with the fragments. Providers that were already in the file, for
+   * example because it was copied from the resources, are kept, unless an earlier merge put them
+   * there. So a provider whose fragment was deleted is removed. The providers in each file are
+   * sorted, as they are when the processor writes the files itself. If there are no providers left
+   * for a service, because its last provider was deleted, then the service file is deleted too.
+   *
+   * @return the names of the services whose files were written
+   */
+  public static ImmutableSortedSet<String> merge(
+      Path generatedSourcesDirectory, Path classesDirectory) throws IOException {
+    Path fragments = generatedSourcesDirectory.resolve(ServicesFiles.FRAGMENTS_PATH);
+    ImmutableSortedSet.Builder<String> written = ImmutableSortedSet.naturalOrder();
+    if (!Files.isDirectory(fragments)) {
+      return written.build();
+    }
+    try (DirectoryStream<Path> serviceDirectories = Files.newDirectoryStream(fragments)) {
+      for (Path serviceDirectory : serviceDirectories) {
+        if (!Files.isDirectory(serviceDirectory)) {
+          continue;
+        }
+        String service = serviceDirectory.getFileName().toString();
+        Path serviceFile = classesDirectory.resolve(ServicesFiles.getPath(service));
+        Path mergedFile = generatedSourcesDirectory.resolve(ServicesFiles.getMergedPath(service));
+        SortedSet<String> merged = readFragments(serviceDirectory);
+        SortedSet<String> providers = readIfExists(serviceFile);
+        providers.removeAll(readIfExists(mergedFile));
+        providers.addAll(merged);
+        if (merged.isEmpty()) {
+          Files.deleteIfExists(mergedFile);
+        } else {
+          try (OutputStream out = Files.newOutputStream(mergedFile)) {
+            ServicesFiles.writeServiceFile(merged, out);
+          }
+        }
+        if (providers.isEmpty()) {
+          Files.deleteIfExists(serviceFile);
+          continue;
+        }
+        Files.createDirectories(serviceFile.getParent());
+        try (OutputStream out = Files.newOutputStream(serviceFile)) {
+          ServicesFiles.writeServiceFile(providers, out);
+        }
+        written.add(service);
+      }
+    }
+    return written.build();
+  }
+
+  private static SortedSet<String> readIfExists(Path file) throws IOException {
+    SortedSet<String> providers = new TreeSet<>();
+    if (Files.exists(file)) {
+      try (InputStream in = Files.newInputStream(file)) {
+        providers.addAll(ServicesFiles.readServiceFile(in));
+      }
+    }
+    return providers;
+  }
+
+  private static SortedSet<String> readFragments(Path serviceDirectory) throws IOException {
+    SortedSet<String> providers = new TreeSet<>();
+    try (DirectoryStream<Path> fragments = Files.newDirectoryStream(serviceDirectory)) {
+      for (Path fragment : fragments) {
+        try (InputStream in = Files.newInputStream(fragment)) {
+          providers.addAll(ServicesFiles.readServiceFile(in));
+        }
+      }
+    }
+    return providers;
+  }
+}
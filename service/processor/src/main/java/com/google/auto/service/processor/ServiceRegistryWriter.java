@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.service.processor;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Writes the source code of a {@link com.google.auto.service.ServiceRegistry} implementation.
+ *
+ * <p>The generated class has a single nested {@code Supplier} class whose {@code get()} method is a
+ * {@code switch} with one {@code new} expression per provider. Provider classes are therefore only
+ * loaded when a provider of their service is actually requested, and the registry does not need a
+ * lambda or an extra class per provider, each of which would add to startup time.
+ */
+final class ServiceRegistryWriter {
+  private ServiceRegistryWriter() {}
+
+  /**
+   * Returns the source of a registry class called {@code className}.
+   *
+   * @param className the fully-qualified name of the class to generate
+   * @param providers maps the binary name of each service to the canonical names of its providers,
+   *     in the order they should be returned
+   * @param generatedAnnotation the fully-qualified name of the {@code @Generated} annotation to
+   *     use, if one is available
+   */
+  static String registrySource(
+      String className,
+      ImmutableListMultimap<String, String> providers,
+      Optional<String> generatedAnnotation) {
+    int lastDot = className.lastIndexOf('.');
+    String packageName = (lastDot < 0) ? "" : className.substring(0, lastDot);
+    String simpleName = className.substring(lastDot + 1);
+    // A class that provides several services gets the same index in each of them.
+    List<String> distinctProviders = ImmutableSet.copyOf(providers.values()).asList();
+    Map<String, Integer> providerIndexes = new HashMap<>();
+    for (String provider : distinctProviders) {
+      providerIndexes.put(provider, providerIndexes.size());
+    }
+
+    StringBuilder sb = new StringBuilder();
+    if (!packageName.isEmpty()) {
+      sb.append("package ").append(packageName).append(";\n\n");
+    }
+    generatedAnnotation.ifPresent(
+        annotation ->
+            sb.append('@')
+                .append(annotation)
+                .append("(\"")
+                .append(AutoServiceProcessor.class.getName())
+                .append("\")\n"));
+    // Generic providers are instantiated as raw types, which is what ServiceLoader does too.
+    sb.append("@SuppressWarnings(\"rawtypes\")\n")
+        .append("public final class ")
+        .append(simpleName)
+        .append(" implements com.google.auto.service.ServiceRegistry {\n")
+        .append("  public ")
+        .append(simpleName)
+        .append("() {}\n\n")
+        .append("  @Override\n")
+        .append("  public java.util.List<java.util.function.Supplier<?>> providers(")
+        .append("String serviceName) {\n")
+        .append("    switch (serviceName) {\n");
+    Map<String, Collection<String>> byService = ImmutableSortedMap.copyOf(providers.asMap());
+    for (Map.Entry<String, Collection<String>> entry : byService.entrySet()) {
+      sb.append("      case \"").append(entry.getKey()).append("\":\n");
+      sb.append("        return java.util.Arrays.<java.util.function.Supplier<?>>asList(");
+      String separator = "";
+      for (String provider : entry.getValue()) {
+        sb.append(separator).append("new Provider(").append(providerIndexes.get(provider));
+        sb.append(')');
+        separator = ", ";
+      }
+      sb.append(");\n");
+    }
+    sb.append("      default:\n")
+        .append("        return java.util.Collections.emptyList();\n")
+        .append("    }\n")
+        .append("  }\n\n")
+        .append("  private static final class Provider")
+        .append(" implements java.util.function.Supplier<Object> {\n")
+        .append("    private final int index;\n\n")
+        .append("    Provider(int index) {\n")
+        .append("      this.index = index;\n")
+        .append("    }\n\n")
+        .append("    @Override\n")
+        .append("    public Object get() {\n")
+        .append("      switch (index) {\n");
+    for (int i = 0; i < distinctProviders.size(); i++) {
+      sb.append("        case ").append(i).append(":\n");
+      sb.append("          return new ").append(distinctProviders.get(i)).append("();\n");
+    }
+    sb.append("        default:\n")
+        .append("          throw new AssertionError(index);\n")
+        .append("      }\n")
+        .append("    }\n")
+        .append("  }\n")
+        .append("}\n");
+    return sb.toString();
+  }
+}
@@ -32,6 +32,13 @@ import java.util.Set;
 final class ServicesFiles {
   public static final String SERVICES_PATH = "META-INF/services";
 
+  /**
+   * The directory, relative to the generated sources directory, where {@code -AserviceFragments}
+   * puts one file for each provider of each service, at {@code
+   * FRAGMENTS_PATH/<service>/<provider>}.
+   */
+  static final String FRAGMENTS_PATH = "META-INF/services-fragments";
+
   private ServicesFiles() {}
 
   /**
@@ -44,6 +51,22 @@ final class ServicesFiles {
     return SERVICES_PATH + "/" + serviceName;
   }
 
+  /**
+   * Returns the path of the fragment that records that {@code provider} provides {@code service}.
+   */
+  static String getFragmentPath(String serviceName, String providerName) {
+    return FRAGMENTS_PATH + "/" + serviceName + "/" + providerName;
+  }
+
+  /**
+   * Returns the path of the file where {@link ServiceFragments} records which providers of {@code
+   * service} it merged from fragments, so that a later merge can tell them apart from providers
+   * that were already in the service file.
+   */
+  static String getMergedPath(String serviceName) {
+    return FRAGMENTS_PATH + "/" + serviceName + ".merged";
+  }
+
   /**
    * Reads the set of service classes from a service file.
    *
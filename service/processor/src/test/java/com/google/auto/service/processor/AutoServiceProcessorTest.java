@@ -16,22 +16,46 @@
 package com.google.auto.service.processor;
 
 import static com.google.auto.service.processor.AutoServiceProcessor.MISSING_SERVICES_ERROR;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.testing.compile.CompilationSubject.assertThat;
 
+import com.google.auto.service.ServiceProviders;
+import com.google.auto.service.ServiceRegistry;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Streams;
 import com.google.common.io.Resources;
 import com.google.testing.compile.Compilation;
 import com.google.testing.compile.Compiler;
 import com.google.testing.compile.JavaFileObjects;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ServiceLoader;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardLocation;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 /** Tests the {@link AutoServiceProcessor}. */
 @RunWith(JUnit4.class)
 public class AutoServiceProcessorTest {
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   private final Compiler compiler = Compiler.javac().withProcessors(new AutoServiceProcessor());
 
   @Test
@@ -235,4 +259,290 @@ public class AutoServiceProcessorTest {
         .onLineContaining("@AutoService");
     assertThat(processor.exceptionStacks()).isEmpty();
   }
+
+  @Test
+  public void serviceRegistry() throws Exception {
+    Compilation compilation =
+        compiler
+            .withOptions("-AserviceRegistry=test.TestServices")
+            .compile(
+                JavaFileObjects.forResource("test/SomeService.java"),
+                JavaFileObjects.forResource("test/SomeServiceProvider1.java"),
+                JavaFileObjects.forResource("test/Enclosing.java"),
+                JavaFileObjects.forResource("test/Plugin.java"),
+                JavaFileObjects.forResource("test/PluginProviders.java"));
+    assertThat(compilation).succeededWithoutWarnings();
+    // The ordinary service files are still generated.
+    assertThat(compilation)
+        .generatedFile(StandardLocation.CLASS_OUTPUT, "META-INF/services/test.Plugin")
+        .contentsAsUtf8String()
+        .isEqualTo("test.PluginProviders$First\ntest.PluginProviders$Second\n");
+    assertThat(compilation)
+        .generatedFile(
+            StandardLocation.CLASS_OUTPUT,
+            "META-INF/services/com.google.auto.service.ServiceRegistry")
+        .contentsAsUtf8String()
+        .isEqualTo("test.TestServices\n");
+    assertThat(compilation)
+        .generatedSourceFile("test.TestServices")
+        .contentsAsUtf8String()
+        .contains("return new test.Enclosing.NestedSomeServiceProvider();");
+
+    ClassLoader loader = classLoaderFor(compilation);
+    Class<?> plugin = loader.loadClass("test.Plugin");
+    assertThat(classNames(ServiceProviders.load(plugin, loader)))
+        .containsExactly("test.PluginProviders$First", "test.PluginProviders$Second")
+        .inOrder();
+    assertThat(classNames(ServiceProviders.load(plugin, loader)))
+        .containsExactlyElementsIn(classNames(ServiceLoader.load(plugin, loader)))
+        .inOrder();
+    // Like ServiceLoader, the registry creates new instances each time.
+    assertThat(ServiceProviders.load(plugin, loader).get(0))
+        .isNotSameInstanceAs(ServiceProviders.load(plugin, loader).get(0));
+
+    ServiceRegistry registry =
+        (ServiceRegistry) loader.loadClass("test.TestServices").getConstructor().newInstance();
+    assertThat(classNames(ServiceProviders.load(plugin, registry)))
+        .containsExactly("test.PluginProviders$First", "test.PluginProviders$Second")
+        .inOrder();
+    assertThat(registry.providers("test.SomeService")).hasSize(3);
+    assertThat(registry.providers("test.Unknown")).isEmpty();
+  }
+
+  @Test
+  public void serviceRegistry_fallsBackToServiceLoader() throws Exception {
+    Compilation compilation =
+        compiler.compile(
+            JavaFileObjects.forResource("test/SomeService.java"),
+            JavaFileObjects.forResource("test/Plugin.java"),
+            JavaFileObjects.forResource("test/PluginProviders.java"));
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation.generatedSourceFiles()).isEmpty();
+
+    ClassLoader loader = classLoaderFor(compilation);
+    Class<?> plugin = loader.loadClass("test.Plugin");
+    assertThat(classNames(ServiceProviders.load(plugin, loader)))
+        .containsExactly("test.PluginProviders$First", "test.PluginProviders$Second")
+        .inOrder();
+  }
+
+  @Test
+  public void serviceRegistry_providersInLaterRound() throws Exception {
+    Compilation compilation =
+        Compiler.javac()
+            .withProcessors(new AutoServiceProcessor(), new GeneratePluginProcessor())
+            .withOptions("-AserviceRegistry=test.TestServices")
+            .compile(
+                JavaFileObjects.forResource("test/SomeService.java"),
+                JavaFileObjects.forResource("test/Plugin.java"),
+                JavaFileObjects.forResource("test/PluginProviders.java"));
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation)
+        .generatedFile(
+            StandardLocation.CLASS_OUTPUT,
+            "META-INF/services/com.google.auto.service.ServiceRegistry")
+        .contentsAsUtf8String()
+        .isEqualTo("test.TestServices\ntest.TestServices2\n");
+
+    ClassLoader loader = classLoaderFor(compilation);
+    Class<?> plugin = loader.loadClass("test.Plugin");
+    assertThat(classNames(ServiceProviders.load(plugin, loader)))
+        .containsExactly(
+            "test.PluginProviders$First", "test.PluginProviders$Second", "test.GeneratedPlugin")
+        .inOrder();
+  }
+
+  /** Generates an {@code @AutoService} class in the first round. */
+  @SupportedAnnotationTypes("*")
+  private static class GeneratePluginProcessor extends AbstractProcessor {
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+      return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+      if (!generated) {
+        generated = true;
+        try (Writer writer =
+            processingEnv.getFiler().createSourceFile("test.GeneratedPlugin").openWriter()) {
+          writer.write(
+              "package test;\n"
+                  + "@com.google.auto.service.AutoService(Plugin.class)\n"
+                  + "public class GeneratedPlugin implements Plugin {}\n");
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      return false;
+    }
+  }
+
+  @Test
+  public void serviceRegistry_nonPublicProvider() {
+    JavaFileObject nonPublic = JavaFileObjects.forResource("test/NonPublicServiceProvider.java");
+    Compilation compilation =
+        compiler
+            .withOptions("-AserviceRegistry=test.TestServices")
+            .compile(JavaFileObjects.forResource("test/SomeService.java"), nonPublic);
+    assertThat(compilation)
+        .hadErrorContaining(
+            "can only be applied to a public class with a public no-arg constructor")
+        .inFile(nonPublic)
+        .onLineContaining("@AutoService");
+  }
+
+  @Test
+  public void serviceFragments() throws Exception {
+    AutoServiceProcessor processor = new AutoServiceProcessor();
+    Compilation compilation =
+        Compiler.javac()
+            .withProcessors(processor)
+            .withOptions("-AserviceFragments=true")
+            .compile(
+                JavaFileObjects.forResource("test/SomeService.java"),
+                JavaFileObjects.forResource("test/SomeServiceProvider1.java"),
+                JavaFileObjects.forResource("test/SomeServiceProvider2.java"),
+                JavaFileObjects.forResource("test/Enclosing.java"),
+                JavaFileObjects.forResource("test/AnotherService.java"),
+                JavaFileObjects.forResource("test/AnotherServiceProvider.java"));
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(processor.getSupportedOptions())
+        .contains("org.gradle.annotation.processing.isolating");
+    assertThat(
+            compilation.generatedFile(
+                StandardLocation.CLASS_OUTPUT, "META-INF/services/test.SomeService"))
+        .isEmpty();
+    assertThat(compilation)
+        .generatedFile(
+            StandardLocation.SOURCE_OUTPUT,
+            "META-INF/services-fragments/test.SomeService/test.Enclosing$NestedSomeServiceProvider")
+        .contentsAsUtf8String()
+        .isEqualTo("test.Enclosing$NestedSomeServiceProvider\n");
+
+    // Merging the fragments gives the same files as the processor writes without fragments, and
+    // leaves nothing else in the classes directory.
+    Path sources = writeGeneratedFiles(compilation, StandardLocation.SOURCE_OUTPUT);
+    Path classes = writeGeneratedFiles(compilation);
+    assertThat(ServiceFragments.merge(sources, classes))
+        .containsExactly("test.AnotherService", "test.SomeService");
+    assertThat(Files.exists(classes.resolve("META-INF/services-fragments"))).isFalse();
+    assertThat(Files.readAllBytes(classes.resolve("META-INF/services/test.SomeService")))
+        .isEqualTo(
+            Resources.toByteArray(Resources.getResource("META-INF/services/test.SomeService")));
+    assertThat(Files.readAllBytes(classes.resolve("META-INF/services/test.AnotherService")))
+        .isEqualTo(
+            Resources.toByteArray(Resources.getResource("META-INF/services/test.AnotherService")));
+
+    // When a provider is deleted, the build tool deletes its fragment, and merging again updates
+    // the service file.
+    Files.delete(
+        sources.resolve(
+            "META-INF/services-fragments/test.AnotherService/test.AnotherServiceProvider"));
+    Files.delete(
+        sources.resolve("META-INF/services-fragments/test.SomeService/test.SomeServiceProvider1"));
+    assertThat(ServiceFragments.merge(sources, classes)).containsExactly("test.SomeService");
+    assertThat(Files.exists(classes.resolve("META-INF/services/test.AnotherService"))).isFalse();
+    assertThat(Files.readAllLines(classes.resolve("META-INF/services/test.SomeService")))
+        .containsExactly("test.Enclosing$NestedSomeServiceProvider", "test.SomeServiceProvider2")
+        .inOrder();
+  }
+
+  @Test
+  public void serviceFragments_keepsServiceFileFromResources() throws Exception {
+    Compilation compilation =
+        Compiler.javac()
+            .withProcessors(new AutoServiceProcessor())
+            .withOptions("-AserviceFragments=true")
+            .compile(
+                JavaFileObjects.forResource("test/SomeService.java"),
+                JavaFileObjects.forResource("test/SomeServiceProvider1.java"),
+                JavaFileObjects.forResource("test/SomeServiceProvider2.java"));
+    assertThat(compilation).succeededWithoutWarnings();
+    Path sources = writeGeneratedFiles(compilation, StandardLocation.SOURCE_OUTPUT);
+    Path classes = writeGeneratedFiles(compilation);
+    // A hand-written service file, which the build tool has copied from the resources.
+    Path serviceFile = classes.resolve("META-INF/services/test.SomeService");
+    Files.createDirectories(serviceFile.getParent());
+    Files.write(serviceFile, ImmutableList.of("# Hand-written", "test.HandWrittenProvider"));
+
+    assertThat(ServiceFragments.merge(sources, classes)).containsExactly("test.SomeService");
+    assertThat(Files.readAllLines(serviceFile))
+        .containsExactly(
+            "test.HandWrittenProvider", "test.SomeServiceProvider1", "test.SomeServiceProvider2")
+        .inOrder();
+
+    // Merging again removes a provider whose fragment was deleted, but not the hand-written one.
+    Path fragments = sources.resolve("META-INF/services-fragments/test.SomeService");
+    Files.delete(fragments.resolve("test.SomeServiceProvider1"));
+    ServiceFragments.merge(sources, classes);
+    assertThat(Files.readAllLines(serviceFile))
+        .containsExactly("test.HandWrittenProvider", "test.SomeServiceProvider2")
+        .inOrder();
+
+    Files.delete(fragments.resolve("test.SomeServiceProvider2"));
+    ServiceFragments.merge(sources, classes);
+    assertThat(Files.readAllLines(serviceFile)).containsExactly("test.HandWrittenProvider");
+  }
+
+  @Test
+  public void serviceFragments_withRegistryIsAggregating() throws Exception {
+    AutoServiceProcessor processor = new AutoServiceProcessor();
+    Compilation compilation =
+        Compiler.javac()
+            .withProcessors(processor)
+            .withOptions("-AserviceFragments=true", "-AserviceRegistry=test.TestServices")
+            .compile(
+                JavaFileObjects.forResource("test/SomeService.java"),
+                JavaFileObjects.forResource("test/Plugin.java"),
+                JavaFileObjects.forResource("test/PluginProviders.java"));
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(processor.getSupportedOptions())
+        .contains("org.gradle.annotation.processing.aggregating");
+
+    Path sources = writeGeneratedFiles(compilation, StandardLocation.SOURCE_OUTPUT);
+    Path classes = writeGeneratedFiles(compilation);
+    ServiceFragments.merge(sources, classes);
+    ClassLoader loader =
+        new URLClassLoader(new URL[] {classes.toUri().toURL()}, getClass().getClassLoader());
+    Class<?> plugin = loader.loadClass("test.Plugin");
+    assertThat(classNames(ServiceProviders.load(plugin, loader)))
+        .containsExactly("test.PluginProviders$First", "test.PluginProviders$Second")
+        .inOrder();
+  }
+
+  /** Returns a class loader for the classes and resources that {@code compilation} generated. */
+  private ClassLoader classLoaderFor(Compilation compilation) throws IOException {
+    Path root = writeGeneratedFiles(compilation);
+    return new URLClassLoader(new URL[] {root.toUri().toURL()}, getClass().getClassLoader());
+  }
+
+  /** Copies the class files and resources that {@code compilation} generated to a directory. */
+  private Path writeGeneratedFiles(Compilation compilation) throws IOException {
+    return writeGeneratedFiles(compilation, StandardLocation.CLASS_OUTPUT);
+  }
+
+  /** Copies the files that {@code compilation} generated in {@code location} to a directory. */
+  private Path writeGeneratedFiles(Compilation compilation, StandardLocation location)
+      throws IOException {
+    Path root = temporaryFolder.newFolder().toPath();
+    String prefix = "/" + location.getName() + "/";
+    for (JavaFileObject file : compilation.generatedFiles()) {
+      String path = file.toUri().getPath();
+      if (path.startsWith(prefix)) {
+        Path target = root.resolve(path.substring(prefix.length()));
+        Files.createDirectories(target.getParent());
+        try (InputStream in = file.openInputStream()) {
+          Files.copy(in, target);
+        }
+      }
+    }
+    return root;
+  }
+
+  private static ImmutableList<String> classNames(Iterable<?> objects) {
+    return Streams.stream(objects).map(o -> o.getClass().getName()).collect(toImmutableList());
+  }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.service.processor;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/** Runs {@link AutoServiceProcessor} over source files on disk, for the benchmarks. */
+final class BenchmarkCompilation {
+  private BenchmarkCompilation() {}
+
+  /** Writes each source in {@code sources}, keyed by class name, to a file under {@code dir}. */
+  static ImmutableList<File> writeSources(Path dir, Map<String, String> sources)
+      throws IOException {
+    ImmutableList.Builder<File> files = ImmutableList.builder();
+    for (Map.Entry<String, String> entry : sources.entrySet()) {
+      Path file = dir.resolve(entry.getKey().replace('.', '/') + ".java");
+      Files.createDirectories(file.getParent());
+      Files.write(file, ImmutableList.of(entry.getValue()));
+      files.add(file.toFile());
+    }
+    return files.build();
+  }
+
+  /**
+   * Compiles {@code sourceFiles} into {@code output} with {@link AutoServiceProcessor}. The classes
+   * named in {@code classNames} are read from the class path and passed to the processor as well,
+   * which is how Gradle reprocesses the unchanged inputs of an aggregating processor.
+   */
+  static void compile(
+      Path output,
+      List<File> sourceFiles,
+      Iterable<String> classNames,
+      String classPath,
+      String... options)
+      throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    Files.createDirectories(output);
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+      Iterable<? extends JavaFileObject> units =
+          fileManager.getJavaFileObjectsFromFiles(sourceFiles);
+      List<String> args = new ArrayList<>();
+      args.add("-d");
+      args.add(output.toString());
+      args.add("-classpath");
+      args.add(output + File.pathSeparator + classPath);
+      args.addAll(ImmutableList.copyOf(options));
+      JavaCompiler.CompilationTask task =
+          compiler.getTask(null, fileManager, null, args, classNames, units);
+      task.setProcessors(ImmutableList.of(new AutoServiceProcessor()));
+      checkState(task.call(), "Compilation failed");
+    }
+  }
+}
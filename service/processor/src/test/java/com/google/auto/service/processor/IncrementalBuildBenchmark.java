@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.service.processor;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the work that an incremental build does after one {@code @AutoService} class in a module
+ * of {@value #PROVIDERS} providers has been edited.
+ *
+ * <p>When the processor is aggregating, Gradle recompiles the edited class and also passes every
+ * other {@code @AutoService} class in the module back to the processor, by name, so that it can
+ * rewrite the complete {@code META-INF/services} files. With {@code -AserviceFragments=true} and no
+ * registry, the processor is isolating, so only the edited class is compiled and processed, after
+ * which {@link ServiceFragments} merges the fragments. The compilations have no {@code -s}, so the
+ * fragments are in the classes directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IncrementalBuildBenchmark {
+  static final int PROVIDERS = 1000;
+  static final int SERVICES = 10;
+
+  private Path root;
+  private String classPath;
+  private ImmutableList<File> allSources;
+  private ImmutableList<File> editedSource;
+  private ImmutableList<String> unchangedProviders;
+  private Path aggregatingClasses;
+  private Path fragmentClasses;
+
+  @Setup
+  public void setUp() throws IOException {
+    root = Files.createTempDirectory("IncrementalBuildBenchmark");
+    classPath = System.getProperty("java.class.path");
+    Map<String, String> sources = new LinkedHashMap<>();
+    for (int s = 0; s < SERVICES; s++) {
+      sources.put("bench.Service" + s, "package bench; public interface Service" + s + " {}");
+    }
+    ImmutableList.Builder<String> unchanged = ImmutableList.builder();
+    for (int p = 0; p < PROVIDERS; p++) {
+      String name = "bench.Provider" + p;
+      String service = "Service" + (p % SERVICES);
+      sources.put(
+          name,
+          String.format(
+              "package bench;\n"
+                  + "@com.google.auto.service.AutoService(%s.class)\n"
+                  + "public class Provider%d implements %s {}\n",
+              service, p, service));
+      if (p > 0) {
+        unchanged.add(name);
+      }
+    }
+    unchangedProviders = unchanged.build();
+    allSources = BenchmarkCompilation.writeSources(root.resolve("src"), sources);
+    editedSource =
+        allSources.stream()
+            .filter(f -> f.getName().equals("Provider0.java"))
+            .collect(ImmutableList.toImmutableList());
+
+    aggregatingClasses = root.resolve("aggregating");
+    BenchmarkCompilation.compile(aggregatingClasses, allSources, ImmutableList.of(), classPath);
+    fragmentClasses = root.resolve("fragments");
+    BenchmarkCompilation.compile(
+        fragmentClasses, allSources, ImmutableList.of(), classPath, "-AserviceFragments=true");
+    ServiceFragments.merge(fragmentClasses, fragmentClasses);
+
+    aggregatingIncremental();
+    isolatingIncremental();
+    checkState(
+        Files.readAllLines(aggregatingClasses.resolve("META-INF/services/bench.Service0"))
+            .equals(
+                Files.readAllLines(fragmentClasses.resolve("META-INF/services/bench.Service0"))));
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    MoreFiles.deleteRecursively(root, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  /** Compiles the whole module from scratch, for comparison. */
+  @Benchmark
+  public void fullBuild() throws IOException {
+    BenchmarkCompilation.compile(
+        root.resolve("full"), allSources, ImmutableList.of(), classPath, "-AserviceFragments=true");
+  }
+
+  @Benchmark
+  public void aggregatingIncremental() throws IOException {
+    BenchmarkCompilation.compile(aggregatingClasses, editedSource, unchangedProviders, classPath);
+  }
+
+  @Benchmark
+  public void isolatingIncremental() throws IOException {
+    BenchmarkCompilation.compile(
+        fragmentClasses, editedSource, ImmutableList.of(), classPath, "-AserviceFragments=true");
+    ServiceFragments.merge(fragmentClasses, fragmentClasses);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.service.processor;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.auto.service.ServiceProviders;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to find and instantiate every provider of a set of services, using
+ * {@link ServiceLoader} and using the registries generated with {@code -AserviceRegistry}.
+ *
+ * <p>The setup compiles {@value #SERVICES} service interfaces and {@value #MODULES} modules, each
+ * with {@value #PROVIDERS_PER_SERVICE} providers of every service, so {@value #TOTAL_PROVIDERS}
+ * providers in all. Each module is compiled separately with its own registry and goes in its own
+ * directory on the class path, as it would if it were a jar. Each benchmark invocation creates a
+ * new class loader over those directories, so that every class has to be loaded afresh, as it would
+ * be when a program starts. The default mode runs each benchmark once in each of several fresh
+ * JVMs, to measure the cold startup cost. Running with {@code -bm avgt} instead measures the cost
+ * once the JDK's own class-loading code has been compiled by the JIT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ServiceLoadingBenchmark {
+  static final int SERVICES = 5;
+  static final int MODULES = 20;
+  static final int PROVIDERS_PER_SERVICE = 3;
+  static final int TOTAL_PROVIDERS = SERVICES * MODULES * PROVIDERS_PER_SERVICE;
+
+  private Path root;
+  private URL[] classPath;
+
+  @Setup
+  public void setUp() throws IOException {
+    root = Files.createTempDirectory("ServiceLoadingBenchmark");
+    List<URL> urls = new ArrayList<>();
+    Path api = root.resolve("api");
+    Map<String, String> apiSources = new LinkedHashMap<>();
+    for (int s = 0; s < SERVICES; s++) {
+      apiSources.put(
+          "bench.api.Service" + s, "package bench.api; public interface Service" + s + " {}");
+    }
+    BenchmarkCompilation.compile(
+        api,
+        BenchmarkCompilation.writeSources(root.resolve("api-src"), apiSources),
+        ImmutableList.of(),
+        System.getProperty("java.class.path"));
+    urls.add(api.toUri().toURL());
+    for (int m = 0; m < MODULES; m++) {
+      Path module = root.resolve("module" + m);
+      Map<String, String> sources = new LinkedHashMap<>();
+      for (int s = 0; s < SERVICES; s++) {
+        for (int p = 0; p < PROVIDERS_PER_SERVICE; p++) {
+          String name = "Provider" + s + "x" + p;
+          String service = "bench.api.Service" + s;
+          sources.put(
+              "bench.module" + m + "." + name,
+              String.format(
+                  "package bench.module%d;\n"
+                      + "@com.google.auto.service.AutoService(%s.class)\n"
+                      + "public class %s implements %s {}\n",
+                  m, service, name, service));
+        }
+      }
+      BenchmarkCompilation.compile(
+          module,
+          BenchmarkCompilation.writeSources(root.resolve("module" + m + "-src"), sources),
+          ImmutableList.of(),
+          api + File.pathSeparator + System.getProperty("java.class.path"),
+          "-AserviceRegistry=bench.module" + m + ".Services");
+      urls.add(module.toUri().toURL());
+    }
+    classPath = urls.toArray(new URL[0]);
+    checkState(serviceLoader() == TOTAL_PROVIDERS);
+    checkState(registries() == TOTAL_PROVIDERS);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    MoreFiles.deleteRecursively(root, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Benchmark
+  public int serviceLoader() throws IOException {
+    try (URLClassLoader loader = new URLClassLoader(classPath, getClass().getClassLoader())) {
+      int count = 0;
+      for (int s = 0; s < SERVICES; s++) {
+        for (Object unused : ServiceLoader.load(serviceClass(loader, s), loader)) {
+          count++;
+        }
+      }
+      return count;
+    }
+  }
+
+  @Benchmark
+  public int registries() throws IOException {
+    try (URLClassLoader loader = new URLClassLoader(classPath, getClass().getClassLoader())) {
+      int count = 0;
+      for (int s = 0; s < SERVICES; s++) {
+        count += ServiceProviders.load(serviceClass(loader, s), loader).size();
+      }
+      return count;
+    }
+  }
+
+  private static Class<?> serviceClass(ClassLoader loader, int s) {
+    try {
+      return loader.loadClass("bench.api.Service" + s);
+    } catch (ClassNotFoundException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The same as {@link TreeValue}, except that it has an {@code appendTo(StringBuilder)} method, so
+ * its {@code toString()} appends the whole tree to a single {@link StringBuilder}.
+ */
+@AutoValue
+abstract class AppendableTreeValue {
+  abstract String label();
+
+  abstract int weight();
+
+  abstract ImmutableList<AppendableTreeValue> children();
+
+  abstract StringBuilder appendTo(StringBuilder sb);
+
+  static AppendableTreeValue create(
+      String label, int weight, ImmutableList<AppendableTreeValue> children) {
+    return new AutoValue_AppendableTreeValue(label, weight, children);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures instances of {@link Tag} made by an {@link
+ * com.google.auto.value.AutoAnnotation @AutoAnnotation} method, compared with the proxy instances
+ * that the JDK returns from reflection. Code such as dependency injectors commonly uses annotations
+ * as map keys, so {@code equals} and {@code hashCode} matter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutoAnnotationBenchmark {
+  @Tag(
+      value = "tag",
+      priority = 3,
+      aliases = {"a", "b"})
+  private static final class Annotated {}
+
+  @Tag(
+      value = "tag",
+      priority = 3,
+      aliases = {"a", "b"})
+  private static final class OtherAnnotated {}
+
+  private String value = "tag";
+  private int priority = 3;
+  private String[] aliases = {"a", "b"};
+
+  private Tag generated;
+  private Tag otherGenerated;
+  private Tag reflective;
+  private Tag otherReflective;
+
+  @Setup
+  public void setUp() {
+    generated = Tag.Factory.tag(value, priority, aliases);
+    otherGenerated = Tag.Factory.tag(value, priority, aliases);
+    reflective = Annotated.class.getAnnotation(Tag.class);
+    // The JDK caches the annotations of each class, so a distinct instance needs a different class.
+    otherReflective = OtherAnnotated.class.getAnnotation(Tag.class);
+    if (!generated.equals(reflective) || !reflective.equals(generated)) {
+      throw new AssertionError("Generated and reflective annotations should be equal");
+    }
+  }
+
+  @Benchmark
+  public Tag create() {
+    return Tag.Factory.tag(value, priority, aliases);
+  }
+
+  @Benchmark
+  public boolean generatedEquals() {
+    return generated.equals(otherGenerated);
+  }
+
+  @Benchmark
+  public boolean reflectiveEquals() {
+    return reflective.equals(otherReflective);
+  }
+
+  @Benchmark
+  public int generatedHashCode() {
+    return generated.hashCode();
+  }
+
+  @Benchmark
+  public int reflectiveHashCode() {
+    return reflective.hashCode();
+  }
+
+  @Benchmark
+  public String generatedToString() {
+    return generated.toString();
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures dispatching on the kind of an {@link com.google.auto.value.AutoOneOf @AutoOneOf} value
+ * with a {@code switch}, compared with a virtual call on a hand-written class hierarchy. The
+ * figures are in a random order, so the call sites see all three kinds and cannot be inlined for
+ * just one of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutoOneOfBenchmark {
+  @Param("1000")
+  public int size;
+
+  private Figure[] figures;
+  private HandWrittenFigure[] handWrittenFigures;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+    figures = new Figure[size];
+    handWrittenFigures = new HandWrittenFigure[size];
+    for (int i = 0; i < size; i++) {
+      double a = random.nextDouble();
+      double b = random.nextDouble();
+      switch (random.nextInt(3)) {
+        case 0:
+          figures[i] = Figure.circle(a);
+          handWrittenFigures[i] = HandWrittenFigure.circle(a);
+          break;
+        case 1:
+          figures[i] = Figure.square(a);
+          handWrittenFigures[i] = HandWrittenFigure.square(a);
+          break;
+        default:
+          figures[i] = Figure.rectangle(a, b);
+          handWrittenFigures[i] = HandWrittenFigure.rectangle(a, b);
+          break;
+      }
+    }
+  }
+
+  @Benchmark
+  public double autoOneOfSwitch() {
+    double total = 0;
+    for (Figure figure : figures) {
+      total += figure.area();
+    }
+    return total;
+  }
+
+  @Benchmark
+  public double handWrittenVirtualCall() {
+    double total = 0;
+    for (HandWrittenFigure figure : handWrittenFigures) {
+      total += figure.area();
+    }
+    return total;
+  }
+
+  @Benchmark
+  public int autoOneOfHashCode() {
+    int total = 0;
+    for (Figure figure : figures) {
+      total += figure.hashCode();
+    }
+    return total;
+  }
+}
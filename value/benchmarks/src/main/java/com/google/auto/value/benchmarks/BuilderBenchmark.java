@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building value objects. The generated builders for {@link WideValue}, {@link
+ * VeryWideValue} and {@link CollectionValue} are compared with a hand-written builder and with
+ * direct construction. Running with {@code -prof gc} shows whether the JIT was able to eliminate
+ * the builder allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuilderBenchmark {
+  // Non-final fields, so the JIT cannot treat the inputs as constants.
+  private int id = 23;
+  private String name = "name";
+  private String email = "user@example.com";
+  private String city = "city";
+  private String country = "country";
+  private final VeryWideValue.Builder preparedVeryWideBuilder = veryWideBuilder().toBuilder();
+
+  @Benchmark
+  public WideValue wideBuilder() {
+    return WideValue.builder()
+        .id(id)
+        .name(name)
+        .timestamp(1_700_000_000_000L)
+        .score(0.5)
+        .active(true)
+        .grade('A')
+        .email(email)
+        .age(42)
+        .version(7L)
+        .ratio(0.25f)
+        .city(city)
+        .country(country)
+        .build();
+  }
+
+  @Benchmark
+  public HandWrittenWideValue wideHandWrittenBuilder() {
+    return HandWrittenWideValue.builder()
+        .id(id)
+        .name(name)
+        .timestamp(1_700_000_000_000L)
+        .score(0.5)
+        .active(true)
+        .grade('A')
+        .email(email)
+        .age(42)
+        .version(7L)
+        .ratio(0.25f)
+        .city(city)
+        .country(country)
+        .build();
+  }
+
+  @Benchmark
+  public WideValue wideToBuilder() {
+    return wideBuilder().toBuilder().id(id + 1).build();
+  }
+
+  @Benchmark
+  public NarrowValue narrowCreate() {
+    return NarrowValue.create(id, name);
+  }
+
+  @Benchmark
+  public VeryWideValue veryWideBuilder() {
+    return VeryWideValue.builder()
+        .id(id)
+        .quantity(3)
+        .priority(1)
+        .retries(0)
+        .createdAt(1_700_000_000_000L)
+        .updatedAt(1_700_000_000_001L)
+        .expiresAt(1_800_000_000_000L)
+        .version(7L)
+        .price(9.99)
+        .discount(0.1)
+        .tax(0.2)
+        .weight(1.5)
+        .name(name)
+        .description(name)
+        .sku(name)
+        .currency("EUR")
+        .customer(name)
+        .email(email)
+        .street(city)
+        .city(city)
+        .region(country)
+        .postalCode(city)
+        .country(country)
+        .status("NEW")
+        .build();
+  }
+
+  /**
+   * Calls {@code build()} on a builder whose properties were all set in advance, which allocates
+   * only the value. This is what {@link #veryWideBuilder} allocates if the JIT eliminates the
+   * builder.
+   */
+  @Benchmark
+  public VeryWideValue veryWidePreparedBuild() {
+    return preparedVeryWideBuilder.build();
+  }
+
+  @Benchmark
+  public CollectionValue collectionBuilder() {
+    return CollectionValue.builder()
+        .name(name)
+        .addTag(name)
+        .addTag(city)
+        .addTag(country)
+        .addCode(id)
+        .addCode(id + 1)
+        .putCounter(name, id)
+        .putCounter(city, id + 1)
+        .build();
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.Serializable;
+
+/** A value class whose properties are collections, built with collection-property builders. */
+@AutoValue
+abstract class CollectionValue implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  abstract String name();
+
+  abstract ImmutableList<String> tags();
+
+  abstract ImmutableSet<Integer> codes();
+
+  abstract ImmutableMap<String, Long> counters();
+
+  static Builder builder() {
+    return new AutoValue_CollectionValue.Builder();
+  }
+
+  @AutoValue.Builder
+  abstract static class Builder {
+    abstract Builder name(String name);
+
+    abstract ImmutableList.Builder<String> tagsBuilder();
+
+    abstract ImmutableSet.Builder<Integer> codesBuilder();
+
+    abstract ImmutableMap.Builder<String, Long> countersBuilder();
+
+    Builder addTag(String tag) {
+      tagsBuilder().add(tag);
+      return this;
+    }
+
+    Builder addCode(int code) {
+      codesBuilder().add(code);
+      return this;
+    }
+
+    Builder putCounter(String key, long count) {
+      countersBuilder().put(key, count);
+      return this;
+    }
+
+    abstract CollectionValue build();
+  }
+}
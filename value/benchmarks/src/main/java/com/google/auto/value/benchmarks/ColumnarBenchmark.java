@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares an {@code ArrayList<Trade>} with the {@code TradeColumns} that {@code @Columnar}
+ * generates, for {@value #ROWS} rows.
+ *
+ * <p>The {@code build} benchmarks make every {@code Trade} and store it, in storage that is sized
+ * in advance. For {@link #buildList}, {@code gc.alloc.rate.norm} is close to the memory that the
+ * rows occupy afterwards. For {@link #buildColumns} it is too, unless the JIT fails to eliminate
+ * the {@code Trade} that is passed to {@code append} and then dropped, in which case it is higher
+ * by the size of {@value #ROWS} {@code Trade} objects. The {@code scan} benchmarks add up the value
+ * of the buy trades, reading three properties of every row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarBenchmark {
+  static final int ROWS = 100_000;
+
+  private List<Trade> list;
+  private TradeColumns columns;
+
+  @Setup
+  public void setUp() {
+    list = buildList();
+    columns = buildColumns();
+  }
+
+  @Benchmark
+  public List<Trade> buildList() {
+    List<Trade> trades = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      trades.add(Trade.create(i));
+    }
+    return trades;
+  }
+
+  @Benchmark
+  public TradeColumns buildColumns() {
+    TradeColumns trades = new TradeColumns(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      trades.append(Trade.create(i));
+    }
+    return trades;
+  }
+
+  @Benchmark
+  public double scanList() {
+    double total = 0;
+    for (Trade trade : list) {
+      if (trade.side() == Trade.Side.BUY) {
+        total += trade.price() * trade.quantity();
+      }
+    }
+    return total;
+  }
+
+  @Benchmark
+  public double scanColumns() {
+    double total = 0;
+    for (int i = 0; i < columns.size(); i++) {
+      if (columns.side(i) == Trade.Side.BUY) {
+        total += columns.price(i) * columns.quantity(i);
+      }
+    }
+    return total;
+  }
+
+  @Benchmark
+  public double scanRows() {
+    double total = 0;
+    TradeColumns.Row row = columns.newRow();
+    for (int i = 0; i < columns.size(); i++) {
+      row.at(i);
+      if (row.side() == Trade.Side.BUY) {
+        total += row.price() * row.quantity();
+      }
+    }
+    return total;
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures finding which properties changed between two snapshots of a value, where two of its
+ * thirteen properties are different. The generated {@code @Diffable} method returns an {@code int}
+ * bit mask, and should allocate nothing. It is compared with {@code equals}, which only says
+ * whether anything changed, and with a typical hand-written method that collects the names of the
+ * changed properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiffBenchmark {
+  private DiffableValue before;
+  private DiffableValue after;
+
+  @Setup
+  public void setUp() {
+    before = DiffableValue.create(1);
+    after = before.toBuilder().score(99.0).city(new String("changed")).build();
+  }
+
+  @Benchmark
+  public int diff() {
+    return AutoValue_DiffableValue.diff(before, after);
+  }
+
+  @Benchmark
+  public boolean equals() {
+    return before.equals(after);
+  }
+
+  @Benchmark
+  public ImmutableSet<String> changedNames() {
+    ImmutableSet.Builder<String> changed = ImmutableSet.builder();
+    if (before.id() != after.id()) {
+      changed.add("id");
+    }
+    if (!before.name().equals(after.name())) {
+      changed.add("name");
+    }
+    if (before.timestamp() != after.timestamp()) {
+      changed.add("timestamp");
+    }
+    if (Double.compare(before.score(), after.score()) != 0) {
+      changed.add("score");
+    }
+    if (before.active() != after.active()) {
+      changed.add("active");
+    }
+    if (before.grade() != after.grade()) {
+      changed.add("grade");
+    }
+    if (!before.email().equals(after.email())) {
+      changed.add("email");
+    }
+    if (before.age() != after.age()) {
+      changed.add("age");
+    }
+    if (before.version() != after.version()) {
+      changed.add("version");
+    }
+    if (Float.compare(before.ratio(), after.ratio()) != 0) {
+      changed.add("ratio");
+    }
+    if (!Objects.equals(before.city(), after.city())) {
+      changed.add("city");
+    }
+    if (!before.country().equals(after.country())) {
+      changed.add("country");
+    }
+    if (!before.tags().equals(after.tags())) {
+      changed.add("tags");
+    }
+    return changed.build();
+  }
+}
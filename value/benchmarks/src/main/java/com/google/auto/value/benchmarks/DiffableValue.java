@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import com.google.auto.value.extension.diff.Diffable;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A value class with the same twelve properties as {@link WideValue}, plus a list, and a generated
+ * static {@code diff} method.
+ */
+@AutoValue
+@Diffable
+abstract class DiffableValue {
+  abstract int id();
+
+  abstract String name();
+
+  abstract long timestamp();
+
+  abstract double score();
+
+  abstract boolean active();
+
+  abstract char grade();
+
+  abstract String email();
+
+  abstract int age();
+
+  abstract long version();
+
+  abstract float ratio();
+
+  abstract String city();
+
+  abstract String country();
+
+  abstract ImmutableList<String> tags();
+
+  abstract Builder toBuilder();
+
+  static DiffableValue create(int i) {
+    return new AutoValue_DiffableValue.Builder()
+        .id(i)
+        .name("name" + i)
+        .timestamp(1_000_000L + i)
+        .score(i * 0.5)
+        .active(i % 2 == 0)
+        .grade((char) ('A' + i % 5))
+        .email("user" + i + "@example.com")
+        .age(20 + i % 50)
+        .version(i)
+        .ratio(i * 0.25f)
+        .city("city" + i % 10)
+        .country("country" + i % 3)
+        .tags(ImmutableList.of("tag" + i, "tag" + (i + 1)))
+        .build();
+  }
+
+  @AutoValue.Builder
+  abstract static class Builder {
+    abstract Builder id(int id);
+
+    abstract Builder name(String name);
+
+    abstract Builder timestamp(long timestamp);
+
+    abstract Builder score(double score);
+
+    abstract Builder active(boolean active);
+
+    abstract Builder grade(char grade);
+
+    abstract Builder email(String email);
+
+    abstract Builder age(int age);
+
+    abstract Builder version(long version);
+
+    abstract Builder ratio(float ratio);
+
+    abstract Builder city(String city);
+
+    abstract Builder country(String country);
+
+    abstract Builder tags(ImmutableList<String> tags);
+
+    abstract DiffableValue build();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoOneOf;
+import com.google.auto.value.AutoValue;
+
+/** A tagged union of shapes, where the kind of shape determines how its area is computed. */
+@AutoOneOf(Figure.Kind.class)
+abstract class Figure {
+  enum Kind {
+    CIRCLE,
+    SQUARE,
+    RECTANGLE,
+  }
+
+  abstract Kind getKind();
+
+  abstract double circle();
+
+  abstract double square();
+
+  abstract Dimensions rectangle();
+
+  static Figure circle(double radius) {
+    return AutoOneOf_Figure.circle(radius);
+  }
+
+  static Figure square(double side) {
+    return AutoOneOf_Figure.square(side);
+  }
+
+  static Figure rectangle(double width, double height) {
+    return AutoOneOf_Figure.rectangle(Dimensions.create(width, height));
+  }
+
+  double area() {
+    switch (getKind()) {
+      case CIRCLE:
+        return Math.PI * circle() * circle();
+      case SQUARE:
+        return square() * square();
+      case RECTANGLE:
+        return rectangle().width() * rectangle().height();
+    }
+    throw new AssertionError(getKind());
+  }
+
+  /** The width and height of a rectangle. */
+  @AutoValue
+  abstract static class Dimensions {
+    abstract double width();
+
+    abstract double height();
+
+    static Dimensions create(double width, double height) {
+      return new AutoValue_Figure_Dimensions(width, height);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a 64-bit fingerprint of a tree of nested values. The generated {@code @Fingerprint}
+ * methods stream each property straight into a {@link com.google.common.hash.Hasher}. The
+ * alternatives first build a {@code String} with {@code toString()}, or a byte array with Java
+ * serialization, and then hash that. Run with {@code -prof gc} to see the difference in {@code
+ * gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FingerprintBenchmark {
+  private static final HashFunction FINGERPRINT = Hashing.murmur3_128();
+
+  @Param("4")
+  public int depth;
+
+  private FingerprintedValue tree;
+
+  @Setup
+  public void setUp() {
+    tree = tree(depth, 0);
+  }
+
+  private static FingerprintedValue tree(int depth, int weight) {
+    ImmutableList.Builder<FingerprintedValue> children = ImmutableList.builder();
+    for (int i = 0; depth > 0 && i < 3; i++) {
+      children.add(tree(depth - 1, weight * 3 + i));
+    }
+    return FingerprintedValue.create("node" + weight, weight, children.build());
+  }
+
+  @Benchmark
+  public long fingerprint64() {
+    return tree.fingerprint64();
+  }
+
+  @Benchmark
+  public long hashObject() {
+    return FINGERPRINT.hashObject(tree, FingerprintedValue::hashTo).asLong();
+  }
+
+  @Benchmark
+  public long hashToString() {
+    return FINGERPRINT.hashUnencodedChars(tree.toString()).asLong();
+  }
+
+  @Benchmark
+  public long hashSerialized() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(tree);
+    }
+    return FINGERPRINT.hashBytes(bytes.toByteArray()).asLong();
+  }
+}
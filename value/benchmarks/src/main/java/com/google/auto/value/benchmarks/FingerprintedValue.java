@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import com.google.auto.value.extension.fingerprint.Fingerprint;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.PrimitiveSink;
+import java.io.Serializable;
+
+/**
+ * The same shape as {@link TreeValue}, but with generated {@code @Fingerprint} methods. It is also
+ * {@link Serializable}, so that the fingerprint can be compared with hashing the serialized form.
+ */
+@AutoValue
+abstract class FingerprintedValue implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  abstract String label();
+
+  abstract int weight();
+
+  abstract ImmutableList<FingerprintedValue> children();
+
+  @Fingerprint
+  abstract void hashTo(PrimitiveSink sink);
+
+  @Fingerprint
+  abstract long fingerprint64();
+
+  static FingerprintedValue create(
+      String label, int weight, ImmutableList<FingerprintedValue> children) {
+    return new AutoValue_FingerprintedValue(label, weight, children);
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Scans a memory-mapped file of {@value #RECORDS} {@code Tick} records, adding up the volume of the
+ * records for one instrument. {@link #view} reads the two properties through the {@code TickView}
+ * that {@code @Flyweight} generates. {@link #materialize} makes a {@code Tick} from each record
+ * first, as code that copies records into value objects would, and {@link #decode} does the same by
+ * reading each property in turn with relative {@code ByteBuffer} gets.
+ *
+ * <p>In those two the JIT can usually eliminate the {@code Tick}, since it does not escape the
+ * loop. In real code it often does escape, for example to a method that is not inlined, and {@link
+ * #materializeEscaping} shows the cost of that by passing each {@code Tick} to a {@link Blackhole}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlyweightBenchmark {
+  static final int RECORDS = 100_000;
+  private static final int INSTRUMENT = 17;
+
+  private Path file;
+  private ByteBuffer mapped;
+
+  @Setup
+  public void setUp() throws IOException {
+    file = Files.createTempFile("ticks", ".bin");
+    try (FileChannel channel =
+        FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, (long) RECORDS * TickView.BYTES);
+      for (int i = 0; i < RECORDS; i++) {
+        TickView.put(buffer, Tick.create(i));
+      }
+      buffer.flip();
+      mapped = buffer;
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    mapped = null;
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public long view() {
+    long total = 0;
+    TickView ticks = new TickView(mapped);
+    while (ticks.next()) {
+      if (ticks.instrument() == INSTRUMENT) {
+        total += ticks.volume();
+      }
+    }
+    return total;
+  }
+
+  @Benchmark
+  public long materialize() {
+    long total = 0;
+    TickView ticks = new TickView(mapped);
+    while (ticks.next()) {
+      Tick tick = ticks.materialize();
+      if (tick.instrument() == INSTRUMENT) {
+        total += tick.volume();
+      }
+    }
+    return total;
+  }
+
+  @Benchmark
+  public long materializeEscaping(Blackhole blackhole) {
+    long total = 0;
+    TickView ticks = new TickView(mapped);
+    while (ticks.next()) {
+      Tick tick = ticks.materialize();
+      blackhole.consume(tick);
+      if (tick.instrument() == INSTRUMENT) {
+        total += tick.volume();
+      }
+    }
+    return total;
+  }
+
+  @Benchmark
+  public long decode() {
+    long total = 0;
+    ByteBuffer buffer = mapped.duplicate();
+    while (buffer.remaining() >= TickView.BYTES) {
+      Tick tick =
+          new AutoValue_Tick(
+              buffer.getLong(),
+              buffer.getInt(),
+              buffer.getDouble(),
+              buffer.getDouble(),
+              buffer.getInt(),
+              buffer.getShort(),
+              buffer.get() != 0);
+      if (tick.instrument() == INSTRUMENT) {
+        total += tick.volume();
+      }
+    }
+    return total;
+  }
+}
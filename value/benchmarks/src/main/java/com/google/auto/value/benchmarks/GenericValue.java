@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import java.io.Serializable;
+
+/** A generic value class, holding a key and the history of values associated with it. */
+@AutoValue
+abstract class GenericValue<K, V> implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  abstract K key();
+
+  abstract V value();
+
+  abstract ImmutableList<V> history();
+
+  static <K, V> GenericValue<K, V> create(K key, V value, ImmutableList<V> history) {
+    return new AutoValue_GenericValue<>(key, value, history);
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+/**
+ * The hand-written equivalent of {@link Figure}, as a class hierarchy where each subclass overrides
+ * {@link #area}.
+ */
+abstract class HandWrittenFigure {
+  private HandWrittenFigure() {}
+
+  abstract double area();
+
+  static HandWrittenFigure circle(double radius) {
+    return new Circle(radius);
+  }
+
+  static HandWrittenFigure square(double side) {
+    return new Square(side);
+  }
+
+  static HandWrittenFigure rectangle(double width, double height) {
+    return new Rectangle(width, height);
+  }
+
+  private static final class Circle extends HandWrittenFigure {
+    private final double radius;
+
+    Circle(double radius) {
+      this.radius = radius;
+    }
+
+    @Override
+    double area() {
+      return Math.PI * radius * radius;
+    }
+  }
+
+  private static final class Square extends HandWrittenFigure {
+    private final double side;
+
+    Square(double side) {
+      this.side = side;
+    }
+
+    @Override
+    double area() {
+      return side * side;
+    }
+  }
+
+  private static final class Rectangle extends HandWrittenFigure {
+    private final double width;
+    private final double height;
+
+    Rectangle(double width, double height) {
+      this.width = width;
+      this.height = height;
+    }
+
+    @Override
+    double area() {
+      return width * height;
+    }
+  }
+}
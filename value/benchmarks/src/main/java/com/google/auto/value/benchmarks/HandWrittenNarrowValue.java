@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The hand-written equivalent of {@link NarrowValue}, with {@code equals} and {@code hashCode}
+ * written the way an IDE would generate them.
+ */
+final class HandWrittenNarrowValue implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private final int id;
+  private final String name;
+
+  HandWrittenNarrowValue(int id, String name) {
+    this.id = id;
+    this.name = Objects.requireNonNull(name);
+  }
+
+  int id() {
+    return id;
+  }
+
+  String name() {
+    return name;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof HandWrittenNarrowValue)) {
+      return false;
+    }
+    HandWrittenNarrowValue that = (HandWrittenNarrowValue) o;
+    return id == that.id && name.equals(that.name);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, name);
+  }
+
+  @Override
+  public String toString() {
+    return "HandWrittenNarrowValue{id=" + id + ", name=" + name + "}";
+  }
+}
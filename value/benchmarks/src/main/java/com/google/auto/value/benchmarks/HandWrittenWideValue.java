@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The hand-written equivalent of {@link WideValue}, with {@code equals} and {@code hashCode}
+ * written the way an IDE would generate them and a builder that checks for missing properties only
+ * in {@link Builder#build}.
+ */
+final class HandWrittenWideValue implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private final int id;
+  private final String name;
+  private final long timestamp;
+  private final double score;
+  private final boolean active;
+  private final char grade;
+  private final String email;
+  private final int age;
+  private final long version;
+  private final float ratio;
+  private final String city;
+  private final String country;
+
+  private HandWrittenWideValue(Builder builder) {
+    this.id = builder.id;
+    this.name = Objects.requireNonNull(builder.name, "name");
+    this.timestamp = builder.timestamp;
+    this.score = builder.score;
+    this.active = builder.active;
+    this.grade = builder.grade;
+    this.email = Objects.requireNonNull(builder.email, "email");
+    this.age = builder.age;
+    this.version = builder.version;
+    this.ratio = builder.ratio;
+    this.city = Objects.requireNonNull(builder.city, "city");
+    this.country = Objects.requireNonNull(builder.country, "country");
+  }
+
+  int id() {
+    return id;
+  }
+
+  String name() {
+    return name;
+  }
+
+  long timestamp() {
+    return timestamp;
+  }
+
+  double score() {
+    return score;
+  }
+
+  boolean active() {
+    return active;
+  }
+
+  char grade() {
+    return grade;
+  }
+
+  String email() {
+    return email;
+  }
+
+  int age() {
+    return age;
+  }
+
+  long version() {
+    return version;
+  }
+
+  float ratio() {
+    return ratio;
+  }
+
+  String city() {
+    return city;
+  }
+
+  String country() {
+    return country;
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof HandWrittenWideValue)) {
+      return false;
+    }
+    HandWrittenWideValue that = (HandWrittenWideValue) o;
+    return id == that.id
+        && timestamp == that.timestamp
+        && Double.compare(score, that.score) == 0
+        && active == that.active
+        && grade == that.grade
+        && age == that.age
+        && version == that.version
+        && Float.compare(ratio, that.ratio) == 0
+        && name.equals(that.name)
+        && email.equals(that.email)
+        && city.equals(that.city)
+        && country.equals(that.country);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        id, name, timestamp, score, active, grade, email, age, version, ratio, city, country);
+  }
+
+  @Override
+  public String toString() {
+    return "HandWrittenWideValue{"
+        + "id="
+        + id
+        + ", name="
+        + name
+        + ", timestamp="
+        + timestamp
+        + ", score="
+        + score
+        + ", active="
+        + active
+        + ", grade="
+        + grade
+        + ", email="
+        + email
+        + ", age="
+        + age
+        + ", version="
+        + version
+        + ", ratio="
+        + ratio
+        + ", city="
+        + city
+        + ", country="
+        + country
+        + "}";
+  }
+
+  static final class Builder {
+    private int id;
+    private String name;
+    private long timestamp;
+    private double score;
+    private boolean active;
+    private char grade;
+    private String email;
+    private int age;
+    private long version;
+    private float ratio;
+    private String city;
+    private String country;
+
+    private Builder() {}
+
+    Builder id(int id) {
+      this.id = id;
+      return this;
+    }
+
+    Builder name(String name) {
+      this.name = name;
+      return this;
+    }
+
+    Builder timestamp(long timestamp) {
+      this.timestamp = timestamp;
+      return this;
+    }
+
+    Builder score(double score) {
+      this.score = score;
+      return this;
+    }
+
+    Builder active(boolean active) {
+      this.active = active;
+      return this;
+    }
+
+    Builder grade(char grade) {
+      this.grade = grade;
+      return this;
+    }
+
+    Builder email(String email) {
+      this.email = email;
+      return this;
+    }
+
+    Builder age(int age) {
+      this.age = age;
+      return this;
+    }
+
+    Builder version(long version) {
+      this.version = version;
+      return this;
+    }
+
+    Builder ratio(float ratio) {
+      this.ratio = ratio;
+      return this;
+    }
+
+    Builder city(String city) {
+      this.city = city;
+      return this;
+    }
+
+    Builder country(String country) {
+      this.country = country;
+      return this;
+    }
+
+    HandWrittenWideValue build() {
+      return new HandWrittenWideValue(this);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures looking up value objects in a {@link HashMap}, which exercises {@code hashCode} and
+ * {@code equals} together the way most real code does. The keys used for lookup are equal to, but
+ * not the same objects as, the keys in the map, and their hash codes have not been computed before.
+ * Each invocation looks up every key once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashMapLookupBenchmark {
+  @Param public ValueShape shape;
+
+  @Param("1000")
+  public int size;
+
+  private Map<Object, Integer> map;
+  private Object[] keys;
+
+  @Setup
+  public void setUp() {
+    map = new HashMap<>();
+    keys = new Object[size];
+    for (int i = 0; i < size; i++) {
+      map.put(shape.create(i), i);
+      keys[i] = shape.create(i);
+    }
+  }
+
+  @Benchmark
+  public long lookup() {
+    long sum = 0;
+    for (Object key : keys) {
+      sum += map.get(key);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public Map<Object, Integer> populate() {
+    Map<Object, Integer> result = new HashMap<>();
+    for (int i = 0; i < keys.length; i++) {
+      result.put(keys[i], i);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import com.google.auto.value.extension.indexed.IndexedProperties;
+
+/**
+ * A value class with the same twelve properties as {@link WideValue}, whose properties can also be
+ * read by index through {@link IndexedProperties}.
+ */
+@AutoValue
+abstract class IndexedValue implements IndexedProperties {
+  abstract int id();
+
+  abstract String name();
+
+  abstract long timestamp();
+
+  abstract double score();
+
+  abstract boolean active();
+
+  abstract char grade();
+
+  abstract String email();
+
+  abstract int age();
+
+  abstract long version();
+
+  abstract float ratio();
+
+  abstract String city();
+
+  abstract String country();
+
+  static IndexedValue create(int i) {
+    return new AutoValue_IndexedValue(
+        i,
+        "name" + i,
+        1_000_000L + i,
+        i * 0.5,
+        i % 2 == 0,
+        (char) ('A' + i % 5),
+        "user" + i + "@example.com",
+        20 + i % 50,
+        i,
+        i * 0.25f,
+        "city" + i % 10,
+        "country" + i % 3);
+  }
+}
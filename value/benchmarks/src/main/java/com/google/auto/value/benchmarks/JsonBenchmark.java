@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.auto.value.extension.json.Utf8JsonSink;
+import com.google.auto.value.extension.json.Utf8JsonSource;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the JSON codec that {@code @Json} generates with Jackson's reflective data binding, for
+ * an order with {@link #lines} lines. Both write to and read from UTF-8 bytes in memory, and
+ * Jackson leaves out null properties, as the generated code does. The generated {@code write}
+ * benchmark reuses its sink, as a server would reuse a buffer for each response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+  @Param({"1", "100"})
+  public int lines;
+
+  private final ObjectMapper mapper =
+      new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+  private final Utf8JsonSink sink = new Utf8JsonSink();
+  private JsonOrder order;
+  private byte[] json;
+
+  @Setup
+  public void setUp() throws IOException {
+    order = JsonOrder.create(lines);
+    json = mapper.writeValueAsBytes(order);
+  }
+
+  @Benchmark
+  public int writeGenerated() throws IOException {
+    sink.reset();
+    JsonOrderJson.write(order, sink);
+    return sink.size();
+  }
+
+  @Benchmark
+  public byte[] writeJackson() throws IOException {
+    return mapper.writeValueAsBytes(order);
+  }
+
+  @Benchmark
+  public JsonOrder readGenerated() throws IOException {
+    return JsonOrderJson.read(new Utf8JsonSource(json));
+  }
+
+  @Benchmark
+  public JsonOrder readJackson() throws IOException {
+    return mapper.readValue(json, JsonOrder.class);
+  }
+}
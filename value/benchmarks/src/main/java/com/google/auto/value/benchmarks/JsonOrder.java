@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.auto.value.AutoValue;
+import com.google.auto.value.extension.json.Json;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A value class with a generated JSON codec, and with the Jackson annotations that are needed to
+ * bind it by reflection instead.
+ */
+@AutoValue
+@Json
+abstract class JsonOrder {
+  enum Status {
+    OPEN,
+    FILLED,
+    CANCELLED
+  }
+
+  @JsonProperty("id")
+  abstract long id();
+
+  @JsonProperty("customer")
+  abstract String customer();
+
+  @JsonProperty("status")
+  abstract Status status();
+
+  @Nullable
+  @JsonProperty("note")
+  abstract String note();
+
+  @JsonProperty("lines")
+  abstract List<Line> lines();
+
+  @JsonProperty("total")
+  abstract double total();
+
+  @JsonProperty("rush")
+  abstract boolean rush();
+
+  @JsonCreator
+  static JsonOrder create(
+      @JsonProperty("id") long id,
+      @JsonProperty("customer") String customer,
+      @JsonProperty("status") Status status,
+      @JsonProperty("note") @Nullable String note,
+      @JsonProperty("lines") List<Line> lines,
+      @JsonProperty("total") double total,
+      @JsonProperty("rush") boolean rush) {
+    return new AutoValue_JsonOrder(id, customer, status, note, lines, total, rush);
+  }
+
+  /** Returns an order with the given number of lines. */
+  static JsonOrder create(int lineCount) {
+    List<Line> lines = new ArrayList<>();
+    double total = 0;
+    for (int i = 0; i < lineCount; i++) {
+      Line line = Line.create("SKU-" + (10_000 + i), "Item \"" + i + "\"", 1 + i % 5, 9.99 + i);
+      lines.add(line);
+      total += line.quantity() * line.price();
+    }
+    return create(42, "Customer 42", Status.OPEN, null, lines, total, true);
+  }
+
+  @AutoValue
+  @Json
+  abstract static class Line {
+    @JsonProperty("sku")
+    abstract String sku();
+
+    @JsonProperty("description")
+    abstract String description();
+
+    @JsonProperty("quantity")
+    abstract int quantity();
+
+    @JsonProperty("price")
+    abstract double price();
+
+    @JsonCreator
+    static Line create(
+        @JsonProperty("sku") String sku,
+        @JsonProperty("description") String description,
+        @JsonProperty("quantity") int quantity,
+        @JsonProperty("price") double price) {
+      return new AutoValue_JsonOrder_Line(sku, description, quantity, price);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link com.google.auto.value.extension.memoized.Memoized @Memoized} methods. The {@code
+ * memoized} benchmarks call the method on an instance where its value has already been computed,
+ * which is the case memoization optimizes. The {@code firstCall} benchmarks include creating the
+ * instance, so they show the cost of the first computation together with the memoization overhead.
+ * The {@code eager} benchmarks do the same with {@code @Memoized(eager = true)}, whose getters read
+ * a final field rather than a volatile one. The {@code loop} benchmarks call a getter repeatedly,
+ * which shows that the JIT can hoist a final field read out of the loop but not a volatile one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoizedBenchmark {
+  private ImmutableList<String> parts;
+  private MemoizedValue value;
+  private EagerMemoizedValue eagerValue;
+
+  @Setup
+  public void setUp() {
+    parts = ImmutableList.of("alpha", "beta", "gamma", "delta", "epsilon", "zeta", "eta", "theta");
+    value = MemoizedValue.create(parts);
+    value.joined();
+    value.hashCode();
+    eagerValue = EagerMemoizedValue.create(parts);
+  }
+
+  @Benchmark
+  public String memoizedGetter() {
+    return value.joined();
+  }
+
+  @Benchmark
+  public String computedGetter() {
+    return value.computeJoined();
+  }
+
+  @Benchmark
+  public int memoizedHashCode() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String firstCallGetter() {
+    return MemoizedValue.create(parts).joined();
+  }
+
+  @Benchmark
+  public int firstCallHashCode() {
+    return MemoizedValue.create(parts).hashCode();
+  }
+
+  @Benchmark
+  public String eagerGetter() {
+    return eagerValue.joined();
+  }
+
+  @Benchmark
+  public int eagerHashCode() {
+    return eagerValue.hashCode();
+  }
+
+  @Benchmark
+  public String firstCallEagerGetter() {
+    return EagerMemoizedValue.create(parts).joined();
+  }
+
+  @Benchmark
+  public int memoizedGetterLoop() {
+    int sum = 0;
+    for (int i = 0; i < 1000; i++) {
+      sum += value.joined().length() + i;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int eagerGetterLoop() {
+    int sum = 0;
+    for (int i = 0; i < 1000; i++) {
+      sum += eagerValue.joined().length() + i;
+    }
+    return sum;
+  }
+}
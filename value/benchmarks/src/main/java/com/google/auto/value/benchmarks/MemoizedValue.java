@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import com.google.auto.value.extension.memoized.Memoized;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A value class with a {@link Memoized @Memoized} derived property and {@code hashCode}, and the
+ * same computations without memoization for comparison.
+ */
+@AutoValue
+abstract class MemoizedValue {
+  abstract ImmutableList<String> parts();
+
+  @Memoized
+  String joined() {
+    return computeJoined();
+  }
+
+  String computeJoined() {
+    return String.join("/", parts());
+  }
+
+  @Memoized
+  @Override
+  public abstract int hashCode();
+
+  static MemoizedValue create(ImmutableList<String> parts) {
+    return new AutoValue_MemoizedValue(parts);
+  }
+}
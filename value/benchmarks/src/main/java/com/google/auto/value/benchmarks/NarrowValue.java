@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import java.io.Serializable;
+
+/** A value class with two properties, about the smallest that is worth generating. */
+@AutoValue
+abstract class NarrowValue implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  abstract int id();
+
+  abstract String name();
+
+  static NarrowValue create(int id, String name) {
+    return new AutoValue_NarrowValue(id, name);
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import java.io.Serializable;
+
+/** A value class whose properties are themselves value classes. */
+@AutoValue
+abstract class NestedValue implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  abstract NarrowValue key();
+
+  abstract WideValue details();
+
+  abstract GenericValue<String, NarrowValue> link();
+
+  static NestedValue create(
+      NarrowValue key, WideValue details, GenericValue<String, NarrowValue> link) {
+    return new AutoValue_NestedValue(key, details, link);
+  }
+}
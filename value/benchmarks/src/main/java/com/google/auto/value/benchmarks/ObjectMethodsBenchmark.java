@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the generated {@code equals}, {@code hashCode} and {@code toString} methods for each
+ * {@link ValueShape}. The {@code equals} benchmarks compare distinct objects, so they cannot take
+ * the {@code this == o} shortcut.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectMethodsBenchmark {
+  @Param public ValueShape shape;
+
+  private Object value;
+  private Object equalValue;
+  private Object differentValue;
+
+  @Setup
+  public void setUp() {
+    value = shape.create(1);
+    equalValue = shape.create(1);
+    differentValue = shape.create(2);
+  }
+
+  @Benchmark
+  public boolean equalsEqual() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public boolean equalsDifferent() {
+    return value.equals(differentValue);
+  }
+
+  @Benchmark
+  public int hashCodeBenchmark() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String toStringBenchmark() {
+    return value.toString();
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures generic code that visits every property of a value, in the way that a CSV writer or a
+ * metrics exporter might. {@link #indexed} uses the generated {@code IndexedProperties} methods,
+ * reading numeric properties with the typed getters. {@link #reflective} calls the accessors
+ * through {@link Method#invoke}, with the {@code Method} objects looked up in advance, which boxes
+ * every primitive.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyIndexBenchmark {
+  private IndexedValue value;
+  private Method[] accessors;
+
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    value = IndexedValue.create(17);
+    List<Method> methods = new ArrayList<>();
+    for (int i = 0; i < value.propertyCount(); i++) {
+      Method method = IndexedValue.class.getDeclaredMethod(value.propertyName(i));
+      method.setAccessible(true);
+      methods.add(method);
+    }
+    accessors = methods.toArray(new Method[0]);
+  }
+
+  @Benchmark
+  public long indexed() {
+    long checksum = 0;
+    for (int i = 0; i < value.propertyCount(); i++) {
+      Class<?> type = value.propertyType(i);
+      if (type == long.class || type == int.class || type == char.class) {
+        checksum += value.getLong(i);
+      } else if (type == double.class || type == float.class) {
+        checksum += (long) value.getDouble(i);
+      } else if (type == boolean.class) {
+        checksum += value.getBoolean(i) ? 1 : 0;
+      } else {
+        checksum += value.get(i).hashCode();
+      }
+    }
+    return checksum;
+  }
+
+  @Benchmark
+  public long reflective() throws ReflectiveOperationException {
+    long checksum = 0;
+    for (Method accessor : accessors) {
+      Object property = accessor.invoke(value);
+      if (property instanceof Number) {
+        checksum += ((Number) property).longValue();
+      } else if (property instanceof Character) {
+        checksum += (Character) property;
+      } else if (property instanceof Boolean) {
+        checksum += (Boolean) property ? 1 : 0;
+      } else {
+        checksum += property.hashCode();
+      }
+    }
+    return checksum;
+  }
+
+  @Benchmark
+  public long direct() {
+    return value.id()
+        + value.name().hashCode()
+        + value.timestamp()
+        + (long) value.score()
+        + (value.active() ? 1 : 0)
+        + value.grade()
+        + value.email().hashCode()
+        + value.age()
+        + value.version()
+        + (long) value.ratio()
+        + value.city().hashCode()
+        + value.country().hashCode();
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoAnnotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/** A runtime annotation with a few members, for the {@link AutoAnnotation} benchmarks. */
+@Retention(RetentionPolicy.RUNTIME)
+@interface Tag {
+  String value();
+
+  int priority();
+
+  String[] aliases();
+
+  /** Factory methods for {@link Tag} instances. */
+  final class Factory {
+    private Factory() {}
+
+    @AutoAnnotation
+    static Tag tag(String value, int priority, String[] aliases) {
+      return new AutoAnnotation_Tag_Factory_tag(value, priority, aliases);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import com.google.auto.value.extension.flyweight.Flyweight;
+
+/** A value class with only primitive properties, and a generated view of binary records. */
+@AutoValue
+@Flyweight
+abstract class Tick {
+  abstract long timestamp();
+
+  abstract int instrument();
+
+  abstract double bid();
+
+  abstract double ask();
+
+  abstract int volume();
+
+  abstract short venue();
+
+  abstract boolean auction();
+
+  static Tick create(int i) {
+    return new AutoValue_Tick(
+        1_000_000L + i,
+        i % 64,
+        100 + (i % 1000) * 0.25,
+        100.5 + (i % 1000) * 0.25,
+        1 + i % 500,
+        (short) (i % 7),
+        i % 10 == 0);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code toString()} on a tree of nested values, with and without a generated {@code
+ * appendTo(StringBuilder)} method. Without it, each level builds a string for each of its children
+ * and then copies it into its own string. With it, the whole tree is appended to one {@link
+ * StringBuilder}, which {@link #appendToReused} also reuses from one call to the next. Run with
+ * {@code -prof gc} to see the difference in {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToStringBenchmark {
+  @Param("4")
+  public int depth;
+
+  private TreeValue tree;
+  private AppendableTreeValue appendableTree;
+  private final StringBuilder sb = new StringBuilder();
+
+  @Setup
+  public void setUp() {
+    tree = tree(depth, 0);
+    appendableTree = appendableTree(depth, 0);
+  }
+
+  private static TreeValue tree(int depth, int weight) {
+    ImmutableList.Builder<TreeValue> children = ImmutableList.builder();
+    for (int i = 0; depth > 0 && i < 3; i++) {
+      children.add(tree(depth - 1, weight * 3 + i));
+    }
+    return TreeValue.create("node" + weight, weight, children.build());
+  }
+
+  private static AppendableTreeValue appendableTree(int depth, int weight) {
+    ImmutableList.Builder<AppendableTreeValue> children = ImmutableList.builder();
+    for (int i = 0; depth > 0 && i < 3; i++) {
+      children.add(appendableTree(depth - 1, weight * 3 + i));
+    }
+    return AppendableTreeValue.create("node" + weight, weight, children.build());
+  }
+
+  @Benchmark
+  public String nestedToString() {
+    return tree.toString();
+  }
+
+  @Benchmark
+  public String appendToString() {
+    return appendableTree.toString();
+  }
+
+  @Benchmark
+  public int appendToReused() {
+    sb.setLength(0);
+    return appendableTree.appendTo(sb).length();
+  }
+}
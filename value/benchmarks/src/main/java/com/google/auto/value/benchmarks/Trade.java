@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import com.google.auto.value.extension.columnar.Columnar;
+
+/** A value class with only primitive, enum and String properties, and a generated companion. */
+@AutoValue
+@Columnar
+abstract class Trade {
+  enum Side {
+    BUY,
+    SELL
+  }
+
+  private static final String[] SYMBOLS = {"GOOG", "AAPL", "MSFT", "AMZN", "META", "NFLX"};
+
+  abstract long id();
+
+  abstract int quantity();
+
+  abstract double price();
+
+  abstract Side side();
+
+  abstract String symbol();
+
+  abstract boolean settled();
+
+  static Trade create(int i) {
+    return new AutoValue_Trade(
+        i,
+        1 + i % 100,
+        100 + (i % 1000) * 0.25,
+        i % 3 == 0 ? Side.SELL : Side.BUY,
+        SYMBOLS[i % SYMBOLS.length],
+        i % 2 == 0);
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A value class whose children are instances of the same class, so that its {@code toString()}
+ * recursively calls {@code toString()} on each child and concatenates the results.
+ */
+@AutoValue
+abstract class TreeValue {
+  abstract String label();
+
+  abstract int weight();
+
+  abstract ImmutableList<TreeValue> children();
+
+  static TreeValue create(String label, int weight, ImmutableList<TreeValue> children) {
+    return new AutoValue_TreeValue(label, weight, children);
+  }
+}
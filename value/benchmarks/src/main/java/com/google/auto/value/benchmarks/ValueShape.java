@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import static java.util.Comparator.comparing;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Comparator;
+
+/**
+ * The kinds of value that the benchmarks are parameterized over. Each constant makes values
+ * deterministically from an index, so calling {@link #create} twice with the same index produces
+ * two distinct objects that are equal to each other.
+ */
+public enum ValueShape {
+  NARROW {
+    @Override
+    Object create(int i) {
+      return NarrowValue.create(i, "name" + i);
+    }
+
+    @Override
+    Comparator<Object> comparator() {
+      return comparing((Object o) -> ((NarrowValue) o).name())
+          .thenComparingInt(o -> ((NarrowValue) o).id());
+    }
+  },
+  NARROW_HAND_WRITTEN {
+    @Override
+    Object create(int i) {
+      return new HandWrittenNarrowValue(i, "name" + i);
+    }
+
+    @Override
+    Comparator<Object> comparator() {
+      return comparing((Object o) -> ((HandWrittenNarrowValue) o).name())
+          .thenComparingInt(o -> ((HandWrittenNarrowValue) o).id());
+    }
+  },
+  WIDE {
+    @Override
+    Object create(int i) {
+      return wide(i);
+    }
+
+    @Override
+    Comparator<Object> comparator() {
+      return comparing((Object o) -> ((WideValue) o).country())
+          .thenComparing(o -> ((WideValue) o).city())
+          .thenComparingInt(o -> ((WideValue) o).id());
+    }
+  },
+  WIDE_HAND_WRITTEN {
+    @Override
+    Object create(int i) {
+      return HandWrittenWideValue.builder()
+          .id(i)
+          .name("name" + i)
+          .timestamp(1_700_000_000_000L + i)
+          .score(i / 7.0)
+          .active(i % 2 == 0)
+          .grade((char) ('A' + i % 5))
+          .email("user" + i + "@example.com")
+          .age(20 + i % 50)
+          .version(i * 31L)
+          .ratio(i / 3.0f)
+          .city("city" + i % 97)
+          .country("country" + i % 13)
+          .build();
+    }
+
+    @Override
+    Comparator<Object> comparator() {
+      return comparing((Object o) -> ((HandWrittenWideValue) o).country())
+          .thenComparing(o -> ((HandWrittenWideValue) o).city())
+          .thenComparingInt(o -> ((HandWrittenWideValue) o).id());
+    }
+  },
+  NESTED {
+    @Override
+    Object create(int i) {
+      return NestedValue.create(NarrowValue.create(i, "key" + i), wide(i), generic(i));
+    }
+
+    @Override
+    Comparator<Object> comparator() {
+      return comparing((Object o) -> ((NestedValue) o).details().country())
+          .thenComparing(o -> ((NestedValue) o).key().name());
+    }
+  },
+  COLLECTION {
+    @Override
+    Object create(int i) {
+      CollectionValue.Builder builder = CollectionValue.builder().name("name" + i);
+      for (int j = 0; j < 8; j++) {
+        builder.addTag("tag" + (i + j)).addCode(i * 8 + j).putCounter("counter" + j, i + j);
+      }
+      return builder.build();
+    }
+
+    @Override
+    Comparator<Object> comparator() {
+      return comparing((Object o) -> ((CollectionValue) o).tags().get(0))
+          .thenComparing(o -> ((CollectionValue) o).name());
+    }
+  },
+  GENERIC {
+    @Override
+    Object create(int i) {
+      return generic(i);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Comparator<Object> comparator() {
+      return comparing((Object o) -> ((GenericValue<String, NarrowValue>) o).key())
+          .thenComparing(o -> ((GenericValue<String, NarrowValue>) o).value().name());
+    }
+  };
+
+  /** Returns a value made from {@code i}. Values made from different indexes are not equal. */
+  abstract Object create(int i);
+
+  /** Returns a comparator that orders values of this shape by a few of their properties. */
+  abstract Comparator<Object> comparator();
+
+  static WideValue wide(int i) {
+    return WideValue.builder()
+        .id(i)
+        .name("name" + i)
+        .timestamp(1_700_000_000_000L + i)
+        .score(i / 7.0)
+        .active(i % 2 == 0)
+        .grade((char) ('A' + i % 5))
+        .email("user" + i + "@example.com")
+        .age(20 + i % 50)
+        .version(i * 31L)
+        .ratio(i / 3.0f)
+        .city("city" + i % 97)
+        .country("country" + i % 13)
+        .build();
+  }
+
+  private static GenericValue<String, NarrowValue> generic(int i) {
+    return GenericValue.create(
+        "key" + i,
+        NarrowValue.create(i, "value" + i),
+        ImmutableList.of(
+            NarrowValue.create(i - 1, "old" + i), NarrowValue.create(i - 2, "older" + i)));
+  }
+}
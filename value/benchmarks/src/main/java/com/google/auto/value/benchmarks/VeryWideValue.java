@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * A value class with twenty-four required properties, built with a builder. Its {@code build()}
+ * method has to check every one of them, which makes it large enough that the JIT will only inline
+ * it, and so eliminate the builder allocation, if the code that reports missing properties is kept
+ * out of line.
+ */
+@AutoValue
+abstract class VeryWideValue {
+  abstract int id();
+
+  abstract int quantity();
+
+  abstract int priority();
+
+  abstract int retries();
+
+  abstract long createdAt();
+
+  abstract long updatedAt();
+
+  abstract long expiresAt();
+
+  abstract long version();
+
+  abstract double price();
+
+  abstract double discount();
+
+  abstract double tax();
+
+  abstract double weight();
+
+  abstract String name();
+
+  abstract String description();
+
+  abstract String sku();
+
+  abstract String currency();
+
+  abstract String customer();
+
+  abstract String email();
+
+  abstract String street();
+
+  abstract String city();
+
+  abstract String region();
+
+  abstract String postalCode();
+
+  abstract String country();
+
+  abstract String status();
+
+  abstract Builder toBuilder();
+
+  static Builder builder() {
+    return new AutoValue_VeryWideValue.Builder();
+  }
+
+  @AutoValue.Builder
+  abstract static class Builder {
+    abstract Builder id(int id);
+
+    abstract Builder quantity(int quantity);
+
+    abstract Builder priority(int priority);
+
+    abstract Builder retries(int retries);
+
+    abstract Builder createdAt(long createdAt);
+
+    abstract Builder updatedAt(long updatedAt);
+
+    abstract Builder expiresAt(long expiresAt);
+
+    abstract Builder version(long version);
+
+    abstract Builder price(double price);
+
+    abstract Builder discount(double discount);
+
+    abstract Builder tax(double tax);
+
+    abstract Builder weight(double weight);
+
+    abstract Builder name(String name);
+
+    abstract Builder description(String description);
+
+    abstract Builder sku(String sku);
+
+    abstract Builder currency(String currency);
+
+    abstract Builder customer(String customer);
+
+    abstract Builder email(String email);
+
+    abstract Builder street(String street);
+
+    abstract Builder city(String city);
+
+    abstract Builder region(String region);
+
+    abstract Builder postalCode(String postalCode);
+
+    abstract Builder country(String country);
+
+    abstract Builder status(String status);
+
+    abstract VeryWideValue build();
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import java.io.Serializable;
+
+/** A value class with twelve properties of assorted types, built with a builder. */
+@AutoValue
+abstract class WideValue implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  abstract int id();
+
+  abstract String name();
+
+  abstract long timestamp();
+
+  abstract double score();
+
+  abstract boolean active();
+
+  abstract char grade();
+
+  abstract String email();
+
+  abstract int age();
+
+  abstract long version();
+
+  abstract float ratio();
+
+  abstract String city();
+
+  abstract String country();
+
+  abstract Builder toBuilder();
+
+  static Builder builder() {
+    return new AutoValue_WideValue.Builder();
+  }
+
+  @AutoValue.Builder
+  abstract static class Builder {
+    abstract Builder id(int id);
+
+    abstract Builder name(String name);
+
+    abstract Builder timestamp(long timestamp);
+
+    abstract Builder score(double score);
+
+    abstract Builder active(boolean active);
+
+    abstract Builder grade(char grade);
+
+    abstract Builder email(String email);
+
+    abstract Builder age(int age);
+
+    abstract Builder version(long version);
+
+    abstract Builder ratio(float ratio);
+
+    abstract Builder city(String city);
+
+    abstract Builder country(String country);
+
+    abstract WideValue build();
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import com.google.auto.value.AutoValue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures using the properties of a {@code static final} AutoValue constant. An {@code @AutoValue}
+ * interface is implemented by a record, whose fields HotSpot trusts to be final, so the JIT can
+ * fold the property values of a constant into the compiled code. The fields of the class generated
+ * for an {@code @AutoValue} abstract class are final too, but HotSpot does not trust them, so each
+ * property is a load from memory whose value is unknown to the compiler.
+ *
+ * <p>Here the constant holds a hash function and a shard count, which are passed to a shared method
+ * that has also been called with other hash functions. If the hash function is folded, the JIT
+ * knows exactly which lambda it is and inlines it; otherwise the profile of the shared method says
+ * that it could be any of several, and it is called virtually. The {@code literal} benchmark uses
+ * plain {@code static final} constants, which HotSpot always trusts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstantFoldingBenchmark {
+  @AutoValue
+  interface RecordSharding {
+    IntUnaryOperator hash();
+
+    int shards();
+
+    static RecordSharding create(IntUnaryOperator hash, int shards) {
+      return new AutoValue_ConstantFoldingBenchmark_RecordSharding(hash, shards);
+    }
+  }
+
+  @AutoValue
+  abstract static class ClassSharding {
+    abstract IntUnaryOperator hash();
+
+    abstract int shards();
+
+    static ClassSharding create(IntUnaryOperator hash, int shards) {
+      return new AutoValue_ConstantFoldingBenchmark_ClassSharding(hash, shards);
+    }
+  }
+
+  private static final IntUnaryOperator HASH = k -> k * 0x9E3779B9;
+  private static final int SHARDS = 64;
+
+  private static final RecordSharding RECORD_SHARDING = RecordSharding.create(HASH, SHARDS);
+  private static final ClassSharding CLASS_SHARDING = ClassSharding.create(HASH, SHARDS);
+
+  private final int[] keys = new Random(0).ints(1024).toArray();
+
+  @Setup
+  public void polluteProfile() {
+    IntUnaryOperator[] others = {k -> k, k -> k * 31, Integer::reverse};
+    for (int i = 0; i < 10_000; i++) {
+      for (IntUnaryOperator hash : others) {
+        shard(hash, 7);
+      }
+    }
+  }
+
+  @Benchmark
+  public int record() {
+    return shard(RECORD_SHARDING.hash(), RECORD_SHARDING.shards());
+  }
+
+  @Benchmark
+  public int autoValueClass() {
+    return shard(CLASS_SHARDING.hash(), CLASS_SHARDING.shards());
+  }
+
+  @Benchmark
+  public int literal() {
+    return shard(HASH, SHARDS);
+  }
+
+  private int shard(IntUnaryOperator hash, int shards) {
+    int sum = 0;
+    for (int key : keys) {
+      sum += Math.floorMod(hash.applyAsInt(key), shards);
+    }
+    return sum;
+  }
+}
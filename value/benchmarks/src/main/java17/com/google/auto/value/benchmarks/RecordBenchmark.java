@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@code equals}, {@code hashCode} and {@code toString} methods of records with the
+ * same components as {@link NarrowValue} and {@link WideValue}, and looking them up in a {@link
+ * HashMap}. The results are directly comparable with the {@code NARROW} and {@code WIDE} results of
+ * {@link ObjectMethodsBenchmark} and {@link HashMapLookupBenchmark}. Records get these methods from
+ * {@code ObjectMethods} bootstrap methods rather than generated bytecode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordBenchmark {
+  record NarrowRecord(int id, String name) {}
+
+  record WideRecord(
+      int id,
+      String name,
+      long timestamp,
+      double score,
+      boolean active,
+      char grade,
+      String email,
+      int age,
+      long version,
+      float ratio,
+      String city,
+      String country) {}
+
+  /** The record shapes, made from an index in the same way as the corresponding value shapes. */
+  public enum RecordShape {
+    NARROW_RECORD {
+      @Override
+      Object create(int i) {
+        return new NarrowRecord(i, "name" + i);
+      }
+    },
+    WIDE_RECORD {
+      @Override
+      Object create(int i) {
+        return new WideRecord(
+            i,
+            "name" + i,
+            1_700_000_000_000L + i,
+            i / 7.0,
+            i % 2 == 0,
+            (char) ('A' + i % 5),
+            "user" + i + "@example.com",
+            20 + i % 50,
+            i * 31L,
+            i / 3.0f,
+            "city" + i % 97,
+            "country" + i % 13);
+      }
+    };
+
+    abstract Object create(int i);
+  }
+
+  @Param public RecordShape shape;
+
+  @Param("1000")
+  public int size;
+
+  private Object value;
+  private Object equalValue;
+  private Object differentValue;
+  private Map<Object, Integer> map;
+  private Object[] keys;
+
+  @Setup
+  public void setUp() {
+    value = shape.create(1);
+    equalValue = shape.create(1);
+    differentValue = shape.create(2);
+    map = new HashMap<>();
+    keys = new Object[size];
+    for (int i = 0; i < size; i++) {
+      map.put(shape.create(i), i);
+      keys[i] = shape.create(i);
+    }
+  }
+
+  @Benchmark
+  public boolean equalsEqual() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public boolean equalsDifferent() {
+    return value.equals(differentValue);
+  }
+
+  @Benchmark
+  public int hashCodeBenchmark() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String toStringBenchmark() {
+    return value.toString();
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public long lookup() {
+    long sum = 0;
+    for (Object key : keys) {
+      sum += map.get(key);
+    }
+    return sum;
+  }
+}
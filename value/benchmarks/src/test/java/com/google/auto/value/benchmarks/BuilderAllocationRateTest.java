@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.common.collect.Iterables;
+import java.util.Collection;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the {@link VeryWideValue} builder benchmarks with the JMH {@code gc} profiler, and checks
+ * that a builder chain allocates no more per operation than {@code build()} on a builder that was
+ * prepared in advance, which allocates only the value. This is the allocation rate that {@code java
+ * -jar benchmarks.jar -prof gc} reports, measured with short iterations.
+ */
+@RunWith(JUnit4.class)
+public class BuilderAllocationRateTest {
+  @Test
+  public void veryWideBuilderAllocatesOnlyTheValue() throws Exception {
+    Options options =
+        new OptionsBuilder()
+            .include(BuilderBenchmark.class.getName() + "\\.veryWide(Builder|PreparedBuild)$")
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.milliseconds(500))
+            .measurementIterations(3)
+            .measurementTime(TimeValue.milliseconds(500))
+            .build();
+    Collection<RunResult> results = new Runner(options).run();
+    double builder = allocationRate(results, "veryWideBuilder");
+    double prepared = allocationRate(results, "veryWidePreparedBuild");
+    // The normalized rate includes a share of whatever JMH itself allocates, so allow a little
+    // slack.
+    assertWithMessage("gc.alloc.rate.norm of veryWideBuilder, compared with veryWidePreparedBuild")
+        .that(builder)
+        .isAtMost(prepared + 8);
+  }
+
+  private static double allocationRate(Collection<RunResult> results, String benchmark) {
+    RunResult result =
+        Iterables.getOnlyElement(
+            Iterables.filter(results, r -> r.getParams().getBenchmark().endsWith("." + benchmark)));
+    // getSecondaryResults() returns a map with the raw type Result as its value type.
+    Map<String, ?> secondaryResults = result.getAggregatedResult().getSecondaryResults();
+    for (Map.Entry<String, ?> entry : secondaryResults.entrySet()) {
+      if (entry.getKey().endsWith("gc.alloc.rate.norm")) {
+        return ((Result<?>) entry.getValue()).getScore();
+      }
+    }
+    throw new AssertionError("No gc.alloc.rate.norm result for " + benchmark);
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.benchmarks;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+import static com.google.common.truth.TruthJUnit.assume;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Checks that the JIT can eliminate the builder in a chain like {@code
+ * VeryWideValue.builder().id(id)...build()}. That needs {@code build()} to be small enough for C2
+ * to inline it into the caller, after which escape analysis can see that the builder does not
+ * escape and replace its fields with local variables.
+ *
+ * <p>Each test runs {@link Probe} in a new JVM with {@code -XX:+UnlockDiagnosticVMOptions
+ * -XX:+PrintInlining}, so that the inlining decisions can be checked directly, as well as the bytes
+ * allocated per call.
+ */
+@RunWith(JUnit4.class)
+public class BuilderEscapeAnalysisTest {
+  private static final Pattern RESULT =
+      Pattern.compile("^builder=(\\d+) prepared=(\\d+)$", Pattern.MULTILINE);
+
+  @Test
+  public void builderIsEliminated() throws Exception {
+    assumeC2();
+    String output = runProbe();
+    assertWithMessage("inlining of build()")
+        .that(output)
+        .containsMatch(
+            "AutoValue_VeryWideValue\\$Builder::build \\(\\d+ bytes\\)\\s+inline \\(hot\\)");
+    long[] result = result(output);
+    assertWithMessage("bytes allocated per builder chain, compared with build() alone")
+        .that(result[0])
+        .isEqualTo(result[1]);
+  }
+
+  /**
+   * Checks that the probe can see a builder allocation at all, by running it with escape analysis
+   * turned off. Otherwise {@link #builderIsEliminated} could pass without showing anything.
+   */
+  @Test
+  public void builderIsAllocatedWithoutEscapeAnalysis() throws Exception {
+    assumeC2();
+    long[] result = result(runProbe("-XX:-DoEscapeAnalysis"));
+    assertWithMessage("bytes allocated per builder chain, compared with build() alone")
+        .that(result[0])
+        .isGreaterThan(result[1]);
+  }
+
+  private static void assumeC2() {
+    assume().that(System.getProperty("java.vm.name")).contains("Server VM");
+  }
+
+  private static long[] result(String output) {
+    Matcher matcher = RESULT.matcher(output);
+    assertWithMessage("probe output").that(matcher.find()).isTrue();
+    return new long[] {Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))};
+  }
+
+  private static String runProbe(String... extraOptions) throws IOException, InterruptedException {
+    String java =
+        System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    ImmutableList<String> command =
+        ImmutableList.<String>builder()
+            .add(java, "-Xbatch", "-XX:+UnlockDiagnosticVMOptions", "-XX:+PrintCompilation")
+            .add("-XX:+PrintInlining")
+            .add(extraOptions)
+            .add("-cp", System.getProperty("java.class.path"), Probe.class.getName())
+            .build();
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    String output = new String(ByteStreams.toByteArray(process.getInputStream()), UTF_8);
+    assertWithMessage("exit status of probe, with output:\n%s", output)
+        .that(process.waitFor())
+        .isEqualTo(0);
+    return output;
+  }
+
+  /**
+   * Warms up a builder chain and a {@code build()} call on a builder prepared in advance, which
+   * allocates only the value, then prints the bytes that each allocates per call. Every result is
+   * stored in a static field, so only the builder, and not the value that it builds, can be
+   * eliminated.
+   */
+  public static final class Probe {
+    private static final int WARMUP_CALLS = 100_000;
+    private static final int MEASURED_CALLS = 100_000;
+
+    static volatile Object sink;
+
+    public static void main(String[] args) {
+      com.sun.management.ThreadMXBean threadBean =
+          (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+      BuilderBenchmark benchmark = new BuilderBenchmark();
+      Runnable builder = () -> sink = benchmark.veryWideBuilder();
+      Runnable prepared = () -> sink = benchmark.veryWidePreparedBuild();
+      long builderBytes = bytesPerCall(threadBean, builder);
+      long preparedBytes = bytesPerCall(threadBean, prepared);
+      System.out.println("builder=" + builderBytes + " prepared=" + preparedBytes);
+    }
+
+    private static long bytesPerCall(com.sun.management.ThreadMXBean threadBean, Runnable call) {
+      for (int i = 0; i < WARMUP_CALLS; i++) {
+        call.run();
+      }
+      long threadId = Thread.currentThread().getId();
+      long before = threadBean.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < MEASURED_CALLS; i++) {
+        call.run();
+      }
+      return (threadBean.getThreadAllocatedBytes(threadId) - before) / MEASURED_CALLS;
+    }
+  }
+}
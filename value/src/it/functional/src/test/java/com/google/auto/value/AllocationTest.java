@@ -0,0 +1,310 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+import static com.google.common.truth.TruthJUnit.assume;
+
+import com.google.auto.value.extension.memoized.Memoized;
+import com.google.common.collect.ImmutableList;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Checks that the hot paths of generated code do not allocate more than they need to. Each test
+ * calls a generated method many times, after warming it up, and measures how many bytes the current
+ * thread allocated per call. That is compared with an explicit budget, which is zero for methods
+ * like {@code equals}, {@code hashCode} and property getters, and otherwise the size of the object
+ * that the method must return, measured by allocating an equivalent object directly.
+ *
+ * <p>The result of every call is written to a static field, so that the JIT cannot eliminate the
+ * call or the allocation of its result. The budgets are upper bounds, so escape analysis
+ * eliminating some other allocation, such as a builder, can only help.
+ *
+ * <p>The budgets of {@code build()} and {@code toBuilder()} are only met when escape analysis does
+ * eliminate such an allocation, which depends on the JVM, its flags and the machine. So those
+ * checks are skipped unless the {@code jitTests} system property is true, as it is with {@code mvn
+ * test -P jit-tests}. The other budgets do not depend on escape analysis, and are always checked.
+ */
+@RunWith(JUnit4.class)
+public class AllocationTest {
+  private static final int WARMUP_CALLS = 20_000;
+  private static final int MEASURED_CALLS = 10_000;
+
+  private static volatile Object objectSink;
+  private static volatile long longSink;
+
+  private com.sun.management.ThreadMXBean threadBean;
+
+  @Before
+  public void setUp() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    assume().that(bean).isInstanceOf(com.sun.management.ThreadMXBean.class);
+    threadBean = (com.sun.management.ThreadMXBean) bean;
+    assume().that(threadBean.isThreadAllocatedMemorySupported()).isTrue();
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @AutoValue
+  abstract static class Item {
+    abstract int id();
+
+    abstract long size();
+
+    abstract double weight();
+
+    abstract boolean active();
+
+    abstract String name();
+
+    abstract Optional<String> description();
+
+    abstract ImmutableList<String> tags();
+
+    abstract Builder toBuilder();
+
+    static Builder builder() {
+      return new AutoValue_AllocationTest_Item.Builder();
+    }
+
+    @AutoValue.Builder
+    abstract static class Builder {
+      abstract Builder id(int id);
+
+      abstract Builder size(long size);
+
+      abstract Builder weight(double weight);
+
+      abstract Builder active(boolean active);
+
+      abstract Builder name(String name);
+
+      abstract Builder description(Optional<String> description);
+
+      abstract Builder tags(ImmutableList<String> tags);
+
+      abstract Item build();
+    }
+  }
+
+  /**
+   * A class with the same fields as {@code AutoValue_AllocationTest_Item}, so its instances have
+   * the same size.
+   */
+  private static final class ItemFields {
+    final int id;
+    final long size;
+    final double weight;
+    final boolean active;
+    final String name;
+    final Optional<String> description;
+    final ImmutableList<String> tags;
+
+    ItemFields(
+        int id,
+        long size,
+        double weight,
+        boolean active,
+        String name,
+        Optional<String> description,
+        ImmutableList<String> tags) {
+      this.id = id;
+      this.size = size;
+      this.weight = weight;
+      this.active = active;
+      this.name = name;
+      this.description = description;
+      this.tags = tags;
+    }
+  }
+
+  @AutoValue
+  abstract static class Pair<K, V> {
+    abstract K key();
+
+    abstract V value();
+
+    static <K, V> Pair<K, V> of(K key, V value) {
+      return new AutoValue_AllocationTest_Pair<>(key, value);
+    }
+  }
+
+  @AutoValue
+  abstract static class Memo {
+    abstract ImmutableList<String> parts();
+
+    @Memoized
+    String joined() {
+      return String.join("/", parts());
+    }
+
+    @Memoized
+    @Override
+    public abstract int hashCode();
+
+    static Memo create(ImmutableList<String> parts) {
+      return new AutoValue_AllocationTest_Memo(parts);
+    }
+  }
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @interface Labelled {
+    String name();
+
+    int priority();
+
+    String[] aliases();
+  }
+
+  @AutoAnnotation
+  static Labelled labelled(String name, int priority, String[] aliases) {
+    return new AutoAnnotation_AllocationTest_labelled(name, priority, aliases);
+  }
+
+  private static Item item() {
+    return Item.builder()
+        .id(23)
+        .size(1L << 40)
+        .weight(2.5)
+        .active(true)
+        .name("name")
+        .description(Optional.of("description"))
+        .tags(ImmutableList.of("a", "b", "c"))
+        .build();
+  }
+
+  @Test
+  public void getters() {
+    Item item = item();
+    assertNoAllocation("id()", () -> item.id());
+    assertNoAllocation("size()", () -> item.size());
+    assertNoAllocation("weight()", () -> (long) item.weight());
+    assertNoAllocation("active()", () -> item.active() ? 1 : 0);
+    assertNoAllocation("name()", () -> item.name());
+    assertNoAllocation("description()", () -> item.description());
+    assertNoAllocation("tags()", () -> item.tags());
+  }
+
+  @Test
+  public void equalsAndHashCode() {
+    Item item = item();
+    Item equalItem = item();
+    Item differentItem = item.toBuilder().weight(3.5).build();
+    assertNoAllocation("equals(equal)", () -> item.equals(equalItem) ? 1 : 0);
+    assertNoAllocation("equals(different)", () -> item.equals(differentItem) ? 1 : 0);
+    assertNoAllocation("hashCode()", () -> item.hashCode());
+  }
+
+  @Test
+  public void genericEqualsAndHashCode() {
+    Pair<Integer, Long> pair = Pair.of(1_000, 1_000_000L);
+    Pair<Integer, Long> equalPair = Pair.of(1_000, 1_000_000L);
+    assertNoAllocation("equals(equal)", () -> pair.equals(equalPair) ? 1 : 0);
+    assertNoAllocation("hashCode()", () -> pair.hashCode());
+  }
+
+  @Test
+  public void builder() {
+    assume().that(Boolean.getBoolean("jitTests")).isTrue();
+    Item item = item();
+    Optional<String> description = item.description();
+    ImmutableList<String> tags = item.tags();
+    long itemBytes =
+        bytesPerCall(() -> new ItemFields(23, 1L << 40, 2.5, true, "name", description, tags));
+    long builderBytes = bytesPerCall(Item::builder);
+    Item.Builder builder = item.toBuilder();
+    assertAllocationAtMost("build()", () -> builder.build(), itemBytes);
+    assertAllocationAtMost("toBuilder()", () -> item.toBuilder(), builderBytes);
+    assertAllocationAtMost(
+        "toBuilder().build()", () -> item.toBuilder().build(), builderBytes + itemBytes);
+    assertAllocationAtMost(
+        "builder()...build()",
+        () ->
+            Item.builder()
+                .id(23)
+                .size(1L << 40)
+                .weight(2.5)
+                .active(true)
+                .name("name")
+                .description(description)
+                .tags(tags)
+                .build(),
+        builderBytes + itemBytes);
+  }
+
+  @Test
+  public void memoized() {
+    Memo memo = Memo.create(ImmutableList.of("a", "b", "c"));
+    Object unused = memo.joined();
+    assertNoAllocation("joined()", () -> memo.joined());
+    assertNoAllocation("hashCode()", () -> memo.hashCode());
+  }
+
+  @Test
+  public void autoAnnotation() {
+    String[] aliases = {"x", "y", "z"};
+    Labelled labelled = labelled("name", 3, aliases);
+    Labelled equalLabelled = labelled("name", 3, aliases.clone());
+    assertNoAllocation("name()", () -> labelled.name());
+    assertNoAllocation("priority()", () -> labelled.priority());
+    assertNoAllocation("equals(equal)", () -> labelled.equals(equalLabelled) ? 1 : 0);
+    assertNoAllocation("hashCode()", () -> labelled.hashCode());
+    // An array-valued member must return a copy, so that callers cannot modify the annotation.
+    long cloneBytes = bytesPerCall(() -> aliases.clone());
+    assertAllocationAtMost("aliases()", () -> labelled.aliases(), cloneBytes);
+  }
+
+  private void assertNoAllocation(String method, Supplier<?> call) {
+    assertAllocationAtMost(method, call, 0);
+  }
+
+  private void assertNoAllocation(String method, LongSupplier call) {
+    long bytes = measure(() -> longSink = call.getAsLong());
+    assertWithMessage("bytes allocated per call of %s", method).that(bytes).isEqualTo(0L);
+  }
+
+  private void assertAllocationAtMost(String method, Supplier<?> call, long budget) {
+    assertWithMessage("bytes allocated per call of %s", method)
+        .that(bytesPerCall(call))
+        .isAtMost(budget);
+  }
+
+  private long bytesPerCall(Supplier<?> call) {
+    return measure(() -> objectSink = call.get());
+  }
+
+  /** Returns the bytes allocated per call of {@code call}, after warming it up. */
+  private long measure(Runnable call) {
+    for (int i = 0; i < WARMUP_CALLS; i++) {
+      call.run();
+    }
+    long threadId = Thread.currentThread().getId();
+    long before = threadBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < MEASURED_CALLS; i++) {
+      call.run();
+    }
+    long after = threadBean.getThreadAllocatedBytes(threadId);
+    return (after - before) / MEASURED_CALLS;
+  }
+}
@@ -441,6 +441,51 @@ public class AutoOneOfTest {
     assertThat(x.toString()).isEqualTo("AbstractToString{ace=ceg}");
   }
 
+  @AutoOneOf(AppendableShape.Kind.class)
+  public abstract static class AppendableShape {
+    public enum Kind {
+      CIRCLE,
+      EMPTY,
+      NESTED
+    }
+
+    public abstract Kind getKind();
+
+    public abstract double circle();
+
+    public abstract void empty();
+
+    public abstract AppendableShape nested();
+
+    public abstract StringBuilder appendTo(StringBuilder sb);
+
+    public static AppendableShape circle(double radius) {
+      return AutoOneOf_AutoOneOfTest_AppendableShape.circle(radius);
+    }
+
+    public static AppendableShape ofEmpty() {
+      return AutoOneOf_AutoOneOfTest_AppendableShape.empty();
+    }
+
+    public static AppendableShape nested(AppendableShape shape) {
+      return AutoOneOf_AutoOneOfTest_AppendableShape.nested(shape);
+    }
+  }
+
+  // If you have an abstract appendTo(StringBuilder) method, we implement it and toString() uses it.
+  @Test
+  public void appendTo() {
+    AppendableShape shape = AppendableShape.nested(AppendableShape.circle(1.5));
+    assertThat(shape.toString()).isEqualTo("AppendableShape{nested=AppendableShape{circle=1.5}}");
+    assertThat(AppendableShape.ofEmpty().toString()).isEqualTo("AppendableShape{empty}");
+
+    StringBuilder sb = new StringBuilder();
+    assertThat(shape.appendTo(sb)).isSameInstanceAs(sb);
+    AppendableShape.ofEmpty().appendTo(sb.append(", "));
+    assertThat(sb.toString())
+        .isEqualTo("AppendableShape{nested=AppendableShape{circle=1.5}}, AppendableShape{empty}");
+  }
+
   // "package" is a reserved word. You probably don't want to have a property with that name,
   // but if you insist, you can get one by using getFoo()-style methods. We leak our renaming
   // scheme here (package0) and for users that that bothers they can just avoid having properties
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value;
+
+import static com.google.common.base.StandardSystemProperty.JAVA_SPECIFICATION_VERSION;
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.EqualsTester;
+import com.google.common.testing.SerializableTester;
+import java.io.Serializable;
+import javax.annotation.Nullable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@code @AutoValue} interfaces, which are implemented by records where possible. */
+@RunWith(JUnit4.class)
+public class AutoValueInterfaceTest {
+  private static final boolean RECORDS_SUPPORTED =
+      Double.parseDouble(JAVA_SPECIFICATION_VERSION.value()) >= 16;
+
+  @AutoValue
+  public interface Point<T> extends Serializable {
+    long serialVersionUID = 1L;
+
+    int getX();
+
+    int getY();
+
+    @Nullable
+    String getLabel();
+
+    ImmutableList<T> getTags();
+
+    static <T> Builder<T> builder() {
+      return new AutoValue_AutoValueInterfaceTest_Point.Builder<T>().setTags(ImmutableList.of());
+    }
+
+    Builder<T> toBuilder();
+
+    @AutoValue.Builder
+    interface Builder<T> {
+      Builder<T> setX(int x);
+
+      Builder<T> setY(int y);
+
+      Builder<T> setLabel(@Nullable String label);
+
+      Builder<T> setTags(ImmutableList<T> tags);
+
+      Point<T> build();
+    }
+  }
+
+  @Test
+  public void interfaceWithBuilder() {
+    Point<String> point = Point.<String>builder().setX(1).setY(2).build();
+    assertThat(point.getX()).isEqualTo(1);
+    assertThat(point.getY()).isEqualTo(2);
+    assertThat(point.getLabel()).isNull();
+    assertThat(point.getTags()).isEmpty();
+    assertThat(isRecord(point)).isEqualTo(RECORDS_SUPPORTED);
+
+    Point<String> labelled = point.toBuilder().setLabel("origin").build();
+    assertThat(labelled.getLabel()).isEqualTo("origin");
+    new EqualsTester()
+        .addEqualityGroup(point, Point.<String>builder().setX(1).setY(2).build())
+        .addEqualityGroup(labelled)
+        .addEqualityGroup(point.toBuilder().setTags(ImmutableList.of("a")).build())
+        .testEquals();
+    assertThat(SerializableTester.reserializeAndAssert(labelled).getLabel()).isEqualTo("origin");
+    assertThat(point.toString()).contains("=1");
+  }
+
+  @Test
+  public void interfaceNullChecks() {
+    NullPointerException e =
+        assertThrows(
+            NullPointerException.class,
+            () -> Point.<String>builder().setX(1).setY(2).setTags(null));
+    assertThat(e).hasMessageThat().isEqualTo("Null tags");
+  }
+
+  @AutoValue
+  public interface Name {
+    String value();
+
+    static Name of(String value) {
+      return new AutoValue_AutoValueInterfaceTest_Name(value);
+    }
+  }
+
+  @Test
+  public void interfaceConstructorNullChecks() {
+    assertThat(Name.of("x")).isEqualTo(Name.of("x"));
+    NullPointerException e = assertThrows(NullPointerException.class, () -> Name.of(null));
+    assertThat(e).hasMessageThat().isEqualTo("Null value");
+  }
+
+  @AutoValue
+  public interface Bytes {
+    @SuppressWarnings("mutable")
+    byte[] bytes();
+
+    static Bytes of(byte... bytes) {
+      return new AutoValue_AutoValueInterfaceTest_Bytes(bytes);
+    }
+  }
+
+  @Test
+  public void interfaceWithArrayIsNotRecord() {
+    Bytes bytes = Bytes.of((byte) 1, (byte) 2);
+    assertThat(isRecord(bytes)).isFalse();
+    new EqualsTester()
+        .addEqualityGroup(bytes, Bytes.of((byte) 1, (byte) 2))
+        .addEqualityGroup(Bytes.of((byte) 3))
+        .testEquals();
+  }
+
+  private static boolean isRecord(Object object) {
+    Class<?> superclass = object.getClass().getSuperclass();
+    return superclass != null && superclass.getName().equals("java.lang.Record");
+  }
+}
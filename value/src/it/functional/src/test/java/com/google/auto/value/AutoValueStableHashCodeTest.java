@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link AutoValue.StableHashCode}. */
+@RunWith(JUnit4.class)
+public class AutoValueStableHashCodeTest {
+  @AutoValue
+  @AutoValue.StableHashCode
+  abstract static class Unit {
+    abstract TimeUnit unit();
+
+    static Unit of(TimeUnit unit) {
+      return new AutoValue_AutoValueStableHashCodeTest_Unit(unit);
+    }
+  }
+
+  @AutoOneOf(Shard.Kind.class)
+  @AutoValue.StableHashCode
+  abstract static class Shard {
+    enum Kind {
+      ANY,
+      UNIT
+    }
+
+    abstract Kind getKind();
+
+    abstract void any();
+
+    abstract Unit unit();
+
+    static Shard ofAny() {
+      return AutoOneOf_AutoValueStableHashCodeTest_Shard.any();
+    }
+
+    static Shard unit(Unit unit) {
+      return AutoOneOf_AutoValueStableHashCodeTest_Shard.unit(unit);
+    }
+  }
+
+  @AutoValue
+  @AutoValue.StableHashCode
+  abstract static class PartitionKey {
+    abstract TimeUnit unit();
+
+    abstract @Nullable TimeUnit previousUnit();
+
+    abstract Class<?> type();
+
+    abstract ImmutableList<String> path();
+
+    abstract ImmutableMap<String, Unit> units();
+
+    abstract Optional<Shard> shard();
+
+    static PartitionKey create(
+        TimeUnit unit,
+        @Nullable TimeUnit previousUnit,
+        Class<?> type,
+        ImmutableList<String> path,
+        ImmutableMap<String, Unit> units,
+        Optional<Shard> shard) {
+      return new AutoValue_AutoValueStableHashCodeTest_PartitionKey(
+          unit, previousUnit, type, path, units, shard);
+    }
+  }
+
+  private static ImmutableList<Object> values() {
+    return ImmutableList.of(
+        Unit.of(TimeUnit.SECONDS),
+        Shard.ofAny(),
+        Shard.unit(Unit.of(TimeUnit.DAYS)),
+        PartitionKey.create(
+            TimeUnit.HOURS,
+            null,
+            String.class,
+            ImmutableList.of("a", "b"),
+            ImmutableMap.of("x", Unit.of(TimeUnit.MINUTES)),
+            Optional.of(Shard.ofAny())),
+        PartitionKey.create(
+            TimeUnit.NANOSECONDS,
+            TimeUnit.MILLISECONDS,
+            int[].class,
+            ImmutableList.of(),
+            ImmutableMap.of(),
+            Optional.empty()));
+  }
+
+  private static String hashCodes() {
+    StringBuilder sb = new StringBuilder();
+    for (Object value : values()) {
+      sb.append(value.hashCode()).append('\n');
+    }
+    return sb.toString();
+  }
+
+  /** Prints the hash codes of {@link #values()}, for {@link #sameHashCodesInAnotherJvm}. */
+  public static void main(String[] args) {
+    System.out.print(hashCodes());
+  }
+
+  @Test
+  public void hashCodeDependsOnlyOnName() {
+    assertThat(Unit.of(TimeUnit.SECONDS).hashCode()).isEqualTo(1000003 ^ "SECONDS".hashCode());
+  }
+
+  @Test
+  public void sameHashCodesInAnotherJvm() throws Exception {
+    String java =
+        System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    Process process =
+        new ProcessBuilder(
+                java,
+                "-cp",
+                System.getProperty("java.class.path"),
+                AutoValueStableHashCodeTest.class.getName())
+            .redirectErrorStream(true)
+            .start();
+    String output = new String(ByteStreams.toByteArray(process.getInputStream()), UTF_8);
+    assertWithMessage("exit status of other JVM, with output:\n%s", output)
+        .that(process.waitFor())
+        .isEqualTo(0);
+    assertThat(output).isEqualTo(hashCodes());
+  }
+}
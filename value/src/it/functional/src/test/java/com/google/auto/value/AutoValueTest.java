@@ -1021,6 +1021,60 @@ public class AutoValueTest {
     assertThat(instance.toString()).isEqualTo(expectedString);
   }
 
+  @AutoValue
+  abstract static class AppendableLeaf {
+    abstract String name();
+
+    abstract void appendTo(StringBuilder sb);
+
+    static AppendableLeaf create(String name) {
+      return new AutoValue_AutoValueTest_AppendableLeaf(name);
+    }
+  }
+
+  @AutoValue
+  abstract static class AppendableTree {
+    @SuppressWarnings("mutable")
+    abstract int[] weights();
+
+    abstract @Nullable AppendableLeaf first();
+
+    abstract ImmutableList<AppendableLeaf> leaves();
+
+    abstract StringBuilder appendTo(StringBuilder sb);
+
+    static AppendableTree create(
+        int[] weights, @Nullable AppendableLeaf first, ImmutableList<AppendableLeaf> leaves) {
+      return new AutoValue_AutoValueTest_AppendableTree(weights, first, leaves);
+    }
+  }
+
+  // If there is an abstract appendTo(StringBuilder) method, we generate it and toString() uses it.
+  // Nested values and collections of values that have their own appendTo are appended directly.
+  @Test
+  public void testAppendTo() throws Exception {
+    AppendableLeaf foo = AppendableLeaf.create("foo");
+    AppendableLeaf bar = AppendableLeaf.create("bar");
+    AppendableTree tree = AppendableTree.create(new int[] {1, 2}, null, ImmutableList.of(foo, bar));
+    String expectedString =
+        omitIdentifiers
+            ? "{[1, 2], null, [{foo}, {bar}]}"
+            : "AppendableTree{weights=[1, 2], first=null, leaves=[AppendableLeaf{name=foo},"
+                + " AppendableLeaf{name=bar}]}";
+    assertThat(tree.toString()).isEqualTo(expectedString);
+
+    StringBuilder sb = new StringBuilder("<");
+    assertThat(tree.appendTo(sb)).isSameInstanceAs(sb);
+    assertThat(sb.append('>').toString()).isEqualTo("<" + expectedString + ">");
+
+    AppendableTree other = AppendableTree.create(new int[0], foo, ImmutableList.of());
+    assertThat(other.toString())
+        .isEqualTo(
+            omitIdentifiers
+                ? "{[], {foo}, []}"
+                : "AppendableTree{weights=[], first=AppendableLeaf{name=foo}, leaves=[]}");
+  }
+
   @AutoValue
   abstract static class ExplicitHashCode {
     abstract String string();
@@ -164,4 +164,36 @@ public @interface AutoValue {
   public @interface CopyAnnotations {
     Class<? extends Annotation>[] exclude() default {};
   }
+
+  /**
+   * Specifies that the generated {@code hashCode()} method should return the same value for equal
+   * instances in every JVM, so that it can be used for example to partition values between the
+   * machines of a distributed computation. This annotation can be applied to an {@code @AutoValue}
+   * or {@code @AutoOneOf} class.
+   *
+   * <p>Ordinarily, the {@code hashCode()} of an enum or {@link Class} property is an identity hash
+   * code, which is different in each JVM. In this mode, an enum property is hashed by its {@link
+   * Enum#name() name} and a {@code Class} property by its {@link Class#getName() name}. It is a
+   * compilation error if any other property might not have a stable hash code. The properties that
+   * are allowed are:
+   *
+   * <ul>
+   *   <li>primitives and primitive arrays;
+   *   <li>enums and {@code Class};
+   *   <li>{@code String} and the boxed primitive types;
+   *   <li>other classes that have this annotation;
+   *   <li>{@code List}, {@code Set}, {@code Map} and {@code Optional}, including their Guava
+   *       immutable equivalents, if their type arguments are {@code String}, boxed primitives,
+   *       classes with this annotation, or other such collections.
+   * </ul>
+   *
+   * <p>An enum or {@code Class} inside a collection is not allowed, because the collection's own
+   * {@code hashCode()} would use its identity hash code.
+   *
+   * <p>An {@code @AutoValue} interface with this annotation is never implemented by a {@code
+   * record}, since the {@code hashCode()} of a record is not specified.
+   */
+  @Retention(RetentionPolicy.CLASS)
+  @Target(ElementType.TYPE)
+  public @interface StableHashCode {}
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.columnar;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotates {@link com.google.auto.value.AutoValue @AutoValue} classes for which a companion class
+ * should be generated that stores many instances column by column. For a class {@code Trade}, the
+ * companion is called {@code TradeColumns} and is in the same package. For a nested class {@code
+ * Outer.Trade} it is called {@code Outer_TradeColumns}.
+ *
+ * <p>Each property of the class must be a primitive, a {@code String}, or an enum. The companion
+ * keeps one growable array for each property, so a row costs only the size of its values, rather
+ * than an object header and a reference to each value. Strings are replaced by {@code int} codes
+ * into a dictionary that is shared by all the {@code String} columns, and enums by their ordinals.
+ * {@code @Nullable} strings and enums are allowed, with a code of -1 for null.
+ *
+ * <p>The companion has these members:
+ *
+ * <ul>
+ *   <li>{@code int append(Trade value)}, which adds a row and returns its index.
+ *   <li>{@code int size()}.
+ *   <li>A method for each property that reads it from a given row, for example {@code long
+ *       price(int row)}. These do not allocate.
+ *   <li>{@code Trade get(int row)}, which makes a new {@code Trade} from a row.
+ *   <li>{@code Row newRow()}, which returns a reusable view. Its {@code at(int row)} method moves
+ *       the view to another row, and it has the same accessors as {@code Trade}, as well as {@code
+ *       toValue()}. So a loop over all the rows can use a single view object.
+ * </ul>
+ *
+ * <pre>{@code
+ * TradeColumns trades = new TradeColumns();
+ * for (Trade trade : source) {
+ *   trades.append(trade);
+ * }
+ * long total = 0;
+ * TradeColumns.Row row = trades.newRow();
+ * for (int i = 0; i < trades.size(); i++) {
+ *   if (row.at(i).side() == Side.BUY) {
+ *     total += row.quantity();
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>The companion is not thread-safe. A property cannot be called {@code get} or {@code toValue},
+ * since those are methods of the companion and of its {@code Row}.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Columnar {}
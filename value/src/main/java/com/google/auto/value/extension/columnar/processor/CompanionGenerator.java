@@ -0,0 +1,409 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.columnar.processor;
+
+import static com.google.auto.value.extension.processor.Nullability.isNullable;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+import com.google.auto.common.MoreTypes;
+import com.google.auto.value.extension.AutoValueExtension.Context;
+import com.google.auto.value.extension.processor.CompanionFileGenerator;
+import com.google.common.collect.ImmutableSet;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/** Generates the {@code FooColumns} companion of a {@code @Columnar} class {@code Foo}. */
+final class CompanionGenerator extends CompanionFileGenerator {
+  /**
+   * Names of methods of the companion and of its {@code Row} view that a property accessor would
+   * clash with.
+   */
+  private static final ImmutableSet<String> RESERVED_ACCESSOR_NAMES =
+      ImmutableSet.of("get", "toValue");
+
+  private static final TypeName STRING = ClassName.get(String.class);
+
+  /** How the values of a property are stored. */
+  private enum Encoding {
+    /** A primitive array of the same type as the property. */
+    PRIMITIVE,
+    /** An {@code int} array of codes into the shared string dictionary. */
+    STRING,
+    /** An array of enum ordinals, of the smallest integral type that can hold them and -1. */
+    ENUM,
+  }
+
+  /** One property of the {@code @Columnar} class, and the array that stores it. */
+  private static final class Column {
+    final ExecutableElement getter;
+    final TypeMirror type;
+    final Encoding encoding;
+    final TypeName storage;
+    final boolean nullable;
+
+    Column(
+        ExecutableElement getter,
+        TypeMirror type,
+        Encoding encoding,
+        TypeName storage,
+        boolean nullable) {
+      this.getter = getter;
+      this.type = type;
+      this.encoding = encoding;
+      this.storage = storage;
+      this.nullable = nullable;
+    }
+
+    String accessor() {
+      return getter.getSimpleName().toString();
+    }
+
+    String field() {
+      return accessor() + "Column";
+    }
+
+    String enumValues() {
+      return accessor() + "Values";
+    }
+  }
+
+  CompanionGenerator(Context context) {
+    super(context, ColumnarExtension.class, "Columns");
+  }
+
+  /** Writes the companion, or reports errors if the class cannot have one. */
+  void generate() {
+    checkNotGeneric("Columnar");
+    List<Column> columns = new ArrayList<>();
+    context
+        .propertyTypes()
+        .forEach(
+            (property, type) -> {
+              Column column = column(context.properties().get(property), type);
+              if (column != null) {
+                columns.add(column);
+              }
+            });
+    if (hasErrors()) {
+      return;
+    }
+    TypeSpec.Builder type =
+        companionClassBuilder()
+            .addJavadoc(
+                "Stores instances of {@link $T} column by column. See {@link $T}.\n",
+                valueClass,
+                ClassName.get("com.google.auto.value.extension.columnar", "Columnar"));
+    addFields(type, columns);
+    addConstructors(type, columns);
+    addMethods(type, columns);
+    type.addType(row(columns));
+    write(type.build());
+  }
+
+  private Column column(ExecutableElement getter, TypeMirror type) {
+    if (RESERVED_ACCESSOR_NAMES.contains(getter.getSimpleName().toString())) {
+      error(
+          getter,
+          "@Columnar properties cannot be called %s, because the generated %s has a method with"
+              + " that name",
+          getter.getSimpleName(),
+          companion.simpleName());
+      return null;
+    }
+    if (type.getKind().isPrimitive()) {
+      return new Column(getter, type, Encoding.PRIMITIVE, TypeName.get(type), false);
+    }
+    if (type.getKind() == TypeKind.DECLARED) {
+      TypeElement element = MoreTypes.asTypeElement(type);
+      if (element.getQualifiedName().contentEquals("java.lang.String")) {
+        return new Column(getter, type, Encoding.STRING, TypeName.INT, isNullable(getter));
+      }
+      if (element.getKind() == ElementKind.ENUM) {
+        return new Column(getter, type, Encoding.ENUM, ordinalStorage(element), isNullable(getter));
+      }
+    }
+    error(getter, "@Columnar properties must be primitives, Strings or enums, not %s", type);
+    return null;
+  }
+
+  /** Returns the smallest integral type that can hold every ordinal of the enum, and -1. */
+  private static TypeName ordinalStorage(TypeElement enumType) {
+    long constants =
+        enumType.getEnclosedElements().stream()
+            .filter(e -> e.getKind() == ElementKind.ENUM_CONSTANT)
+            .count();
+    if (constants <= Byte.MAX_VALUE) {
+      return TypeName.BYTE;
+    } else if (constants <= Short.MAX_VALUE) {
+      return TypeName.SHORT;
+    } else {
+      return TypeName.INT;
+    }
+  }
+
+  private static boolean hasStrings(List<Column> columns) {
+    return columns.stream().anyMatch(c -> c.encoding == Encoding.STRING);
+  }
+
+  private void addFields(TypeSpec.Builder type, List<Column> columns) {
+    type.addField(
+        FieldSpec.builder(int.class, "DEFAULT_CAPACITY", PRIVATE, STATIC, FINAL)
+            .initializer("16")
+            .build());
+    for (Column column : columns) {
+      if (column.encoding == Encoding.ENUM) {
+        TypeName enumType = TypeName.get(column.type);
+        type.addField(
+            FieldSpec.builder(
+                    ArrayTypeName.of(enumType), column.enumValues(), PRIVATE, STATIC, FINAL)
+                .initializer("$T.values()", enumType)
+                .build());
+      }
+    }
+    type.addField(int.class, "size", PRIVATE).addField(int.class, "capacity", PRIVATE);
+    for (Column column : columns) {
+      type.addField(ArrayTypeName.of(column.storage), column.field(), PRIVATE);
+    }
+    if (hasStrings(columns)) {
+      type.addField(
+              FieldSpec.builder(
+                      ParameterizedTypeName.get(HashMap.class, String.class, Integer.class),
+                      "stringCodes",
+                      PRIVATE,
+                      FINAL)
+                  .initializer("new $T<>()", HashMap.class)
+                  .build())
+          .addField(
+              FieldSpec.builder(String[].class, "strings", PRIVATE)
+                  .initializer("new $T[DEFAULT_CAPACITY]", String.class)
+                  .build());
+    }
+  }
+
+  private void addConstructors(TypeSpec.Builder type, List<Column> columns) {
+    type.addMethod(
+        MethodSpec.constructorBuilder()
+            .addModifiers(PUBLIC)
+            .addStatement("this(DEFAULT_CAPACITY)")
+            .build());
+    MethodSpec.Builder withCapacity =
+        MethodSpec.constructorBuilder()
+            .addModifiers(PUBLIC)
+            .addParameter(int.class, "initialCapacity")
+            .beginControlFlow("if (initialCapacity < 0)")
+            .addStatement(
+                "throw new $T($S + initialCapacity)",
+                IllegalArgumentException.class,
+                "Negative capacity: ")
+            .endControlFlow()
+            .addStatement("this.capacity = initialCapacity");
+    for (Column column : columns) {
+      withCapacity.addStatement(
+          "this.$N = new $T[initialCapacity]", column.field(), column.storage);
+    }
+    type.addMethod(withCapacity.build());
+  }
+
+  private void addMethods(TypeSpec.Builder type, List<Column> columns) {
+    type.addMethod(
+        MethodSpec.methodBuilder("size")
+            .addJavadoc("Returns the number of rows.\n")
+            .addModifiers(PUBLIC)
+            .returns(int.class)
+            .addStatement("return size")
+            .build());
+    MethodSpec.Builder append =
+        MethodSpec.methodBuilder("append")
+            .addJavadoc("Adds a row with the properties of {@code value}, and returns its index.\n")
+            .addModifiers(PUBLIC)
+            .returns(int.class)
+            .addParameter(valueClass, "value")
+            .beginControlFlow("if (size == capacity)")
+            .addStatement("grow()")
+            .endControlFlow();
+    for (Column column : columns) {
+      append.addStatement("$N[size] = $L", column.field(), encode(column));
+    }
+    type.addMethod(append.addStatement("return size++").build());
+    for (Column column : columns) {
+      type.addMethod(
+          MethodSpec.methodBuilder(column.accessor())
+              .addJavadoc("Returns the {@code $L} property of the given row.\n", column.accessor())
+              .addModifiers(PUBLIC)
+              .returns(TypeName.get(column.type))
+              .addParameter(int.class, "row")
+              .addStatement("checkRow(row)")
+              .addStatement("return $L", decode(column, "row"))
+              .build());
+    }
+    CodeBlock arguments =
+        columns.stream().map(column -> decode(column, "row")).collect(CodeBlock.joining(",\n"));
+    type.addMethod(
+        MethodSpec.methodBuilder("get")
+            .addJavadoc(
+                "Returns a new {@link $T} with the properties of the given row.\n", valueClass)
+            .addModifiers(PUBLIC)
+            .returns(valueClass)
+            .addParameter(int.class, "row")
+            .addStatement("checkRow(row)")
+            .addStatement(
+                "return new $T(\n$L)",
+                ClassName.bestGuess(context.finalAutoValueClassName()),
+                arguments)
+            .build());
+    type.addMethod(
+        MethodSpec.methodBuilder("newRow")
+            .addJavadoc(
+                "Returns a new view of the rows. Call {@link Row#at} to choose a row before reading"
+                    + " it.\n")
+            .addModifiers(PUBLIC)
+            .returns(companion.nestedClass("Row"))
+            .addStatement("return new Row()")
+            .build());
+    type.addMethod(
+        MethodSpec.methodBuilder("checkRow")
+            .addModifiers(PRIVATE)
+            .addParameter(int.class, "row")
+            .beginControlFlow("if (row < 0 || row >= size)")
+            .addStatement(
+                "throw new $T($S + row + $S + size)",
+                IndexOutOfBoundsException.class,
+                "Row ",
+                ", size ")
+            .endControlFlow()
+            .build());
+    MethodSpec.Builder grow =
+        MethodSpec.methodBuilder("grow")
+            .addModifiers(PRIVATE)
+            .addStatement(
+                "capacity = $T.max(DEFAULT_CAPACITY, capacity + (capacity >> 1))", Math.class);
+    for (Column column : columns) {
+      grow.addStatement("$1N = $2T.copyOf($1N, capacity)", column.field(), Arrays.class);
+    }
+    type.addMethod(grow.build());
+    if (hasStrings(columns)) {
+      type.addMethod(
+          MethodSpec.methodBuilder("encode")
+              .addModifiers(PRIVATE)
+              .returns(int.class)
+              .addParameter(String.class, "string")
+              .beginControlFlow("if (string == null)")
+              .addStatement("return -1")
+              .endControlFlow()
+              .addStatement("$T code = stringCodes.get(string)", Integer.class)
+              .beginControlFlow("if (code == null)")
+              .addStatement("code = stringCodes.size()")
+              .beginControlFlow("if (code == strings.length)")
+              .addStatement("strings = $T.copyOf(strings, code * 2)", Arrays.class)
+              .endControlFlow()
+              .addStatement("strings[code] = string")
+              .addStatement("stringCodes.put(string, code)")
+              .endControlFlow()
+              .addStatement("return code")
+              .build());
+    }
+  }
+
+  /** Returns the {@code Row} view class, which is an inner class of the companion. */
+  private TypeSpec row(List<Column> columns) {
+    TypeSpec.Builder row =
+        TypeSpec.classBuilder("Row")
+            .addJavadoc(
+                "A view of one row at a time, which can be moved from row to row without"
+                    + " allocating.\n")
+            .addModifiers(PUBLIC, FINAL)
+            .addField(int.class, "row", PRIVATE)
+            .addMethod(MethodSpec.constructorBuilder().addModifiers(PRIVATE).build())
+            .addMethod(
+                MethodSpec.methodBuilder("at")
+                    .addJavadoc("Moves this view to the given row, and returns it.\n")
+                    .addModifiers(PUBLIC)
+                    .returns(companion.nestedClass("Row"))
+                    .addParameter(int.class, "row")
+                    .addStatement("checkRow(row)")
+                    .addStatement("this.row = row")
+                    .addStatement("return this")
+                    .build());
+    for (Column column : columns) {
+      row.addMethod(
+          MethodSpec.methodBuilder(column.accessor())
+              .addModifiers(PUBLIC)
+              .returns(TypeName.get(column.type))
+              .addStatement("return $L", decode(column, "row"))
+              .build());
+    }
+    row.addMethod(
+        MethodSpec.methodBuilder("toValue")
+            .addJavadoc("Returns a new {@link $T} with the properties of this row.\n", valueClass)
+            .addModifiers(PUBLIC)
+            .returns(valueClass)
+            .addStatement("return get(row)")
+            .build());
+    return row.build();
+  }
+
+  /** Returns an expression that converts the property of {@code value} to its stored form. */
+  private static CodeBlock encode(Column column) {
+    CodeBlock property = CodeBlock.of("value.$N()", column.accessor());
+    switch (column.encoding) {
+      case STRING:
+        return CodeBlock.of("encode($L)", property);
+      case ENUM:
+        CodeBlock ordinal =
+            column.storage.equals(TypeName.INT)
+                ? CodeBlock.of("$L.ordinal()", property)
+                : CodeBlock.of("($T) $L.ordinal()", column.storage, property);
+        return column.nullable ? CodeBlock.of("$L == null ? -1 : $L", property, ordinal) : ordinal;
+      default:
+        return property;
+    }
+  }
+
+  /** Returns an expression that reads the property from the given row of its array. */
+  private static CodeBlock decode(Column column, String row) {
+    CodeBlock stored = CodeBlock.of("$N[$N]", column.field(), row);
+    switch (column.encoding) {
+      case STRING:
+        return column.nullable
+            ? CodeBlock.of("$L < 0 ? null : strings[$L]", stored, stored)
+            : CodeBlock.of("strings[$L]", stored);
+      case ENUM:
+        return column.nullable
+            ? CodeBlock.of("$L < 0 ? null : $N[$L]", stored, column.enumValues(), stored)
+            : CodeBlock.of("$N[$L]", column.enumValues(), stored);
+      default:
+        return stored;
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.diff;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotates {@link com.google.auto.value.AutoValue @AutoValue} classes for which a static {@code
+ * diff} method should be generated. {@code AutoValue_Foo.diff(a, b)} returns a bit mask of the
+ * properties that are different between {@code a} and {@code b}, comparing each property in the
+ * same way as the generated {@code equals} method. So the result is zero exactly when {@code
+ * a.equals(b)}.
+ *
+ * <p>For each property, the generated class also has a constant whose name is the property name in
+ * {@code UPPER_SNAKE_CASE}. With up to 32 properties, {@code diff} returns an {@code int} and the
+ * constants are {@code int} masks. With up to 64 properties, they are {@code long}. In either case
+ * {@code diff} does not allocate. With more than 64 properties, {@code diff} returns a {@link
+ * java.util.BitSet}, and the constants are {@code int} bit indexes.
+ *
+ * <pre>{@code
+ * @AutoValue
+ * @Diffable
+ * abstract class Snapshot {
+ *   abstract ImmutableList<Row> rows();
+ *   abstract Schema schema();
+ *   ...
+ * }
+ *
+ * int changed = AutoValue_Snapshot.diff(previous, current);
+ * if ((changed & AutoValue_Snapshot.SCHEMA) != 0) {
+ *   // Only here do we need to know what changed inside the schema.
+ *   int schemaChanged = AutoValue_Schema.diff(previous.schema(), current.schema());
+ *   ...
+ * }
+ * }</pre>
+ *
+ * <p>As the example shows, a property whose type is itself {@code @Diffable} is represented by a
+ * single bit. The nested diff is computed only if it is needed, by calling the {@code diff} method
+ * of the nested type.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Diffable {}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.diff.processor;
+
+import static com.google.auto.value.extension.processor.ExtensionClassTypeSpecBuilder.extensionClassTypeSpecBuilder;
+import static com.google.auto.value.extension.processor.Nullability.isNullable;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.STATIC;
+
+import com.google.auto.common.MoreTypes;
+import com.google.auto.service.AutoService;
+import com.google.auto.value.extension.AutoValueExtension;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Generates a static {@code diff} method, and a constant for each property, in the subclass of an
+ * {@link com.google.auto.value.AutoValue} class that is annotated with {@link
+ * com.google.auto.value.extension.diff.Diffable}.
+ */
+@AutoService(AutoValueExtension.class)
+public final class DiffExtension extends AutoValueExtension {
+  static final String DIFFABLE_NAME = "com.google.auto.value.extension.diff.Diffable";
+
+  @Override
+  public boolean applicable(Context context) {
+    return context.autoValueClass().getAnnotationMirrors().stream()
+        .map(AnnotationMirror::getAnnotationType)
+        .map(MoreTypes::asTypeElement)
+        .map(TypeElement::getQualifiedName)
+        .anyMatch(name -> name.contentEquals(DIFFABLE_NAME));
+  }
+
+  @Override
+  public IncrementalExtensionType incrementalType(ProcessingEnvironment processingEnvironment) {
+    return IncrementalExtensionType.ISOLATING;
+  }
+
+  @Override
+  public String generateClass(
+      Context context, String className, String classToExtend, boolean isFinal) {
+    Generator generator = new Generator(context);
+    TypeSpec type =
+        extensionClassTypeSpecBuilder(
+                context, DiffExtension.class, className, classToExtend, isFinal)
+            .addFields(generator.constants())
+            .addMethod(generator.diff())
+            .build();
+    return JavaFile.builder(context.packageName(), type)
+        .skipJavaLangImports(true)
+        .build()
+        .toString();
+  }
+
+  /** How the result of {@code diff} represents the set of properties that are different. */
+  private enum Representation {
+    /** An {@code int}, whose constants are masks like {@code 1 << 3}. */
+    INT,
+    /** A {@code long}, whose constants are masks like {@code 1L << 3}. */
+    LONG,
+    /** A {@link BitSet}, whose constants are bit indexes. */
+    BIT_SET;
+
+    static Representation forPropertyCount(int count) {
+      if (count <= Integer.SIZE) {
+        return INT;
+      } else if (count <= Long.SIZE) {
+        return LONG;
+      } else {
+        return BIT_SET;
+      }
+    }
+  }
+
+  private static final class Generator {
+    private final Context context;
+    private final ImmutableMap<String, TypeMirror> propertyTypes;
+    private final ImmutableList<String> constantNames;
+    private final Representation representation;
+
+    Generator(Context context) {
+      this.context = context;
+      this.propertyTypes = ImmutableMap.copyOf(context.propertyTypes());
+      this.constantNames = constantNames(propertyTypes.keySet());
+      this.representation = Representation.forPropertyCount(propertyTypes.size());
+    }
+
+    ImmutableList<FieldSpec> constants() {
+      List<FieldSpec> constants = new ArrayList<>();
+      for (int i = 0; i < constantNames.size(); i++) {
+        FieldSpec.Builder constant;
+        switch (representation) {
+          case INT:
+            constant = FieldSpec.builder(int.class, constantNames.get(i)).initializer("1 << $L", i);
+            break;
+          case LONG:
+            constant =
+                FieldSpec.builder(long.class, constantNames.get(i)).initializer("1L << $L", i);
+            break;
+          default:
+            constant = FieldSpec.builder(int.class, constantNames.get(i)).initializer("$L", i);
+            break;
+        }
+        constants.add(constant.addModifiers(STATIC, FINAL).build());
+      }
+      return ImmutableList.copyOf(constants);
+    }
+
+    MethodSpec diff() {
+      TypeName valueType = valueType();
+      MethodSpec.Builder diff =
+          MethodSpec.methodBuilder("diff")
+              .addModifiers(STATIC)
+              .addParameter(valueType, "a")
+              .addParameter(valueType, "b");
+      int i = 0;
+      switch (representation) {
+        case INT:
+        case LONG:
+          TypeName resultType = representation == Representation.INT ? TypeName.INT : TypeName.LONG;
+          diff.returns(resultType)
+              .beginControlFlow("if (a == b)")
+              .addStatement("return 0")
+              .endControlFlow()
+              .addStatement("$T changed = 0", resultType);
+          for (String property : propertyTypes.keySet()) {
+            diff.beginControlFlow("if ($L)", different(property))
+                .addStatement("changed |= $N", constantNames.get(i++))
+                .endControlFlow();
+          }
+          break;
+        case BIT_SET:
+          diff.returns(BitSet.class)
+              .addStatement("$1T changed = new $1T($2L)", BitSet.class, propertyTypes.size())
+              .beginControlFlow("if (a == b)")
+              .addStatement("return changed")
+              .endControlFlow();
+          for (String property : propertyTypes.keySet()) {
+            diff.beginControlFlow("if ($L)", different(property))
+                .addStatement("changed.set($N)", constantNames.get(i++))
+                .endControlFlow();
+          }
+          break;
+      }
+      return diff.addStatement("return changed").build();
+    }
+
+    /**
+     * Returns the type of the parameters of {@code diff}. A generic class has wildcard type
+     * arguments, since the method is static and so cannot use the type parameters of the class.
+     */
+    private TypeName valueType() {
+      TypeElement autoValueClass = context.autoValueClass();
+      ClassName className = ClassName.get(autoValueClass);
+      int typeParameterCount = autoValueClass.getTypeParameters().size();
+      if (typeParameterCount == 0) {
+        return className;
+      }
+      TypeName[] wildcards = new TypeName[typeParameterCount];
+      Arrays.fill(wildcards, WildcardTypeName.subtypeOf(Object.class));
+      return ParameterizedTypeName.get(className, wildcards);
+    }
+
+    /**
+     * Returns an expression that is true if the given property is different in {@code a} and {@code
+     * b}. This is the negation of the comparison in the generated {@code equals} method.
+     */
+    private CodeBlock different(String property) {
+      ExecutableElement getter = context.properties().get(property);
+      CodeBlock a = CodeBlock.of("a.$N()", getter.getSimpleName().toString());
+      CodeBlock b = CodeBlock.of("b.$N()", getter.getSimpleName().toString());
+      switch (propertyTypes.get(property).getKind()) {
+        case FLOAT:
+          return CodeBlock.of(
+              "$1T.floatToIntBits($2L) != $1T.floatToIntBits($3L)", Float.class, a, b);
+        case DOUBLE:
+          return CodeBlock.of(
+              "$1T.doubleToLongBits($2L) != $1T.doubleToLongBits($3L)", Double.class, a, b);
+        case BOOLEAN:
+        case BYTE:
+        case SHORT:
+        case CHAR:
+        case INT:
+        case LONG:
+          return CodeBlock.of("$L != $L", a, b);
+        case ARRAY:
+          return CodeBlock.of("!$T.equals($L, $L)", Arrays.class, a, b);
+        default:
+          return isNullable(getter)
+              ? CodeBlock.of("!$T.equals($L, $L)", Objects.class, a, b)
+              : CodeBlock.of("!$L.equals($L)", a, b);
+      }
+    }
+
+    /**
+     * Returns the name of the constant for each property, which is the property name in {@code
+     * UPPER_SNAKE_CASE}. If two properties would have the same constant, for example {@code fooBar}
+     * and {@code foo_bar}, the second one gets a numeric suffix.
+     */
+    private static ImmutableList<String> constantNames(Set<String> properties) {
+      Set<String> seen = new HashSet<>();
+      return properties.stream()
+          .map(DiffExtension::upperSnakeCase)
+          .map(
+              name -> {
+                String unique = name;
+                for (int i = 2; !seen.add(unique); i++) {
+                  unique = name + "_" + i;
+                }
+                return unique;
+              })
+          .collect(toImmutableList());
+    }
+  }
+
+  /**
+   * Converts a property name like {@code fooBar} into {@code FOO_BAR}. A name that is already in
+   * capitals, like {@code URL}, is unchanged.
+   */
+  static String upperSnakeCase(String name) {
+    StringBuilder sb = new StringBuilder(name.length() + 4);
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (i > 0
+          && Character.isUpperCase(c)
+          && !Character.isUpperCase(name.charAt(i - 1))
+          && name.charAt(i - 1) != '_') {
+        sb.append('_');
+      }
+      sb.append(Character.toUpperCase(c));
+    }
+    return sb.toString();
+  }
+}
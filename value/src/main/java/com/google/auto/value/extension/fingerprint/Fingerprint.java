@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.fingerprint;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Target;
+
+/**
+ * Annotates instance methods that feed the value of an instance into a Guava {@code
+ * com.google.common.hash.PrimitiveSink}, or that return a 64-bit fingerprint of the instance. When
+ * the method is {@code abstract} and enclosed in an {@link com.google.auto.value.AutoValue} class,
+ * an implementation of the method will be automatically generated. The generated code uses Guava,
+ * which must be on the classpath of the {@code @AutoValue} class.
+ *
+ * <p>A {@code @Fingerprint} method must have one of these two forms, with any name:
+ *
+ * <ul>
+ *   <li>{@code void hashTo(PrimitiveSink sink)}. The generated implementation puts each property
+ *       into {@code sink} in order. It allocates nothing except iterators over collections other
+ *       than {@code ImmutableList}. Since {@code Funnel} is a functional interface, a {@code
+ *       Funnel} for the class is then just {@code Key::hashTo}.
+ *   <li>{@code long fingerprint64()}. The generated implementation puts the properties in the same
+ *       way into a {@code Hashing.murmur3_128()} hasher, and returns the first 64 bits of the hash.
+ *       The Murmur3 algorithm is fixed, so the result does not depend on the JVM or on the version
+ *       of Guava.
+ * </ul>
+ *
+ * <p>Primitive properties are put with the corresponding method of {@code PrimitiveSink}, so for
+ * example an {@code int} uses {@code putInt} and a {@code Long} uses {@code putLong}. The
+ * exceptions are {@code float} and {@code double}, which are put as {@code
+ * putInt(Float.floatToIntBits(x))} and {@code putLong(Double.doubleToLongBits(x))}. Those are the
+ * values that the generated {@code equals} compares, so all NaNs have the same fingerprint, as they
+ * are all equal. A {@code String} is put as its length followed by its {@linkplain
+ * com.google.common.hash.PrimitiveSink#putUnencodedChars characters}, and an enum or {@code Class}
+ * is put as its name in the same way. If the type of the property itself has a {@code @Fingerprint}
+ * method that takes a {@code PrimitiveSink}, that method is called with the same sink. Arrays of
+ * primitives, {@code Optional}, and {@code List}, {@code SortedSet} and {@code SortedMap} whose
+ * elements are themselves supported are put element by element after their size. A
+ * {@code @Nullable} property is preceded by a boolean that says whether it is null. Elements of
+ * collections must not be null.
+ *
+ * <p>Other property types, including {@code Set} and {@code Map} that are not sorted, are a
+ * compilation error. Equal sets can iterate in different orders, so they would not necessarily put
+ * the same values into the sink.
+ *
+ * <h2>Example</h2>
+ *
+ * <pre>{@code
+ * @AutoValue
+ * abstract class Key {
+ *   abstract String name();
+ *   abstract int shard();
+ *
+ *   @Fingerprint
+ *   abstract void hashTo(PrimitiveSink sink);
+ *
+ *   @Fingerprint
+ *   abstract long fingerprint64();
+ *
+ *   static final Funnel<Key> FUNNEL = Key::hashTo;
+ * }
+ *
+ * BloomFilter<Key> seen = BloomFilter.create(Key.FUNNEL, 1_000_000);
+ * }</pre>
+ */
+@Documented
+@Target(METHOD)
+public @interface Fingerprint {}
@@ -0,0 +1,471 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.fingerprint.processor;
+
+import static com.google.auto.value.extension.fingerprint.processor.FingerprintMethods.HASH_PACKAGE;
+import static com.google.auto.value.extension.fingerprint.processor.FingerprintMethods.fingerprintMethods;
+import static com.google.auto.value.extension.fingerprint.processor.FingerprintMethods.hashToMethod;
+import static com.google.auto.value.extension.fingerprint.processor.FingerprintMethods.kind;
+import static com.google.auto.value.extension.processor.ExtensionClassTypeSpecBuilder.extensionClassTypeSpecBuilder;
+import static com.google.auto.value.extension.processor.Nullability.isNullable;
+import static com.google.common.collect.Iterables.getOnlyElement;
+import static com.google.common.collect.Sets.intersection;
+import static com.squareup.javapoet.MethodSpec.methodBuilder;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PROTECTED;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.tools.Diagnostic.Kind.ERROR;
+
+import com.google.auto.common.MoreTypes;
+import com.google.auto.service.AutoService;
+import com.google.auto.value.extension.AutoValueExtension;
+import com.google.auto.value.extension.fingerprint.processor.FingerprintMethods.Kind;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Generates implementations of {@link com.google.auto.value.extension.fingerprint.Fingerprint}
+ * annotated methods in {@link com.google.auto.value.AutoValue} types.
+ *
+ * <p>An extension sees the properties only as the getters and types in its {@link
+ * AutoValueExtension.Context}, not as the {@code Property} objects that {@code equalshashcode.vm}
+ * works from, so the choice of how to put each kind of property is made here. It follows that
+ * template wherever the two overlap, so that values that the generated {@code equals} considers
+ * equal have the same fingerprint: floating-point values are compared by their {@code
+ * floatToIntBits} or {@code doubleToLongBits}, and arrays element by element.
+ */
+@AutoService(AutoValueExtension.class)
+public final class FingerprintExtension extends AutoValueExtension {
+  private static final ImmutableSet<Modifier> INHERITED_VISIBILITY_MODIFIERS =
+      ImmutableSet.of(PUBLIC, PROTECTED);
+  private static final ClassName PRIMITIVE_SINK = ClassName.get(HASH_PACKAGE, "PrimitiveSink");
+  private static final ClassName HASHER = ClassName.get(HASH_PACKAGE, "Hasher");
+  private static final ClassName HASHING = ClassName.get(HASH_PACKAGE, "Hashing");
+
+  /**
+   * The {@code PrimitiveSink} method for each primitive type except {@code float} and {@code
+   * double}, which {@link FingerprintImplementation#putPrimitive} handles.
+   */
+  private static final ImmutableMap<TypeKind, String> PUT_METHODS =
+      ImmutableMap.<TypeKind, String>builder()
+          .put(TypeKind.BOOLEAN, "putBoolean")
+          .put(TypeKind.BYTE, "putByte")
+          .put(TypeKind.SHORT, "putShort")
+          .put(TypeKind.CHAR, "putChar")
+          .put(TypeKind.INT, "putInt")
+          .put(TypeKind.LONG, "putLong")
+          .build();
+
+  /** Types that are put by name. The value is the method that returns the name. */
+  private static final ImmutableMap<String, String> NAMED_TYPES =
+      ImmutableMap.of("java.lang.Enum", "name", "java.lang.Class", "getName");
+
+  private static final String IMMUTABLE_LIST_NAME =
+      "com.".concat("google.common.collect.ImmutableList");
+
+  private static final ImmutableSet<String> OPTIONAL_TYPES =
+      ImmutableSet.of("java.util.Optional", "com.".concat("google.common.base.Optional"));
+
+  /**
+   * Collection types whose iteration order is determined by their contents, so that equal
+   * collections put the same values into the sink.
+   */
+  private static final ImmutableSet<String> ORDERED_COLLECTION_TYPES =
+      ImmutableSet.of("java.util.List", "java.util.SortedSet");
+
+  @Override
+  public boolean applicable(Context context) {
+    return !fingerprintMethods(context).isEmpty();
+  }
+
+  @Override
+  public ImmutableSet<ExecutableElement> consumeMethods(Context context) {
+    return fingerprintMethods(context);
+  }
+
+  @Override
+  public IncrementalExtensionType incrementalType(ProcessingEnvironment processingEnvironment) {
+    return IncrementalExtensionType.ISOLATING;
+  }
+
+  @Override
+  public String generateClass(
+      Context context, String className, String classToExtend, boolean isFinal) {
+    TypeSpec type =
+        extensionClassTypeSpecBuilder(
+                context, FingerprintExtension.class, className, classToExtend, isFinal)
+            .addMethods(new FingerprintImplementation(context).methods())
+            .build();
+    return JavaFile.builder(context.packageName(), type)
+        .skipJavaLangImports(true)
+        .build()
+        .toString();
+  }
+
+  private static final class FingerprintImplementation {
+    private final Context context;
+    private final Types types;
+    private final Elements elements;
+    private int variableCount;
+
+    FingerprintImplementation(Context context) {
+      this.context = context;
+      this.types = context.processingEnvironment().getTypeUtils();
+      this.elements = context.processingEnvironment().getElementUtils();
+    }
+
+    ImmutableList<MethodSpec> methods() {
+      Optional<ExecutableElement> hashTo = methodOfKind(Kind.HASH_TO);
+      Optional<ExecutableElement> fingerprint64 = methodOfKind(Kind.FINGERPRINT64);
+      ImmutableList.Builder<MethodSpec> methods = ImmutableList.builder();
+      hashTo.ifPresent(
+          method ->
+              methods.add(
+                  overriding(method)
+                      .addParameter(PRIMITIVE_SINK, "sink")
+                      .addCode(putProperties(CodeBlock.of("sink")))
+                      .build()));
+      fingerprint64.ifPresent(
+          method -> {
+            MethodSpec.Builder builder =
+                overriding(method)
+                    .returns(TypeName.LONG)
+                    .addStatement("$T hasher = $T.murmur3_128().newHasher()", HASHER, HASHING);
+            if (hashTo.isPresent()) {
+              builder.addStatement("$N(hasher)", hashTo.get().getSimpleName().toString());
+            } else {
+              builder.addCode(putProperties(CodeBlock.of("hasher")));
+            }
+            methods.add(builder.addStatement("return hasher.hash().asLong()").build());
+          });
+      return methods.build();
+    }
+
+    private Optional<ExecutableElement> methodOfKind(Kind kind) {
+      return fingerprintMethods(context).stream().filter(m -> kind(m) == kind).findFirst();
+    }
+
+    private static MethodSpec.Builder overriding(ExecutableElement method) {
+      return methodBuilder(method.getSimpleName().toString())
+          .addAnnotation(Override.class)
+          .addModifiers(FINAL)
+          .addModifiers(intersection(method.getModifiers(), INHERITED_VISIBILITY_MODIFIERS));
+    }
+
+    /** Returns statements that put every property into {@code sink}, in order. */
+    private CodeBlock putProperties(CodeBlock sink) {
+      variableCount = 0;
+      CodeBlock.Builder code = CodeBlock.builder();
+      context
+          .propertyTypes()
+          .forEach(
+              (name, type) -> {
+                ExecutableElement getter = context.properties().get(name);
+                CodeBlock value = CodeBlock.of("$N()", getter.getSimpleName().toString());
+                if (isNullable(getter)) {
+                  code.addStatement("$L.putBoolean($L != null)", sink, value)
+                      .beginControlFlow("if ($L != null)", value)
+                      .add(put(sink, value, type, getter))
+                      .endControlFlow();
+                } else {
+                  code.add(put(sink, value, type, getter));
+                }
+              });
+      return code.build();
+    }
+
+    /**
+     * Returns statements that put {@code value}, of the given type, into {@code sink}. If the type
+     * is not supported, reports an error on {@code getter}, the property that it is part of.
+     */
+    private CodeBlock put(
+        CodeBlock sink, CodeBlock value, TypeMirror type, ExecutableElement getter) {
+      if (type.getKind().isPrimitive()) {
+        return putPrimitive(sink, value, type.getKind());
+      }
+      switch (type.getKind()) {
+        case ARRAY:
+          return putArray(sink, value, MoreTypes.asArray(type).getComponentType(), getter);
+        case DECLARED:
+          return putDeclared(sink, value, MoreTypes.asDeclared(type), getter);
+        case WILDCARD:
+          TypeMirror bound = ((WildcardType) type).getExtendsBound();
+          if (bound != null) {
+            return put(sink, value, bound, getter);
+          }
+          break;
+        default:
+          break;
+      }
+      return unsupported(type, getter);
+    }
+
+    private CodeBlock putArray(
+        CodeBlock sink, CodeBlock value, TypeMirror componentType, ExecutableElement getter) {
+      if (componentType.getKind() == TypeKind.BYTE) {
+        return CodeBlock.builder()
+            .addStatement("$L.putInt($L.length).putBytes($L)", sink, value, value)
+            .build();
+      }
+      return putElements(sink, value, CodeBlock.of("$L.length", value), componentType, getter);
+    }
+
+    private CodeBlock putDeclared(
+        CodeBlock sink, CodeBlock value, DeclaredType type, ExecutableElement getter) {
+      TypeElement typeElement = MoreTypes.asTypeElement(type);
+      String name = typeElement.getQualifiedName().toString();
+      if (name.equals("java.lang.String")) {
+        return putString(sink, value);
+      }
+      Optional<String> namingMethod = namingMethod(typeElement);
+      if (namingMethod.isPresent()) {
+        return putString(sink, CodeBlock.of("$L.$N()", value, namingMethod.get()));
+      }
+      Optional<TypeKind> unboxedKind = unboxedKind(type);
+      if (unboxedKind.isPresent()) {
+        return putPrimitive(sink, value, unboxedKind.get());
+      }
+      Optional<ExecutableElement> hashTo = hashToMethod(typeElement, types, elements);
+      if (hashTo.isPresent() && isVisible(hashTo.get())) {
+        return CodeBlock.builder()
+            .addStatement("$L.$N($L)", value, hashTo.get().getSimpleName().toString(), sink)
+            .build();
+      }
+      if (OPTIONAL_TYPES.contains(name)) {
+        TypeMirror elementType = getOnlyElement(type.getTypeArguments());
+        return CodeBlock.builder()
+            .addStatement("$L.putBoolean($L.isPresent())", sink, value)
+            .beginControlFlow("if ($L.isPresent())", value)
+            .add(put(sink, CodeBlock.of("$L.get()", value), elementType, getter))
+            .endControlFlow()
+            .build();
+      }
+      Optional<List<TypeMirror>> immutableListTypeArguments =
+          typeArgumentsAs(type, IMMUTABLE_LIST_NAME);
+      if (immutableListTypeArguments.isPresent()) {
+        return putIndexedElements(
+            sink, value, getOnlyElement(immutableListTypeArguments.get()), getter);
+      }
+      for (String collectionType : ORDERED_COLLECTION_TYPES) {
+        Optional<List<TypeMirror>> typeArguments = typeArgumentsAs(type, collectionType);
+        if (typeArguments.isPresent()) {
+          return putElements(
+              sink,
+              value,
+              CodeBlock.of("$L.size()", value),
+              getOnlyElement(typeArguments.get()),
+              getter);
+        }
+      }
+      Optional<List<TypeMirror>> mapTypeArguments = typeArgumentsAs(type, "java.util.SortedMap");
+      if (mapTypeArguments.isPresent()) {
+        return putEntries(sink, value, mapTypeArguments.get(), getter);
+      }
+      return unsupported(type, getter);
+    }
+
+    /**
+     * True if the generated class can call the given method of another type. The validator has
+     * already rejected private {@code @Fingerprint} methods.
+     */
+    private boolean isVisible(ExecutableElement method) {
+      return method.getModifiers().contains(PUBLIC)
+          || elements.getPackageOf(method).equals(elements.getPackageOf(context.autoValueClass()));
+    }
+
+    private static CodeBlock putString(CodeBlock sink, CodeBlock value) {
+      return CodeBlock.builder()
+          .addStatement("$L.putInt($L.length()).putUnencodedChars($L)", sink, value, value)
+          .build();
+    }
+
+    /** Returns the method that names instances of the given type, for an enum or a Class. */
+    private Optional<String> namingMethod(TypeElement typeElement) {
+      if (typeElement.getKind() == ElementKind.ENUM) {
+        return Optional.of(NAMED_TYPES.get("java.lang.Enum"));
+      }
+      return Optional.ofNullable(NAMED_TYPES.get(typeElement.getQualifiedName().toString()));
+    }
+
+    /** Returns the primitive kind of a boxed primitive type, or empty for other types. */
+    private Optional<TypeKind> unboxedKind(TypeMirror type) {
+      try {
+        return Optional.of(types.unboxedType(type).getKind());
+      } catch (IllegalArgumentException e) {
+        return Optional.empty();
+      }
+    }
+
+    /**
+     * Returns a statement that puts {@code value}, of a primitive or boxed primitive type of the
+     * given kind, into {@code sink}. A {@code float} or {@code double} is put as the bits that the
+     * generated {@code equals} compares, from {@code floatToIntBits} or {@code doubleToLongBits},
+     * so that equal values have the same fingerprint even if they are NaNs with different payloads.
+     * {@code PrimitiveSink.putFloat} and {@code putDouble} would put the raw bits.
+     */
+    private static CodeBlock putPrimitive(CodeBlock sink, CodeBlock value, TypeKind kind) {
+      switch (kind) {
+        case FLOAT:
+          return CodeBlock.builder()
+              .addStatement("$L.putInt($T.floatToIntBits($L))", sink, Float.class, value)
+              .build();
+        case DOUBLE:
+          return CodeBlock.builder()
+              .addStatement("$L.putLong($T.doubleToLongBits($L))", sink, Double.class, value)
+              .build();
+        default:
+          return CodeBlock.builder()
+              .addStatement("$L.$N($L)", sink, PUT_METHODS.get(kind), value)
+              .build();
+      }
+    }
+
+    /**
+     * Returns statements that put the size of a collection or array, and then each of its elements.
+     * The elements are not allowed to be null.
+     */
+    private CodeBlock putElements(
+        CodeBlock sink,
+        CodeBlock value,
+        CodeBlock size,
+        TypeMirror elementType,
+        ExecutableElement getter) {
+      TypeMirror declaredElementType = upperBound(elementType);
+      if (declaredElementType == null) {
+        return unsupported(elementType, getter);
+      }
+      String element = newVariable("element");
+      return CodeBlock.builder()
+          .addStatement("$L.putInt($L)", sink, size)
+          .beginControlFlow("for ($T $N : $L)", declaredElementType, element, value)
+          .add(put(sink, CodeBlock.of("$N", element), declaredElementType, getter))
+          .endControlFlow()
+          .build();
+    }
+
+    /**
+     * Returns statements like {@link #putElements} for an {@code ImmutableList}, which are indexed
+     * rather than using an {@code Iterator} so that they do not allocate.
+     */
+    private CodeBlock putIndexedElements(
+        CodeBlock sink, CodeBlock value, TypeMirror elementType, ExecutableElement getter) {
+      TypeMirror declaredElementType = upperBound(elementType);
+      if (declaredElementType == null) {
+        return unsupported(elementType, getter);
+      }
+      String index = newVariable("i");
+      String element = newVariable("element");
+      return CodeBlock.builder()
+          .addStatement("$L.putInt($L.size())", sink, value)
+          .beginControlFlow("for (int $N = 0; $N < $L.size(); $N++)", index, index, value, index)
+          .addStatement("$T $N = $L.get($N)", declaredElementType, element, value, index)
+          .add(put(sink, CodeBlock.of("$N", element), declaredElementType, getter))
+          .endControlFlow()
+          .build();
+    }
+
+    private CodeBlock putEntries(
+        CodeBlock sink, CodeBlock value, List<TypeMirror> typeArguments, ExecutableElement getter) {
+      TypeMirror keyType = upperBound(typeArguments.get(0));
+      TypeMirror valueType = upperBound(typeArguments.get(1));
+      if (keyType == null) {
+        return unsupported(typeArguments.get(0), getter);
+      }
+      if (valueType == null) {
+        return unsupported(typeArguments.get(1), getter);
+      }
+      String entry = newVariable("entry");
+      return CodeBlock.builder()
+          .addStatement("$L.putInt($L.size())", sink, value)
+          .beginControlFlow(
+              "for ($T.Entry<$T, $T> $N : $L.entrySet())",
+              Map.class,
+              keyType,
+              valueType,
+              entry,
+              value)
+          .add(put(sink, CodeBlock.of("$N.getKey()", entry), keyType, getter))
+          .add(put(sink, CodeBlock.of("$N.getValue()", entry), valueType, getter))
+          .endControlFlow()
+          .build();
+    }
+
+    private String newVariable(String prefix) {
+      return prefix + "$" + ++variableCount;
+    }
+
+    /**
+     * Returns the type arguments of {@code type} as a subtype of the given generic type, or empty
+     * if it is not a subtype of that type.
+     */
+    private Optional<List<TypeMirror>> typeArgumentsAs(DeclaredType type, String genericTypeName) {
+      TypeElement genericType = elements.getTypeElement(genericTypeName);
+      if (genericType == null
+          || !types.isAssignable(types.erasure(type), types.erasure(genericType.asType()))) {
+        return Optional.empty();
+      }
+      ImmutableList.Builder<TypeMirror> typeArguments = ImmutableList.builder();
+      genericType.getTypeParameters().forEach(p -> typeArguments.add(types.asMemberOf(type, p)));
+      return Optional.of(typeArguments.build());
+    }
+
+    /** Returns the type itself, the upper bound of a wildcard, or null for a bare wildcard. */
+    private static TypeMirror upperBound(TypeMirror type) {
+      if (type.getKind() == TypeKind.WILDCARD) {
+        return ((WildcardType) type).getExtendsBound();
+      }
+      return type;
+    }
+
+    private CodeBlock unsupported(TypeMirror type, ExecutableElement getter) {
+      context
+          .processingEnvironment()
+          .getMessager()
+          .printMessage(
+              ERROR,
+              String.format(
+                  "@Fingerprint cannot put values of type %s into a PrimitiveSink. Supported types"
+                      + " are primitives, boxed primitives, String, enums, Class, primitive arrays,"
+                      + " types that have their own @Fingerprint method with a PrimitiveSink"
+                      + " parameter, and Optional, List, SortedSet and SortedMap of supported"
+                      + " types",
+                  type),
+              getter);
+      return CodeBlock.of("");
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.fingerprint.processor;
+
+import static com.google.auto.common.MoreElements.getLocalAndInheritedMethods;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
+import com.google.auto.common.MoreTypes;
+import com.google.auto.value.extension.AutoValueExtension.Context;
+import com.google.common.collect.ImmutableSet;
+import java.util.Optional;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/** Finds and classifies {@link com.google.auto.value.extension.fingerprint.Fingerprint} methods. */
+final class FingerprintMethods {
+  static final String FINGERPRINT_NAME = "com.google.auto.value.extension.fingerprint.Fingerprint";
+
+  static final String HASH_PACKAGE = "com.".concat("google.common.hash"); // foil shading
+  static final String PRIMITIVE_SINK_NAME = HASH_PACKAGE + ".PrimitiveSink";
+
+  /** The forms that a {@code @Fingerprint} method can have. */
+  enum Kind {
+    /** {@code void hashTo(PrimitiveSink sink)}. */
+    HASH_TO,
+    /** {@code long fingerprint64()}. */
+    FINGERPRINT64,
+    /** Anything else, which is an error. */
+    INVALID,
+  }
+
+  static boolean hasFingerprintAnnotation(Element element) {
+    return element.getAnnotationMirrors().stream()
+        .map(a -> MoreTypes.asTypeElement(a.getAnnotationType()).getQualifiedName())
+        .anyMatch(name -> name.contentEquals(FINGERPRINT_NAME));
+  }
+
+  static Kind kind(ExecutableElement method) {
+    TypeMirror returnType = method.getReturnType();
+    switch (method.getParameters().size()) {
+      case 0:
+        return returnType.getKind() == TypeKind.LONG ? Kind.FINGERPRINT64 : Kind.INVALID;
+      case 1:
+        TypeMirror parameterType = method.getParameters().get(0).asType();
+        return returnType.getKind() == TypeKind.VOID
+                && parameterType.getKind() == TypeKind.DECLARED
+                && MoreTypes.asTypeElement(parameterType)
+                    .getQualifiedName()
+                    .contentEquals(PRIMITIVE_SINK_NAME)
+            ? Kind.HASH_TO
+            : Kind.INVALID;
+      default:
+        return Kind.INVALID;
+    }
+  }
+
+  /** Returns the abstract {@code @Fingerprint} methods of an {@code @AutoValue} class. */
+  static ImmutableSet<ExecutableElement> fingerprintMethods(Context context) {
+    return context.abstractMethods().stream()
+        .filter(FingerprintMethods::hasFingerprintAnnotation)
+        .collect(toImmutableSet());
+  }
+
+  /** Returns the {@code @Fingerprint} methods of any type, including inherited ones. */
+  static ImmutableSet<ExecutableElement> fingerprintMethods(
+      TypeElement type, Types types, Elements elements) {
+    return getLocalAndInheritedMethods(type, types, elements).stream()
+        .filter(FingerprintMethods::hasFingerprintAnnotation)
+        .collect(toImmutableSet());
+  }
+
+  /**
+   * Returns the {@code @Fingerprint} method of the given type that takes a {@code PrimitiveSink},
+   * if there is one.
+   */
+  static Optional<ExecutableElement> hashToMethod(
+      TypeElement type, Types types, Elements elements) {
+    return fingerprintMethods(type, types, elements).stream()
+        .filter(method -> kind(method) == Kind.HASH_TO)
+        .findFirst();
+  }
+
+  private FingerprintMethods() {}
+}
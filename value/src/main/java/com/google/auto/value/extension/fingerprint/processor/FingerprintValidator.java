@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.fingerprint.processor;
+
+import static com.google.auto.value.extension.fingerprint.processor.FingerprintMethods.FINGERPRINT_NAME;
+import static com.google.auto.value.extension.fingerprint.processor.FingerprintMethods.fingerprintMethods;
+import static com.google.auto.value.extension.fingerprint.processor.FingerprintMethods.kind;
+import static java.util.stream.Collectors.toCollection;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.util.ElementFilter.methodsIn;
+import static javax.tools.Diagnostic.Kind.ERROR;
+
+import com.google.auto.common.MoreElements;
+import com.google.auto.service.AutoService;
+import com.google.auto.value.extension.fingerprint.processor.FingerprintMethods.Kind;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import net.ltgt.gradle.incap.IncrementalAnnotationProcessor;
+import net.ltgt.gradle.incap.IncrementalAnnotationProcessorType;
+
+/**
+ * An annotation processor that validates {@link
+ * com.google.auto.value.extension.fingerprint.Fingerprint} usage.
+ */
+@AutoService(Processor.class)
+@IncrementalAnnotationProcessor(IncrementalAnnotationProcessorType.ISOLATING)
+@SupportedAnnotationTypes(FINGERPRINT_NAME)
+public final class FingerprintValidator extends AbstractProcessor {
+  @Override
+  public boolean process(
+      Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+    Types types = processingEnv.getTypeUtils();
+    Elements elements = processingEnv.getElementUtils();
+    TypeElement fingerprint = elements.getTypeElement(FINGERPRINT_NAME);
+
+    Set<ExecutableElement> annotatedMethods =
+        methodsIn(roundEnvironment.getElementsAnnotatedWith(fingerprint));
+    for (ExecutableElement method : annotatedMethods) {
+      validateMethod(method);
+    }
+
+    Set<TypeElement> enclosingTypes =
+        annotatedMethods.stream()
+            .map(ExecutableElement::getEnclosingElement)
+            .map(MoreElements::asType)
+            .collect(toCollection(LinkedHashSet::new));
+    for (TypeElement enclosingType : enclosingTypes) {
+      validateSingleMethodOfEachKind(enclosingType, types, elements);
+    }
+
+    return false;
+  }
+
+  private void validateMethod(ExecutableElement method) {
+    if (method.getModifiers().contains(STATIC)) {
+      reportError(method, "@Fingerprint methods must be instance methods");
+    }
+    if (method.getModifiers().contains(PRIVATE)) {
+      reportError(method, "@Fingerprint methods cannot be private");
+    }
+    if (kind(method) == Kind.INVALID) {
+      reportError(
+          method,
+          "@Fingerprint methods must be either void with one PrimitiveSink parameter, or return"
+              + " long with no parameters");
+    }
+  }
+
+  private void validateSingleMethodOfEachKind(
+      TypeElement enclosingType, Types types, Elements elements) {
+    for (Kind kind : new Kind[] {Kind.HASH_TO, Kind.FINGERPRINT64}) {
+      List<ExecutableElement> methods =
+          fingerprintMethods(enclosingType, types, elements).stream()
+              .filter(method -> kind(method) == kind)
+              .collect(Collectors.toList());
+      if (methods.size() > 1) {
+        processingEnv
+            .getMessager()
+            .printMessage(
+                ERROR,
+                String.format(
+                    "%s has more than one @Fingerprint method of the same form:%s",
+                    enclosingType.getQualifiedName(),
+                    methods.stream()
+                        .map(method -> "\n  - " + method.getSimpleName() + "()")
+                        .collect(Collectors.joining())),
+                enclosingType);
+      }
+    }
+  }
+
+  private void reportError(ExecutableElement method, String error) {
+    processingEnv.getMessager().printMessage(ERROR, error, method);
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.flyweight;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotates {@link com.google.auto.value.AutoValue @AutoValue} classes for which a view class
+ * should be generated that reads instances directly from a {@link java.nio.ByteBuffer} of
+ * fixed-size binary records, without copying them. For a class {@code Tick}, the view is called
+ * {@code TickView} and is in the same package. For a nested class {@code Outer.Tick} it is called
+ * {@code Outer_TickView}.
+ *
+ * <p>Every property of the class must be a primitive. A record consists of the properties in the
+ * order they are declared, with no padding, each taking the same number of bytes as in Java. A
+ * {@code boolean} takes one byte, which is true if it is not zero. The view has a constant {@code
+ * BYTES} that is the size of a record.
+ *
+ * <p>The view has these members:
+ *
+ * <ul>
+ *   <li>A constructor that takes a {@code ByteBuffer}. The records start at the position of the
+ *       buffer, and the number of records is the number of remaining bytes divided by {@code
+ *       BYTES}. Later changes to the position or limit of the buffer do not affect the view.
+ *   <li>{@code int count()} and {@code int index()}, which is -1 at first.
+ *   <li>{@code boolean next()}, which moves to the next record and returns false if there is none,
+ *       and {@code TickView moveTo(int index)}.
+ *   <li>The same accessors as {@code Tick}, which read the properties of the current record. These
+ *       do not allocate.
+ *   <li>{@code Tick materialize()}, which makes a new {@code Tick} from the current record.
+ *   <li>{@code static void put(ByteBuffer buffer, Tick value)}, which writes a record at the
+ *       position of the buffer and advances it.
+ * </ul>
+ *
+ * <pre>{@code
+ * try (FileChannel channel = FileChannel.open(path)) {
+ *   TickView ticks = new TickView(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+ *   while (ticks.next()) {
+ *     if (ticks.instrument() == instrument) {
+ *       total += ticks.volume();
+ *     }
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>The view is not a subclass of {@code Tick}, since a {@code Tick} is immutable and the view is
+ * not. Pass the result of {@code materialize()} to code that needs a {@code Tick}. The view is not
+ * thread-safe, but several views can share a buffer. A property cannot be called {@code count},
+ * {@code index}, {@code next}, {@code moveTo} or {@code materialize}.
+ *
+ * <p>A {@code java.lang.foreign.MemorySegment} can be read with {@code segment.asByteBuffer()},
+ * which does not copy it either, as long as it is smaller than 2 GiB.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Flyweight {
+  /**
+   * True if multi-byte values in the records are little-endian. By default they are big-endian,
+   * which is the order of {@link java.io.DataOutput} and of a new {@code ByteBuffer}.
+   */
+  boolean littleEndian() default false;
+}
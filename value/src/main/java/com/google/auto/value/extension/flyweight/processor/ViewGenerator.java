@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.flyweight.processor;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+import com.google.auto.common.AnnotationMirrors;
+import com.google.auto.common.MoreTypes;
+import com.google.auto.value.extension.AutoValueExtension.Context;
+import com.google.auto.value.extension.processor.CompanionFileGenerator;
+import com.google.common.collect.ImmutableSet;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
+
+/** Generates the {@code FooView} class of a {@code @Flyweight} class {@code Foo}. */
+final class ViewGenerator extends CompanionFileGenerator {
+  /** Names of methods of the view that a property accessor would clash with. */
+  private static final ImmutableSet<String> RESERVED_ACCESSOR_NAMES =
+      ImmutableSet.of("count", "index", "next", "moveTo", "materialize");
+
+  /** One property of the {@code @Flyweight} class, and where it is in a record. */
+  private static final class Field {
+    final ExecutableElement getter;
+    final TypeMirror type;
+    final int offset;
+
+    Field(ExecutableElement getter, TypeMirror type, int offset) {
+      this.getter = getter;
+      this.type = type;
+      this.offset = offset;
+    }
+
+    String accessor() {
+      return getter.getSimpleName().toString();
+    }
+  }
+
+  ViewGenerator(Context context) {
+    super(context, FlyweightExtension.class, "View");
+  }
+
+  /** Writes the view, or reports errors if the class cannot have one. */
+  void generate() {
+    checkNotGeneric("Flyweight");
+    List<Field> fields = new ArrayList<>();
+    int offset = 0;
+    for (String property : context.propertyTypes().keySet()) {
+      ExecutableElement getter = context.properties().get(property);
+      TypeMirror type = context.propertyTypes().get(property);
+      if (RESERVED_ACCESSOR_NAMES.contains(getter.getSimpleName().toString())) {
+        error(
+            getter,
+            "@Flyweight properties cannot be called %s, because the generated %s has a method with"
+                + " that name",
+            getter.getSimpleName(),
+            companion.simpleName());
+      } else if (!type.getKind().isPrimitive()) {
+        error(getter, "@Flyweight properties must be primitives, not %s", type);
+      } else {
+        fields.add(new Field(getter, type, offset));
+        offset += size(type);
+      }
+    }
+    if (hasErrors()) {
+      return;
+    }
+    int recordSize = offset;
+    TypeSpec.Builder type =
+        companionClassBuilder()
+            .addJavadoc(
+                "Reads instances of {@link $T} from a {@link $T}. See {@link $T}.\n",
+                valueClass,
+                ByteBuffer.class,
+                ClassName.get("com.google.auto.value.extension.flyweight", "Flyweight"));
+    type.addField(
+            FieldSpec.builder(int.class, "BYTES", PUBLIC, STATIC, FINAL)
+                .addJavadoc("The size of a record in bytes.\n")
+                .initializer("$L", recordSize)
+                .build())
+        .addField(
+            FieldSpec.builder(ByteOrder.class, "ORDER", PRIVATE, STATIC, FINAL)
+                .initializer(
+                    "$T.$N", ByteOrder.class, littleEndian() ? "LITTLE_ENDIAN" : "BIG_ENDIAN")
+                .build())
+        .addField(ByteBuffer.class, "buffer", PRIVATE, FINAL)
+        .addField(int.class, "start", PRIVATE, FINAL)
+        .addField(int.class, "count", PRIVATE, FINAL)
+        .addField(FieldSpec.builder(int.class, "index", PRIVATE).initializer("-1").build())
+        .addField(int.class, "offset", PRIVATE);
+    addCursor(type);
+    for (Field field : fields) {
+      type.addMethod(
+          MethodSpec.methodBuilder(field.accessor())
+              .addModifiers(PUBLIC)
+              .returns(TypeName.get(field.type))
+              .addStatement("return $L", read(field))
+              .build());
+    }
+    CodeBlock arguments =
+        fields.stream()
+            .map(field -> CodeBlock.of("$N()", field.accessor()))
+            .collect(CodeBlock.joining(",\n"));
+    type.addMethod(
+        MethodSpec.methodBuilder("materialize")
+            .addJavadoc(
+                "Returns a new {@link $T} with the properties of the current record.\n", valueClass)
+            .addModifiers(PUBLIC)
+            .returns(valueClass)
+            .addStatement(
+                "return new $T(\n$L)",
+                ClassName.bestGuess(context.finalAutoValueClassName()),
+                arguments)
+            .build());
+    type.addMethod(put(fields));
+    write(type.build());
+  }
+
+  private boolean littleEndian() {
+    AnnotationMirror flyweight =
+        autoValueClass.getAnnotationMirrors().stream()
+            .filter(
+                a ->
+                    MoreTypes.asTypeElement(a.getAnnotationType())
+                        .getQualifiedName()
+                        .contentEquals(FlyweightExtension.FLYWEIGHT_NAME))
+            .findFirst()
+            .get();
+    return (Boolean) AnnotationMirrors.getAnnotationValue(flyweight, "littleEndian").getValue();
+  }
+
+  private void addCursor(TypeSpec.Builder type) {
+    type.addMethod(
+            MethodSpec.constructorBuilder()
+                .addJavadoc(
+                    "Creates a view of the records from the position of {@code buffer} to its"
+                        + " limit.\n")
+                .addModifiers(PUBLIC)
+                .addParameter(ByteBuffer.class, "buffer")
+                .addStatement("this.buffer = buffer.duplicate().order(ORDER)")
+                .addStatement("this.start = buffer.position()")
+                .addStatement("this.count = buffer.remaining() / BYTES")
+                .addStatement("this.offset = start - BYTES")
+                .build())
+        .addMethod(
+            MethodSpec.methodBuilder("count")
+                .addJavadoc("Returns the number of records.\n")
+                .addModifiers(PUBLIC)
+                .returns(int.class)
+                .addStatement("return count")
+                .build())
+        .addMethod(
+            MethodSpec.methodBuilder("index")
+                .addJavadoc("Returns the index of the current record, or -1 before the first.\n")
+                .addModifiers(PUBLIC)
+                .returns(int.class)
+                .addStatement("return index")
+                .build())
+        .addMethod(
+            MethodSpec.methodBuilder("next")
+                .addJavadoc(
+                    "Moves to the next record, and returns true, or returns false if there is"
+                        + " none.\n")
+                .addModifiers(PUBLIC)
+                .returns(boolean.class)
+                .beginControlFlow("if (index + 1 >= count)")
+                .addStatement("return false")
+                .endControlFlow()
+                .addStatement("index++")
+                .addStatement("offset += BYTES")
+                .addStatement("return true")
+                .build())
+        .addMethod(
+            MethodSpec.methodBuilder("moveTo")
+                .addJavadoc("Moves to the given record, and returns this view.\n")
+                .addModifiers(PUBLIC)
+                .returns(companion)
+                .addParameter(int.class, "index")
+                .beginControlFlow("if (index < 0 || index >= count)")
+                .addStatement(
+                    "throw new $T($S + index + $S + count)",
+                    IndexOutOfBoundsException.class,
+                    "Record ",
+                    ", count ")
+                .endControlFlow()
+                .addStatement("this.index = index")
+                .addStatement("this.offset = start + index * BYTES")
+                .addStatement("return this")
+                .build());
+  }
+
+  /** Returns the static {@code put} method, which writes a value as a record. */
+  private MethodSpec put(List<Field> fields) {
+    MethodSpec.Builder put =
+        MethodSpec.methodBuilder("put")
+            .addJavadoc(
+                "Writes {@code value} as a record at the position of {@code buffer}, and advances"
+                    + " the position by {@link #BYTES}.\n")
+            .addModifiers(PUBLIC, STATIC)
+            .addParameter(ByteBuffer.class, "buffer")
+            .addParameter(valueClass, "value")
+            .addStatement("$T order = buffer.order()", ByteOrder.class)
+            .addStatement("buffer.order(ORDER)")
+            .beginControlFlow("try");
+    for (Field field : fields) {
+      put.addStatement("$L", write(field));
+    }
+    return put.nextControlFlow("finally")
+        .addStatement("buffer.order(order)")
+        .endControlFlow()
+        .build();
+  }
+
+  /** Returns the number of bytes that a primitive of the given type takes in a record. */
+  private static int size(TypeMirror type) {
+    switch (type.getKind()) {
+      case BOOLEAN:
+      case BYTE:
+        return 1;
+      case CHAR:
+      case SHORT:
+        return 2;
+      case INT:
+      case FLOAT:
+        return 4;
+      case LONG:
+      case DOUBLE:
+        return 8;
+      default:
+        throw new AssertionError(type);
+    }
+  }
+
+  /** Returns an expression that reads the property from the current record. */
+  private static CodeBlock read(Field field) {
+    CodeBlock position =
+        field.offset == 0 ? CodeBlock.of("offset") : CodeBlock.of("offset + $L", field.offset);
+    switch (field.type.getKind()) {
+      case BOOLEAN:
+        return CodeBlock.of("buffer.get($L) != 0", position);
+      case BYTE:
+        return CodeBlock.of("buffer.get($L)", position);
+      default:
+        return CodeBlock.of("buffer.get$L($L)", getSuffix(field.type), position);
+    }
+  }
+
+  /** Returns a statement that writes the property of {@code value} at the position of a buffer. */
+  private static CodeBlock write(Field field) {
+    CodeBlock property = CodeBlock.of("value.$N()", field.accessor());
+    switch (field.type.getKind()) {
+      case BOOLEAN:
+        return CodeBlock.of("buffer.put($L ? (byte) 1 : (byte) 0)", property);
+      case BYTE:
+        return CodeBlock.of("buffer.put($L)", property);
+      default:
+        return CodeBlock.of("buffer.put$L($L)", getSuffix(field.type), property);
+    }
+  }
+
+  /** Returns the suffix of the {@code ByteBuffer} methods for a type, like {@code Int}. */
+  private static String getSuffix(TypeMirror type) {
+    String name = type.getKind().name();
+    return name.charAt(0) + name.substring(1).toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.indexed;
+
+/**
+ * Gives generic code access to the properties of a value class by index, without reflection. If an
+ * {@link com.google.auto.value.AutoValue @AutoValue} class implements this interface, AutoValue
+ * generates each of its methods that the class leaves abstract. The generated methods read from a
+ * static table of the property names, types and nullability, and from a {@code switch} over the
+ * property accessors.
+ *
+ * <p>Properties are numbered from zero in the order in which AutoValue sees them, which is the
+ * order of the parameters of the generated constructor. The methods of this interface are not
+ * themselves properties.
+ *
+ * <p>The typed getters do not box. {@link #getInt} can read a {@code byte}, {@code short}, {@code
+ * char} or {@code int} property, and {@link #getLong} can read those or a {@code long} property.
+ * {@link #getDouble} can read a {@code float} or {@code double} property. If the property at the
+ * given index is of some other type, they throw {@link IllegalArgumentException}.
+ *
+ * <pre>{@code
+ * @AutoValue
+ * abstract class Metric implements IndexedProperties {
+ *   abstract String name();
+ *   abstract long count();
+ *   abstract double mean();
+ * }
+ *
+ * static void export(IndexedProperties value, Exporter exporter) {
+ *   for (int i = 0; i < value.propertyCount(); i++) {
+ *     Class<?> type = value.propertyType(i);
+ *     if (type == long.class) {
+ *       exporter.putLong(value.propertyName(i), value.getLong(i));
+ *     } else if (type == double.class) {
+ *       exporter.putDouble(value.propertyName(i), value.getDouble(i));
+ *     } else {
+ *       exporter.putObject(value.propertyName(i), value.get(i));
+ *     }
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>Unlike the AutoValue annotations, this interface is needed at run time, so {@code
+ * auto-value-annotations} must be on the runtime classpath of a class that implements it.
+ */
+public interface IndexedProperties {
+  /** Returns the number of properties. */
+  int propertyCount();
+
+  /** Returns the name of the property at the given index, for example {@code "count"}. */
+  String propertyName(int index);
+
+  /**
+   * Returns the erasure of the type of the property at the given index, for example {@code
+   * long.class}, {@code int[].class} or {@code java.util.List.class}.
+   */
+  Class<?> propertyType(int index);
+
+  /** Returns true if the property at the given index is {@code @Nullable}. */
+  boolean isPropertyNullable(int index);
+
+  /** Returns the value of the property at the given index, boxing it if it is primitive. */
+  Object get(int index);
+
+  /** Returns the value of the {@code boolean} property at the given index. */
+  boolean getBoolean(int index);
+
+  /** Returns the value of the integral property, other than a {@code long}, at the given index. */
+  int getInt(int index);
+
+  /** Returns the value of the integral property at the given index. */
+  long getLong(int index);
+
+  /** Returns the value of the floating-point property at the given index. */
+  double getDouble(int index);
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.indexed.processor;
+
+import static com.google.auto.value.extension.processor.ExtensionClassTypeSpecBuilder.extensionClassTypeSpecBuilder;
+import static com.google.auto.value.extension.processor.Nullability.isNullable;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.collect.Sets.intersection;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PROTECTED;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.util.ElementFilter.methodsIn;
+
+import com.google.auto.service.AutoService;
+import com.google.auto.value.extension.AutoValueExtension;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import java.util.List;
+import java.util.function.Predicate;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Implements the methods of {@link com.google.auto.value.extension.indexed.IndexedProperties} for
+ * {@link com.google.auto.value.AutoValue} classes that implement that interface.
+ */
+@AutoService(AutoValueExtension.class)
+public final class IndexedPropertiesExtension extends AutoValueExtension {
+  static final String INDEXED_PROPERTIES_NAME =
+      "com.google.auto.value.extension.indexed.IndexedProperties";
+
+  private static final ImmutableSet<Modifier> INHERITED_VISIBILITY_MODIFIERS =
+      ImmutableSet.of(PUBLIC, PROTECTED);
+
+  private static final TypeName CLASS_ARRAY =
+      ArrayTypeName.of(
+          ParameterizedTypeName.get(
+              ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)));
+
+  /**
+   * The typed getters of {@code IndexedProperties}, and for each one the kinds of property that it
+   * can read without boxing.
+   */
+  private static final ImmutableMap<String, ImmutableSet<TypeKind>> TYPED_GETTERS =
+      ImmutableMap.of(
+          "getBoolean", ImmutableSet.of(TypeKind.BOOLEAN),
+          "getInt", ImmutableSet.of(TypeKind.BYTE, TypeKind.SHORT, TypeKind.CHAR, TypeKind.INT),
+          "getLong",
+              ImmutableSet.of(
+                  TypeKind.BYTE, TypeKind.SHORT, TypeKind.CHAR, TypeKind.INT, TypeKind.LONG),
+          "getDouble", ImmutableSet.of(TypeKind.FLOAT, TypeKind.DOUBLE));
+
+  @Override
+  public boolean applicable(Context context) {
+    TypeElement indexedProperties = indexedPropertiesInterface(context);
+    Types types = context.processingEnvironment().getTypeUtils();
+    return indexedProperties != null
+        && types.isAssignable(
+            types.erasure(context.autoValueClass().asType()), indexedProperties.asType());
+  }
+
+  @Override
+  public ImmutableSet<ExecutableElement> consumeMethods(Context context) {
+    return interfaceMethods(context);
+  }
+
+  @Override
+  public IncrementalExtensionType incrementalType(ProcessingEnvironment processingEnvironment) {
+    return IncrementalExtensionType.ISOLATING;
+  }
+
+  @Override
+  public String generateClass(
+      Context context, String className, String classToExtend, boolean isFinal) {
+    Generator generator = new Generator(context);
+    TypeSpec type =
+        extensionClassTypeSpecBuilder(
+                context, IndexedPropertiesExtension.class, className, classToExtend, isFinal)
+            .addFields(generator.table())
+            .addMethods(generator.methods())
+            .build();
+    return JavaFile.builder(context.packageName(), type)
+        .skipJavaLangImports(true)
+        .build()
+        .toString();
+  }
+
+  private static TypeElement indexedPropertiesInterface(Context context) {
+    return context
+        .processingEnvironment()
+        .getElementUtils()
+        .getTypeElement(INDEXED_PROPERTIES_NAME);
+  }
+
+  /**
+   * Returns the abstract methods of the {@code @AutoValue} class that are, or override, methods of
+   * {@code IndexedProperties}.
+   */
+  private static ImmutableSet<ExecutableElement> interfaceMethods(Context context) {
+    TypeElement indexedProperties = indexedPropertiesInterface(context);
+    if (indexedProperties == null) {
+      return ImmutableSet.of();
+    }
+    Elements elements = context.processingEnvironment().getElementUtils();
+    List<ExecutableElement> declared = methodsIn(indexedProperties.getEnclosedElements());
+    Predicate<ExecutableElement> isInterfaceMethod =
+        method ->
+            declared.stream()
+                .anyMatch(
+                    d ->
+                        method.equals(d)
+                            || elements.overrides(method, d, context.autoValueClass()));
+    return context.abstractMethods().stream().filter(isInterfaceMethod).collect(toImmutableSet());
+  }
+
+  private static final class Generator {
+    private final Context context;
+    private final Types types;
+    private final ImmutableList<String> propertyNames;
+    private final String simpleClassName;
+
+    Generator(Context context) {
+      this.context = context;
+      this.types = context.processingEnvironment().getTypeUtils();
+      this.propertyNames = ImmutableList.copyOf(context.propertyTypes().keySet());
+      this.simpleClassName = context.autoValueClass().getSimpleName().toString();
+    }
+
+    /** Returns the static fields that hold the names, types and nullability of the properties. */
+    ImmutableList<FieldSpec> table() {
+      CodeBlock.Builder names = CodeBlock.builder();
+      CodeBlock.Builder classes = CodeBlock.builder();
+      CodeBlock.Builder nullable = CodeBlock.builder();
+      String separator = "";
+      for (String property : propertyNames) {
+        names.add("$L$S", separator, property);
+        classes.add("$L$T.class", separator, TypeName.get(erasedType(property)));
+        nullable.add("$L$L", separator, isNullable(context.properties().get(property)));
+        separator = ", ";
+      }
+      return ImmutableList.of(
+          FieldSpec.builder(String[].class, "PROPERTY_NAMES", PRIVATE, STATIC, FINAL)
+              .initializer("{$L}", names.build())
+              .build(),
+          FieldSpec.builder(CLASS_ARRAY, "PROPERTY_TYPES", PRIVATE, STATIC, FINAL)
+              .initializer("{$L}", classes.build())
+              .build(),
+          FieldSpec.builder(boolean[].class, "PROPERTY_NULLABLE", PRIVATE, STATIC, FINAL)
+              .initializer("{$L}", nullable.build())
+              .build());
+    }
+
+    /** Returns implementations of the abstract methods of {@code IndexedProperties}. */
+    ImmutableList<MethodSpec> methods() {
+      ImmutableList.Builder<MethodSpec> methods = ImmutableList.builder();
+      for (ExecutableElement method : interfaceMethods(context)) {
+        String name = method.getSimpleName().toString();
+        MethodSpec.Builder builder =
+            MethodSpec.methodBuilder(name)
+                .addAnnotation(Override.class)
+                .addModifiers(intersection(method.getModifiers(), INHERITED_VISIBILITY_MODIFIERS))
+                .addModifiers(FINAL)
+                .returns(TypeName.get(method.getReturnType()));
+        String index = "index";
+        if (!method.getParameters().isEmpty()) {
+          builder.addParameter(int.class, index);
+        }
+        switch (name) {
+          case "propertyCount":
+            builder.addStatement("return $L", propertyNames.size());
+            break;
+          case "propertyName":
+            builder.addStatement("return PROPERTY_NAMES[$N]", index);
+            break;
+          case "propertyType":
+            builder.addStatement("return PROPERTY_TYPES[$N]", index);
+            break;
+          case "isPropertyNullable":
+            builder.addStatement("return PROPERTY_NULLABLE[$N]", index);
+            break;
+          case "get":
+            builder.addCode(switchOnIndex(index, kind -> true));
+            builder.addStatement(
+                "throw new $T($S + $N)",
+                IndexOutOfBoundsException.class,
+                "No property in " + simpleClassName + " with index ",
+                index);
+            break;
+          default:
+            ImmutableSet<TypeKind> kinds = TYPED_GETTERS.get(name);
+            builder.addCode(switchOnIndex(index, kinds::contains));
+            // If the index is out of range, the array access throws before the exception is made.
+            builder.addStatement(
+                "throw new $T($S + PROPERTY_NAMES[$N] + $S)",
+                IllegalArgumentException.class,
+                "Property ",
+                index,
+                " of " + simpleClassName + " cannot be read with " + name);
+            break;
+        }
+        methods.add(builder.build());
+      }
+      return methods.build();
+    }
+
+    /**
+     * Returns a {@code switch} with a {@code case} that returns each property whose kind matches
+     * the given predicate. Other indexes continue with the code that follows.
+     */
+    private CodeBlock switchOnIndex(String index, Predicate<TypeKind> kinds) {
+      CodeBlock.Builder code = CodeBlock.builder().beginControlFlow("switch ($N)", index);
+      for (int i = 0; i < propertyNames.size(); i++) {
+        String property = propertyNames.get(i);
+        if (kinds.test(context.propertyTypes().get(property).getKind())) {
+          code.add(
+              "case $L: return $N();\n", i, context.properties().get(property).getSimpleName());
+        }
+      }
+      return code.endControlFlow().build();
+    }
+
+    private TypeMirror erasedType(String property) {
+      return types.erasure(context.propertyTypes().get(property));
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json;
+
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Annotates {@link com.google.auto.value.AutoValue @AutoValue} classes for which a class should be
+ * generated that writes instances as JSON objects and reads them back, without reflection. For a
+ * class {@code Order}, the generated class is called {@code OrderJson} and is in the same package.
+ * For a nested class {@code Outer.Order} it is called {@code Outer_OrderJson}. It has two methods:
+ *
+ * <ul>
+ *   <li>{@code static void write(Order value, JsonSink sink)}, which writes a JSON object with a
+ *       field for each property.
+ *   <li>{@code static Order read(JsonSource source)}, which reads one.
+ * </ul>
+ *
+ * <p>The name of each field is the name of the property, so {@code getCustomerId()} is written as
+ * {@code "customerId"} if all the accessors have a {@code get} prefix. A property can be of one of
+ * these types:
+ *
+ * <ul>
+ *   <li>A primitive type or its wrapper, {@code String}, or an enum, which is written as its name.
+ *   <li>Another {@code @Json} class, which is written by calling its own generated {@code write}.
+ *   <li>{@code Optional}, from {@code java.util} or Guava, of one of those types, or {@code
+ *       OptionalInt}, {@code OptionalLong} or {@code OptionalDouble}.
+ *   <li>{@code List}, {@code ImmutableList}, {@code Map} or {@code ImmutableMap} of one of those
+ *       types, where the key of a map must be a {@code String}.
+ * </ul>
+ *
+ * <p>A {@code @Nullable} property that is null, or an {@code Optional} property that is empty, is
+ * left out. When reading, such a property may be missing or {@code null}. Fields that do not match
+ * a property are skipped. If the class has an {@code @AutoValue.Builder}, a static method that
+ * returns one, and a setter for each property that takes the type of the property, {@code read}
+ * uses the builder. Then any defaults that the static method sets apply to missing properties, and
+ * {@code build()} reports missing required properties. Otherwise {@code read} calls the constructor
+ * of the generated class. Then missing primitive properties are zero or false, and a missing
+ * property of another type causes an {@link java.io.IOException}.
+ *
+ * <pre>{@code
+ * Utf8JsonSink sink = new Utf8JsonSink();
+ * OrderJson.write(order, sink);
+ * byte[] bytes = sink.toByteArray();
+ *
+ * Order copy = OrderJson.read(new Utf8JsonSource(bytes));
+ * }</pre>
+ *
+ * <p>The generated code depends only on {@link JsonSink}, {@link JsonSource} and {@link JsonName},
+ * so {@code auto-value-annotations} must be on the runtime classpath. {@link Utf8JsonSink} and
+ * {@link Utf8JsonSource} implement the interfaces for UTF-8 bytes in memory, and other formats or
+ * streams can be supported by implementing them.
+ */
+@Documented
+// CLASS rather than SOURCE, so that a nested @Json class is recognized when it comes from a class
+// file, for example from a library or when only the outer class is recompiled.
+@Retention(CLASS)
+@Target(ElementType.TYPE)
+public @interface Json {}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The name of a field in a JSON object, together with the forms of it that a {@link JsonSink} or a
+ * {@link JsonSource} needs. Code generated for {@link Json @Json} classes makes these once, in
+ * static fields, so that writing a name is a single copy and reading one does not allocate.
+ */
+public final class JsonName {
+  private final String name;
+  private final byte[] utf8;
+  private final byte[] quotedUtf8;
+
+  private JsonName(String name) {
+    this.name = name;
+    this.utf8 = name.getBytes(UTF_8);
+    StringBuilder quoted = new StringBuilder(name.length() + 3);
+    JsonStrings.appendQuoted(quoted, name);
+    this.quotedUtf8 = quoted.append(':').toString().getBytes(UTF_8);
+  }
+
+  /** Returns the {@code JsonName} for the given field name. */
+  public static JsonName of(String name) {
+    return new JsonName(name);
+  }
+
+  /** Returns the field name. */
+  public String name() {
+    return name;
+  }
+
+  /** Returns the field name encoded as UTF-8, without quotes or escapes. */
+  byte[] utf8() {
+    return utf8;
+  }
+
+  /**
+   * Returns the field name encoded as UTF-8, in quotes, with any characters escaped that need to
+   * be, and followed by a colon. For example, the name {@code a"b} gives {@code "a\"b":}.
+   */
+  byte[] quotedUtf8() {
+    return quotedUtf8;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json;
+
+import java.io.IOException;
+
+/**
+ * Receives a JSON document as a series of tokens. Code generated for {@link Json @Json} classes
+ * writes to this interface. An implementation is responsible for the commas between the elements of
+ * an array or the fields of an object, so a field is just a call to one of the {@code name} methods
+ * followed by a value.
+ *
+ * <p>{@link Utf8JsonSink} is an implementation that writes UTF-8 bytes to memory.
+ */
+public interface JsonSink {
+  /** Starts an object. */
+  void beginObject() throws IOException;
+
+  /** Ends the current object. */
+  void endObject() throws IOException;
+
+  /** Starts an array. */
+  void beginArray() throws IOException;
+
+  /** Ends the current array. */
+  void endArray() throws IOException;
+
+  /** Writes the name of a field of the current object. */
+  void name(JsonName name) throws IOException;
+
+  /** Writes the name of a field of the current object, for names that are not known in advance. */
+  void name(String name) throws IOException;
+
+  /** Writes a string. */
+  void value(String value) throws IOException;
+
+  /** Writes an integral number. */
+  void value(long value) throws IOException;
+
+  /**
+   * Writes a floating-point number. Throws {@link IllegalArgumentException} if it is infinite or
+   * NaN, since JSON cannot represent those.
+   */
+  void value(double value) throws IOException;
+
+  /**
+   * Writes a floating-point number, with the shortest decimal representation that identifies the
+   * {@code float}. Throws {@link IllegalArgumentException} if it is infinite or NaN.
+   */
+  void value(float value) throws IOException;
+
+  /** Writes {@code true} or {@code false}. */
+  void value(boolean value) throws IOException;
+
+  /** Writes {@code null}. */
+  void nullValue() throws IOException;
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json;
+
+import java.io.IOException;
+
+/**
+ * Supplies a JSON document one token at a time. Code generated for {@link Json @Json} classes reads
+ * from this interface. An implementation consumes the commas and colons between tokens itself, and
+ * throws {@link IOException} if the input is not valid JSON or is not what the caller expects, for
+ * example if {@link #nextString} is called when the next value is a number.
+ *
+ * <p>{@link Utf8JsonSource} is an implementation that reads UTF-8 bytes from memory.
+ */
+public interface JsonSource {
+  /** Consumes the start of an object. */
+  void beginObject() throws IOException;
+
+  /** Consumes the end of the current object. */
+  void endObject() throws IOException;
+
+  /** Consumes the start of an array. */
+  void beginArray() throws IOException;
+
+  /** Consumes the end of the current array. */
+  void endArray() throws IOException;
+
+  /** Returns true if the current object or array has another field or element. */
+  boolean hasNext() throws IOException;
+
+  /** Consumes the name of the next field of the current object, and returns it. */
+  String nextName() throws IOException;
+
+  /**
+   * Consumes the name of the next field of the current object, and returns its index in {@code
+   * names}, or -1 if it is not there. Implementations can usually do this without allocating.
+   */
+  int nextName(JsonName[] names) throws IOException;
+
+  /** Consumes a string value and returns it. */
+  String nextString() throws IOException;
+
+  /** Consumes a string value of exactly one character and returns that character. */
+  char nextChar() throws IOException;
+
+  /** Consumes a number that is a valid {@code byte} and returns it. */
+  byte nextByte() throws IOException;
+
+  /** Consumes a number that is a valid {@code short} and returns it. */
+  short nextShort() throws IOException;
+
+  /** Consumes a number that is a valid {@code int} and returns it. */
+  int nextInt() throws IOException;
+
+  /** Consumes a number that is a valid {@code long} and returns it. */
+  long nextLong() throws IOException;
+
+  /** Consumes a number and returns it as a {@code double}. */
+  double nextDouble() throws IOException;
+
+  /** Consumes {@code true} or {@code false} and returns it. */
+  boolean nextBoolean() throws IOException;
+
+  /**
+   * Consumes the next value and returns true if it is {@code null}, or returns false if it is not.
+   */
+  boolean nextNull() throws IOException;
+
+  /** Consumes the next value, whatever it is, including any nested objects or arrays. */
+  void skipValue() throws IOException;
+}
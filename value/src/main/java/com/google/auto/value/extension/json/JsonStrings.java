@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json;
+
+/** Escaping of JSON strings, shared by {@link JsonName} and {@link Utf8JsonSink}. */
+final class JsonStrings {
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * Returns the escape sequence for the given ASCII character, or null if the character can appear
+   * as it is in a JSON string.
+   */
+  static String escape(char c) {
+    switch (c) {
+      case '"':
+        return "\\\"";
+      case '\\':
+        return "\\\\";
+      case '\n':
+        return "\\n";
+      case '\r':
+        return "\\r";
+      case '\t':
+        return "\\t";
+      case '\b':
+        return "\\b";
+      case '\f':
+        return "\\f";
+      default:
+        if (c < 0x20) {
+          return "\\u00" + HEX[c >> 4] + HEX[c & 0xf];
+        }
+        return null;
+    }
+  }
+
+  /** Appends {@code s} to {@code sb} as a JSON string, in quotes. */
+  static void appendQuoted(StringBuilder sb, String s) {
+    sb.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      String escape = escape(c);
+      if (escape == null) {
+        sb.append(c);
+      } else {
+        sb.append(escape);
+      }
+    }
+    sb.append('"');
+  }
+
+  private JsonStrings() {}
+}
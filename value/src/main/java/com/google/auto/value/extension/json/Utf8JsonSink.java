@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A {@link JsonSink} that writes compact JSON, encoded as UTF-8, to a growable array in memory. It
+ * can be {@linkplain #reset reset} and reused, so that writing many documents does not allocate
+ * once the array is large enough. It is not thread-safe.
+ *
+ * <p>The sink does not check that the tokens it is given form a valid document. For example it
+ * writes a value that follows another value in an object without complaint.
+ */
+public final class Utf8JsonSink implements JsonSink {
+  private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+  private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+  private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+  private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(UTF_8);
+
+  private byte[] buffer;
+  private int size;
+
+  /** True if the next field or element must be preceded by a comma. */
+  private boolean comma;
+
+  /** Creates a sink with a default initial capacity. */
+  public Utf8JsonSink() {
+    this(256);
+  }
+
+  /** Creates a sink with the given initial capacity in bytes. */
+  public Utf8JsonSink(int initialCapacity) {
+    this.buffer = new byte[initialCapacity];
+  }
+
+  /** Returns the number of bytes written. */
+  public int size() {
+    return size;
+  }
+
+  /** Discards what has been written, so that the sink can be used for another document. */
+  public void reset() {
+    size = 0;
+    comma = false;
+  }
+
+  /** Returns a copy of the bytes written. */
+  public byte[] toByteArray() {
+    return Arrays.copyOf(buffer, size);
+  }
+
+  /** Writes the bytes written to the given stream. */
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(buffer, 0, size);
+  }
+
+  /** Returns the JSON written, as a string. */
+  @Override
+  public String toString() {
+    return new String(buffer, 0, size, UTF_8);
+  }
+
+  @Override
+  public void beginObject() {
+    separate();
+    put('{');
+    comma = false;
+  }
+
+  @Override
+  public void endObject() {
+    put('}');
+    comma = true;
+  }
+
+  @Override
+  public void beginArray() {
+    separate();
+    put('[');
+    comma = false;
+  }
+
+  @Override
+  public void endArray() {
+    put(']');
+    comma = true;
+  }
+
+  @Override
+  public void name(JsonName name) {
+    separate();
+    put(name.quotedUtf8());
+    comma = false;
+  }
+
+  @Override
+  public void name(String name) {
+    separate();
+    putString(name);
+    put(':');
+    comma = false;
+  }
+
+  @Override
+  public void value(String value) {
+    separate();
+    putString(value);
+    comma = true;
+  }
+
+  @Override
+  public void value(long value) {
+    separate();
+    if (value == Long.MIN_VALUE) {
+      put(MIN_LONG);
+    } else {
+      putLong(value);
+    }
+    comma = true;
+  }
+
+  @Override
+  public void value(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      throw new IllegalArgumentException("JSON numbers must be finite: " + value);
+    }
+    separate();
+    putAscii(Double.toString(value));
+    comma = true;
+  }
+
+  @Override
+  public void value(float value) {
+    if (Float.isNaN(value) || Float.isInfinite(value)) {
+      throw new IllegalArgumentException("JSON numbers must be finite: " + value);
+    }
+    separate();
+    putAscii(Float.toString(value));
+    comma = true;
+  }
+
+  @Override
+  public void value(boolean value) {
+    separate();
+    put(value ? TRUE : FALSE);
+    comma = true;
+  }
+
+  @Override
+  public void nullValue() {
+    separate();
+    put(NULL);
+    comma = true;
+  }
+
+  private void separate() {
+    if (comma) {
+      put(',');
+    }
+  }
+
+  private void ensureCapacity(int extra) {
+    if (size + extra > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(size + extra, buffer.length * 2));
+    }
+  }
+
+  private void put(char asciiChar) {
+    ensureCapacity(1);
+    buffer[size++] = (byte) asciiChar;
+  }
+
+  private void put(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, size, bytes.length);
+    size += bytes.length;
+  }
+
+  private void putAscii(String s) {
+    ensureCapacity(s.length());
+    for (int i = 0; i < s.length(); i++) {
+      buffer[size++] = (byte) s.charAt(i);
+    }
+  }
+
+  /** Writes a non-negative {@code long}, or a negative one other than {@link Long#MIN_VALUE}. */
+  private void putLong(long value) {
+    ensureCapacity(20);
+    if (value < 0) {
+      buffer[size++] = '-';
+      value = -value;
+    }
+    int digits = 1;
+    for (long v = value; v >= 10; v /= 10) {
+      digits++;
+    }
+    for (int i = size + digits - 1; i >= size; i--) {
+      buffer[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    size += digits;
+  }
+
+  /**
+   * Writes a string in quotes, escaping as needed and encoding it as UTF-8. An unpaired surrogate
+   * is written as {@code ?}, as {@link String#getBytes} would.
+   */
+  private void putString(String s) {
+    // Each char takes at most three bytes, or six for an escape like \u001f.
+    ensureCapacity(s.length() * 6 + 2);
+    byte[] b = buffer;
+    int n = size;
+    b[n++] = '"';
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c < 0x80) {
+        String escape = (c < 0x20 || c == '"' || c == '\\') ? JsonStrings.escape(c) : null;
+        if (escape == null) {
+          b[n++] = (byte) c;
+        } else {
+          for (int j = 0; j < escape.length(); j++) {
+            b[n++] = (byte) escape.charAt(j);
+          }
+        }
+      } else if (c < 0x800) {
+        b[n++] = (byte) (0xc0 | (c >> 6));
+        b[n++] = (byte) (0x80 | (c & 0x3f));
+      } else if (Character.isSurrogate(c)) {
+        int codePoint = Character.codePointAt(s, i);
+        if (Character.isHighSurrogate(c) && codePoint != c) {
+          b[n++] = (byte) (0xf0 | (codePoint >> 18));
+          b[n++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+          b[n++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+          b[n++] = (byte) (0x80 | (codePoint & 0x3f));
+          i++;
+        } else {
+          b[n++] = '?';
+        }
+      } else {
+        b[n++] = (byte) (0xe0 | (c >> 12));
+        b[n++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        b[n++] = (byte) (0x80 | (c & 0x3f));
+      }
+    }
+    b[n++] = '"';
+    size = n;
+  }
+}
@@ -0,0 +1,571 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+
+/**
+ * A {@link JsonSource} that reads a JSON document encoded as UTF-8 from an array in memory. Strings
+ * without escapes are decoded in a single step, and {@link #nextName(JsonName[])} compares field
+ * names with the bytes of the expected names, trying first the one after the name that matched last
+ * time, so that reading fields in the order they were written is cheap. It is not thread-safe.
+ *
+ * <p>The source accepts only valid JSON, with two exceptions: numbers may have leading zeros, and a
+ * string may contain bytes that are not valid UTF-8, which are decoded as U+FFFD.
+ */
+public final class Utf8JsonSource implements JsonSource {
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+  };
+
+  private final byte[] input;
+  private final int end;
+  private int pos;
+
+  /** True if the next field or element must be preceded by a comma. */
+  private boolean comma;
+
+  private JsonName[] lastNames;
+  private int lastIndex = -1;
+
+  /** Creates a source that reads all of {@code input}. */
+  public Utf8JsonSource(byte[] input) {
+    this(input, 0, input.length);
+  }
+
+  /**
+   * Creates a source that reads {@code length} bytes of {@code input}, starting at {@code offset}.
+   */
+  public Utf8JsonSource(byte[] input, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > input.length || offset + length < 0) {
+      throw new IndexOutOfBoundsException(
+          "Offset " + offset + ", length " + length + ", array length " + input.length);
+    }
+    this.input = input;
+    this.pos = offset;
+    this.end = offset + length;
+  }
+
+  @Override
+  public void beginObject() throws IOException {
+    expect('{');
+    comma = false;
+  }
+
+  @Override
+  public void endObject() throws IOException {
+    expect('}');
+    comma = true;
+  }
+
+  @Override
+  public void beginArray() throws IOException {
+    expect('[');
+    comma = false;
+  }
+
+  @Override
+  public void endArray() throws IOException {
+    expect(']');
+    comma = true;
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    int c = peek();
+    if (c == '}' || c == ']') {
+      return false;
+    }
+    if (comma) {
+      if (c != ',') {
+        throw syntaxError("Expected ',', '}' or ']'");
+      }
+      pos++;
+      comma = false;
+    }
+    return true;
+  }
+
+  @Override
+  public String nextName() throws IOException {
+    String name = readString();
+    expect(':');
+    comma = false;
+    return name;
+  }
+
+  @Override
+  public int nextName(JsonName[] names) throws IOException {
+    if (peek() != '"') {
+      throw syntaxError("Expected a field name");
+    }
+    int start = pos + 1;
+    int i = start;
+    while (i < end && input[i] != '"' && input[i] != '\\' && (input[i] & 0xff) >= 0x20) {
+      i++;
+    }
+    int index;
+    if (i < end && input[i] == '"') {
+      pos = i + 1;
+      index = find(names, start, i - start);
+    } else {
+      index = find(names, readString());
+    }
+    expect(':');
+    comma = false;
+    return index;
+  }
+
+  /** Returns the index of the name whose UTF-8 bytes are the given bytes of the input, or -1. */
+  private int find(JsonName[] names, int start, int length) {
+    int first = names == lastNames ? lastIndex + 1 : 0;
+    for (int n = 0; n < names.length; n++) {
+      int index = (first + n) % names.length;
+      byte[] utf8 = names[index].utf8();
+      if (utf8.length == length && regionMatches(utf8, start)) {
+        lastNames = names;
+        lastIndex = index;
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private boolean regionMatches(byte[] utf8, int start) {
+    for (int j = 0; j < utf8.length; j++) {
+      if (utf8[j] != input[start + j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int find(JsonName[] names, String name) {
+    for (int index = 0; index < names.length; index++) {
+      if (names[index].name().equals(name)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public String nextString() throws IOException {
+    String s = readString();
+    comma = true;
+    return s;
+  }
+
+  @Override
+  public char nextChar() throws IOException {
+    int start = pos;
+    String s = nextString();
+    if (s.length() != 1) {
+      pos = start;
+      throw syntaxError("Expected a string of one character");
+    }
+    return s.charAt(0);
+  }
+
+  @Override
+  public byte nextByte() throws IOException {
+    return (byte) nextLong(Byte.MIN_VALUE, Byte.MAX_VALUE, "byte");
+  }
+
+  @Override
+  public short nextShort() throws IOException {
+    return (short) nextLong(Short.MIN_VALUE, Short.MAX_VALUE, "short");
+  }
+
+  @Override
+  public int nextInt() throws IOException {
+    return (int) nextLong(Integer.MIN_VALUE, Integer.MAX_VALUE, "int");
+  }
+
+  /**
+   * Consumes an integer between {@code min} and {@code max} inclusive and returns it, or throws
+   * without consuming it if it is out of that range.
+   */
+  private long nextLong(long min, long max, String type) throws IOException {
+    int start = pos;
+    long value = nextLong();
+    if (value < min || value > max) {
+      pos = start;
+      throw syntaxError("Number out of range for " + type);
+    }
+    return value;
+  }
+
+  @Override
+  public long nextLong() throws IOException {
+    int c = peek();
+    boolean negative = c == '-';
+    int i = negative ? pos + 1 : pos;
+    if (i >= end || !isDigit(input[i])) {
+      throw syntaxError("Expected an integer");
+    }
+    // Accumulate the negated value, since Long.MIN_VALUE has no positive counterpart.
+    long value = 0;
+    for (; i < end && isDigit(input[i]); i++) {
+      int digit = input[i] - '0';
+      if (value < (Long.MIN_VALUE + digit) / 10) {
+        throw syntaxError("Number out of range for long");
+      }
+      value = value * 10 - digit;
+    }
+    if (i < end && (input[i] == '.' || input[i] == 'e' || input[i] == 'E')) {
+      throw syntaxError("Expected an integer");
+    }
+    if (!negative) {
+      if (value == Long.MIN_VALUE) {
+        throw syntaxError("Number out of range for long");
+      }
+      value = -value;
+    }
+    pos = i;
+    comma = true;
+    return value;
+  }
+
+  @Override
+  public double nextDouble() throws IOException {
+    peek();
+    int start = pos;
+    int i = start;
+    boolean integral = true;
+    while (i < end) {
+      byte b = input[i];
+      if (isDigit(b) || b == '-') {
+        i++;
+      } else if (b == '.' || b == 'e' || b == 'E' || b == '+') {
+        integral = false;
+        i++;
+      } else {
+        break;
+      }
+    }
+    int length = i - start;
+    if (length == 0) {
+      throw syntaxError("Expected a number");
+    }
+    if (!isWellFormedNumber(start, i)) {
+      throw syntaxError("Malformed number");
+    }
+    if (integral && length <= 18) {
+      long value = nextLong();
+      // -0 is a valid JSON number, and its sign survives as a double but not as a long.
+      return value == 0 && input[start] == '-' ? -0.0 : value;
+    }
+    double value = simpleDecimal(start, i);
+    if (Double.isNaN(value)) {
+      value = Double.parseDouble(new String(input, start, length, US_ASCII));
+    }
+    pos = i;
+    comma = true;
+    return value;
+  }
+
+  /**
+   * Returns true if the bytes between {@code start} and {@code limit} are an optional {@code -},
+   * one or more digits, optionally a {@code .} followed by one or more digits, and optionally an
+   * exponent. That rejects forms like {@code +1}, {@code -.5} and {@code 1.} that {@link
+   * Double#parseDouble} would accept but JSON does not.
+   */
+  private boolean isWellFormedNumber(int start, int limit) {
+    int i = start;
+    if (input[i] == '-') {
+      i++;
+    }
+    i = skipDigits(i, limit);
+    if (i < 0) {
+      return false;
+    }
+    if (i < limit && input[i] == '.') {
+      i = skipDigits(i + 1, limit);
+      if (i < 0) {
+        return false;
+      }
+    }
+    if (i < limit && (input[i] == 'e' || input[i] == 'E')) {
+      i++;
+      if (i < limit && (input[i] == '+' || input[i] == '-')) {
+        i++;
+      }
+      i = skipDigits(i, limit);
+      if (i < 0) {
+        return false;
+      }
+    }
+    return i == limit;
+  }
+
+  /**
+   * Returns the index after the digits that start at {@code i}, or -1 if there is no digit there.
+   */
+  private int skipDigits(int i, int limit) {
+    int start = i;
+    while (i < limit && isDigit(input[i])) {
+      i++;
+    }
+    return i == start ? -1 : i;
+  }
+
+  /**
+   * Returns the value of a number like {@code -12.375} that has no exponent and at most 15 digits,
+   * or NaN if the well-formed number between {@code start} and {@code limit} is not of that form.
+   * Such a number is a {@code long} divided by a power of ten, both of which are exact as {@code
+   * double} values, so the division is correctly rounded and agrees with {@link
+   * Double#parseDouble}.
+   */
+  private double simpleDecimal(int start, int limit) {
+    int i = start;
+    boolean negative = input[i] == '-';
+    if (negative) {
+      i++;
+    }
+    long digits = 0;
+    int digitCount = 0;
+    int point = -1;
+    for (; i < limit; i++) {
+      byte b = input[i];
+      if (isDigit(b)) {
+        digits = digits * 10 + (b - '0');
+        digitCount++;
+      } else if (b == '.') {
+        point = i;
+      } else {
+        return Double.NaN;
+      }
+    }
+    if (digitCount > 15) {
+      return Double.NaN;
+    }
+    int fractionDigits = point < 0 ? 0 : limit - point - 1;
+    double value = digits / POWERS_OF_TEN[fractionDigits];
+    return negative ? -value : value;
+  }
+
+  @Override
+  public boolean nextBoolean() throws IOException {
+    int c = peek();
+    if (c == 't' && literal("true")) {
+      comma = true;
+      return true;
+    } else if (c == 'f' && literal("false")) {
+      comma = true;
+      return false;
+    }
+    throw syntaxError("Expected true or false");
+  }
+
+  @Override
+  public boolean nextNull() throws IOException {
+    if (peek() == 'n' && literal("null")) {
+      comma = true;
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public void skipValue() throws IOException {
+    switch (peek()) {
+      case '{':
+        beginObject();
+        while (hasNext()) {
+          skipString();
+          expect(':');
+          comma = false;
+          skipValue();
+        }
+        endObject();
+        break;
+      case '[':
+        beginArray();
+        while (hasNext()) {
+          skipValue();
+        }
+        endArray();
+        break;
+      case '"':
+        skipString();
+        comma = true;
+        break;
+      case 't':
+      case 'f':
+        nextBoolean();
+        break;
+      case 'n':
+        if (!nextNull()) {
+          throw syntaxError("Expected null");
+        }
+        break;
+      default:
+        nextDouble();
+        break;
+    }
+  }
+
+  /** Skips whitespace, and returns the next byte without consuming it. */
+  private int peek() throws IOException {
+    while (pos < end) {
+      byte b = input[pos];
+      if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+        return b;
+      }
+      pos++;
+    }
+    throw syntaxError("Unexpected end of input");
+  }
+
+  private void expect(char c) throws IOException {
+    if (peek() != c) {
+      throw syntaxError("Expected '" + c + "'");
+    }
+    pos++;
+  }
+
+  /** Consumes the given ASCII literal if it comes next, and returns whether it did. */
+  private boolean literal(String literal) {
+    if (end - pos < literal.length()) {
+      return false;
+    }
+    for (int i = 0; i < literal.length(); i++) {
+      if (input[pos + i] != literal.charAt(i)) {
+        return false;
+      }
+    }
+    pos += literal.length();
+    return true;
+  }
+
+  private static boolean isDigit(byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  private String readString() throws IOException {
+    if (peek() != '"') {
+      throw syntaxError("Expected a string");
+    }
+    int start = ++pos;
+    int i = start;
+    while (i < end && input[i] != '"' && input[i] != '\\' && (input[i] & 0xff) >= 0x20) {
+      i++;
+    }
+    if (i < end && input[i] == '"') {
+      pos = i + 1;
+      return new String(input, start, i - start, UTF_8);
+    }
+    return readEscapedString(start);
+  }
+
+  /** Reads the rest of a string that contains escapes, starting just after its opening quote. */
+  private String readEscapedString(int start) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    int segment = start;
+    pos = start;
+    while (true) {
+      if (pos >= end) {
+        throw syntaxError("Unterminated string");
+      }
+      byte b = input[pos];
+      if (b == '"') {
+        sb.append(new String(input, segment, pos - segment, UTF_8));
+        pos++;
+        return sb.toString();
+      } else if (b == '\\') {
+        sb.append(new String(input, segment, pos - segment, UTF_8));
+        sb.append(readEscape());
+        segment = pos;
+      } else if ((b & 0xff) < 0x20) {
+        throw syntaxError("Unescaped control character in string");
+      } else {
+        pos++;
+      }
+    }
+  }
+
+  /** Reads an escape sequence, starting at its backslash, and returns the character it means. */
+  private char readEscape() throws IOException {
+    if (pos + 1 >= end) {
+      throw syntaxError("Unterminated escape");
+    }
+    byte b = input[pos + 1];
+    pos += 2;
+    switch (b) {
+      case '"':
+      case '\\':
+      case '/':
+        return (char) b;
+      case 'b':
+        return '\b';
+      case 'f':
+        return '\f';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 't':
+        return '\t';
+      case 'u':
+        if (pos + 4 > end) {
+          throw syntaxError("Unterminated escape");
+        }
+        int c = 0;
+        for (int i = 0; i < 4; i++) {
+          int digit = Character.digit(input[pos++], 16);
+          if (digit < 0) {
+            throw syntaxError("Malformed \\u escape");
+          }
+          c = (c << 4) | digit;
+        }
+        return (char) c;
+      default:
+        pos -= 2;
+        throw syntaxError("Unknown escape");
+    }
+  }
+
+  private void skipString() throws IOException {
+    if (peek() != '"') {
+      throw syntaxError("Expected a string");
+    }
+    pos++;
+    while (true) {
+      if (pos >= end) {
+        throw syntaxError("Unterminated string");
+      }
+      byte b = input[pos];
+      if (b == '"') {
+        pos++;
+        return;
+      } else if (b == '\\') {
+        readEscape();
+      } else if ((b & 0xff) < 0x20) {
+        throw syntaxError("Unescaped control character in string");
+      } else {
+        pos++;
+      }
+    }
+  }
+
+  private IOException syntaxError(String message) {
+    return new IOException(message + " at offset " + pos);
+  }
+}
@@ -0,0 +1,633 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json.processor;
+
+import static com.google.auto.value.extension.processor.Nullability.isNullable;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+import com.google.auto.common.MoreTypes;
+import com.google.auto.value.extension.AutoValueExtension.BuilderContext;
+import com.google.auto.value.extension.AutoValueExtension.Context;
+import com.google.auto.value.extension.processor.CompanionFileGenerator;
+import com.google.common.collect.ImmutableSet;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+
+/** Generates the {@code FooJson} codec of a {@code @Json} class {@code Foo}. */
+final class CodecGenerator extends CompanionFileGenerator {
+  private static final String JSON_PACKAGE = "com.google.auto.value.extension.json";
+  private static final ClassName JSON_NAME = ClassName.get(JSON_PACKAGE, "JsonName");
+  private static final ClassName JSON_SINK = ClassName.get(JSON_PACKAGE, "JsonSink");
+  private static final ClassName JSON_SOURCE = ClassName.get(JSON_PACKAGE, "JsonSource");
+
+  // These are written with concat so that the shading of Guava does not rewrite them.
+  private static final String GUAVA_OPTIONAL = "com.".concat("google.common.base.Optional");
+  private static final String IMMUTABLE_LIST = "com.".concat("google.common.collect.ImmutableList");
+  private static final String IMMUTABLE_MAP = "com.".concat("google.common.collect.ImmutableMap");
+
+  /** How a single JSON value is written and read. */
+  private enum ScalarKind {
+    BOOLEAN,
+    BYTE,
+    SHORT,
+    INT,
+    LONG,
+    FLOAT,
+    DOUBLE,
+    CHAR,
+    STRING,
+    ENUM,
+    /** Another {@code @Json} class, whose generated codec is called. */
+    NESTED,
+  }
+
+  /** A type that is written as a single JSON value. */
+  private static final class Scalar {
+    final ScalarKind kind;
+    final TypeMirror type;
+
+    Scalar(ScalarKind kind, TypeMirror type) {
+      this.kind = kind;
+      this.type = type;
+    }
+  }
+
+  /** What surrounds the {@link Scalar} value or values of a property. */
+  private enum Shape {
+    /** Just the value. */
+    SCALAR,
+    /** {@code java.util.Optional} or Guava's {@code Optional}. */
+    OPTIONAL,
+    /** {@code OptionalInt}, {@code OptionalLong} or {@code OptionalDouble}. */
+    PRIMITIVE_OPTIONAL,
+    /** {@code List} or {@code ImmutableList}, written as an array. */
+    LIST,
+    /** {@code Map} or {@code ImmutableMap} with {@code String} keys, written as an object. */
+    MAP,
+  }
+
+  /** One property of the {@code @Json} class. */
+  private static final class Property {
+    final String name;
+    final ExecutableElement getter;
+    final TypeMirror type;
+    final Shape shape;
+    final Scalar scalar;
+    final boolean nullable;
+
+    Property(
+        String name,
+        ExecutableElement getter,
+        TypeMirror type,
+        Shape shape,
+        Scalar scalar,
+        boolean nullable) {
+      this.name = name;
+      this.getter = getter;
+      this.type = type;
+      this.shape = shape;
+      this.scalar = scalar;
+      this.nullable = nullable;
+    }
+
+    /** Returns an expression for the value of this property in {@code value}. */
+    CodeBlock get() {
+      return CodeBlock.of("value.$N()", getter.getSimpleName().toString());
+    }
+
+    /** True if the property can be absent when it is read. */
+    boolean optional() {
+      return nullable || shape == Shape.OPTIONAL || shape == Shape.PRIMITIVE_OPTIONAL;
+    }
+
+    /** True if the property must be present when it is read. */
+    boolean required() {
+      return !optional() && !type.getKind().isPrimitive();
+    }
+
+    String local() {
+      return name + "Value";
+    }
+  }
+
+  private final Types typeUtils;
+  private final Set<String> helperNames = new HashSet<>();
+  private final List<MethodSpec> helpers = new ArrayList<>();
+
+  CodecGenerator(Context context) {
+    super(context, JsonExtension.class, "Json");
+    this.typeUtils = context.processingEnvironment().getTypeUtils();
+  }
+
+  /** Returns the name of the codec of a {@code @Json} class. */
+  private static ClassName codecName(TypeElement type) {
+    return companionName(type, "Json");
+  }
+
+  /** Writes the codec, or reports errors if the class cannot have one. */
+  void generate() {
+    checkNotGeneric("Json");
+    List<Property> properties = new ArrayList<>();
+    context
+        .propertyTypes()
+        .forEach(
+            (name, type) -> {
+              Property property = property(name, context.properties().get(name), type);
+              if (property != null) {
+                properties.add(property);
+              }
+            });
+    if (hasErrors()) {
+      return;
+    }
+    CodeBlock names =
+        CodeBlock.builder()
+            .add("{\n$>")
+            .add(
+                properties.stream()
+                    .map(p -> CodeBlock.of("$T.of($S)", JSON_NAME, p.name))
+                    .collect(CodeBlock.joining(",\n")))
+            .add("$<\n}")
+            .build();
+    TypeSpec.Builder type =
+        companionClassBuilder()
+            .addJavadoc(
+                "Writes and reads instances of {@link $T} as JSON. See {@link $T}.\n",
+                valueClass,
+                ClassName.get(JSON_PACKAGE, "Json"))
+            .addField(
+                FieldSpec.builder(ArrayTypeName.of(JSON_NAME), "NAMES", PRIVATE, STATIC, FINAL)
+                    .initializer(names)
+                    .build())
+            .addMethod(MethodSpec.constructorBuilder().addModifiers(PRIVATE).build())
+            .addMethod(write(properties))
+            .addMethod(read(properties));
+    type.addMethods(helpers);
+    write(type.build());
+  }
+
+  private Property property(String name, ExecutableElement getter, TypeMirror type) {
+    boolean nullable = isNullable(getter);
+    Scalar scalar = scalar(type);
+    if (scalar != null) {
+      return new Property(name, getter, type, Shape.SCALAR, scalar, nullable);
+    }
+    if (type.getKind() == TypeKind.DECLARED) {
+      DeclaredType declared = MoreTypes.asDeclared(type);
+      String typeName = MoreTypes.asTypeElement(type).getQualifiedName().toString();
+      List<? extends TypeMirror> typeArguments = declared.getTypeArguments();
+      Shape shape = null;
+      TypeMirror element = null;
+      if (typeName.equals(OptionalInt.class.getName())) {
+        return primitiveOptional(name, getter, type, TypeKind.INT, nullable);
+      } else if (typeName.equals(OptionalLong.class.getName())) {
+        return primitiveOptional(name, getter, type, TypeKind.LONG, nullable);
+      } else if (typeName.equals(OptionalDouble.class.getName())) {
+        return primitiveOptional(name, getter, type, TypeKind.DOUBLE, nullable);
+      } else if (typeName.equals(Optional.class.getName()) || typeName.equals(GUAVA_OPTIONAL)) {
+        shape = Shape.OPTIONAL;
+        element = typeArguments.get(0);
+      } else if (typeName.equals(List.class.getName()) || typeName.equals(IMMUTABLE_LIST)) {
+        shape = Shape.LIST;
+        element = typeArguments.get(0);
+      } else if ((typeName.equals(Map.class.getName()) || typeName.equals(IMMUTABLE_MAP))
+          && scalar(typeArguments.get(0)) != null
+          && scalar(typeArguments.get(0)).kind == ScalarKind.STRING) {
+        shape = Shape.MAP;
+        element = typeArguments.get(1);
+      }
+      Scalar elementScalar = element == null ? null : scalar(element);
+      if (elementScalar != null) {
+        return new Property(name, getter, type, shape, elementScalar, nullable);
+      }
+    }
+    error(
+        getter,
+        "@Json properties must be primitives, Strings, enums or @Json classes, or Optionals,"
+            + " Lists or Maps with String keys of those types, not %s",
+        type);
+    return null;
+  }
+
+  private Property primitiveOptional(
+      String name, ExecutableElement getter, TypeMirror type, TypeKind kind, boolean nullable) {
+    return new Property(
+        name,
+        getter,
+        type,
+        Shape.PRIMITIVE_OPTIONAL,
+        scalar(typeUtils.getPrimitiveType(kind)),
+        nullable);
+  }
+
+  /** Returns how a type is written as a single value, or null if it is not written like that. */
+  private Scalar scalar(TypeMirror type) {
+    TypeMirror unboxed = type;
+    if (type.getKind() == TypeKind.DECLARED) {
+      try {
+        unboxed = typeUtils.unboxedType(type);
+      } catch (IllegalArgumentException e) {
+        // Not a wrapper type.
+      }
+    }
+    switch (unboxed.getKind()) {
+      case BOOLEAN:
+        return new Scalar(ScalarKind.BOOLEAN, type);
+      case BYTE:
+        return new Scalar(ScalarKind.BYTE, type);
+      case SHORT:
+        return new Scalar(ScalarKind.SHORT, type);
+      case INT:
+        return new Scalar(ScalarKind.INT, type);
+      case LONG:
+        return new Scalar(ScalarKind.LONG, type);
+      case FLOAT:
+        return new Scalar(ScalarKind.FLOAT, type);
+      case DOUBLE:
+        return new Scalar(ScalarKind.DOUBLE, type);
+      case CHAR:
+        return new Scalar(ScalarKind.CHAR, type);
+      case DECLARED:
+        break;
+      default:
+        return null;
+    }
+    TypeElement element = MoreTypes.asTypeElement(type);
+    if (element.getQualifiedName().contentEquals("java.lang.String")) {
+      return new Scalar(ScalarKind.STRING, type);
+    } else if (element.getKind() == ElementKind.ENUM) {
+      return new Scalar(ScalarKind.ENUM, type);
+    } else if (hasJsonAnnotation(element) && element.getTypeParameters().isEmpty()) {
+      return new Scalar(ScalarKind.NESTED, type);
+    }
+    return null;
+  }
+
+  private static boolean hasJsonAnnotation(TypeElement element) {
+    return element.getAnnotationMirrors().stream()
+        .anyMatch(
+            a ->
+                MoreTypes.asTypeElement(a.getAnnotationType())
+                    .getQualifiedName()
+                    .contentEquals(JsonExtension.JSON_NAME));
+  }
+
+  private MethodSpec write(List<Property> properties) {
+    MethodSpec.Builder write =
+        MethodSpec.methodBuilder("write")
+            .addJavadoc("Writes {@code value} to {@code sink} as a JSON object.\n")
+            .addModifiers(PUBLIC, STATIC)
+            .addParameter(valueClass, "value")
+            .addParameter(JSON_SINK, "sink")
+            .addException(IOException.class)
+            .addStatement("sink.beginObject()");
+    for (int i = 0; i < properties.size(); i++) {
+      Property property = properties.get(i);
+      List<CodeBlock> conditions = new ArrayList<>();
+      if (property.nullable) {
+        conditions.add(CodeBlock.of("$L != null", property.get()));
+      }
+      if (property.shape == Shape.OPTIONAL || property.shape == Shape.PRIMITIVE_OPTIONAL) {
+        conditions.add(CodeBlock.of("$L.isPresent()", property.get()));
+      }
+      if (!conditions.isEmpty()) {
+        write.beginControlFlow("if ($L)", CodeBlock.join(conditions, " && "));
+      }
+      write.addStatement("sink.name(NAMES[$L])", i);
+      writeValue(write, property);
+      if (!conditions.isEmpty()) {
+        write.endControlFlow();
+      }
+    }
+    return write.addStatement("sink.endObject()").build();
+  }
+
+  private void writeValue(MethodSpec.Builder write, Property property) {
+    Scalar scalar = property.scalar;
+    switch (property.shape) {
+      case SCALAR:
+        write.addStatement(writeScalar(scalar, property.get()));
+        break;
+      case OPTIONAL:
+        write.addStatement(writeScalar(scalar, CodeBlock.of("$L.get()", property.get())));
+        break;
+      case PRIMITIVE_OPTIONAL:
+        String getter =
+            scalar.kind == ScalarKind.INT
+                ? "getAsInt"
+                : scalar.kind == ScalarKind.LONG ? "getAsLong" : "getAsDouble";
+        write.addStatement(writeScalar(scalar, CodeBlock.of("$L.$N()", property.get(), getter)));
+        break;
+      case LIST:
+        write
+            .addStatement("sink.beginArray()")
+            .beginControlFlow("for ($T element : $L)", TypeName.get(scalar.type), property.get())
+            .addStatement(writeScalar(scalar, CodeBlock.of("element")))
+            .endControlFlow()
+            .addStatement("sink.endArray()");
+        break;
+      case MAP:
+        TypeName entry =
+            ParameterizedTypeName.get(
+                ClassName.get(Map.Entry.class),
+                ClassName.get(String.class),
+                TypeName.get(scalar.type));
+        write
+            .addStatement("sink.beginObject()")
+            .beginControlFlow("for ($T entry : $L.entrySet())", entry, property.get())
+            .addStatement("sink.name(entry.getKey())")
+            .addStatement(writeScalar(scalar, CodeBlock.of("entry.getValue()")))
+            .endControlFlow()
+            .addStatement("sink.endObject()");
+        break;
+    }
+  }
+
+  /** Returns a statement that writes the given value of the given scalar type. */
+  private static CodeBlock writeScalar(Scalar scalar, CodeBlock value) {
+    switch (scalar.kind) {
+      case CHAR:
+        return CodeBlock.of("sink.value($T.valueOf($L))", String.class, value);
+      case ENUM:
+        return CodeBlock.of("sink.value($L.name())", value);
+      case NESTED:
+        return CodeBlock.of(
+            "$T.write($L, sink)", codecName(MoreTypes.asTypeElement(scalar.type)), value);
+      default:
+        return CodeBlock.of("sink.value($L)", value);
+    }
+  }
+
+  /** Returns an expression that reads a value of the given scalar type. */
+  private static CodeBlock readScalar(Scalar scalar) {
+    switch (scalar.kind) {
+      case BOOLEAN:
+        return CodeBlock.of("source.nextBoolean()");
+      case BYTE:
+        return CodeBlock.of("source.nextByte()");
+      case SHORT:
+        return CodeBlock.of("source.nextShort()");
+      case INT:
+        return CodeBlock.of("source.nextInt()");
+      case LONG:
+        return CodeBlock.of("source.nextLong()");
+      case FLOAT:
+        return CodeBlock.of("(float) source.nextDouble()");
+      case DOUBLE:
+        return CodeBlock.of("source.nextDouble()");
+      case CHAR:
+        return CodeBlock.of("source.nextChar()");
+      case STRING:
+        return CodeBlock.of("source.nextString()");
+      case ENUM:
+        return CodeBlock.of("$T.valueOf(source.nextString())", TypeName.get(scalar.type));
+      case NESTED:
+        return CodeBlock.of("$T.read(source)", codecName(MoreTypes.asTypeElement(scalar.type)));
+    }
+    throw new AssertionError(scalar.kind);
+  }
+
+  /** Returns an expression that reads a value of the given property. */
+  private CodeBlock readValue(Property property) {
+    switch (property.shape) {
+      case SCALAR:
+        return readScalar(property.scalar);
+      case OPTIONAL:
+      case PRIMITIVE_OPTIONAL:
+        return CodeBlock.of(
+            "$T.of($L)",
+            ClassName.get(MoreTypes.asTypeElement(property.type)),
+            readScalar(property.scalar));
+      case LIST:
+      case MAP:
+        return CodeBlock.of("$N(source)", readHelper(property));
+    }
+    throw new AssertionError(property.shape);
+  }
+
+  /** Adds a method that reads the array or object of a {@code List} or {@code Map} property. */
+  private MethodSpec readHelper(Property property) {
+    String name =
+        "read" + Character.toUpperCase(property.name.charAt(0)) + property.name.substring(1);
+    for (int i = 2; !helperNames.add(name); i++) {
+      name = name.replaceFirst("[0-9]*$", "") + i;
+    }
+    TypeName type = TypeName.get(property.type);
+    TypeElement typeElement = MoreTypes.asTypeElement(property.type);
+    boolean immutable = !typeElement.getQualifiedName().toString().startsWith("java.");
+    boolean list = property.shape == Shape.LIST;
+    MethodSpec.Builder helper =
+        MethodSpec.methodBuilder(name)
+            .addModifiers(PRIVATE, STATIC)
+            .returns(type)
+            .addParameter(JSON_SOURCE, "source")
+            .addException(IOException.class);
+    TypeName element = TypeName.get(property.scalar.type);
+    if (immutable) {
+      ClassName rawType = ClassName.get(typeElement);
+      TypeName builderType =
+          list
+              ? ParameterizedTypeName.get(rawType.nestedClass("Builder"), element)
+              : ParameterizedTypeName.get(
+                  rawType.nestedClass("Builder"), ClassName.get(String.class), element);
+      helper.addStatement("$T result = $T.builder()", builderType, rawType);
+    } else {
+      helper.addStatement(
+          "$T result = new $T<>()", type, list ? ArrayList.class : LinkedHashMap.class);
+    }
+    if (list) {
+      helper
+          .addStatement("source.beginArray()")
+          .beginControlFlow("while (source.hasNext())")
+          .addStatement("result.add($L)", readScalar(property.scalar))
+          .endControlFlow()
+          .addStatement("source.endArray()");
+    } else {
+      helper
+          .addStatement("source.beginObject()")
+          .beginControlFlow("while (source.hasNext())")
+          .addStatement("result.put(source.nextName(), $L)", readScalar(property.scalar))
+          .endControlFlow()
+          .addStatement("source.endObject()");
+    }
+    MethodSpec method =
+        helper.addStatement(immutable ? "return result.build()" : "return result").build();
+    helpers.add(method);
+    return method;
+  }
+
+  private MethodSpec read(List<Property> properties) {
+    MethodSpec.Builder read =
+        MethodSpec.methodBuilder("read")
+            .addJavadoc("Reads a {@link $T} from a JSON object in {@code source}.\n", valueClass)
+            .addModifiers(PUBLIC, STATIC)
+            .returns(valueClass)
+            .addParameter(JSON_SOURCE, "source")
+            .addException(IOException.class);
+    Optional<BuilderContext> builder = context.builder().filter(this::canUseBuilder);
+    if (builder.isPresent()) {
+      ExecutableElement builderMethod = builderMethod(builder.get()).get();
+      read.addStatement(
+          "$T builder = $T.$N()",
+          TypeName.get(builder.get().builderType().asType()),
+          valueClass,
+          builderMethod.getSimpleName().toString());
+    } else {
+      for (Property property : properties) {
+        read.addStatement(
+            "$T $N = $L", TypeName.get(property.type), property.local(), initialValue(property));
+      }
+    }
+    read.addStatement("source.beginObject()")
+        .beginControlFlow("while (source.hasNext())")
+        .beginControlFlow("switch (source.nextName(NAMES))");
+    for (int i = 0; i < properties.size(); i++) {
+      Property property = properties.get(i);
+      CodeBlock assignment =
+          builder.isPresent()
+              ? CodeBlock.of(
+                  "builder.$N($L)",
+                  setter(builder.get(), property.name, property.type).getSimpleName().toString(),
+                  readValue(property))
+              : CodeBlock.of("$N = $L", property.local(), readValue(property));
+      read.addCode("case $L:\n$>", i);
+      if (property.optional()) {
+        read.beginControlFlow("if (!source.nextNull())").addStatement(assignment).endControlFlow();
+      } else {
+        read.addStatement(assignment);
+      }
+      read.addStatement("break").addCode("$<");
+    }
+    read.addCode("default:\n$>")
+        .addStatement("source.skipValue()")
+        .addCode("$<")
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("source.endObject()");
+    if (builder.isPresent()) {
+      return read.addStatement(
+              "return builder.$N()", builder.get().buildMethod().get().getSimpleName().toString())
+          .build();
+    }
+    for (Property property : properties) {
+      if (property.required()) {
+        read.beginControlFlow("if ($N == null)", property.local())
+            .addStatement(
+                "throw new $T($S)",
+                IOException.class,
+                "Missing required property: " + property.name)
+            .endControlFlow();
+      }
+    }
+    CodeBlock arguments =
+        properties.stream()
+            .map(p -> CodeBlock.of("$N", p.local()))
+            .collect(CodeBlock.joining(",\n"));
+    return read.addStatement(
+            "return new $T(\n$L)",
+            ClassName.bestGuess(context.finalAutoValueClassName()),
+            arguments)
+        .build();
+  }
+
+  /** Returns the value of the local variable for a property before any field has been read. */
+  private static CodeBlock initialValue(Property property) {
+    switch (property.shape) {
+      case OPTIONAL:
+        TypeElement optional = MoreTypes.asTypeElement(property.type);
+        return CodeBlock.of(
+            "$T.$N()",
+            ClassName.get(optional),
+            optional.getQualifiedName().contentEquals(GUAVA_OPTIONAL) ? "absent" : "empty");
+      case PRIMITIVE_OPTIONAL:
+        return CodeBlock.of("$T.empty()", ClassName.get(MoreTypes.asTypeElement(property.type)));
+      default:
+        switch (property.type.getKind()) {
+          case BOOLEAN:
+            return CodeBlock.of("false");
+          case BYTE:
+          case SHORT:
+          case INT:
+          case LONG:
+          case FLOAT:
+          case DOUBLE:
+          case CHAR:
+            return CodeBlock.of("0");
+          default:
+            return CodeBlock.of("null");
+        }
+    }
+  }
+
+  /**
+   * True if {@code read} can use the builder: it can be made with a static method of the class, it
+   * has a {@code build()} method, and every property has a setter that takes the type of the
+   * property.
+   */
+  private boolean canUseBuilder(BuilderContext builder) {
+    return builderMethod(builder).isPresent()
+        && builder.buildMethod().isPresent()
+        && context.properties().keySet().stream()
+            .allMatch(
+                property ->
+                    setter(builder, property, context.propertyTypes().get(property)) != null);
+  }
+
+  private static Optional<ExecutableElement> builderMethod(BuilderContext builder) {
+    return builder.builderMethods().stream()
+        .filter(m -> m.getParameters().isEmpty() && m.getModifiers().contains(Modifier.STATIC))
+        .findFirst();
+  }
+
+  /** Returns the setter that takes exactly the type of the property, or null if there is none. */
+  private ExecutableElement setter(BuilderContext builder, String property, TypeMirror type) {
+    for (ExecutableElement setter : builder.setters().getOrDefault(property, ImmutableSet.of())) {
+      if (setter.getParameters().size() == 1
+          && typeUtils.isSameType(setter.getParameters().get(0).asType(), type)) {
+        return setter;
+      }
+    }
+    return null;
+  }
+}
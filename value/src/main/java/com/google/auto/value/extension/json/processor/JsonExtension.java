@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json.processor;
+
+import com.google.auto.service.AutoService;
+import com.google.auto.value.extension.AutoValueExtension;
+import com.google.auto.value.extension.processor.CompanionFileExtension;
+
+/**
+ * Generates the JSON codec class of an {@link com.google.auto.value.AutoValue} class that is
+ * annotated with {@link com.google.auto.value.extension.json.Json}.
+ */
+@AutoService(AutoValueExtension.class)
+public final class JsonExtension extends CompanionFileExtension {
+  static final String JSON_NAME = "com.google.auto.value.extension.json.Json";
+
+  public JsonExtension() {
+    super(JSON_NAME);
+  }
+
+  @Override
+  protected void generateCompanion(Context context) {
+    new CodecGenerator(context).generate();
+  }
+}
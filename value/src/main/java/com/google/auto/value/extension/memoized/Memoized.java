@@ -47,6 +47,12 @@ import java.lang.annotation.Target;
  * href="https://errorprone.info/bugpattern/DoubleCheckedLocking">double-checked locking</a> to
  * ensure that the annotated method is called at most once.
  *
+ * <p>With {@code @Memoized(eager = true)}, the annotated method is instead called once in the
+ * constructor of the generated subclass, after all properties have been set, and its value is
+ * stored in a {@code final} field. The overriding method just returns that field, with none of the
+ * cost of a volatile read, at the expense of always computing the value even if it is never used.
+ * See {@link #eager()}.
+ *
  * <h2>Example</h2>
  *
  * <pre>{@code
@@ -83,4 +89,18 @@ import java.lang.annotation.Target;
 @Documented
 @Retention(CLASS)
 @Target(METHOD)
-public @interface Memoized {}
+public @interface Memoized {
+  /**
+   * If true, the value is computed when the object is constructed rather than the first time the
+   * method is called. Eager methods are called in the order they are declared, so an eager method
+   * can use the value of another that is declared before it, or of any lazy one.
+   *
+   * <p>If the {@code @AutoValue} class is {@link java.io.Serializable Serializable}, the generated
+   * class has a {@code readResolve} method that constructs a new instance from the deserialized
+   * properties, so eager values are recomputed rather than serialized. That is only done if the
+   * class does not already have a {@code readResolve} or {@code writeReplace} method, and if no
+   * other extension generates a subclass; otherwise the values are serialized along with the
+   * properties.
+   */
+  boolean eager() default false;
+}
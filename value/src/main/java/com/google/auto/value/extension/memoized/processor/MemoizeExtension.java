@@ -18,7 +18,7 @@ package com.google.auto.value.extension.memoized.processor;
 import static com.google.auto.common.GeneratedAnnotationSpecs.generatedAnnotationSpec;
 import static com.google.auto.value.extension.memoized.processor.ClassNames.MEMOIZED_NAME;
 import static com.google.auto.value.extension.memoized.processor.MemoizedValidator.getAnnotationMirror;
-import static com.google.common.base.Predicates.equalTo;
+import static com.google.common.base.Predicates.in;
 import static com.google.common.base.Predicates.not;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
@@ -31,6 +31,7 @@ import static com.squareup.javapoet.TypeSpec.classBuilder;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.DEFAULT;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
@@ -41,6 +42,7 @@ import static javax.lang.model.type.TypeKind.VOID;
 import static javax.lang.model.util.ElementFilter.methodsIn;
 import static javax.tools.Diagnostic.Kind.ERROR;
 
+import com.google.auto.common.AnnotationMirrors;
 import com.google.auto.common.MoreElements;
 import com.google.auto.service.AutoService;
 import com.google.auto.value.extension.AutoValueExtension;
@@ -58,6 +60,7 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
+import java.io.Serializable;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -138,6 +141,8 @@ public final class MemoizeExtension extends AutoValueExtension {
     }
 
     String generate() {
+      ImmutableList<MethodOverrider> methodOverriders =
+          memoizedMethods(context).stream().map(MethodOverrider::new).collect(toImmutableList());
 
       TypeSpec.Builder generated =
           classBuilder(className)
@@ -148,15 +153,17 @@ public final class MemoizeExtension extends AutoValueExtension {
                       .collect(toImmutableList()))
               .addTypeVariables(annotatedTypeVariableNames())
               .addModifiers(isFinal ? FINAL : ABSTRACT)
-              .addMethod(constructor());
+              .addMethod(constructor(methodOverriders));
       generatedAnnotationSpec(elements, sourceVersion, MemoizeExtension.class)
           .ifPresent(generated::addAnnotation);
 
-      for (ExecutableElement method : memoizedMethods(context)) {
-        MethodOverrider methodOverrider = new MethodOverrider(method);
+      for (MethodOverrider methodOverrider : methodOverriders) {
         generated.addFields(methodOverrider.fields());
         generated.addMethod(methodOverrider.method());
       }
+      if (recomputesEagerValues()) {
+        generated.addMethod(readResolve());
+      }
       if (isHashCodeMemoized() && !isEqualsFinal()) {
         generated.addMethod(equalsWithHashCodeCheck());
       }
@@ -166,7 +173,6 @@ public final class MemoizeExtension extends AutoValueExtension {
       return JavaFile.builder(context.packageName(), generated.build()).build().toString();
     }
 
-
     private TypeName superType() {
       ClassName superType = ClassName.get(context.packageName(), classToExtend);
       ImmutableList<TypeVariableName> typeVariableNames = typeVariableNames();
@@ -194,7 +200,7 @@ public final class MemoizeExtension extends AutoValueExtension {
           .collect(toImmutableList());
     }
 
-    private MethodSpec constructor() {
+    private MethodSpec constructor(ImmutableList<MethodOverrider> methodOverriders) {
       MethodSpec.Builder constructor = constructorBuilder();
       // TODO(b/35944623): Replace this with a standard way of avoiding keywords.
       Set<String> propertyNames = context.properties().keySet();
@@ -210,6 +216,9 @@ public final class MemoizeExtension extends AutoValueExtension {
       String superParams =
           context.properties().keySet().stream().map(parameterNames::get).collect(joining(", "));
       constructor.addStatement("super($L)", superParams);
+      for (MethodOverrider methodOverrider : methodOverriders) {
+        constructor.addCode(methodOverrider.eagerInitialization());
+      }
       return constructor.build();
     }
 
@@ -225,7 +234,57 @@ public final class MemoizeExtension extends AutoValueExtension {
       }
     }
 
+    private boolean hasEagerMethods() {
+      return memoizedMethods(context).stream().anyMatch(MemoizeExtension::isEager);
+    }
 
+    /**
+     * True if we should generate a {@code readResolve} method that recomputes the values of eager
+     * methods when an instance is deserialized. That is only possible if this is the final class,
+     * and only appropriate if the {@code @AutoValue} class is serializable and doesn't already
+     * control its own serialization. If we don't recompute the values, the fields holding them are
+     * not {@code transient}, so the values are serialized instead.
+     */
+    private boolean recomputesEagerValues() {
+      if (!isFinal || !hasEagerMethods()) {
+        return false;
+      }
+      TypeElement autoValueClass = context.autoValueClass();
+      TypeMirror serializable = elements.getTypeElement(Serializable.class.getName()).asType();
+      if (!types.isAssignable(types.erasure(autoValueClass.asType()), serializable)) {
+        return false;
+      }
+      return MoreElements.getLocalAndInheritedMethods(autoValueClass, types, elements).stream()
+          .noneMatch(
+              m ->
+                  m.getParameters().isEmpty()
+                      && (m.getSimpleName().contentEquals("readResolve")
+                          || m.getSimpleName().contentEquals("writeReplace")));
+    }
+
+    /**
+     * Returns a {@code readResolve} method that makes a new instance from the deserialized
+     * properties, so that the constructor computes the values of eager methods again.
+     */
+    private MethodSpec readResolve() {
+      String properties =
+          context.properties().values().stream()
+              .map(getter -> getter.getSimpleName() + "()")
+              .collect(joining(", "));
+      return methodBuilder("readResolve")
+          .addModifiers(PRIVATE)
+          .returns(TypeName.OBJECT)
+          .addStatement("return new $T($L)", thisType(), properties)
+          .build();
+    }
+
+    private TypeName thisType() {
+      ClassName thisType = ClassName.get(context.packageName(), className);
+      ImmutableList<TypeVariableName> typeVariableNames = typeVariableNames();
+      return typeVariableNames.isEmpty()
+          ? thisType
+          : ParameterizedTypeName.get(thisType, typeVariableNames.toArray(new TypeName[] {}));
+    }
 
     private boolean isHashCodeMemoized() {
       return memoizedMethods(context).stream()
@@ -270,16 +329,18 @@ public final class MemoizeExtension extends AutoValueExtension {
      */
     private final class MethodOverrider {
       private final ExecutableElement method;
+      private final boolean eager;
       private final MethodSpec.Builder override;
       private final FieldSpec cacheField;
       private final ImmutableList.Builder<FieldSpec> fields = ImmutableList.builder();
 
       MethodOverrider(ExecutableElement method) {
         this.method = method;
+        this.eager = isEager(method);
         validate();
-        cacheField =
-            buildCacheField(
-                annotatedType(method.getReturnType()), method.getSimpleName().toString());
+        TypeName type = annotatedType(method.getReturnType());
+        String name = method.getSimpleName().toString();
+        cacheField = eager ? buildEagerField(type, name) : buildCacheField(type, name);
         fields.add(cacheField);
         override =
             methodBuilder(method.getSimpleName().toString())
@@ -287,7 +348,8 @@ public final class MemoizeExtension extends AutoValueExtension {
                 .returns(cacheField.type)
                 .addExceptions(
                     method.getThrownTypes().stream().map(TypeName::get).collect(toList()))
-                .addModifiers(filter(method.getModifiers(), not(equalTo(ABSTRACT))));
+                .addModifiers(
+                    filter(method.getModifiers(), not(in(ImmutableSet.of(ABSTRACT, DEFAULT)))));
         for (AnnotationMirror annotation : context.methodAnnotationsToCopy(method)) {
           AnnotationSpec annotationSpec = AnnotationSpec.get(annotation);
           if (pullDownMethodAnnotation(annotation)) {
@@ -295,6 +357,10 @@ public final class MemoizeExtension extends AutoValueExtension {
           }
         }
 
+        if (eager) {
+          override.addStatement("return $N", cacheField);
+          return;
+        }
         InitializationStrategy checkStrategy = strategy();
         fields.addAll(checkStrategy.additionalFields());
         override
@@ -319,6 +385,27 @@ public final class MemoizeExtension extends AutoValueExtension {
         return override.build();
       }
 
+      /**
+       * The code that should be added to the constructor of the subclass to initialize the field of
+       * an eager method, or nothing if the method is not eager.
+       */
+      CodeBlock eagerInitialization() {
+        if (!eager) {
+          return CodeBlock.of("");
+        }
+        CodeBlock.Builder code =
+            CodeBlock.builder()
+                .addStatement("this.$N = super.$L()", cacheField, method.getSimpleName());
+        if (strategy() instanceof NullMeansUninitialized) {
+          code.beginControlFlow("if (this.$N == null)", cacheField)
+              .addStatement(
+                  "throw new NullPointerException($S)",
+                  method.getSimpleName() + "() cannot return null")
+              .endControlFlow();
+        }
+        return code.build();
+      }
+
       private void validate() {
         if (method.getReturnType().getKind().equals(VOID)) {
           printMessage(ERROR, "@Memoized methods cannot be void");
@@ -371,6 +458,18 @@ public final class MemoizeExtension extends AutoValueExtension {
                 .toString());
       }
 
+      /**
+       * Builds a {@link FieldSpec} for the value of an eager method. The field is {@code private
+       * final}, and also {@code transient} if the value will be recomputed on deserialization.
+       */
+      private FieldSpec buildEagerField(TypeName type, String name) {
+        FieldSpec.Builder builder = FieldSpec.builder(type, name, PRIVATE, FINAL);
+        if (recomputesEagerValues()) {
+          builder.addModifiers(TRANSIENT);
+        }
+        return builder.build();
+      }
+
       /**
        * Builds a {@link FieldSpec} for use in property caching. Field will be {@code private
        * transient volatile} and have the given type and name. If the @LazyInit annotation is
@@ -451,6 +550,19 @@ public final class MemoizeExtension extends AutoValueExtension {
     }
   }
 
+  /**
+   * True if the given {@code @Memoized} method has {@code eager = true}. An older version of
+   * {@code @Memoized} that has no {@code eager} element might be on the classpath.
+   */
+  private static boolean isEager(ExecutableElement method) {
+    AnnotationMirror memoized = getAnnotationMirror(method, MEMOIZED_NAME).get();
+    return AnnotationMirrors.getAnnotationValuesWithDefaults(memoized).entrySet().stream()
+        .anyMatch(
+            e ->
+                e.getKey().getSimpleName().contentEquals("eager")
+                    && e.getValue().getValue().equals(true));
+  }
+
   /** Returns the errorprone {@code @LazyInit} annotation if it is found on the classpath. */
   private static Optional<AnnotationSpec> getLazyInitAnnotation(Elements elements) {
     if (elements.getTypeElement(LAZY_INIT.toString()) == null) {
@@ -466,12 +578,10 @@ public final class MemoizeExtension extends AutoValueExtension {
         .anyMatch(n -> n.contentEquals("Nullable"));
   }
 
-
   /** Translate a {@link TypeMirror} into a {@link TypeName}, including type annotations. */
   private static TypeName annotatedType(TypeMirror type) {
     List<AnnotationSpec> annotations =
         type.getAnnotationMirrors().stream().map(AnnotationSpec::get).collect(toList());
     return TypeName.get(type).annotated(annotations);
   }
-
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.auto.value.extension.processor;
+
+import static com.google.auto.value.extension.processor.ExtensionClassTypeSpecBuilder.extensionClassTypeSpecBuilder;
+
+import com.google.auto.common.MoreTypes;
+import com.google.auto.value.extension.AutoValueExtension;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * An extension for {@link com.google.auto.value.AutoValue} classes that have a certain annotation,
+ * which writes a companion class for each of them as a separate source file, with the {@code
+ * Filer}.
+ *
+ * <p>The subclass that the extension returns from {@link #generateClass} only passes its
+ * constructor arguments on. It is there so that the constructor of the final generated class is
+ * never private, since the companion may need to call it.
+ */
+public abstract class CompanionFileExtension extends AutoValueExtension {
+  private final String annotationName;
+
+  /**
+   * Creates an extension that applies to classes with the annotation whose qualified name is
+   * {@code annotationName}.
+   */
+  protected CompanionFileExtension(String annotationName) {
+    this.annotationName = annotationName;
+  }
+
+  /**
+   * Writes the companion of {@code context.autoValueClass()}, or reports errors if the class
+   * cannot have one.
+   */
+  protected abstract void generateCompanion(Context context);
+
+  @Override
+  public boolean applicable(Context context) {
+    return context.autoValueClass().getAnnotationMirrors().stream()
+        .map(AnnotationMirror::getAnnotationType)
+        .map(MoreTypes::asTypeElement)
+        .map(TypeElement::getQualifiedName)
+        .anyMatch(name -> name.contentEquals(annotationName));
+  }
+
+  @Override
+  public IncrementalExtensionType incrementalType(ProcessingEnvironment processingEnvironment) {
+    return IncrementalExtensionType.ISOLATING;
+  }
+
+  @Override
+  public String generateClass(
+      Context context, String className, String classToExtend, boolean isFinal) {
+    generateCompanion(context);
+    TypeSpec type =
+        extensionClassTypeSpecBuilder(context, getClass(), className, classToExtend, isFinal)
+            .build();
+    return JavaFile.builder(context.packageName(), type)
+        .skipJavaLangImports(true)
+        .build()
+        .toString();
+  }
+}
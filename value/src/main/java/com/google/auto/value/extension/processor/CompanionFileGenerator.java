@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.auto.value.extension.processor;
+
+import static com.google.auto.common.GeneratedAnnotationSpecs.generatedAnnotationSpec;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.tools.Diagnostic.Kind.ERROR;
+
+import com.google.auto.common.MoreElements;
+import com.google.auto.value.extension.AutoValueExtension;
+import com.google.auto.value.extension.AutoValueExtension.Context;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import java.io.IOException;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * The base class of the generators that {@link CompanionFileExtension} subclasses use to write the
+ * companion class of an {@link com.google.auto.value.AutoValue} class, like {@code FooColumns} for
+ * a class {@code Foo}.
+ */
+public abstract class CompanionFileGenerator {
+  protected final Context context;
+  protected final TypeElement autoValueClass;
+  protected final ClassName valueClass;
+
+  /** The name of the companion class. */
+  protected final ClassName companion;
+
+  private final Class<? extends AutoValueExtension> extensionClass;
+  private boolean errors;
+
+  /**
+   * Creates a generator for the companion of {@code context.autoValueClass()}, whose name is the
+   * name of that class followed by {@code suffix}.
+   */
+  protected CompanionFileGenerator(
+      Context context, Class<? extends AutoValueExtension> extensionClass, String suffix) {
+    this.context = context;
+    this.autoValueClass = context.autoValueClass();
+    this.valueClass = ClassName.get(autoValueClass);
+    this.companion = companionName(autoValueClass, suffix);
+    this.extensionClass = extensionClass;
+  }
+
+  /**
+   * Returns the name of the companion of {@code type}: {@code FooSuffix} for a top-level class
+   * {@code Foo}, or {@code Outer_FooSuffix} for a nested class {@code Outer.Foo}.
+   */
+  protected static ClassName companionName(TypeElement type, String suffix) {
+    String name = type.getSimpleName() + suffix;
+    for (Element e = type.getEnclosingElement();
+        e.getKind().isClass() || e.getKind().isInterface();
+        e = e.getEnclosingElement()) {
+      name = e.getSimpleName() + "_" + name;
+    }
+    return ClassName.get(MoreElements.getPackage(type).getQualifiedName().toString(), name);
+  }
+
+  /**
+   * Reports an error if the {@code @AutoValue} class is generic, since a companion has no way to
+   * know the type arguments of the instances it handles.
+   */
+  protected final void checkNotGeneric(String annotationSimpleName) {
+    if (!autoValueClass.getTypeParameters().isEmpty()) {
+      error(autoValueClass, "@%s classes cannot be generic", annotationSimpleName);
+    }
+  }
+
+  /**
+   * Returns a builder for the companion class. The class is final, is public if the
+   * {@code @AutoValue} class is, and is marked {@code @Generated} by the extension.
+   */
+  protected final TypeSpec.Builder companionClassBuilder() {
+    TypeSpec.Builder type =
+        TypeSpec.classBuilder(companion).addModifiers(FINAL).addOriginatingElement(autoValueClass);
+    if (autoValueClass.getModifiers().contains(PUBLIC)) {
+      type.addModifiers(PUBLIC);
+    }
+    generatedAnnotationSpec(
+            context.processingEnvironment().getElementUtils(),
+            context.processingEnvironment().getSourceVersion(),
+            extensionClass)
+        .ifPresent(type::addAnnotation);
+    return type;
+  }
+
+  /** Writes the companion class with the {@code Filer}, or reports an error if that fails. */
+  protected final void write(TypeSpec type) {
+    JavaFile file =
+        JavaFile.builder(companion.packageName(), type).skipJavaLangImports(true).build();
+    try {
+      file.writeTo(context.processingEnvironment().getFiler());
+    } catch (IOException e) {
+      error(autoValueClass, "Could not write %s: %s", companion, e);
+    }
+  }
+
+  /** True if {@link #error} has been called. */
+  protected final boolean hasErrors() {
+    return errors;
+  }
+
+  protected final void error(Element element, String format, Object... args) {
+    errors = true;
+    context
+        .processingEnvironment()
+        .getMessager()
+        .printMessage(ERROR, String.format(format, args), element);
+  }
+}
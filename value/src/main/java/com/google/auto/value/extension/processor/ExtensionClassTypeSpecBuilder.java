@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Google LLC
+ * Copyright 2026 Google LLC
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -14,7 +14,7 @@
  * limitations under the License.
  */
 
-package com.google.auto.value.extension.toprettystring.processor;
+package com.google.auto.value.extension.processor;
 
 import static com.google.auto.common.GeneratedAnnotationSpecs.generatedAnnotationSpec;
 import static com.google.common.collect.ImmutableList.toImmutableList;
@@ -44,15 +44,18 @@ import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 
 /**
- * A factory for {@link TypeSpec}s used in {@link AutoValueExtension} implementations.
+ * A factory for the {@link TypeSpec}s of the classes that {@link AutoValueExtension}
+ * implementations generate between the {@code @AutoValue} class and its {@code AutoValue_}
+ * subclass.
  *
- * <p>This is copied from {@link
- * com.google.auto.value.extension.memoized.processor.MemoizeExtension} until we find a better
- * location to consolidate the code.
+ * <p>The code originally comes from {@link
+ * com.google.auto.value.extension.memoized.processor.MemoizeExtension}, which still builds its
+ * class itself. The other extensions in this project use this one.
  */
-final class ExtensionClassTypeSpecBuilder {
+public final class ExtensionClassTypeSpecBuilder {
 
   private final Context context;
+  private final Class<? extends AutoValueExtension> extensionClass;
   private final String className;
   private final String classToExtend;
   private final boolean isFinal;
@@ -60,8 +63,13 @@ final class ExtensionClassTypeSpecBuilder {
   private final SourceVersion sourceVersion;
 
   private ExtensionClassTypeSpecBuilder(
-      Context context, String className, String classToExtend, boolean isFinal) {
+      Context context,
+      Class<? extends AutoValueExtension> extensionClass,
+      String className,
+      String classToExtend,
+      boolean isFinal) {
     this.context = context;
+    this.extensionClass = extensionClass;
     this.className = className;
     this.classToExtend = classToExtend;
     this.isFinal = isFinal;
@@ -69,13 +77,25 @@ final class ExtensionClassTypeSpecBuilder {
     this.sourceVersion = context.processingEnvironment().getSourceVersion();
   }
 
-  static TypeSpec.Builder extensionClassTypeSpecBuilder(
-      Context context, String className, String classToExtend, boolean isFinal) {
-    return new ExtensionClassTypeSpecBuilder(context, className, classToExtend, isFinal)
+  /**
+   * Returns a builder for the class {@code className} that {@code extensionClass} generates. The
+   * class extends {@code classToExtend}, has the same type parameters and copied annotations as the
+   * {@code @AutoValue} class, and has a constructor that passes every property to the superclass.
+   * It is marked {@code @Generated} by {@code extensionClass}, and is {@code final} if {@code
+   * isFinal}, otherwise {@code abstract}.
+   */
+  public static TypeSpec.Builder extensionClassTypeSpecBuilder(
+      Context context,
+      Class<? extends AutoValueExtension> extensionClass,
+      String className,
+      String classToExtend,
+      boolean isFinal) {
+    return new ExtensionClassTypeSpecBuilder(
+            context, extensionClass, className, classToExtend, isFinal)
         .extensionClassBuilder();
   }
 
-  TypeSpec.Builder extensionClassBuilder() {
+  private TypeSpec.Builder extensionClassBuilder() {
     TypeSpec.Builder builder =
         classBuilder(className)
             .superclass(superType())
@@ -86,7 +106,7 @@ final class ExtensionClassTypeSpecBuilder {
             .addTypeVariables(annotatedTypeVariableNames())
             .addModifiers(isFinal ? FINAL : ABSTRACT)
             .addMethod(constructor());
-    generatedAnnotationSpec(elements, sourceVersion, ToPrettyStringExtension.class)
+    generatedAnnotationSpec(elements, sourceVersion, extensionClass)
         .ifPresent(builder::addAnnotation);
     return builder;
   }
@@ -64,6 +64,9 @@ public final class ImmutableListSerializerExtension implements SerializerExtensi
     private final Serializer containedTypeSerializer;
     private final SerializerFactory factory;
     private final ProcessingEnvironment processingEnv;
+    // Computed on first use and then reused, since callers may ask for it repeatedly and each
+    // request would otherwise also recompute the proxy types of all the nested serializers.
+    private TypeMirror proxyFieldType;
 
     ImmutableListSerializer(
         Serializer containedTypeSerializer,
@@ -76,12 +79,16 @@ public final class ImmutableListSerializerExtension implements SerializerExtensi
 
     @Override
     public TypeMirror proxyFieldType() {
-      TypeElement immutableListTypeElement =
-          processingEnv.getElementUtils().getTypeElement(ImmutableList.class.getCanonicalName());
-      TypeMirror containedProxyType = containedTypeSerializer.proxyFieldType();
-      return processingEnv
-          .getTypeUtils()
-          .getDeclaredType(immutableListTypeElement, containedProxyType);
+      if (proxyFieldType == null) {
+        TypeElement immutableListTypeElement =
+            processingEnv.getElementUtils().getTypeElement(ImmutableList.class.getCanonicalName());
+        TypeMirror containedProxyType = containedTypeSerializer.proxyFieldType();
+        proxyFieldType =
+            processingEnv
+                .getTypeUtils()
+                .getDeclaredType(immutableListTypeElement, containedProxyType);
+      }
+      return proxyFieldType;
     }
 
     @Override
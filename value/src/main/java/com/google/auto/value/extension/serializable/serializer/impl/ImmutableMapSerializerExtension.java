@@ -73,6 +73,8 @@ public final class ImmutableMapSerializerExtension implements SerializerExtensio
     private final Serializer valueTypeSerializer;
     private final SerializerFactory factory;
     private final ProcessingEnvironment processingEnv;
+    // Computed on first use and then reused, like the proxy types of the keys and values.
+    private TypeMirror proxyFieldType;
 
     ImmutableMapSerializer(
         TypeMirror keyType,
@@ -93,11 +95,15 @@ public final class ImmutableMapSerializerExtension implements SerializerExtensio
 
     @Override
     public TypeMirror proxyFieldType() {
-      TypeElement immutableMapTypeElement =
-          processingEnv.getElementUtils().getTypeElement(ImmutableMap.class.getCanonicalName());
-      return processingEnv
-          .getTypeUtils()
-          .getDeclaredType(immutableMapTypeElement, keyProxyType, valueProxyType);
+      if (proxyFieldType == null) {
+        TypeElement immutableMapTypeElement =
+            processingEnv.getElementUtils().getTypeElement(ImmutableMap.class.getCanonicalName());
+        proxyFieldType =
+            processingEnv
+                .getTypeUtils()
+                .getDeclaredType(immutableMapTypeElement, keyProxyType, valueProxyType);
+      }
+      return proxyFieldType;
     }
 
     @Override
@@ -18,7 +18,7 @@ package com.google.auto.value.extension.toprettystring.processor;
 
 import static com.google.auto.common.MoreElements.getLocalAndInheritedMethods;
 import static com.google.auto.common.MoreTypes.asTypeElement;
-import static com.google.auto.value.extension.toprettystring.processor.ExtensionClassTypeSpecBuilder.extensionClassTypeSpecBuilder;
+import static com.google.auto.value.extension.processor.ExtensionClassTypeSpecBuilder.extensionClassTypeSpecBuilder;
 import static com.google.auto.value.extension.toprettystring.processor.ToPrettyStringMethods.toPrettyStringMethod;
 import static com.google.auto.value.extension.toprettystring.processor.ToPrettyStringMethods.toPrettyStringMethods;
 import static com.google.common.collect.ImmutableList.toImmutableList;
@@ -47,6 +47,7 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -83,7 +84,8 @@ public final class ToPrettyStringExtension extends AutoValueExtension {
   public String generateClass(
       Context context, String className, String classToExtend, boolean isFinal) {
     TypeSpec type =
-        extensionClassTypeSpecBuilder(context, className, classToExtend, isFinal)
+        extensionClassTypeSpecBuilder(
+                context, ToPrettyStringExtension.class, className, classToExtend, isFinal)
             .addMethods(toPrettyStringMethodSpecs(context))
             .build();
     return JavaFile.builder(context.packageName(), type)
@@ -139,15 +141,27 @@ public final class ToPrettyStringExtension extends AutoValueExtension {
     private final Map<Equivalence.Wrapper<TypeMirror>, MethodSpec> delegateMethods =
         new LinkedHashMap<>();
     private final Set<String> methodNames = new HashSet<>();
+    // The same few well-known types are needed for every property. This object only lives for
+    // the generation of one class, so it can't see types from another round.
+    private final Map<String, Optional<TypeElement>> typeElements = new HashMap<>();
+    private final KindVisitor kindVisitor;
 
     private ToPrettyStringImplementation(Context context) {
       this.types = context.processingEnvironment().getTypeUtils();
       this.elements = context.processingEnvironment().getElementUtils();
+      this.kindVisitor = new KindVisitor(types, elements);
       // do not submit: what about "inherited" static methods?
       getLocalAndInheritedMethods(context.autoValueClass(), types, elements)
           .forEach(method -> methodNames.add(method.getSimpleName().toString()));
     }
 
+    /** Equivalent to {@link Elements#getTypeElement}, but remembers the answers. */
+    private TypeElement typeElement(String name) {
+      return typeElements
+          .computeIfAbsent(name, n -> Optional.ofNullable(elements.getTypeElement(n)))
+          .orElse(null);
+    }
+
     static ToPrettyStringImplementation create(Context context) {
       ToPrettyStringImplementation implemention = new ToPrettyStringImplementation(context);
       context
@@ -178,7 +192,7 @@ public final class ToPrettyStringExtension extends AutoValueExtension {
      * @param type the type of the {@code propertyAccess}.
      */
     private CodeBlock format(CodeBlock propertyAccess, CodeBlock indentAccess, TypeMirror type) {
-      PrettyPrintableKind printableKind = type.accept(new KindVisitor(types, elements), null);
+      PrettyPrintableKind printableKind = type.accept(kindVisitor, null);
       DelegateMethod delegateMethod = new DelegateMethod(propertyAccess, indentAccess);
       switch (printableKind) {
         case PRIMITIVE:
@@ -186,8 +200,7 @@ public final class ToPrettyStringExtension extends AutoValueExtension {
         case REGULAR_OBJECT:
           return delegateMethod
               .methodName("format")
-              .invocation(
-                  elements.getTypeElement("java.lang.Object").asType(), () -> reindent("toString"));
+              .invocation(typeElement("java.lang.Object").asType(), () -> reindent("toString"));
         case HAS_TO_PRETTY_STRING_METHOD:
           ExecutableElement method =
               toPrettyStringMethod(asTypeElement(type), types, elements).get();
@@ -381,22 +394,22 @@ public final class ToPrettyStringExtension extends AutoValueExtension {
 
     private ImmutableList<TypeMirror> resolvedTypeParameters(
         TypeMirror propertyType, String interfaceName) {
-      return elements.getTypeElement(interfaceName).getTypeParameters().stream()
+      return typeElement(interfaceName).getTypeParameters().stream()
           .map(p -> types.asMemberOf(MoreTypes.asDeclared(propertyType), p))
           .collect(toImmutableList());
     }
 
     private DeclaredType collectionOf(TypeMirror elementType) {
-      return types.getDeclaredType(elements.getTypeElement("java.util.Collection"), elementType);
+      return types.getDeclaredType(typeElement("java.util.Collection"), elementType);
     }
 
     private DeclaredType mapOf(TypeMirror keyType, TypeMirror valueType) {
-      return types.getDeclaredType(elements.getTypeElement("java.util.Map"), keyType, valueType);
+      return types.getDeclaredType(typeElement("java.util.Map"), keyType, valueType);
     }
 
     private DeclaredType multimapOf(TypeMirror keyType, TypeMirror valueType) {
       return types.getDeclaredType(
-          elements.getTypeElement("com.google.common.collect.Multimap"), keyType, valueType);
+          typeElement("com.google.common.collect.Multimap"), keyType, valueType);
     }
 
     /** Returns a valid Java identifier for method or variable of type {@code type}. */
@@ -438,11 +451,11 @@ public final class ToPrettyStringExtension extends AutoValueExtension {
     }
 
     boolean isMapOrMultimap(TypeMirror type) {
-      TypeMirror mapType = elements.getTypeElement("java.util.Map").asType();
+      TypeMirror mapType = typeElement("java.util.Map").asType();
       if (types.isAssignable(type, types.erasure(mapType))) {
         return true;
       }
-      TypeElement multimapElement = elements.getTypeElement("com.google.common.collect.Multimap");
+      TypeElement multimapElement = typeElement("com.google.common.collect.Multimap");
       return multimapElement != null
           && types.isAssignable(type, types.erasure(multimapElement.asType()));
     }
@@ -504,6 +517,8 @@ public final class ToPrettyStringExtension extends AutoValueExtension {
     static class KindVisitor extends SimpleTypeVisitor8<PrettyPrintableKind, Void> {
       private final Elements elements;
       private final Types types;
+      // The erasure of each type in KINDS_BY_SUPERTYPE, or empty if it is not on the classpath.
+      private final Map<String, Optional<TypeMirror>> erasedSupertypes = new HashMap<>();
 
       KindVisitor(Types types, Elements elements) {
         super(REGULAR_OBJECT); // default value, covers generic types
@@ -534,9 +549,14 @@ public final class ToPrettyStringExtension extends AutoValueExtension {
         }
 
         for (Map.Entry<String, PrettyPrintableKind> entry : KINDS_BY_SUPERTYPE.entrySet()) {
-          TypeElement supertypeElement = elements.getTypeElement(entry.getKey());
-          if (supertypeElement != null
-              && types.isAssignable(declaredType, types.erasure(supertypeElement.asType()))) {
+          Optional<TypeMirror> erasedSupertype =
+              erasedSupertypes.computeIfAbsent(
+                  entry.getKey(),
+                  name ->
+                      Optional.ofNullable(elements.getTypeElement(name))
+                          .map(element -> types.erasure(element.asType())));
+          if (erasedSupertype.isPresent()
+              && types.isAssignable(declaredType, erasedSupertype.get())) {
             return entry.getValue();
           }
         }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.processor;
+
+import static com.google.auto.common.MoreElements.getLocalAndInheritedMethods;
+import static com.google.auto.common.MoreElements.getPackage;
+import static com.google.auto.value.processor.ClassNames.AUTO_ONE_OF_NAME;
+import static com.google.auto.value.processor.ClassNames.AUTO_VALUE_NAME;
+
+import com.google.auto.common.MoreElements;
+import com.google.auto.common.MoreTypes;
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * A wrapper for properties whose string form can be appended directly to a {@code StringBuilder},
+ * by a generated {@code appendTo(StringBuilder)} method. That is the case if the property type is
+ * itself an {@code @AutoValue} or {@code @AutoOneOf} class that has an abstract {@code
+ * appendTo(StringBuilder)} method, and whose {@code toString()} is also generated, so that we will
+ * have implemented the two consistently. It is also the case if the property is a {@code List} or
+ * {@code Set} of such a type. We only consider the collection types listed here, since we know that
+ * their {@code toString()} is {@code [a, b, c]}.
+ */
+public class Appendish {
+  private static final ImmutableSet<String> AUTO_ANNOTATION_NAMES =
+      ImmutableSet.of(AUTO_VALUE_NAME, AUTO_ONE_OF_NAME);
+
+  private static final ImmutableSet<String> COLLECTION_CLASS_NAMES =
+      ImmutableSet.of(
+          "java.util.List",
+          "java.util.Set",
+          "java.util.SortedSet",
+          "java.util.NavigableSet",
+          "com.".concat("google.common.collect.ImmutableList"), // subterfuge to foil shading
+          "com.".concat("google.common.collect.ImmutableSet"),
+          "com.".concat("google.common.collect.ImmutableSortedSet"));
+
+  private final String elementType;
+
+  private Appendish(String elementType) {
+    this.elementType = elementType;
+  }
+
+  /**
+   * Returns an instance for the given property type, or null if its string form cannot be appended
+   * directly.
+   *
+   * @param type the property type.
+   * @param pkg the package of the generated class, which must be able to call {@code appendTo}.
+   */
+  static Appendish createIfAppendable(
+      TypeMirror type, String pkg, Types typeUtils, Elements elementUtils) {
+    if (hasAppendTo(type, pkg, typeUtils, elementUtils)) {
+      return new Appendish("");
+    }
+    if (type.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    DeclaredType declaredType = MoreTypes.asDeclared(type);
+    TypeElement typeElement = MoreElements.asType(declaredType.asElement());
+    List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+    if (!COLLECTION_CLASS_NAMES.contains(typeElement.getQualifiedName().toString())
+        || typeArguments.size() != 1) {
+      return null;
+    }
+    TypeMirror elementType = typeArguments.get(0);
+    if (elementType.getKind() == TypeKind.WILDCARD) {
+      elementType = ((WildcardType) elementType).getExtendsBound();
+      if (elementType == null) {
+        return null;
+      }
+    }
+    if (hasAppendTo(elementType, pkg, typeUtils, elementUtils)) {
+      return new Appendish(TypeEncoder.encode(elementType));
+    }
+    return null;
+  }
+
+  private static boolean hasAppendTo(
+      TypeMirror type, String pkg, Types typeUtils, Elements elementUtils) {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return false;
+    }
+    TypeElement typeElement = MoreTypes.asTypeElement(type);
+    boolean generated =
+        typeElement.getAnnotationMirrors().stream()
+            .map(a -> MoreTypes.asTypeElement(a.getAnnotationType()).getQualifiedName().toString())
+            .anyMatch(AUTO_ANNOTATION_NAMES::contains);
+    if (!generated) {
+      return false;
+    }
+    boolean accessibleAppendTo = false;
+    boolean generatedToString = true;
+    for (ExecutableElement method :
+        getLocalAndInheritedMethods(typeElement, typeUtils, elementUtils)) {
+      switch (AutoValueishProcessor.objectMethodToOverride(method)) {
+        case APPEND_TO:
+          accessibleAppendTo =
+              method.getModifiers().contains(Modifier.ABSTRACT)
+                  && (method.getModifiers().contains(Modifier.PUBLIC)
+                      || (!method.getModifiers().contains(Modifier.PRIVATE)
+                          && getPackage(typeElement).getQualifiedName().contentEquals(pkg)
+                          && getPackage(method).getQualifiedName().contentEquals(pkg)));
+          break;
+        case TO_STRING:
+          // If toString() is inherited from Object or abstract, it will be generated, consistently
+          // with appendTo. Otherwise it is hand-written, and appendTo would not agree with it, so
+          // we must call toString() instead.
+          generatedToString =
+              method.getModifiers().contains(Modifier.ABSTRACT)
+                  || MoreElements.asType(method.getEnclosingElement())
+                      .getQualifiedName()
+                      .contentEquals("java.lang.Object");
+          break;
+        default:
+      }
+    }
+    return accessibleAppendTo && generatedToString;
+  }
+
+  /**
+   * Returns true if the property is a collection whose elements are appendable, rather than being
+   * appendable itself.
+   */
+  public boolean isCollection() {
+    return !elementType.isEmpty();
+  }
+
+  /**
+   * Returns the element type of a collection property, as a string suitable for the generated code.
+   * This is empty if {@link #isCollection()} is false.
+   */
+  public String getElementType() {
+    return elementType;
+  }
+}
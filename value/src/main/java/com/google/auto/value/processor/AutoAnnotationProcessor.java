@@ -15,7 +15,6 @@
  */
 package com.google.auto.value.processor;
 
-import static com.google.auto.common.GeneratedAnnotations.generatedAnnotation;
 import static com.google.auto.value.processor.ClassNames.AUTO_ANNOTATION_NAME;
 import static com.google.common.collect.Maps.immutableEntry;
 import static java.util.Comparator.comparing;
@@ -83,6 +82,7 @@ public class AutoAnnotationProcessor extends AbstractProcessor {
   private Elements elementUtils;
   private Types typeUtils;
   private TypeMirror javaLangObject;
+  private TypeLookupCache typeLookupCache;
 
   @Override
   public SourceVersion getSupportedSourceVersion() {
@@ -91,7 +91,7 @@ public class AutoAnnotationProcessor extends AbstractProcessor {
 
   @Override
   public ImmutableSet<String> getSupportedOptions() {
-    return ImmutableSet.of(Nullables.NULLABLE_OPTION);
+    return ImmutableSet.of(Nullables.NULLABLE_OPTION, TypeLookupCache.STATISTICS_OPTION);
   }
 
   @Override
@@ -100,6 +100,7 @@ public class AutoAnnotationProcessor extends AbstractProcessor {
     this.elementUtils = processingEnv.getElementUtils();
     this.typeUtils = processingEnv.getTypeUtils();
     this.javaLangObject = elementUtils.getTypeElement("java.lang.Object").asType();
+    this.typeLookupCache = new TypeLookupCache(elementUtils, typeUtils);
   }
 
   /**
@@ -124,6 +125,15 @@ public class AutoAnnotationProcessor extends AbstractProcessor {
 
   @Override
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    typeLookupCache.clear();
+    if (roundEnv.processingOver()
+        && processingEnv.getOptions().containsKey(TypeLookupCache.STATISTICS_OPTION)) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.NOTE,
+              "@AutoAnnotation type lookup cache: " + typeLookupCache.statistics());
+    }
     process(roundEnv);
     return false;
   }
@@ -183,14 +193,15 @@ public class AutoAnnotationProcessor extends AbstractProcessor {
     }
     vars.invariableHashes = invariableHashes.keySet();
     String text = vars.toText();
-    text = TypeEncoder.decode(text, processingEnv, pkg, annotationElement.asType());
-    text = Reformatter.fixup(text);
+    TypeEncoder.DecodedText decodedText =
+        TypeEncoder.decodeAndReformat(text, typeLookupCache, pkg, annotationElement.asType());
     String fullName = fullyQualifiedName(pkg, generatedClassName);
-    writeSourceFile(fullName, text, methodClass);
+    writeSourceFile(fullName, decodedText, methodClass);
   }
 
   private String getGeneratedTypeName() {
-    return generatedAnnotation(elementUtils, processingEnv.getSourceVersion())
+    return typeLookupCache
+        .generatedAnnotation(processingEnv.getSourceVersion())
         .map(generatedAnnotation -> TypeEncoder.encode(generatedAnnotation.asType()))
         .orElse("");
   }
@@ -495,12 +506,13 @@ public class AutoAnnotationProcessor extends AbstractProcessor {
     return Hashing.murmur3_128().hashUnencodedChars(namesAndTypesString).asLong();
   }
 
-  private void writeSourceFile(String className, String text, TypeElement originatingType) {
+  private void writeSourceFile(
+      String className, TypeEncoder.DecodedText text, TypeElement originatingType) {
     try {
       JavaFileObject sourceFile =
           processingEnv.getFiler().createSourceFile(className, originatingType);
       try (Writer writer = sourceFile.openWriter()) {
-        writer.write(text);
+        text.writeTo(writer);
       }
     } catch (IOException e) {
       // This should really be an error, but we make it a warning in the hope of resisting Eclipse
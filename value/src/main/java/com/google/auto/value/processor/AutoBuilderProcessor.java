@@ -15,7 +15,6 @@
  */
 package com.google.auto.value.processor;
 
-import static com.google.auto.common.GeneratedAnnotations.generatedAnnotation;
 import static com.google.auto.common.MoreElements.getLocalAndInheritedMethods;
 import static com.google.auto.common.MoreElements.getPackage;
 import static com.google.auto.value.processor.AutoValueProcessor.OMIT_IDENTIFIERS_OPTION;
@@ -93,7 +92,8 @@ public class AutoBuilderProcessor extends AutoValueishProcessor {
 
   @Override
   public Set<String> getSupportedOptions() {
-    return ImmutableSet.of(OMIT_IDENTIFIERS_OPTION, ALLOW_OPTION);
+    return ImmutableSet.of(
+        OMIT_IDENTIFIERS_OPTION, ALLOW_OPTION, TypeLookupCache.STATISTICS_OPTION);
   }
 
   private TypeMirror javaLangVoid;
@@ -218,9 +218,10 @@ public class AutoBuilderProcessor extends AutoValueishProcessor {
     vars.toBuilderMethods = ImmutableList.of();
     defineSharedVarsForType(autoBuilderType, ImmutableSet.of(), nullables, vars);
     String text = vars.toText();
-    text = TypeEncoder.decode(text, processingEnv, vars.pkg, autoBuilderType.asType());
-    text = Reformatter.fixup(text);
-    writeSourceFile(generatedClassName, text, autoBuilderType);
+    writeSourceFile(
+        generatedClassName,
+        TypeEncoder.decodeAndReformat(text, typeLookupCache(), vars.pkg, autoBuilderType.asType()),
+        autoBuilderType);
     forwardingClassName.ifPresent(
         n -> generateForwardingClass(n, executable, builtType, autoBuilderType));
   }
@@ -654,15 +655,18 @@ public class AutoBuilderProcessor extends AutoValueishProcessor {
     vars.props = annotationBuilderPropertySet(annotationType);
     vars.pkg = TypeSimplifier.packageNameOf(autoBuilderType);
     vars.generated =
-        generatedAnnotation(elementUtils(), processingEnv.getSourceVersion())
+        typeLookupCache()
+            .generatedAnnotation(processingEnv.getSourceVersion())
             .map(annotation -> TypeEncoder.encode(annotation.asType()))
             .orElse("");
     vars.className = TypeSimplifier.simpleNameOf(autoAnnotationClassName);
     vars.annotationType = TypeEncoder.encode(annotationType.asType());
     String text = vars.toText();
-    text = TypeEncoder.decode(text, processingEnv, vars.pkg, /* baseType= */ javaLangVoid);
-    text = Reformatter.fixup(text);
-    writeSourceFile(autoAnnotationClassName, text, autoBuilderType);
+    writeSourceFile(
+        autoAnnotationClassName,
+        TypeEncoder.decodeAndReformat(
+            text, typeLookupCache(), vars.pkg, /* baseType= */ javaLangVoid),
+        autoBuilderType);
     addDeferredType(autoBuilderType, autoAnnotationClassName);
   }
 
@@ -70,7 +70,7 @@ public class AutoOneOfProcessor extends AutoValueishProcessor {
 
   @Override
   public ImmutableSet<String> getSupportedOptions() {
-    return ImmutableSet.of(Nullables.NULLABLE_OPTION);
+    return ImmutableSet.of(Nullables.NULLABLE_OPTION, TypeLookupCache.STATISTICS_OPTION);
   }
 
   @Override
@@ -116,9 +116,10 @@ public class AutoOneOfProcessor extends AutoValueishProcessor {
     defineVarsForType(autoOneOfType, vars, propertyMethodsAndTypes, kindGetter, nullables);
 
     String text = vars.toText();
-    text = TypeEncoder.decode(text, processingEnv, vars.pkg, autoOneOfType.asType());
-    text = Reformatter.fixup(text);
-    writeSourceFile(subclass, text, autoOneOfType);
+    writeSourceFile(
+        subclass,
+        TypeEncoder.decodeAndReformat(text, typeLookupCache(), vars.pkg, autoOneOfType.asType()),
+        autoOneOfType);
   }
 
   private DeclaredType mirrorForKindType(TypeElement autoOneOfType) {
@@ -262,13 +263,14 @@ public class AutoOneOfProcessor extends AutoValueishProcessor {
       Nullables nullables) {
     vars.props =
         propertySet(
+            type,
             propertyMethodsAndTypes,
             /* annotatedPropertyFields= */ ImmutableListMultimap.of(),
             /* annotatedPropertyMethods= */ ImmutableListMultimap.of(),
             nullables);
     vars.kindGetter = kindGetter.getSimpleName().toString();
     vars.kindType = TypeEncoder.encode(kindGetter.getReturnType());
-    TypeElement javaIoSerializable = elementUtils().getTypeElement("java.io.Serializable");
+    TypeElement javaIoSerializable = typeLookupCache().getTypeElement("java.io.Serializable");
     vars.serializable =
         javaIoSerializable != null // just in case
             && typeUtils().isAssignable(type.asType(), javaIoSerializable.asType());
@@ -23,6 +23,7 @@ import static com.google.common.collect.Sets.difference;
 import static com.google.common.collect.Sets.intersection;
 import static java.util.Comparator.naturalOrder;
 import static java.util.stream.Collectors.joining;
+import static javax.lang.model.util.ElementFilter.methodsIn;
 
 import com.google.auto.service.AutoService;
 import com.google.auto.value.extension.AutoValueExtension;
@@ -42,6 +43,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.ServiceConfigurationError;
 import java.util.Set;
+import java.util.stream.Stream;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.SupportedAnnotationTypes;
@@ -89,7 +91,7 @@ public class AutoValueProcessor extends AutoValueishProcessor {
 
   private AutoValueProcessor(
       Iterable<? extends AutoValueExtension> testExtensions, ClassLoader loaderForExtensions) {
-    super(AUTO_VALUE_NAME, /* appliesToInterfaces= */ false);
+    super(AUTO_VALUE_NAME, /* appliesToInterfaces= */ true);
     this.extensions = ImmutableList.copyOf(testExtensions);
     this.loaderForExtensions = loaderForExtensions;
   }
@@ -143,6 +145,7 @@ public class AutoValueProcessor extends AutoValueishProcessor {
     builder
         .add(OMIT_IDENTIFIERS_OPTION)
         .add(Nullables.NULLABLE_OPTION)
+        .add(TypeLookupCache.STATISTICS_OPTION)
         .addAll(optionsFor(incrementalType));
     for (AutoValueExtension extension : extensions) {
       builder.addAll(extension.getSupportedOptions());
@@ -201,6 +204,9 @@ public class AutoValueProcessor extends AutoValueishProcessor {
     ImmutableSet<ExecutableElement> methods =
         getLocalAndInheritedMethods(
             type, processingEnv.getTypeUtils(), processingEnv.getElementUtils());
+    if (type.getKind().isInterface()) {
+      methods = withObjectMethods(methods);
+    }
     ImmutableSet<ExecutableElement> abstractMethods = abstractMethodsIn(methods);
 
     BuilderSpec builderSpec = new BuilderSpec(type, processingEnv, errorReporter());
@@ -264,6 +270,13 @@ public class AutoValueProcessor extends AutoValueishProcessor {
     vars.identifiers = !processingEnv.getOptions().containsKey(OMIT_IDENTIFIERS_OPTION);
     Nullables nullables = Nullables.fromMethods(processingEnv, methods);
     defineSharedVarsForType(type, methods, nullables, vars);
+    if (vars.appendTo
+        && consumedMethods.stream()
+            .anyMatch(m -> objectMethodToOverride(m) == ObjectMethod.TO_STRING)) {
+      // An extension such as ToPrettyStringExtension implements toString() instead.
+      reportAppendToWithoutToString(type);
+      vars.appendTo = false;
+    }
     defineVarsForType(
         type,
         vars,
@@ -290,19 +303,69 @@ public class AutoValueProcessor extends AutoValueishProcessor {
     vars.finalSubclass = finalSubclass;
     vars.isFinal = (subclassDepth == 0);
     vars.modifiers = vars.isFinal ? "final " : "abstract ";
+    vars.isInterface = type.getKind().isInterface();
+    vars.record =
+        vars.isInterface
+            && vars.isFinal
+            && applicableExtensions.isEmpty()
+            && processingEnv.getSourceVersion().ordinal() >= RECORDS_SOURCE_VERSION
+            && vars.identifiers
+            && !vars.appendTo
+            && !vars.stableHashCode
+            && vars.gwtCompatibleAnnotation.isEmpty()
+            && vars.props.stream().allMatch(AutoValueProcessor::canBeRecordComponent);
     vars.builderClassModifiers =
         consumedBuilderMethods.isEmpty()
             ? vars.isFinal ? "static final " : "static "
             : "abstract static ";
 
     String text = vars.toText();
-    text = TypeEncoder.decode(text, processingEnv, vars.pkg, type.asType());
-    text = Reformatter.fixup(text);
-    writeSourceFile(subclass, text, type);
+    writeSourceFile(
+        subclass,
+        TypeEncoder.decodeAndReformat(text, typeLookupCache(), vars.pkg, type.asType()),
+        type);
     GwtSerialization gwtSerialization = new GwtSerialization(gwtCompatibility, processingEnv, type);
     gwtSerialization.maybeWriteGwtSerializer(vars, finalSubclass);
   }
 
+  /**
+   * Returns the given methods of an interface, preceded by the {@code equals}, {@code hashCode},
+   * and {@code toString} methods of {@code Object}. An interface does not inherit those methods,
+   * but its implementation does, so they determine which methods we generate just as they do for an
+   * abstract class. An abstract redeclaration in the interface comes later and so takes precedence.
+   */
+  private ImmutableSet<ExecutableElement> withObjectMethods(
+      ImmutableSet<ExecutableElement> methods) {
+    TypeElement object = elementUtils().getTypeElement(Object.class.getName());
+    return ImmutableSet.<ExecutableElement>builder()
+        .addAll(
+            methodsIn(object.getEnclosedElements()).stream()
+                .filter(m -> objectMethodToOverride(m) != ObjectMethod.NONE)
+                .collect(toImmutableList()))
+        .addAll(methods)
+        .build();
+  }
+
+  /** The ordinal of {@code SourceVersion.RELEASE_16}, which may not exist when we are running. */
+  private static final int RECORDS_SOURCE_VERSION = 16;
+
+  /**
+   * Returns true if the given property can be a component of a generated record, meaning that the
+   * record's own {@code equals}, {@code hashCode}, and accessor method are what we would have
+   * generated for it in a class. That is not true for arrays, which AutoValue compares by content,
+   * or for properties with annotations to be copied onto the field or method, except for a
+   * {@code @Nullable} annotation, which is propagated from the record component to both.
+   */
+  private static boolean canBeRecordComponent(Property p) {
+    GetterProperty getterProperty = (GetterProperty) p;
+    String nullableAnnotation = p.getNullableAnnotation().trim();
+    return p.getKind() != TypeKind.ARRAY
+        && Stream.concat(
+                getterProperty.getFieldAnnotations().stream(),
+                getterProperty.getMethodAnnotations().stream())
+            .allMatch(nullableAnnotation::equals);
+  }
+
   // Invokes each of the given extensions to generate its subclass, and returns the number of
   // hierarchy classes that extensions generated. This number is then the number of $ characters
   // that should precede the name of the AutoValue implementation class.
@@ -500,7 +563,11 @@ public class AutoValueProcessor extends AutoValueishProcessor {
         propertyMethodAnnotationMap(type, propertyMethods);
     vars.props =
         propertySet(
-            propertyMethodsAndTypes, annotatedPropertyFields, annotatedPropertyMethods, nullables);
+            type,
+            propertyMethodsAndTypes,
+            annotatedPropertyFields,
+            annotatedPropertyMethods,
+            nullables);
     // Check for @AutoValue.Builder and add appropriate variables if it is present.
     maybeBuilder.ifPresent(
         builder -> {
@@ -18,7 +18,7 @@ package com.google.auto.value.processor;
 import com.google.escapevelocity.Template;
 
 /**
- * The variables to substitute into the autovalue.vm template.
+ * The variables to substitute into the autovalue.vm or autovaluerecord.vm template.
  *
  * @author emcmanus@google.com (Éamonn McManus)
  */
@@ -49,10 +49,20 @@ class AutoValueTemplateVars extends AutoValueOrBuilderTemplateVars {
    */
   String modifiers;
 
+  /** True if the {@code @AutoValue} type is an interface rather than an abstract class. */
+  Boolean isInterface;
+
+  /**
+   * True if the implementation should be a {@code record} that implements the {@code @AutoValue}
+   * interface, using autovaluerecord.vm. Otherwise it is a class, using autovalue.vm.
+   */
+  Boolean record;
+
   private static final Template TEMPLATE = parsedTemplateForResource("autovalue.vm");
+  private static final Template RECORD_TEMPLATE = parsedTemplateForResource("autovaluerecord.vm");
 
   @Override
   Template parsedTemplate() {
-    return TEMPLATE;
+    return record ? RECORD_TEMPLATE : TEMPLATE;
   }
 }
@@ -16,12 +16,12 @@
 package com.google.auto.value.processor;
 
 import static com.google.auto.common.AnnotationMirrors.getAnnotationValue;
-import static com.google.auto.common.GeneratedAnnotations.generatedAnnotation;
 import static com.google.auto.common.MoreElements.asType;
 import static com.google.auto.common.MoreElements.getPackage;
 import static com.google.auto.common.MoreElements.isAnnotationPresent;
 import static com.google.auto.value.processor.ClassNames.AUTO_VALUE_PACKAGE_NAME;
 import static com.google.auto.value.processor.ClassNames.COPY_ANNOTATIONS_NAME;
+import static com.google.auto.value.processor.ClassNames.STABLE_HASH_CODE_NAME;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
@@ -117,10 +117,13 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
 
   private ErrorReporter errorReporter;
 
+  private TypeLookupCache typeLookupCache;
+
   @Override
   public synchronized void init(ProcessingEnvironment processingEnv) {
     super.init(processingEnv);
     errorReporter = new ErrorReporter(processingEnv);
+    typeLookupCache = new TypeLookupCache(elementUtils(), typeUtils());
     annotationType = elementUtils().getTypeElement(annotationClassName);
     if (annotationType != null) {
       simpleAnnotationName = annotationType.getSimpleName().toString();
@@ -139,6 +142,11 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
     return processingEnv.getElementUtils();
   }
 
+  /** The cache of type lookups for the current round, used when decoding generated text. */
+  final TypeLookupCache typeLookupCache() {
+    return typeLookupCache;
+  }
+
   /**
    * Qualified names of {@code @AutoValue} (etc) classes that we attempted to process but had to
    * abandon because we needed other types that they referenced and those other types were missing.
@@ -273,6 +281,22 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
       return annotatedType.getType().getKind();
     }
 
+    /**
+     * Returns true if this property is an enum, which a {@code @AutoValue.StableHashCode} class
+     * hashes by name.
+     */
+    public boolean isEnumType() {
+      return StableHashCodes.isEnum(annotatedType.getType());
+    }
+
+    /**
+     * Returns true if this property is a {@code Class}, which a {@code @AutoValue.StableHashCode}
+     * class hashes by name.
+     */
+    public boolean isClassType() {
+      return StableHashCodes.isClass(annotatedType.getType());
+    }
+
     /**
      * Returns an {@link Optionalish} representing the kind of Optional that this property's type
      * is, or null if the type is not an Optional of any kind.
@@ -326,6 +350,7 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
     private final ExecutableElement method;
     private final ImmutableList<String> fieldAnnotations;
     private final ImmutableList<String> methodAnnotations;
+    private final Appendish appendish;
 
     GetterProperty(
         String name,
@@ -336,7 +361,8 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
         ImmutableList<String> fieldAnnotations,
         ImmutableList<String> methodAnnotations,
         Optional<String> nullableAnnotation,
-        Nullables nullables) {
+        Nullables nullables,
+        Appendish appendish) {
       super(
           name,
           identifier,
@@ -350,6 +376,7 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
       this.method = method;
       this.fieldAnnotations = fieldAnnotations;
       this.methodAnnotations = methodAnnotations;
+      this.appendish = appendish;
     }
 
     /**
@@ -372,6 +399,14 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
       return SimpleMethod.access(method);
     }
 
+    /**
+     * Returns an {@link Appendish} if this property can be appended directly to the {@code
+     * StringBuilder} of a generated {@code appendTo} method, or null if it can't.
+     */
+    public Appendish getAppendish() {
+      return appendish;
+    }
+
     @Override
     public boolean equals(Object obj) {
       return obj instanceof GetterProperty && ((GetterProperty) obj).method.equals(method);
@@ -404,6 +439,7 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
                   + " because the annotation class was not found");
       return false;
     }
+    typeLookupCache.clear();
     ImmutableMap<TypeElement, String> deferredTypes =
         deferredTypeNames.entrySet().stream()
             .collect(
@@ -425,6 +461,10 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
                 type.getQualifiedName(),
                 including);
           });
+      if (processingEnv.getOptions().containsKey(TypeLookupCache.STATISTICS_OPTION)) {
+        errorReporter.reportNote(
+            null, "@%s type lookup cache: %s", simpleAnnotationName, typeLookupCache.statistics());
+      }
       return false;
     }
     Collection<? extends Element> annotatedElements =
@@ -526,6 +566,7 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
    *     AutoValue.CopyAnnotations} also do not appear here.
    */
   final ImmutableSet<Property> propertySet(
+      TypeElement type,
       ImmutableMap<ExecutableElement, AnnotatedTypeMirror> propertyMethodsAndTypes,
       ImmutableListMultimap<ExecutableElement, AnnotationMirror> annotatedPropertyFields,
       ImmutableListMultimap<ExecutableElement, AnnotationMirror> annotatedPropertyMethods,
@@ -536,6 +577,7 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
     fixReservedIdentifiers(methodToIdentifier);
 
     ImmutableSet.Builder<Property> props = ImmutableSet.builder();
+    boolean stableHashCode = hasAnnotationMirror(type, STABLE_HASH_CODE_NAME);
     propertyMethodsAndTypes.forEach(
         (propertyMethod, returnType) -> {
           String propertyTypeString =
@@ -559,7 +601,12 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
                   fieldAnnotations,
                   methodAnnotations,
                   nullableAnnotation,
-                  nullables);
+                  nullables,
+                  Appendish.createIfAppendable(
+                      returnType.getType(),
+                      TypeSimplifier.packageNameOf(type),
+                      typeUtils(),
+                      elementUtils()));
           props.add(p);
           if (p.isNullable() && returnType.getKind().isPrimitive()) {
             errorReporter()
@@ -568,6 +615,16 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
                     "[%sNullPrimitive] Primitive types cannot be @Nullable",
                     simpleAnnotationName);
           }
+          if (stableHashCode && !StableHashCodes.isStableProperty(returnType.getType())) {
+            errorReporter()
+                .reportError(
+                    propertyMethod,
+                    "[%sUnstableHashCode] Property %s of a @StableHashCode class cannot have type"
+                        + " %s, because its hashCode() might not be the same in every JVM",
+                    simpleAnnotationName,
+                    propertyName,
+                    returnType.getType());
+          }
         });
     return props.build();
   }
@@ -582,7 +639,8 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
     vars.origClass = TypeSimplifier.classNameOf(type);
     vars.simpleClassName = TypeSimplifier.simpleNameOf(vars.origClass);
     vars.generated =
-        generatedAnnotation(elementUtils(), processingEnv.getSourceVersion())
+        typeLookupCache
+            .generatedAnnotation(processingEnv.getSourceVersion())
             .map(annotation -> TypeEncoder.encode(annotation.asType()))
             .orElse("");
     vars.formalTypes = TypeEncoder.typeParametersString(type.getTypeParameters());
@@ -594,10 +652,45 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
     vars.toString = methodsToGenerate.containsKey(ObjectMethod.TO_STRING);
     vars.equals = methodsToGenerate.containsKey(ObjectMethod.EQUALS);
     vars.hashCode = methodsToGenerate.containsKey(ObjectMethod.HASH_CODE);
+    boolean stableHashCode = hasAnnotationMirror(type, STABLE_HASH_CODE_NAME);
+    if (stableHashCode && !vars.hashCode) {
+      errorReporter()
+          .reportWarning(
+              type,
+              "[%sStableHashCodeUnused] @StableHashCode has no effect because this class already"
+                  + " has a hashCode() method",
+              simpleAnnotationName);
+    }
+    vars.stableHashCode = stableHashCode && vars.hashCode;
+    ExecutableElement appendTo = methodsToGenerate.get(ObjectMethod.APPEND_TO);
+    if (appendTo != null && !vars.toString) {
+      reportAppendToWithoutToString(type);
+      appendTo = null;
+    }
+    vars.appendTo = appendTo != null;
+    vars.appendToAccess = vars.appendTo ? SimpleMethod.access(appendTo) : "";
+    vars.appendToReturnsBuilder =
+        vars.appendTo && !appendTo.getReturnType().getKind().equals(TypeKind.VOID);
     vars.equalsParameterType = equalsParameterType(methodsToGenerate, nullables);
     vars.serialVersionUID = getSerialVersionUID(type);
   }
 
+  /**
+   * Reports that an abstract {@code appendTo(StringBuilder)} method cannot be implemented, because
+   * {@code toString()} is not being generated. The generated {@code appendTo} appends what the
+   * generated {@code toString()} would return, so it would not agree with any other {@code
+   * toString()}, such as a hand-written one or one that an extension generates.
+   */
+  final void reportAppendToWithoutToString(TypeElement type) {
+    errorReporter()
+        .reportError(
+            type,
+            "[%sAppendToWithoutToString] An abstract appendTo(StringBuilder) method can only be"
+                + " implemented if %s also implements toString(), since the two must agree",
+            simpleAnnotationName,
+            simpleAnnotationName);
+  }
+
   /** Returns the spelling to be used in the generated code for the given list of annotations. */
   static ImmutableList<String> annotationStrings(List<? extends AnnotationMirror> annotations) {
     return annotations.stream()
@@ -633,12 +726,15 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
     NONE,
     TO_STRING,
     EQUALS,
-    HASH_CODE
+    HASH_CODE,
+    APPEND_TO
   }
 
   /**
    * Determines which of the three public non-final methods from {@code java.lang.Object}, if any,
-   * is overridden by the given method.
+   * is overridden by the given method. As a special case, a method {@code appendTo(StringBuilder)}
+   * that returns {@code void} or {@code StringBuilder} is treated like those methods: if it is
+   * abstract, we generate it, consistently with {@code toString()}.
    */
   static ObjectMethod objectMethodToOverride(ExecutableElement method) {
     String name = method.getSimpleName().toString();
@@ -659,6 +755,13 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
               return ObjectMethod.EQUALS;
             }
           }
+        } else if (name.equals("appendTo")) {
+          TypeMirror param = getOnlyElement(method.getParameters()).asType();
+          TypeMirror returnType = method.getReturnType();
+          if (isStringBuilder(param)
+              && (returnType.getKind().equals(TypeKind.VOID) || isStringBuilder(returnType))) {
+            return ObjectMethod.APPEND_TO;
+          }
         }
         break;
       default:
@@ -667,6 +770,13 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
     return ObjectMethod.NONE;
   }
 
+  private static boolean isStringBuilder(TypeMirror type) {
+    return type.getKind().equals(TypeKind.DECLARED)
+        && MoreTypes.asTypeElement(type)
+            .getQualifiedName()
+            .contentEquals("java.lang.StringBuilder");
+  }
+
   /** Returns a bi-map between property names and the corresponding abstract property methods. */
   final ImmutableBiMap<String, ExecutableElement> propertyNameToMethodMap(
       Set<ExecutableElement> propertyMethods) {
@@ -1043,7 +1153,7 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
    * ""}.
    */
   final String getSerialVersionUID(TypeElement type) {
-    TypeMirror serializable = elementUtils().getTypeElement(Serializable.class.getName()).asType();
+    TypeMirror serializable = typeLookupCache.getTypeElement(Serializable.class.getName()).asType();
     if (typeUtils().isAssignable(type.asType(), serializable)) {
       List<VariableElement> fields = ElementFilter.fieldsIn(type.getEnclosedElements());
       for (VariableElement field : fields) {
@@ -1351,11 +1461,16 @@ abstract class AutoValueishProcessor extends AbstractProcessor {
   }
 
   final void writeSourceFile(String className, String text, TypeElement originatingType) {
+    writeSourceFile(className, writer -> writer.write(text), originatingType);
+  }
+
+  final void writeSourceFile(
+      String className, TypeEncoder.DecodedText text, TypeElement originatingType) {
     try {
       JavaFileObject sourceFile =
           processingEnv.getFiler().createSourceFile(className, originatingType);
       try (Writer writer = sourceFile.openWriter()) {
-        writer.write(text);
+        text.writeTo(writer);
       }
     } catch (IOException e) {
       // This should really be an error, but we make it a warning in the hope of resisting Eclipse
@@ -30,9 +30,31 @@ abstract class AutoValueishTemplateVars extends TemplateVars {
   /** Whether to generate a hashCode() method. */
   Boolean hashCode;
 
+  /**
+   * Whether the generated hashCode() method should hash enum and Class properties by name, so that
+   * it is the same in every JVM. That is the case if the class has
+   * {@code @AutoValue.StableHashCode}.
+   */
+  Boolean stableHashCode;
+
   /** Whether to generate a toString() method. */
   Boolean toString;
 
+  /**
+   * Whether to generate an appendTo(StringBuilder) method, because the class has an abstract one.
+   * If so, and if {@link #toString} is true, toString() is generated by calling it.
+   */
+  Boolean appendTo;
+
+  /**
+   * The access modifier of the abstract appendTo(StringBuilder) method, such as {@code "public "},
+   * or empty if there is none. Ignored if {@link #appendTo} is false.
+   */
+  String appendToAccess;
+
+  /** Whether the appendTo(StringBuilder) method returns its argument rather than void. */
+  Boolean appendToReturnsBuilder;
+
   /**
    * A string representing the parameter type declaration of the equals(Object) method, including
    * any annotations. If {@link #equals} is false, this field is ignored (but it must still be
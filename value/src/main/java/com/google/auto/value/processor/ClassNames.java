@@ -30,5 +30,6 @@ final class ClassNames {
   static final String AUTO_VALUE_BUILDER_NAME = AUTO_VALUE_NAME + ".Builder";
   static final String AUTO_BUILDER_NAME = AUTO_VALUE_PACKAGE_NAME + "AutoBuilder";
   static final String COPY_ANNOTATIONS_NAME = AUTO_VALUE_NAME + ".CopyAnnotations";
+  static final String STABLE_HASH_CODE_NAME = AUTO_VALUE_NAME + ".StableHashCode";
   static final String KOTLIN_METADATA_NAME = "kot".concat("lin.Metadata"); // defeat shading
 }
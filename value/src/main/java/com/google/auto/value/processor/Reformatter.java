@@ -16,14 +16,24 @@
 package com.google.auto.value.processor;
 
 import com.google.common.base.CharMatcher;
+import com.google.common.base.Strings;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 
 /**
  * Postprocessor that runs over the output of the template engine in order to make it look nicer.
  * Mostly, this involves removing surplus horizontal and vertical space.
  *
+ * <p>A {@code Reformatter} instance consumes the tokens of the text one at a time and writes the
+ * reformatted text to a {@link Writer} as it goes. That means that callers that are already
+ * scanning the text, like {@link TypeEncoder}, can feed their tokens straight in, without first
+ * building an intermediate string of the whole text.
+ *
  * @author emcmanus@google.com (Éamonn McManus)
  */
-class Reformatter {
+final class Reformatter {
   /**
    * Characters that might start a continuation line. Since Google Style requires splitting before
    * operators, we expect that a continuation line will begin with one of these (or be inside
@@ -32,82 +42,198 @@ class Reformatter {
    */
   private static final CharMatcher OPERATORS = CharMatcher.anyOf("+-*%&|^<>=?:.").precomputed();
 
+  private static final String SPACES = Strings.repeat(" ", 64);
+
+  /** Value of {@link #previous} or {@link #pending} meaning "nothing". */
+  private static final char NONE = 0;
+
   static String fixup(String s) {
-    StringBuilder out = new StringBuilder();
+    StringWriter out = new StringWriter(s.length());
+    try {
+      fixup(s, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // Can't happen with a StringWriter.
+    }
+    return out.toString();
+  }
+
+  /** Like {@link #fixup(String)}, but writes the result to {@code out}. */
+  static void fixup(String s, Writer out) throws IOException {
+    Reformatter reformatter = new Reformatter(out);
     JavaScanner scanner = new JavaScanner(s);
     s = scanner.string();
     int len = s.length();
-    for (int start = 0, previous = 0, braces = 0, parens = 0, end = 0;
-        start < len;
-        previous = start, start = end) {
+    for (int start = 0, end = 0; start < len; start = end) {
       end = scanner.tokenEnd(start);
-      // The tokenized string always ends with \n so we can usually look at s.charAt(end) without
-      // worrying about going past the end of the string.
-      switch (s.charAt(start)) {
-        case '(':
-          parens++;
-          break;
-        case ')':
-          parens--;
-          break;
-        case '{':
-          braces++;
-          break;
-        case '}':
-          braces--;
-          break;
-        case ' ':
-          // This token is a string of consecutive spaces that is not at the start of a line.
-          // Consecutive spaces at the start of a line are attached to the previous newline, and
-          // we delete spaces at the start of the first line. So we are going to compress this
-          // into just one space, and we are going to delete it entirely if it follows '(' or
-          // precedes a newline or one of the punctuation characters here.
-          if (start > 0 && s.charAt(previous) != '(' && "\n.,;)".indexOf(s.charAt(end)) < 0) {
-            out.append(' ');
-          }
-          continue;
-        case '\n':
-          // This token is a newline plus any following spaces (the indentation of the next line).
-          // If it is followed by something other than a newline then we will output the
-          // newline, and replace the following spaces by our computed indentation. Otherwise, the
-          // token is part of a sequence of newlines but it is not the last one. If this is a
-          // context where we delete blank lines, or if this is not the first new line in the
-          // sequence, or if we are at the start of the file, we will delete this one. Otherwise we
-          // will output a single newline with no following indentation. Contexts where we delete
-          // blank lines are inside parentheses or inside more than one set of braces.
-          if (end < len && s.charAt(end) != '\n') {
-            // Omit newlines at the very start of the file. Also delete newline+indent between
-            // ( and ), since that shows up in some places where we output one parameter per line,
-            // when there are no parameters.
-            char prev = s.charAt(previous);
-            char next = s.charAt(end);
-            if (out.length() > 0 && (prev != '(' || next != ')')) {
-              out.append('\n');
-              // Replace any space after the newline with our computed indentation. The algorithm
-              // here is simplistic but works OK for our current templates.
-              int indent = braces * 2;
-              if (parens > 0 || OPERATORS.matches(next)) {
-                indent += 4;
-              } else if (next == '}') {
-                indent -= 2;
-              }
-              for (int i = 0; i < indent; i++) {
-                out.append(' ');
-              }
+      reformatter.append(s, start, end);
+    }
+    reformatter.finish();
+  }
+
+  private final Writer out;
+  private int braces;
+  private int parens;
+  private boolean wroteAnything;
+  private boolean seenAnything;
+
+  /** The first character of the most recently consumed token. */
+  private char previous = NONE;
+
+  /**
+   * Space tokens and newline tokens can only be handled once we know what comes after them, so they
+   * are held here until the next token arrives. This is {@code ' '} for a string of spaces, {@code
+   * '\n'} for a newline plus any following spaces, or {@link #NONE}.
+   */
+  private char pending = NONE;
+
+  /** The value of {@link #previous} at the time {@link #pending} was set. */
+  private char beforePending;
+
+  /** True if {@link #pending} was the very first token of the text. */
+  private boolean pendingIsFirst;
+
+  Reformatter(Writer out) {
+    this.out = out;
+  }
+
+  /**
+   * Consumes one token as returned by {@link JavaScanner#tokenEnd}. This is either a string of
+   * spaces, a newline plus any following spaces, or some other token, which will be copied as-is.
+   */
+  void append(String s, int start, int end) throws IOException {
+    switch (s.charAt(start)) {
+      case ' ':
+        space();
+        break;
+      case '\n':
+        newline();
+        break;
+      default:
+        token(s, start, end);
+        break;
+    }
+  }
+
+  /**
+   * Consumes one or more spaces. Consecutive calls to this method, or calls following {@link
+   * #newline}, are merged in the same way as {@link JavaScanner} would merge the spaces into a
+   * single token.
+   */
+  void space() {
+    if (pending == NONE) {
+      hold(' ');
+    }
+  }
+
+  /** Consumes a newline. Any spaces that follow it will be treated as its indentation. */
+  void newline() throws IOException {
+    release('\n');
+    hold('\n');
+  }
+
+  /**
+   * Consumes the text {@code s.substring(start, end)}, which must not contain spaces or newlines
+   * unless it is a complete comment or string or character literal. The text is copied unchanged.
+   */
+  void token(String s, int start, int end) throws IOException {
+    char c = s.charAt(start);
+    release(c);
+    switch (c) {
+      case '(':
+        parens++;
+        break;
+      case ')':
+        parens--;
+        break;
+      case '{':
+        braces++;
+        break;
+      case '}':
+        braces--;
+        break;
+      default:
+        break;
+    }
+    write(s, start, end - start);
+    previous = c;
+    seenAnything = true;
+  }
+
+  /** Signals that there are no more tokens. The caller is responsible for closing the writer. */
+  void finish() throws IOException {
+    release(NONE);
+  }
+
+  private void hold(char c) {
+    pending = c;
+    beforePending = previous;
+    pendingIsFirst = !seenAnything;
+    seenAnything = true;
+  }
+
+  /**
+   * Handles any pending space or newline token, now that we know that the first character of the
+   * token that follows it is {@code next}, or {@link #NONE} if there is no following token.
+   */
+  private void release(char next) throws IOException {
+    switch (pending) {
+      case ' ':
+        // This token is a string of consecutive spaces that is not at the start of a line.
+        // Consecutive spaces at the start of a line are attached to the previous newline, and
+        // we delete spaces at the start of the first line. So we are going to compress this
+        // into just one space, and we are going to delete it entirely if it follows '(' or
+        // precedes a newline or one of the punctuation characters here.
+        if (!pendingIsFirst && beforePending != '(' && "\n.,;)".indexOf(next) < 0) {
+          write(" ", 0, 1);
+        }
+        break;
+      case '\n':
+        // This token is a newline plus any following spaces (the indentation of the next line).
+        // If it is followed by something other than a newline then we will output the
+        // newline, and replace the following spaces by our computed indentation. Otherwise, the
+        // token is part of a sequence of newlines but it is not the last one. If this is a
+        // context where we delete blank lines, or if this is not the first new line in the
+        // sequence, or if we are at the start of the file, we will delete this one. Otherwise we
+        // will output a single newline with no following indentation. Contexts where we delete
+        // blank lines are inside parentheses or inside more than one set of braces.
+        if (next != NONE && next != '\n') {
+          // Omit newlines at the very start of the file. Also delete newline+indent between
+          // ( and ), since that shows up in some places where we output one parameter per line,
+          // when there are no parameters.
+          if (wroteAnything && (beforePending != '(' || next != ')')) {
+            write("\n", 0, 1);
+            // Replace any space after the newline with our computed indentation. The algorithm
+            // here is simplistic but works OK for our current templates.
+            int indent = braces * 2;
+            if (parens > 0 || OPERATORS.matches(next)) {
+              indent += 4;
+            } else if (next == '}') {
+              indent -= 2;
             }
-            continue;
-          }
-          if (parens == 0 && braces < 2 && s.charAt(previous) != '\n' && out.length() > 0) {
-            out.append('\n');
+            indent(indent);
           }
-          continue;
-        default:
-          break;
-      }
-      out.append(s, start, end);
+        } else if (parens == 0 && braces < 2 && beforePending != '\n' && wroteAnything) {
+          write("\n", 0, 1);
+        }
+        break;
+      default:
+        return;
+    }
+    previous = pending;
+    pending = NONE;
+  }
+
+  private void indent(int indent) throws IOException {
+    for (; indent > SPACES.length(); indent -= SPACES.length()) {
+      write(SPACES, 0, SPACES.length());
+    }
+    if (indent > 0) {
+      write(SPACES, 0, indent);
     }
-    return out.toString();
   }
 
-  private Reformatter() {}
+  private void write(String s, int offset, int length) throws IOException {
+    out.write(s, offset, length);
+    wroteAnything = true;
+  }
 }
@@ -15,6 +15,7 @@
  */
 package com.google.auto.value.processor;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.toList;
 
@@ -31,6 +32,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.ServiceConfigurationError;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 /**
@@ -45,12 +48,55 @@ import java.util.regex.Pattern;
 public final class SimpleServiceLoader {
   private SimpleServiceLoader() {}
 
+  /**
+   * The provider classes found by earlier calls with the class loader that loaded this class, keyed
+   * by {@link #cacheKey}. Build tools that keep a JVM running between compilations, such as Bazel
+   * persistent workers and the Gradle daemon, create a new processor instance for each compilation
+   * but reuse the class loader for the processor path as long as that path does not change. So this
+   * lets later compilations skip reading every {@code META-INF/services} file on that path and
+   * loading the classes it names. If the processor path does change, there is a new class loader,
+   * and with it a new copy of this class and an empty cache. Only the classes are cached, not the
+   * provider instances, since providers may have state and compilations may run concurrently.
+   */
+  private static final ConcurrentMap<String, ImmutableList<Class<?>>> providerClassCache =
+      new ConcurrentHashMap<>();
+
   public static <T> ImmutableList<T> load(Class<? extends T> service, ClassLoader loader) {
     return load(service, loader, Optional.empty());
   }
 
   public static <T> ImmutableList<T> load(
       Class<? extends T> service, ClassLoader loader, Optional<Pattern> allowedMissingClasses) {
+    ImmutableList<Class<? extends T>> providerClasses;
+    if (loader == SimpleServiceLoader.class.getClassLoader()) {
+      String key = cacheKey(service, allowedMissingClasses);
+      ImmutableList<Class<?>> cached = providerClassCache.get(key);
+      if (cached == null) {
+        cached = ImmutableList.copyOf(providerClasses(service, loader, allowedMissingClasses));
+        providerClassCache.put(key, cached);
+      }
+      providerClasses = cached.stream().map(c -> c.asSubclass(service)).collect(toImmutableList());
+    } else {
+      providerClasses = providerClasses(service, loader, allowedMissingClasses);
+    }
+    ImmutableList.Builder<T> providers = ImmutableList.builder();
+    for (Class<? extends T> providerClass : providerClasses) {
+      try {
+        T provider = providerClass.getConstructor().newInstance();
+        providers.add(provider);
+      } catch (ReflectiveOperationException e) {
+        throw new ServiceConfigurationError("Could not construct " + providerClass.getName(), e);
+      }
+    }
+    return providers.build();
+  }
+
+  private static String cacheKey(Class<?> service, Optional<Pattern> allowedMissingClasses) {
+    return service.getName() + allowedMissingClasses.map(p -> "/" + p.pattern()).orElse("");
+  }
+
+  private static <T> ImmutableList<Class<? extends T>> providerClasses(
+      Class<? extends T> service, ClassLoader loader, Optional<Pattern> allowedMissingClasses) {
     String resourceName = "META-INF/services/" + service.getName();
     List<URL> resourceUrls;
     try {
@@ -67,16 +113,7 @@ public final class SimpleServiceLoader {
         throw new ServiceConfigurationError("Could not read " + resourceUrl, e);
       }
     }
-    ImmutableList.Builder<T> providers = ImmutableList.builder();
-    for (Class<? extends T> providerClass : providerClasses.build()) {
-      try {
-        T provider = providerClass.getConstructor().newInstance();
-        providers.add(provider);
-      } catch (ReflectiveOperationException e) {
-        throw new ServiceConfigurationError("Could not construct " + providerClass.getName(), e);
-      }
-    }
-    return providers.build();
+    return providerClasses.build().asList();
   }
 
   private static <T> ImmutableSet<Class<? extends T>> providerClassesFromUrl(
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.processor;
+
+import static com.google.auto.value.processor.ClassNames.STABLE_HASH_CODE_NAME;
+
+import com.google.auto.common.MoreElements;
+import com.google.auto.common.MoreTypes;
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+
+/**
+ * Determines which property types can be hashed by a {@code @AutoValue.StableHashCode} class, in a
+ * way that depends only on the logical value and not on identity hash codes, which differ from one
+ * JVM to the next.
+ */
+final class StableHashCodes {
+  /** Classes whose {@code hashCode()} is specified in terms of their value. */
+  private static final ImmutableSet<String> STABLE_CLASS_NAMES =
+      ImmutableSet.of(
+          "java.lang.String",
+          "java.lang.Boolean",
+          "java.lang.Byte",
+          "java.lang.Short",
+          "java.lang.Character",
+          "java.lang.Integer",
+          "java.lang.Long",
+          "java.lang.Float",
+          "java.lang.Double",
+          "java.util.OptionalInt",
+          "java.util.OptionalLong",
+          "java.util.OptionalDouble");
+
+  /**
+   * Generic classes whose {@code hashCode()} is specified in terms of the hash codes of their
+   * contents, so it is stable if those are.
+   */
+  private static final ImmutableSet<String> STABLE_CONTAINER_NAMES =
+      ImmutableSet.of(
+          "java.util.List",
+          "java.util.Set",
+          "java.util.SortedSet",
+          "java.util.NavigableSet",
+          "java.util.Map",
+          "java.util.SortedMap",
+          "java.util.NavigableMap",
+          "java.util.Optional",
+          "com.".concat("google.common.base.Optional"), // subterfuge to foil shading
+          "com.".concat("google.common.collect.ImmutableList"),
+          "com.".concat("google.common.collect.ImmutableSet"),
+          "com.".concat("google.common.collect.ImmutableSortedSet"),
+          "com.".concat("google.common.collect.ImmutableMap"),
+          "com.".concat("google.common.collect.ImmutableSortedMap"),
+          "com.".concat("google.common.collect.ImmutableBiMap"));
+
+  private StableHashCodes() {}
+
+  /**
+   * Returns true if a property of the given type can be hashed stably. Enum and {@code Class}
+   * properties are allowed here because the generated code hashes them by name, but they are not
+   * allowed as type arguments, since then the container would use their identity hash codes.
+   */
+  static boolean isStableProperty(TypeMirror type) {
+    switch (type.getKind()) {
+      case ARRAY:
+        return ((ArrayType) type).getComponentType().getKind().isPrimitive();
+      case DECLARED:
+        return isEnum(type) || isClass(type) || hasStableHashCode(type);
+      case VOID: // an @AutoOneOf property with no value
+        return true;
+      default:
+        return type.getKind().isPrimitive();
+    }
+  }
+
+  private static boolean hasStableHashCode(TypeMirror type) {
+    if (type.getKind() == TypeKind.WILDCARD) {
+      TypeMirror bound = ((WildcardType) type).getExtendsBound();
+      return bound != null && hasStableHashCode(bound);
+    }
+    if (type.getKind() != TypeKind.DECLARED) {
+      return false;
+    }
+    TypeElement typeElement = MoreTypes.asTypeElement(type);
+    String name = typeElement.getQualifiedName().toString();
+    if (STABLE_CLASS_NAMES.contains(name)) {
+      return true;
+    }
+    if (STABLE_CONTAINER_NAMES.contains(name)) {
+      List<? extends TypeMirror> typeArguments = MoreTypes.asDeclared(type).getTypeArguments();
+      return !typeArguments.isEmpty()
+          && typeArguments.stream().allMatch(StableHashCodes::hasStableHashCode);
+    }
+    return AutoValueishProcessor.hasAnnotationMirror(typeElement, STABLE_HASH_CODE_NAME);
+  }
+
+  /** Returns true if the given type is an enum, whose {@code hashCode()} is an identity hash. */
+  static boolean isEnum(TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED
+        && MoreTypes.asElement(type).getKind() == ElementKind.ENUM;
+  }
+
+  /**
+   * Returns true if the given type is {@code Class}, whose {@code hashCode()} is an identity hash.
+   */
+  static boolean isClass(TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED
+        && MoreElements.asType(MoreTypes.asElement(type))
+            .getQualifiedName()
+            .contentEquals("java.lang.Class");
+  }
+}
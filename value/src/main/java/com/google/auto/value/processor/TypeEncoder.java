@@ -24,6 +24,9 @@ import com.google.auto.common.MoreTypes;
 import com.google.auto.value.processor.MissingTypes.MissingTypeException;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.OptionalInt;
 import java.util.Set;
@@ -213,10 +216,33 @@ final class TypeEncoder {
 
   static String decode(
       String text, Elements elementUtils, Types typeUtils, String pkg, TypeMirror baseType) {
-    TypeRewriter typeRewriter = new TypeRewriter(text, elementUtils, typeUtils, pkg, baseType);
+    TypeLookupCache cache = new TypeLookupCache(elementUtils, typeUtils);
+    TypeRewriter typeRewriter = new TypeRewriter(text, cache, pkg, baseType);
     return typeRewriter.rewrite();
   }
 
+  /**
+   * Returns an object that writes the result of {@link #decode} followed by {@link
+   * Reformatter#fixup} straight to a {@link Writer}. The decoding and reformatting happen in a
+   * single pass over {@code text} as it is written, so neither the decoded text nor the reformatted
+   * text is ever built as a separate string. The referenced classes are looked up by this method,
+   * so any problem with them is reported before anything is written.
+   */
+  static DecodedText decodeAndReformat(
+      String text, TypeLookupCache cache, String packageName, TypeMirror baseType) {
+    return new TypeRewriter(text, cache, packageName, baseType);
+  }
+
+  static DecodedText decodeAndReformat(
+      String text, Elements elementUtils, Types typeUtils, String pkg, TypeMirror baseType) {
+    return decodeAndReformat(text, new TypeLookupCache(elementUtils, typeUtils), pkg, baseType);
+  }
+
+  /** Text that has been prepared by {@link #decodeAndReformat} and is ready to be written. */
+  interface DecodedText {
+    void writeTo(Writer writer) throws IOException;
+  }
+
   private static String className(DeclaredType declaredType) {
     return MoreElements.asType(declaredType.asElement()).getQualifiedName().toString();
   }
@@ -473,38 +499,31 @@ final class TypeEncoder {
     }
   }
 
-  private static class TypeRewriter {
+  private static class TypeRewriter implements DecodedText {
     private final String text;
     private final int textLength;
     private final JavaScanner scanner;
-    private final Elements elementUtils;
-    private final Types typeUtils;
-    private final String packageName;
-    private final TypeMirror baseType;
+    private final TypeLookupCache cache;
+    private final TypeSimplifier typeSimplifier;
+    private final OptionalInt importMarker;
 
-    TypeRewriter(
-        String text, Elements elementUtils, Types typeUtils, String pkg, TypeMirror baseType) {
+    TypeRewriter(String text, TypeLookupCache cache, String pkg, TypeMirror baseType) {
       this.text = text;
       this.textLength = text.length();
       this.scanner = new JavaScanner(text);
-      this.elementUtils = elementUtils;
-      this.typeUtils = typeUtils;
-      this.packageName = pkg;
-      this.baseType = baseType;
-    }
-
-    String rewrite() {
+      this.cache = cache;
       // Scan the text to determine what classes are referenced.
       Set<TypeMirror> referencedClasses = findReferencedClasses();
       // Make a type simplifier based on these referenced types.
-      TypeSimplifier typeSimplifier =
-          new TypeSimplifier(elementUtils, typeUtils, packageName, referencedClasses, baseType);
+      this.typeSimplifier = new TypeSimplifier(cache, pkg, referencedClasses, baseType);
+      this.importMarker = findImportMarker();
+    }
 
+    String rewrite() {
       StringBuilder output = new StringBuilder();
       int copyStart;
 
       // Replace the `import` token with the import statements, if it is present.
-      OptionalInt importMarker = findImportMarker();
       if (importMarker.isPresent()) {
         output.append(text, 0, importMarker.getAsInt());
         for (String toImport : typeSimplifier.typesToImport()) {
@@ -520,7 +539,8 @@ final class TypeEncoder {
       for (token = copyStart; token < textLength; token = scanner.tokenEnd(token)) {
         if (text.charAt(token) == '`') {
           output.append(text, copyStart, token);
-          decode(output, typeSimplifier, token);
+          String simplified = simplifiedClassNameAt(token);
+          output.append(simplified, decodedStart(simplified, token), decodedEnd(simplified, token));
           copyStart = scanner.tokenEnd(token);
         }
       }
@@ -528,6 +548,54 @@ final class TypeEncoder {
       return output.toString();
     }
 
+    /**
+     * Does the same as {@link #rewrite} followed by {@link Reformatter#fixup}, but in one pass.
+     * Each token of the original text goes straight to the {@link Reformatter}, except that the
+     * tokens that {@link #rewrite} would have replaced are replaced by their decoded text. None of
+     * the replacement text contains spaces except the import statements, which we split into tokens
+     * here, so the {@code Reformatter} sees exactly the tokens it would have seen if it had scanned
+     * the rewritten text.
+     */
+    @Override
+    public void writeTo(Writer writer) throws IOException {
+      BufferedWriter bufferedWriter = new BufferedWriter(writer);
+      Reformatter reformatter = new Reformatter(bufferedWriter);
+      String s = scanner.string(); // possibly text plus a final newline
+      int len = s.length();
+      int decodeStart;
+      if (importMarker.isPresent()) {
+        int marker = importMarker.getAsInt();
+        for (int token = 0; token < marker; token = scanner.tokenEnd(token)) {
+          reformatter.append(s, token, scanner.tokenEnd(token));
+        }
+        for (String toImport : typeSimplifier.typesToImport()) {
+          reformatter.token("import", 0, 6);
+          reformatter.space();
+          reformatter.token(toImport, 0, toImport.length());
+          reformatter.token(";", 0, 1);
+          reformatter.newline();
+        }
+        decodeStart = scanner.tokenEnd(marker);
+      } else {
+        decodeStart = 0;
+      }
+      for (int token = decodeStart, end; token < len; token = end) {
+        end = scanner.tokenEnd(token);
+        if (s.charAt(token) == '`') {
+          String simplified = simplifiedClassNameAt(token);
+          int start = decodedStart(simplified, token);
+          int stop = decodedEnd(simplified, token);
+          if (start < stop) {
+            reformatter.token(simplified, start, stop);
+          }
+        } else {
+          reformatter.append(s, token, end);
+        }
+      }
+      reformatter.finish();
+      bufferedWriter.flush();
+    }
+
     private Set<TypeMirror> findReferencedClasses() {
       Set<TypeMirror> classes = new TypeMirrorSet();
       for (int token = 0; token < textLength; token = scanner.tokenEnd(token)) {
@@ -540,33 +608,29 @@ final class TypeEncoder {
     }
 
     private DeclaredType classForName(String className) {
-      TypeElement typeElement = elementUtils.getTypeElement(className);
+      TypeElement typeElement = cache.getTypeElement(className);
       checkState(typeElement != null, "Could not find referenced class %s", className);
       return MoreTypes.asDeclared(typeElement.asType());
     }
 
-    private void decode(StringBuilder output, TypeSimplifier typeSimplifier, int token) {
-      String className = classNameAt(token);
-      DeclaredType type = classForName(className);
-      String simplified = typeSimplifier.simplifiedClassName(type);
-      int dot;
-      switch (text.charAt(token + 1)) {
-        case '«':
-          // If this is `«java.util.Map` then we want "java.util." here.
-          // That's because this is the first part of something like "java.util.@Nullable Map"
-          // or "java.util.Map.@Nullable Entry".
-          // If there's no dot, then we want nothing here, for "@Nullable Map".
-          dot = simplified.lastIndexOf('.');
-          output.append(simplified.substring(0, dot + 1)); // correct even if dot == -1
-          break;
-        case '»':
-          dot = simplified.lastIndexOf('.');
-          output.append(simplified.substring(dot + 1)); // correct even if dot == -1
-          break;
-        default:
-          output.append(simplified);
-          break;
-      }
+    private String simplifiedClassNameAt(int token) {
+      return typeSimplifier.simplifiedClassName(classForName(classNameAt(token)));
+    }
+
+    // If this is `«java.util.Map` then we want "java.util." here.
+    // That's because this is the first part of something like "java.util.@Nullable Map"
+    // or "java.util.Map.@Nullable Entry".
+    // If there's no dot, then we want nothing here, for "@Nullable Map".
+    // If this is `»java.util.Map` then we want the part after the last dot, if any.
+    // The start and end computed here are correct even if there is no dot.
+    private int decodedStart(String simplified, int token) {
+      return (text.charAt(token + 1) == '»') ? simplified.lastIndexOf('.') + 1 : 0;
+    }
+
+    private int decodedEnd(String simplified, int token) {
+      return (text.charAt(token + 1) == '«')
+          ? simplified.lastIndexOf('.') + 1
+          : simplified.length();
     }
 
     private OptionalInt findImportMarker() {
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.processor;
+
+import static javax.lang.model.element.Modifier.PRIVATE;
+
+import com.google.common.collect.ImmutableList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Caches the lookups that {@link TypeSimplifier} and {@link TypeEncoder} repeat for every generated
+ * class. When many {@code @AutoValue} classes are processed in the same compilation, they typically
+ * reference the same classes (from {@code java.util}, Guava, and so on) and have the same
+ * supertypes (at least {@code Object}), so the answers are usually already known.
+ *
+ * <p>The cache must be {@linkplain #clear cleared} at the start of every round, since classes
+ * generated in one round can change the answers in the next. For example, a class that did not
+ * exist before might now clash with a {@code java.lang} class of the same name.
+ *
+ * <p>Hit and miss counts are kept across rounds. If the {@value #STATISTICS_OPTION} option is
+ * supplied then the processors report them as a note at the end of processing.
+ */
+final class TypeLookupCache {
+  /** Option that asks for the cache statistics to be reported at the end of processing. */
+  static final String STATISTICS_OPTION = "com.google.auto.value.CacheStatistics";
+
+  private final Elements elementUtils;
+  private final Types typeUtils;
+
+  private final Map<String, Optional<TypeElement>> typeElements = new HashMap<>();
+  private final Map<TypeElement, ImmutableList<TypeMirror>> declaredTypes = new HashMap<>();
+
+  private long typeElementHits;
+  private long typeElementMisses;
+  private long declaredTypesHits;
+  private long declaredTypesMisses;
+
+  TypeLookupCache(Elements elementUtils, Types typeUtils) {
+    this.elementUtils = elementUtils;
+    this.typeUtils = typeUtils;
+  }
+
+  Elements elementUtils() {
+    return elementUtils;
+  }
+
+  Types typeUtils() {
+    return typeUtils;
+  }
+
+  /** Forgets everything that has been cached so far. This should be called at each new round. */
+  void clear() {
+    typeElements.clear();
+    declaredTypes.clear();
+  }
+
+  /** Equivalent to {@link Elements#getTypeElement}. The result is null if there is no such type. */
+  TypeElement getTypeElement(String name) {
+    Optional<TypeElement> cached = typeElements.get(name);
+    if (cached != null) {
+      typeElementHits++;
+      return cached.orElse(null);
+    }
+    typeElementMisses++;
+    TypeElement typeElement = elementUtils.getTypeElement(name);
+    typeElements.put(name, Optional.ofNullable(typeElement));
+    return typeElement;
+  }
+
+  /**
+   * Equivalent to {@link com.google.auto.common.GeneratedAnnotations#generatedAnnotation(Elements,
+   * SourceVersion)}. That is looked up for every generated class.
+   */
+  Optional<TypeElement> generatedAnnotation(SourceVersion sourceVersion) {
+    return Optional.ofNullable(
+        getTypeElement(
+            sourceVersion.compareTo(SourceVersion.RELEASE_8) > 0
+                ? "javax.annotation.processing.Generated"
+                : "javax.annotation.Generated"));
+  }
+
+  /**
+   * Returns the types that are declared with non-private visibility by the given type, any class in
+   * its superclass chain, or any interface it implements. The type itself is included too. Type
+   * arguments are not significant here, since only the names of the types matter to {@link
+   * TypeSimplifier}, so the types are represented by {@link TypeElement#asType()}.
+   */
+  ImmutableList<TypeMirror> nonPrivateDeclaredTypes(TypeElement type) {
+    ImmutableList<TypeMirror> cached = declaredTypes.get(type);
+    if (cached != null) {
+      declaredTypesHits++;
+      return cached;
+    }
+    declaredTypesMisses++;
+    Set<TypeMirror> declared = new TypeMirrorSet();
+    declared.add(type.asType());
+    for (TypeElement nestedType : ElementFilter.typesIn(type.getEnclosedElements())) {
+      if (!nestedType.getModifiers().contains(PRIVATE)) {
+        declared.add(nestedType.asType());
+      }
+    }
+    for (TypeMirror supertype : typeUtils.directSupertypes(type.asType())) {
+      // We can't use computeIfAbsent because of this recursive call.
+      declared.addAll(nonPrivateDeclaredTypes((TypeElement) typeUtils.asElement(supertype)));
+    }
+    ImmutableList<TypeMirror> result = ImmutableList.copyOf(declared);
+    declaredTypes.put(type, result);
+    return result;
+  }
+
+  /** A one-line summary of the cache hits and misses so far, for the statistics note. */
+  String statistics() {
+    return String.format(
+        "type lookups: %d hits, %d misses; supertype scans: %d hits, %d misses",
+        typeElementHits, typeElementMisses, declaredTypesHits, declaredTypesMisses);
+  }
+}
@@ -17,7 +17,6 @@ package com.google.auto.value.processor;
 
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toCollection;
-import static javax.lang.model.element.Modifier.PRIVATE;
 
 import com.google.auto.common.MoreElements;
 import com.google.auto.common.MoreTypes;
@@ -40,7 +39,6 @@ import javax.lang.model.type.TypeMirror;
 import javax.lang.model.type.TypeVariable;
 import javax.lang.model.type.TypeVisitor;
 import javax.lang.model.type.WildcardType;
-import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.SimpleTypeVisitor8;
 import javax.lang.model.util.Types;
@@ -90,13 +88,23 @@ final class TypeSimplifier {
       String packageName,
       Set<TypeMirror> types,
       TypeMirror base) {
+    this(new TypeLookupCache(elementUtils, typeUtils), packageName, types, base);
+  }
+
+  /**
+   * Makes a new simplifier for the given package and set of types, using the given cache for the
+   * lookups that are likely to be the same for other simplifiers in the same round.
+   */
+  TypeSimplifier(
+      TypeLookupCache cache, String packageName, Set<TypeMirror> types, TypeMirror base) {
+    Types typeUtils = cache.typeUtils();
     Set<TypeMirror> typesPlusBase = new TypeMirrorSet(types);
     if (base != null) {
       typesPlusBase.add(base);
     }
     Set<TypeMirror> topLevelTypes = topLevelTypes(typeUtils, typesPlusBase);
-    Set<TypeMirror> defined = nonPrivateDeclaredTypes(typeUtils, base);
-    this.imports = findImports(elementUtils, typeUtils, packageName, topLevelTypes, defined);
+    Set<TypeMirror> defined = nonPrivateDeclaredTypes(cache, base);
+    this.imports = findImports(cache, packageName, topLevelTypes, defined);
   }
 
   /**
@@ -200,11 +208,11 @@ final class TypeSimplifier {
    *     whether the type should be imported, and how the type should be spelled in the source code.
    */
   private static Map<String, Spelling> findImports(
-      Elements elementUtils,
-      Types typeUtils,
+      TypeLookupCache cache,
       String codePackageName,
       Set<TypeMirror> referenced,
       Set<TypeMirror> defined) {
+    Types typeUtils = cache.typeUtils();
     Map<String, Spelling> imports = new HashMap<>();
     Set<TypeMirror> typesInScope = new TypeMirrorSet();
     typesInScope.addAll(referenced);
@@ -222,7 +230,7 @@ final class TypeSimplifier {
         spelling = fullName;
       } else if (pkg.equals("java.lang")) {
         importIt = false;
-        spelling = javaLangSpelling(elementUtils, codePackageName, typeElement);
+        spelling = javaLangSpelling(cache, codePackageName, typeElement);
       } else if (pkg.equals(codePackageName)) {
         importIt = false;
         spelling = fullName.substring(pkg.isEmpty() ? 0 : pkg.length() + 1);
@@ -245,11 +253,10 @@ final class TypeSimplifier {
    * is not enough. We have to look to see if the class exists.
    */
   private static String javaLangSpelling(
-      Elements elementUtils, String codePackageName, TypeElement typeElement) {
+      TypeLookupCache cache, String codePackageName, TypeElement typeElement) {
     // If this is java.lang.Thread.State or the like, we have to look for a clash with Thread.
     TypeElement topLevelType = topLevelType(typeElement);
-    TypeElement clash =
-        elementUtils.getTypeElement(codePackageName + "." + topLevelType.getSimpleName());
+    TypeElement clash = cache.getTypeElement(codePackageName + "." + topLevelType.getSimpleName());
     String fullName = typeElement.getQualifiedName().toString();
     return (clash == null) ? fullName.substring("java.lang.".length()) : fullName;
   }
@@ -273,24 +280,14 @@ final class TypeSimplifier {
    * Finds all types that are declared with non private visibility by the given {@code TypeMirror},
    * any class in its superclass chain, or any interface it implements.
    */
-  private static Set<TypeMirror> nonPrivateDeclaredTypes(Types typeUtils, TypeMirror type) {
-    if (type == null) {
-      return new TypeMirrorSet();
-    } else {
-      Set<TypeMirror> declared = new TypeMirrorSet();
+  private static Set<TypeMirror> nonPrivateDeclaredTypes(TypeLookupCache cache, TypeMirror type) {
+    Set<TypeMirror> declared = new TypeMirrorSet();
+    if (type != null) {
       declared.add(type);
-      List<TypeElement> nestedTypes =
-          ElementFilter.typesIn(typeUtils.asElement(type).getEnclosedElements());
-      for (TypeElement nestedType : nestedTypes) {
-        if (!nestedType.getModifiers().contains(PRIVATE)) {
-          declared.add(nestedType.asType());
-        }
-      }
-      for (TypeMirror supertype : typeUtils.directSupertypes(type)) {
-        declared.addAll(nonPrivateDeclaredTypes(typeUtils, supertype));
-      }
-      return declared;
+      declared.addAll(
+          cache.nonPrivateDeclaredTypes(MoreElements.asType(cache.typeUtils().asElement(type))));
     }
+    return declared;
   }
 
   private static Set<String> ambiguousNames(Types typeUtils, Set<TypeMirror> types) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.columnar;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.auto.value.AutoValue;
+import javax.annotation.Nullable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ColumnarTest {
+  enum Side {
+    BUY,
+    SELL
+  }
+
+  @AutoValue
+  @Columnar
+  abstract static class Trade {
+    abstract long id();
+
+    abstract double price();
+
+    abstract Side side();
+
+    abstract String symbol();
+
+    @Nullable
+    abstract String note();
+
+    @Nullable
+    abstract Side hedge();
+
+    abstract boolean settled();
+
+    static Trade create(
+        long id, double price, Side side, String symbol, String note, Side hedge, boolean settled) {
+      return new AutoValue_ColumnarTest_Trade(id, price, side, symbol, note, hedge, settled);
+    }
+  }
+
+  private static final Trade BUY = Trade.create(1, 2.5, Side.BUY, "GOOG", null, Side.SELL, false);
+  private static final Trade SELL = Trade.create(2, 3.5, Side.SELL, "GOOG", "late", null, true);
+
+  @Test
+  public void appendAndRead() {
+    ColumnarTest_TradeColumns columns = new ColumnarTest_TradeColumns();
+
+    assertThat(columns.append(BUY)).isEqualTo(0);
+    assertThat(columns.append(SELL)).isEqualTo(1);
+    assertThat(columns.size()).isEqualTo(2);
+    assertThat(columns.id(1)).isEqualTo(2);
+    assertThat(columns.price(0)).isEqualTo(2.5);
+    assertThat(columns.side(1)).isEqualTo(Side.SELL);
+    assertThat(columns.symbol(1)).isEqualTo("GOOG");
+    assertThat(columns.settled(1)).isTrue();
+  }
+
+  @Test
+  public void nullableProperties() {
+    ColumnarTest_TradeColumns columns = new ColumnarTest_TradeColumns();
+    columns.append(BUY);
+    columns.append(SELL);
+
+    assertThat(columns.note(0)).isNull();
+    assertThat(columns.note(1)).isEqualTo("late");
+    assertThat(columns.hedge(0)).isEqualTo(Side.SELL);
+    assertThat(columns.hedge(1)).isNull();
+  }
+
+  @Test
+  public void get() {
+    ColumnarTest_TradeColumns columns = new ColumnarTest_TradeColumns();
+    columns.append(BUY);
+    columns.append(SELL);
+
+    assertThat(columns.get(0)).isEqualTo(BUY);
+    assertThat(columns.get(1)).isEqualTo(SELL);
+  }
+
+  @Test
+  public void grows() {
+    ColumnarTest_TradeColumns columns = new ColumnarTest_TradeColumns(0);
+    for (int i = 0; i < 1000; i++) {
+      columns.append(Trade.create(i, i, Side.BUY, "S" + i, null, null, false));
+    }
+
+    assertThat(columns.size()).isEqualTo(1000);
+    assertThat(columns.get(999))
+        .isEqualTo(Trade.create(999, 999, Side.BUY, "S999", null, null, false));
+    assertThat(columns.symbol(500)).isEqualTo("S500");
+  }
+
+  @Test
+  public void row() {
+    ColumnarTest_TradeColumns columns = new ColumnarTest_TradeColumns();
+    columns.append(BUY);
+    columns.append(SELL);
+    ColumnarTest_TradeColumns.Row row = columns.newRow();
+
+    assertThat(row.at(0).id()).isEqualTo(1);
+    assertThat(row.at(1).note()).isEqualTo("late");
+    assertThat(row.side()).isEqualTo(Side.SELL);
+    assertThat(row.toValue()).isEqualTo(SELL);
+  }
+
+  @Test
+  public void outOfBounds() {
+    ColumnarTest_TradeColumns columns = new ColumnarTest_TradeColumns();
+    columns.append(BUY);
+
+    assertThrows(IndexOutOfBoundsException.class, () -> columns.id(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> columns.get(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> columns.newRow().at(1));
+    assertThrows(IllegalArgumentException.class, () -> new ColumnarTest_TradeColumns(-1));
+  }
+}
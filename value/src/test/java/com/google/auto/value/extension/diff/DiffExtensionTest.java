@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.diff;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+import com.google.auto.value.extension.diff.processor.DiffExtension;
+import com.google.auto.value.processor.AutoValueProcessor;
+import com.google.common.collect.ImmutableList;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class DiffExtensionTest {
+  @Test
+  public void upTo64PropertiesUsesLong() throws IOException {
+    String generated = generatedDiffClass(64);
+
+    assertThat(generated).contains("static final long P0 = 1L << 0;");
+    assertThat(generated).contains("static final long P63 = 1L << 63;");
+    assertThat(generated).contains("static long diff(Test a, Test b) {");
+  }
+
+  @Test
+  public void moreThan64PropertiesUsesBitSet() throws IOException {
+    String generated = generatedDiffClass(65);
+
+    assertThat(generated).contains("static final int P64 = 64;");
+    assertThat(generated).contains("static BitSet diff(Test a, Test b) {");
+    assertThat(generated).contains("changed.set(P64);");
+  }
+
+  @Test
+  public void constantNames() throws IOException {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Test",
+            "package test;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.diff.Diffable;",
+            "",
+            "@AutoValue",
+            "@Diffable",
+            "abstract class Test {",
+            "  abstract int fooBar();",
+            "  abstract int foo_bar();",
+            "  abstract String URL();",
+            "}");
+    Compilation compilation = compile(file);
+
+    assertThat(compilation).succeededWithoutWarnings();
+    String generated =
+        compilation
+            .generatedSourceFile("test.AutoValue_Test")
+            .get()
+            .getCharContent(false)
+            .toString();
+    assertThat(generated).contains("static final int FOO_BAR = 1 << 0;");
+    assertThat(generated).contains("static final int FOO_BAR_2 = 1 << 1;");
+    assertThat(generated).contains("static final int URL = 1 << 2;");
+  }
+
+  private static String generatedDiffClass(int propertyCount) throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.add("package test;");
+    lines.add("import com.google.auto.value.AutoValue;");
+    lines.add("import com.google.auto.value.extension.diff.Diffable;");
+    lines.add("@AutoValue");
+    lines.add("@Diffable");
+    lines.add("abstract class Test {");
+    for (int i = 0; i < propertyCount; i++) {
+      lines.add("  abstract int p" + i + "();");
+    }
+    lines.add("}");
+    Compilation compilation = compile(JavaFileObjects.forSourceLines("test.Test", lines));
+
+    assertThat(compilation).succeededWithoutWarnings();
+    return compilation
+        .generatedSourceFile("test.AutoValue_Test")
+        .get()
+        .getCharContent(false)
+        .toString();
+  }
+
+  private static Compilation compile(JavaFileObject... javaFileObjects) {
+    return javac()
+        .withProcessors(new AutoValueProcessor(ImmutableList.of(new DiffExtension())))
+        .compile(javaFileObjects);
+  }
+}
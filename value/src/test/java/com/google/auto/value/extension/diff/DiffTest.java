@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.diff;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import javax.annotation.Nullable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@SuppressWarnings("mutable")
+@RunWith(JUnit4.class)
+public class DiffTest {
+  @AutoValue
+  @Diffable
+  abstract static class Snapshot {
+    abstract String name();
+
+    abstract int count();
+
+    abstract double score();
+
+    abstract int[] ids();
+
+    @Nullable
+    abstract String comment();
+
+    abstract ImmutableList<String> rows();
+
+    static Snapshot create(
+        String name,
+        int count,
+        double score,
+        int[] ids,
+        String comment,
+        ImmutableList<String> rows) {
+      return new AutoValue_DiffTest_Snapshot(name, count, score, ids, comment, rows);
+    }
+  }
+
+  private static final Snapshot SNAPSHOT =
+      Snapshot.create("name", 1, 2.5, new int[] {3}, null, ImmutableList.of("row"));
+
+  @Test
+  public void constants() {
+    assertThat(AutoValue_DiffTest_Snapshot.NAME).isEqualTo(1);
+    assertThat(AutoValue_DiffTest_Snapshot.COUNT).isEqualTo(2);
+    assertThat(AutoValue_DiffTest_Snapshot.ROWS).isEqualTo(32);
+  }
+
+  @Test
+  public void equalValues() {
+    Snapshot copy = Snapshot.create("name", 1, 2.5, new int[] {3}, null, ImmutableList.of("row"));
+
+    assertThat(copy).isEqualTo(SNAPSHOT);
+    assertThat(AutoValue_DiffTest_Snapshot.diff(SNAPSHOT, copy)).isEqualTo(0);
+    assertThat(AutoValue_DiffTest_Snapshot.diff(SNAPSHOT, SNAPSHOT)).isEqualTo(0);
+  }
+
+  @Test
+  public void changedProperties() {
+    Snapshot changed =
+        Snapshot.create("name", 2, 2.5, new int[] {4}, "new", ImmutableList.of("row"));
+
+    assertThat(AutoValue_DiffTest_Snapshot.diff(SNAPSHOT, changed))
+        .isEqualTo(
+            AutoValue_DiffTest_Snapshot.COUNT
+                | AutoValue_DiffTest_Snapshot.IDS
+                | AutoValue_DiffTest_Snapshot.COMMENT);
+    assertThat(AutoValue_DiffTest_Snapshot.diff(changed, SNAPSHOT))
+        .isEqualTo(AutoValue_DiffTest_Snapshot.diff(SNAPSHOT, changed));
+  }
+
+  @Test
+  public void sameComparisonsAsEquals() {
+    Snapshot nan1 = Snapshot.create("name", 1, Double.NaN, new int[0], null, ImmutableList.of());
+    Snapshot nan2 = Snapshot.create("name", 1, Double.NaN, new int[0], null, ImmutableList.of());
+    Snapshot zero = Snapshot.create("name", 1, 0.0, new int[0], null, ImmutableList.of());
+    Snapshot negativeZero = Snapshot.create("name", 1, -0.0, new int[0], null, ImmutableList.of());
+
+    assertThat(nan1).isEqualTo(nan2);
+    assertThat(AutoValue_DiffTest_Snapshot.diff(nan1, nan2)).isEqualTo(0);
+    assertThat(zero).isNotEqualTo(negativeZero);
+    assertThat(AutoValue_DiffTest_Snapshot.diff(zero, negativeZero))
+        .isEqualTo(AutoValue_DiffTest_Snapshot.SCORE);
+  }
+
+  @AutoValue
+  @Diffable
+  abstract static class Pair<T> {
+    abstract T first();
+
+    abstract T second();
+  }
+
+  @Test
+  public void generic() {
+    Pair<String> a = new AutoValue_DiffTest_Pair<>("a", "b");
+    Pair<Integer> b = new AutoValue_DiffTest_Pair<>(1, 2);
+
+    assertThat(AutoValue_DiffTest_Pair.diff(a, new AutoValue_DiffTest_Pair<>("a", "c")))
+        .isEqualTo(AutoValue_DiffTest_Pair.SECOND);
+    assertThat(AutoValue_DiffTest_Pair.diff(a, b))
+        .isEqualTo(AutoValue_DiffTest_Pair.FIRST | AutoValue_DiffTest_Pair.SECOND);
+  }
+
+  @AutoValue
+  @Diffable
+  abstract static class Outer {
+    abstract Snapshot snapshot();
+
+    abstract long version();
+  }
+
+  @Test
+  public void nestedDiffOnDemand() {
+    Snapshot renamed =
+        Snapshot.create("renamed", 1, 2.5, new int[] {3}, null, ImmutableList.of("row"));
+    Outer before = new AutoValue_DiffTest_Outer(SNAPSHOT, 1L);
+    Outer after = new AutoValue_DiffTest_Outer(renamed, 1L);
+
+    int changed = AutoValue_DiffTest_Outer.diff(before, after);
+
+    assertThat(changed).isEqualTo(AutoValue_DiffTest_Outer.SNAPSHOT);
+    assertThat(AutoValue_DiffTest_Snapshot.diff(before.snapshot(), after.snapshot()))
+        .isEqualTo(AutoValue_DiffTest_Snapshot.NAME);
+  }
+}
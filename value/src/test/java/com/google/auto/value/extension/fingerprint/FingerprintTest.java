@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.fingerprint;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.PrimitiveSink;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@SuppressWarnings({"AutoValueImmutableFields", "mutable"})
+@RunWith(JUnit4.class)
+public class FingerprintTest {
+  @AutoValue
+  abstract static class Primitives {
+    abstract int i();
+
+    abstract long l();
+
+    abstract byte b();
+
+    abstract short s();
+
+    abstract char c();
+
+    abstract float f();
+
+    abstract double d();
+
+    abstract boolean bool();
+
+    abstract Integer boxed();
+
+    @Fingerprint
+    abstract void hashTo(PrimitiveSink sink);
+
+    @Fingerprint
+    abstract long fingerprint64();
+
+    static Primitives create(int i) {
+      return new AutoValue_FingerprintTest_Primitives(
+          i, 2L, (byte) 3, (short) 4, 'C', 6.6f, 7.7, false, 9);
+    }
+  }
+
+  @Test
+  public void primitives() {
+    Primitives value = Primitives.create(1);
+    long expected =
+        Hashing.murmur3_128()
+            .newHasher()
+            .putInt(1)
+            .putLong(2L)
+            .putByte((byte) 3)
+            .putShort((short) 4)
+            .putChar('C')
+            .putInt(Float.floatToIntBits(6.6f))
+            .putLong(Double.doubleToLongBits(7.7))
+            .putBoolean(false)
+            .putInt(9)
+            .hash()
+            .asLong();
+
+    assertThat(value.fingerprint64()).isEqualTo(expected);
+    assertThat(value.fingerprint64()).isEqualTo(Primitives.create(1).fingerprint64());
+    assertThat(value.fingerprint64()).isNotEqualTo(Primitives.create(2).fingerprint64());
+  }
+
+  @AutoValue
+  abstract static class FloatingPoint {
+    abstract float f();
+
+    abstract Double d();
+
+    @Fingerprint
+    abstract long fingerprint64();
+
+    static FloatingPoint create(float f, Double d) {
+      return new AutoValue_FingerprintTest_FloatingPoint(f, d);
+    }
+  }
+
+  @Test
+  public void nanPayloadsAreEqual() {
+    FloatingPoint canonical = FloatingPoint.create(Float.NaN, Double.NaN);
+    FloatingPoint otherPayload =
+        FloatingPoint.create(
+            Float.intBitsToFloat(0x7fc00001), Double.longBitsToDouble(0x7ff8000000000001L));
+
+    assertThat(otherPayload).isEqualTo(canonical);
+    assertThat(otherPayload.fingerprint64()).isEqualTo(canonical.fingerprint64());
+    assertThat(FloatingPoint.create(0.0f, 0.0).fingerprint64())
+        .isNotEqualTo(FloatingPoint.create(-0.0f, -0.0).fingerprint64());
+  }
+
+  @AutoValue
+  abstract static class Strings {
+    abstract String first();
+
+    abstract String second();
+
+    @Fingerprint
+    abstract long fingerprint64();
+
+    static Strings create(String first, String second) {
+      return new AutoValue_FingerprintTest_Strings(first, second);
+    }
+  }
+
+  @Test
+  public void stringsAreLengthPrefixed() {
+    assertThat(Strings.create("ab", "c").fingerprint64())
+        .isNotEqualTo(Strings.create("a", "bc").fingerprint64());
+    assertThat(Strings.create("ab", "c").fingerprint64())
+        .isEqualTo(Strings.create("ab", "c").fingerprint64());
+  }
+
+  @AutoValue
+  abstract static class Named {
+    abstract TimeUnit unit();
+
+    abstract Class<?> type();
+
+    @Fingerprint
+    abstract void hashTo(PrimitiveSink sink);
+
+    @Fingerprint
+    abstract long fingerprint64();
+  }
+
+  @Test
+  public void enumsAndClassesByName() {
+    Named value = new AutoValue_FingerprintTest_Named(TimeUnit.SECONDS, String.class);
+    long expected =
+        Hashing.murmur3_128()
+            .newHasher()
+            .putInt(7)
+            .putUnencodedChars("SECONDS")
+            .putInt(16)
+            .putUnencodedChars("java.lang.String")
+            .hash()
+            .asLong();
+
+    assertThat(value.fingerprint64()).isEqualTo(expected);
+  }
+
+  @AutoValue
+  abstract static class Point {
+    abstract int x();
+
+    abstract int y();
+
+    @Fingerprint
+    abstract void funnel(PrimitiveSink sink);
+
+    static Point create(int x, int y) {
+      return new AutoValue_FingerprintTest_Point(x, y);
+    }
+  }
+
+  @AutoValue
+  abstract static class Nested {
+    abstract Point point();
+
+    abstract Optional<Point> maybePoint();
+
+    abstract ImmutableList<Point> points();
+
+    abstract ImmutableSortedSet<String> names();
+
+    abstract ImmutableSortedMap<String, Point> byName();
+
+    abstract byte[] bytes();
+
+    abstract long[] longs();
+
+    @Fingerprint
+    abstract void hashTo(PrimitiveSink sink);
+
+    @Fingerprint
+    abstract long fingerprint64();
+  }
+
+  @Test
+  public void nested() {
+    Point p = Point.create(1, 2);
+    Nested value =
+        new AutoValue_FingerprintTest_Nested(
+            p,
+            Optional.empty(),
+            ImmutableList.of(p, p),
+            ImmutableSortedSet.of("b", "a"),
+            ImmutableSortedMap.of("p", p),
+            new byte[] {5},
+            new long[] {6L});
+    long expected =
+        Hashing.murmur3_128()
+            .newHasher()
+            .putInt(1)
+            .putInt(2)
+            .putBoolean(false)
+            .putInt(2)
+            .putInt(1)
+            .putInt(2)
+            .putInt(1)
+            .putInt(2)
+            .putInt(2)
+            .putInt(1)
+            .putUnencodedChars("a")
+            .putInt(1)
+            .putUnencodedChars("b")
+            .putInt(1)
+            .putInt(1)
+            .putUnencodedChars("p")
+            .putInt(1)
+            .putInt(2)
+            .putInt(1)
+            .putBytes(new byte[] {5})
+            .putInt(1)
+            .putLong(6L)
+            .hash()
+            .asLong();
+
+    assertThat(value.fingerprint64()).isEqualTo(expected);
+    assertThat(value.fingerprint64())
+        .isEqualTo(Hashing.murmur3_128().hashObject(value, Nested::hashTo).asLong());
+  }
+
+  @AutoValue
+  abstract static class WithNullable {
+    @Nullable
+    abstract String maybe();
+
+    @Fingerprint
+    abstract long fingerprint64();
+  }
+
+  @Test
+  public void nullable() {
+    WithNullable absent = new AutoValue_FingerprintTest_WithNullable(null);
+    WithNullable empty = new AutoValue_FingerprintTest_WithNullable("");
+
+    assertThat(absent.fingerprint64())
+        .isEqualTo(Hashing.murmur3_128().newHasher().putBoolean(false).hash().asLong());
+    assertThat(absent.fingerprint64()).isNotEqualTo(empty.fingerprint64());
+  }
+
+  @Test
+  public void bloomFilter() {
+    Funnel<Point> funnel = Point::funnel;
+    BloomFilter<Point> filter = BloomFilter.create(funnel, 100);
+    filter.put(Point.create(1, 2));
+
+    assertThat(filter.mightContain(Point.create(1, 2))).isTrue();
+    assertThat(filter.approximateElementCount()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.fingerprint;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+import com.google.auto.value.extension.fingerprint.processor.FingerprintExtension;
+import com.google.auto.value.extension.fingerprint.processor.FingerprintValidator;
+import com.google.auto.value.processor.AutoValueProcessor;
+import com.google.common.collect.ImmutableList;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class FingerprintValidatorTest {
+  @Test
+  public void cannotBeStatic() {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Test",
+            "package test;",
+            "",
+            "import com.google.auto.value.extension.fingerprint.Fingerprint;",
+            "",
+            "class Test {",
+            "  @Fingerprint",
+            "  static long fingerprint64() {",
+            "    return 0;",
+            "  }",
+            "}",
+            "");
+    Compilation compilation = compile(file);
+
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorCount(1);
+    assertThat(compilation)
+        .hadErrorContaining("must be instance methods")
+        .inFile(file)
+        .onLineContaining("static long fingerprint64()");
+  }
+
+  @Test
+  public void wrongSignature() {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Test",
+            "package test;",
+            "",
+            "import com.google.auto.value.extension.fingerprint.Fingerprint;",
+            "",
+            "class Test {",
+            "  @Fingerprint",
+            "  int fingerprint32() {",
+            "    return 0;",
+            "  }",
+            "}",
+            "");
+    Compilation compilation = compile(file);
+
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorCount(1);
+    assertThat(compilation)
+        .hadErrorContaining("must be either void with one PrimitiveSink parameter")
+        .inFile(file)
+        .onLineContaining("int fingerprint32()");
+  }
+
+  @Test
+  public void onlyOneOfEachForm() {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Test",
+            "package test;",
+            "",
+            "import com.google.auto.value.extension.fingerprint.Fingerprint;",
+            "import com.google.common.hash.PrimitiveSink;",
+            "",
+            "abstract class Test {",
+            "  @Fingerprint",
+            "  abstract void hashTo(PrimitiveSink sink);",
+            "",
+            "  @Fingerprint",
+            "  abstract void funnel(PrimitiveSink sink);",
+            "}",
+            "");
+    Compilation compilation = compile(file);
+
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorCount(1);
+    assertThat(compilation)
+        .hadErrorContaining("test.Test has more than one @Fingerprint method of the same form")
+        .inFile(file)
+        .onLineContaining("abstract class Test");
+  }
+
+  @Test
+  public void unsortedSet() {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Test",
+            "package test;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.fingerprint.Fingerprint;",
+            "import com.google.common.collect.ImmutableSet;",
+            "",
+            "@AutoValue",
+            "abstract class Test {",
+            "  abstract ImmutableSet<String> names();",
+            "",
+            "  @Fingerprint",
+            "  abstract long fingerprint64();",
+            "}",
+            "");
+    Compilation compilation =
+        javac()
+            .withProcessors(
+                new AutoValueProcessor(ImmutableList.of(new FingerprintExtension())),
+                new FingerprintValidator())
+            .compile(file);
+
+    assertThat(compilation).failed();
+    assertThat(compilation)
+        .hadErrorContaining(
+            "@Fingerprint cannot put values of type"
+                + " com.google.common.collect.ImmutableSet<java.lang.String>")
+        .inFile(file)
+        .onLineContaining("names()");
+  }
+
+  private static Compilation compile(JavaFileObject... javaFileObjects) {
+    return javac().withProcessors(new FingerprintValidator()).compile(javaFileObjects);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.flyweight;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+import com.google.auto.value.extension.flyweight.processor.FlyweightExtension;
+import com.google.auto.value.processor.AutoValueProcessor;
+import com.google.common.collect.ImmutableList;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class FlyweightExtensionTest {
+  @Test
+  public void unsupportedPropertyType() {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Test",
+            "package test;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.flyweight.Flyweight;",
+            "",
+            "@AutoValue",
+            "@Flyweight",
+            "abstract class Test {",
+            "  abstract int total();",
+            "  abstract String name();",
+            "}");
+    Compilation compilation = compile(file);
+
+    assertThat(compilation).failed();
+    assertThat(compilation)
+        .hadErrorContaining("@Flyweight properties must be primitives, not java.lang.String")
+        .inFile(file)
+        .onLineContaining("name()");
+  }
+
+  @Test
+  public void genericClass() {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Test",
+            "package test;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.flyweight.Flyweight;",
+            "",
+            "@AutoValue",
+            "@Flyweight",
+            "abstract class Test<T extends Number> {",
+            "  abstract int total();",
+            "}");
+    Compilation compilation = compile(file);
+
+    assertThat(compilation).failed();
+    assertThat(compilation)
+        .hadErrorContaining("@Flyweight classes cannot be generic")
+        .inFile(file)
+        .onLineContaining("class Test");
+  }
+
+  @Test
+  public void reservedPropertyName() {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Test",
+            "package test;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.flyweight.Flyweight;",
+            "",
+            "@AutoValue",
+            "@Flyweight",
+            "abstract class Test {",
+            "  abstract int next();",
+            "}");
+    Compilation compilation = compile(file);
+
+    assertThat(compilation).failed();
+    assertThat(compilation)
+        .hadErrorContaining("@Flyweight properties cannot be called next")
+        .inFile(file)
+        .onLineContaining("next()");
+  }
+
+  @Test
+  public void viewName() {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Outer",
+            "package test;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.flyweight.Flyweight;",
+            "",
+            "class Outer {",
+            "  @AutoValue",
+            "  @Flyweight",
+            "  abstract static class Inner {",
+            "    abstract int total();",
+            "  }",
+            "}");
+    Compilation compilation = compile(file);
+
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation).generatedSourceFile("test.Outer_InnerView");
+  }
+
+  private static Compilation compile(JavaFileObject... javaFileObjects) {
+    return javac()
+        .withProcessors(new AutoValueProcessor(ImmutableList.of(new FlyweightExtension())))
+        .compile(javaFileObjects);
+  }
+}
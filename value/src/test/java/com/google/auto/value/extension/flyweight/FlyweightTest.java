@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.flyweight;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.auto.value.AutoValue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class FlyweightTest {
+  @AutoValue
+  @Flyweight
+  abstract static class Tick {
+    abstract long timestamp();
+
+    abstract int instrument();
+
+    abstract double price();
+
+    abstract boolean auction();
+
+    abstract char venue();
+
+    abstract short lot();
+
+    abstract byte flags();
+
+    abstract float ratio();
+
+    static Tick create(int i) {
+      return new AutoValue_FlyweightTest_Tick(
+          i * 1000L, i, i / 4.0, i % 2 == 0, (char) ('A' + i), (short) -i, (byte) i, i * 0.5f);
+    }
+  }
+
+  @AutoValue
+  @Flyweight(littleEndian = true)
+  abstract static class Sample {
+    abstract int value();
+
+    static Sample create(int value) {
+      return new AutoValue_FlyweightTest_Sample(value);
+    }
+  }
+
+  private static ByteBuffer ticks(int count) {
+    ByteBuffer buffer = ByteBuffer.allocate(count * FlyweightTest_TickView.BYTES);
+    for (int i = 0; i < count; i++) {
+      FlyweightTest_TickView.put(buffer, Tick.create(i));
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  @Test
+  public void layout() {
+    assertThat(FlyweightTest_TickView.BYTES).isEqualTo(8 + 4 + 8 + 1 + 2 + 2 + 1 + 4);
+
+    ByteBuffer buffer = ticks(2);
+
+    assertThat(buffer.getLong(FlyweightTest_TickView.BYTES)).isEqualTo(1000L);
+    assertThat(buffer.getInt(FlyweightTest_TickView.BYTES + 8)).isEqualTo(1);
+  }
+
+  @Test
+  public void next() {
+    FlyweightTest_TickView view = new FlyweightTest_TickView(ticks(3));
+
+    assertThat(view.count()).isEqualTo(3);
+    assertThat(view.index()).isEqualTo(-1);
+    for (int i = 0; i < 3; i++) {
+      assertThat(view.next()).isTrue();
+      assertThat(view.index()).isEqualTo(i);
+      assertThat(view.timestamp()).isEqualTo(i * 1000L);
+      assertThat(view.price()).isEqualTo(i / 4.0);
+      assertThat(view.auction()).isEqualTo(i % 2 == 0);
+      assertThat(view.venue()).isEqualTo((char) ('A' + i));
+      assertThat(view.lot()).isEqualTo((short) -i);
+      assertThat(view.ratio()).isEqualTo(i * 0.5f);
+    }
+    assertThat(view.next()).isFalse();
+  }
+
+  @Test
+  public void materialize() {
+    FlyweightTest_TickView view = new FlyweightTest_TickView(ticks(5));
+
+    assertThat(view.moveTo(3).materialize()).isEqualTo(Tick.create(3));
+    assertThat(view.moveTo(0).materialize()).isEqualTo(Tick.create(0));
+  }
+
+  @Test
+  public void startsAtPosition() {
+    ByteBuffer buffer = ByteBuffer.allocate(3 + FlyweightTest_TickView.BYTES + 2);
+    buffer.position(3);
+    FlyweightTest_TickView.put(buffer, Tick.create(7));
+    buffer.position(3);
+    FlyweightTest_TickView view = new FlyweightTest_TickView(buffer);
+    buffer.position(0);
+
+    assertThat(view.count()).isEqualTo(1);
+    assertThat(view.moveTo(0).materialize()).isEqualTo(Tick.create(7));
+  }
+
+  @Test
+  public void littleEndian() {
+    ByteBuffer buffer = ByteBuffer.allocate(4);
+    FlyweightTest_SampleView.put(buffer, Sample.create(0x01020304));
+
+    assertThat(buffer.order()).isEqualTo(ByteOrder.BIG_ENDIAN);
+    assertThat(buffer.array()).isEqualTo(new byte[] {4, 3, 2, 1});
+    buffer.flip();
+    assertThat(new FlyweightTest_SampleView(buffer).moveTo(0).value()).isEqualTo(0x01020304);
+  }
+
+  @Test
+  public void outOfBounds() {
+    FlyweightTest_TickView view = new FlyweightTest_TickView(ticks(2));
+
+    assertThrows(IndexOutOfBoundsException.class, () -> view.moveTo(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.moveTo(-1));
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.indexed;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@SuppressWarnings("mutable")
+@RunWith(JUnit4.class)
+public class IndexedPropertiesTest {
+  @AutoValue
+  abstract static class Metric implements IndexedProperties {
+    abstract String name();
+
+    abstract long count();
+
+    abstract double mean();
+
+    abstract char grade();
+
+    abstract float ratio();
+
+    abstract boolean active();
+
+    @Nullable
+    abstract String comment();
+
+    abstract ImmutableList<String> tags();
+
+    abstract int[] ids();
+
+    static Metric create() {
+      return new AutoValue_IndexedPropertiesTest_Metric(
+          "requests", 23L, 1.5, 'B', 0.25f, true, null, ImmutableList.of("a"), new int[] {7});
+    }
+  }
+
+  private static final Metric METRIC = Metric.create();
+
+  @Test
+  public void metadata() {
+    List<String> names = new ArrayList<>();
+    List<Class<?>> types = new ArrayList<>();
+    for (int i = 0; i < METRIC.propertyCount(); i++) {
+      names.add(METRIC.propertyName(i));
+      types.add(METRIC.propertyType(i));
+    }
+
+    assertThat(names)
+        .containsExactly(
+            "name", "count", "mean", "grade", "ratio", "active", "comment", "tags", "ids")
+        .inOrder();
+    assertThat(types)
+        .containsExactly(
+            String.class,
+            long.class,
+            double.class,
+            char.class,
+            float.class,
+            boolean.class,
+            String.class,
+            ImmutableList.class,
+            int[].class)
+        .inOrder();
+    assertThat(METRIC.isPropertyNullable(6)).isTrue();
+    assertThat(METRIC.isPropertyNullable(0)).isFalse();
+  }
+
+  @Test
+  public void get() {
+    assertThat(METRIC.get(0)).isEqualTo("requests");
+    assertThat(METRIC.get(1)).isEqualTo(23L);
+    assertThat(METRIC.get(6)).isNull();
+    assertThat(METRIC.get(8)).isSameInstanceAs(METRIC.ids());
+    assertThrows(IndexOutOfBoundsException.class, () -> METRIC.get(9));
+    assertThrows(IndexOutOfBoundsException.class, () -> METRIC.get(-1));
+  }
+
+  @Test
+  public void typedGetters() {
+    assertThat(METRIC.getLong(1)).isEqualTo(23L);
+    assertThat(METRIC.getDouble(2)).isEqualTo(1.5);
+    assertThat(METRIC.getInt(3)).isEqualTo('B');
+    assertThat(METRIC.getLong(3)).isEqualTo('B');
+    assertThat(METRIC.getDouble(4)).isEqualTo(0.25);
+    assertThat(METRIC.getBoolean(5)).isTrue();
+  }
+
+  @Test
+  public void typedGettersRejectOtherTypes() {
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> METRIC.getInt(1));
+    assertThat(e).hasMessageThat().contains("count");
+    assertThrows(IllegalArgumentException.class, () -> METRIC.getLong(0));
+    assertThrows(IllegalArgumentException.class, () -> METRIC.getDouble(1));
+    assertThrows(IllegalArgumentException.class, () -> METRIC.getBoolean(0));
+    assertThrows(IndexOutOfBoundsException.class, () -> METRIC.getLong(9));
+  }
+
+  @AutoValue
+  abstract static class Bean implements IndexedProperties {
+    abstract int getWidth();
+
+    abstract boolean isVisible();
+
+    // A method of IndexedProperties that the class implements itself is left alone.
+    @Override
+    public String propertyName(int index) {
+      return "custom";
+    }
+  }
+
+  @Test
+  public void javaBeansNamesAndOwnImplementation() {
+    Bean bean = new AutoValue_IndexedPropertiesTest_Bean(3, false);
+
+    assertThat(bean.propertyCount()).isEqualTo(2);
+    assertThat(bean.propertyName(0)).isEqualTo("custom");
+    assertThat(bean.getInt(0)).isEqualTo(3);
+    assertThat(bean.getBoolean(1)).isFalse();
+    assertThat(bean.toString()).isEqualTo("Bean{width=3, visible=false}");
+  }
+
+  @AutoValue
+  abstract static class Generic<T extends Comparable<T>> implements IndexedProperties {
+    abstract T value();
+  }
+
+  @Test
+  public void generic() {
+    Generic<String> generic = new AutoValue_IndexedPropertiesTest_Generic<>("x");
+
+    assertThat(generic.propertyType(0)).isEqualTo(Comparable.class);
+    assertThat(generic.get(0)).isEqualTo("x");
+  }
+}
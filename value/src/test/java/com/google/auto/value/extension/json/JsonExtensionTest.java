@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json;
+
+import static com.google.common.base.StandardSystemProperty.JAVA_CLASS_PATH;
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+import com.google.auto.value.extension.json.processor.JsonExtension;
+import com.google.auto.value.processor.AutoValueProcessor;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.JavaFileObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class JsonExtensionTest {
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void unsupportedPropertyType() {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Test",
+            "package test;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.json.Json;",
+            "import java.util.List;",
+            "",
+            "@AutoValue",
+            "@Json",
+            "abstract class Test {",
+            "  abstract int count();",
+            "  abstract List<Object> names();",
+            "}");
+    Compilation compilation = compile(file);
+
+    assertThat(compilation).failed();
+    assertThat(compilation)
+        .hadErrorContaining(
+            "@Json properties must be primitives, Strings, enums or @Json classes, or Optionals,"
+                + " Lists or Maps with String keys of those types, not"
+                + " java.util.List<java.lang.Object>")
+        .inFile(file)
+        .onLineContaining("names()");
+  }
+
+  @Test
+  public void genericClass() {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Test",
+            "package test;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.json.Json;",
+            "",
+            "@AutoValue",
+            "@Json",
+            "abstract class Test<T extends Number> {",
+            "  abstract int count();",
+            "}");
+    Compilation compilation = compile(file);
+
+    assertThat(compilation).failed();
+    assertThat(compilation)
+        .hadErrorContaining("@Json classes cannot be generic")
+        .inFile(file)
+        .onLineContaining("class Test");
+  }
+
+  @Test
+  public void codecName() {
+    JavaFileObject file =
+        JavaFileObjects.forSourceLines(
+            "test.Outer",
+            "package test;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.json.Json;",
+            "",
+            "class Outer {",
+            "  @AutoValue",
+            "  @Json",
+            "  abstract static class Inner {",
+            "    abstract int count();",
+            "  }",
+            "}");
+    Compilation compilation = compile(file);
+
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation).generatedSourceFile("test.Outer_InnerJson");
+  }
+
+  @Test
+  public void nestedClassFromClassFile() throws IOException {
+    JavaFileObject item =
+        JavaFileObjects.forSourceLines(
+            "test.Item",
+            "package test;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.json.Json;",
+            "",
+            "@AutoValue",
+            "@Json",
+            "public abstract class Item {",
+            "  public abstract int count();",
+            "}");
+    Compilation itemCompilation = compile(item);
+    assertThat(itemCompilation).succeededWithoutWarnings();
+    File itemClasses = temporaryFolder.newFolder();
+    for (JavaFileObject file : itemCompilation.generatedFiles()) {
+      if (file.getKind() == JavaFileObject.Kind.CLASS) {
+        String path = file.toUri().getPath();
+        File classFile = new File(itemClasses, path.substring(path.indexOf("/test/") + 1));
+        classFile.getParentFile().mkdirs();
+        try (InputStream in = file.openInputStream()) {
+          Files.copy(in, classFile.toPath());
+        }
+      }
+    }
+    List<File> classpath = new ArrayList<>();
+    classpath.add(itemClasses);
+    for (String entry : Splitter.on(File.pathSeparator).split(JAVA_CLASS_PATH.value())) {
+      classpath.add(new File(entry));
+    }
+    JavaFileObject order =
+        JavaFileObjects.forSourceLines(
+            "test.Order",
+            "package test;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.json.Json;",
+            "",
+            "@AutoValue",
+            "@Json",
+            "abstract class Order {",
+            "  abstract Item item();",
+            "}");
+    Compilation compilation =
+        javac()
+            .withProcessors(new AutoValueProcessor(ImmutableList.of(new JsonExtension())))
+            .withClasspath(classpath)
+            .compile(order);
+
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation)
+        .generatedSourceFile("test.OrderJson")
+        .contentsAsUtf8String()
+        .contains("ItemJson.write(");
+  }
+
+  private static Compilation compile(JavaFileObject... javaFileObjects) {
+    return javac()
+        .withProcessors(new AutoValueProcessor(ImmutableList.of(new JsonExtension())))
+        .compile(javaFileObjects);
+  }
+}
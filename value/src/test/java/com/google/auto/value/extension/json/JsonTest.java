@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class JsonTest {
+  enum Status {
+    OPEN,
+    FILLED
+  }
+
+  @AutoValue
+  @Json
+  abstract static class Line {
+    abstract String sku();
+
+    abstract int quantity();
+
+    abstract double price();
+
+    static Builder builder() {
+      return new AutoValue_JsonTest_Line.Builder().setQuantity(1);
+    }
+
+    @AutoValue.Builder
+    abstract static class Builder {
+      abstract Builder setSku(String sku);
+
+      abstract Builder setQuantity(int quantity);
+
+      abstract Builder setPrice(double price);
+
+      abstract Line build();
+    }
+  }
+
+  @AutoValue
+  @Json
+  abstract static class Order {
+    abstract long id();
+
+    abstract String customer();
+
+    abstract Status status();
+
+    @Nullable
+    abstract String note();
+
+    abstract Optional<String> coupon();
+
+    abstract OptionalInt priority();
+
+    abstract ImmutableList<Line> lines();
+
+    abstract List<Integer> codes();
+
+    abstract ImmutableMap<String, Double> taxes();
+
+    abstract Map<String, Line> extras();
+
+    abstract char grade();
+
+    abstract boolean rush();
+
+    static Order create(
+        long id,
+        String customer,
+        Status status,
+        String note,
+        Optional<String> coupon,
+        OptionalInt priority,
+        ImmutableList<Line> lines,
+        List<Integer> codes,
+        ImmutableMap<String, Double> taxes,
+        Map<String, Line> extras,
+        char grade,
+        boolean rush) {
+      return new AutoValue_JsonTest_Order(
+          id, customer, status, note, coupon, priority, lines, codes, taxes, extras, grade, rush);
+    }
+  }
+
+  @AutoValue
+  @Json
+  abstract static class Small {
+    abstract byte b();
+
+    abstract short s();
+
+    abstract char c();
+  }
+
+  private static final Line LINE =
+      Line.builder().setSku("sku-1").setQuantity(2).setPrice(1.5).build();
+
+  private static final Order ORDER =
+      Order.create(
+          -5,
+          "Ann \"A\" \u00e9\ud83d\ude00\n",
+          Status.FILLED,
+          null,
+          Optional.of("SAVE10"),
+          OptionalInt.empty(),
+          ImmutableList.of(LINE, LINE),
+          Arrays.asList(1, 2),
+          ImmutableMap.of("vat", 0.2),
+          new TreeMap<>(ImmutableMap.of("gift", LINE)),
+          'g',
+          true);
+
+  private static String toJson(Order order) throws IOException {
+    Utf8JsonSink sink = new Utf8JsonSink();
+    JsonTest_OrderJson.write(order, sink);
+    return sink.toString();
+  }
+
+  private static Order fromJson(String json) throws IOException {
+    return JsonTest_OrderJson.read(new Utf8JsonSource(json.getBytes(UTF_8)));
+  }
+
+  @Test
+  public void write() throws IOException {
+    assertThat(toJson(ORDER))
+        .isEqualTo(
+            "{\"id\":-5,\"customer\":\"Ann \\\"A\\\" \u00e9\ud83d\ude00\\n\",\"status\":\"FILLED\","
+                + "\"coupon\":\"SAVE10\","
+                + "\"lines\":[{\"sku\":\"sku-1\",\"quantity\":2,\"price\":1.5},"
+                + "{\"sku\":\"sku-1\",\"quantity\":2,\"price\":1.5}],"
+                + "\"codes\":[1,2],\"taxes\":{\"vat\":0.2},"
+                + "\"extras\":{\"gift\":{\"sku\":\"sku-1\",\"quantity\":2,\"price\":1.5}},"
+                + "\"grade\":\"g\",\"rush\":true}");
+  }
+
+  @Test
+  public void roundTrip() throws IOException {
+    assertThat(fromJson(toJson(ORDER))).isEqualTo(ORDER);
+  }
+
+  @Test
+  public void readAnyOrderAndSkipUnknownFields() throws IOException {
+    Order order =
+        fromJson(
+            "{ \"rush\": false, \"unknown\": {\"a\": [1, 2.5e3, null, true, \"\\u0041\"]},"
+                + " \"grade\": \"x\", \"extras\": {}, \"taxes\": {}, \"codes\": [],"
+                + " \"lines\": [{\"price\": 2, \"sku\": \"s\"}], \"note\": null,"
+                + " \"priority\": 3, \"status\": \"OPEN\", \"customer\": \"c\", \"id\": 7 }");
+
+    assertThat(order.id()).isEqualTo(7);
+    assertThat(order.note()).isNull();
+    assertThat(order.coupon()).isEmpty();
+    assertThat(order.priority()).isEqualTo(OptionalInt.of(3));
+    assertThat(order.status()).isEqualTo(Status.OPEN);
+  }
+
+  @Test
+  public void builderDefaults() throws IOException {
+    Line line =
+        JsonTest_LineJson.read(new Utf8JsonSource("{\"sku\":\"s\",\"price\":2}".getBytes(UTF_8)));
+
+    assertThat(line.quantity()).isEqualTo(1);
+    assertThrows(
+        IllegalStateException.class,
+        () -> JsonTest_LineJson.read(new Utf8JsonSource("{\"sku\":\"s\"}".getBytes(UTF_8))));
+  }
+
+  @Test
+  public void missingRequiredProperty() {
+    IOException e = assertThrows(IOException.class, () -> fromJson("{\"id\":1}"));
+
+    assertThat(e).hasMessageThat().isEqualTo("Missing required property: customer");
+  }
+
+  @Test
+  public void smallTypesAreChecked() throws IOException {
+    Small small =
+        JsonTest_SmallJson.read(
+            new Utf8JsonSource("{\"b\":-5,\"s\":300,\"c\":\"x\"}".getBytes(UTF_8)));
+    assertThat(small.b()).isEqualTo((byte) -5);
+    assertThat(small.s()).isEqualTo((short) 300);
+    assertThat(small.c()).isEqualTo('x');
+
+    String[] invalid = {
+      "{\"b\":300,\"s\":0,\"c\":\"x\"}",
+      "{\"b\":0,\"s\":40000,\"c\":\"x\"}",
+      "{\"b\":0,\"s\":0,\"c\":\"\"}",
+      "{\"b\":0,\"s\":0,\"c\":\"xy\"}",
+    };
+    for (String json : invalid) {
+      assertThrows(
+          IOException.class,
+          () -> JsonTest_SmallJson.read(new Utf8JsonSource(json.getBytes(UTF_8))));
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class Utf8JsonSinkTest {
+  @Test
+  public void commas() {
+    Utf8JsonSink sink = new Utf8JsonSink(1);
+    sink.beginObject();
+    sink.name(JsonName.of("a"));
+    sink.beginArray();
+    sink.value(1);
+    sink.beginObject();
+    sink.endObject();
+    sink.nullValue();
+    sink.endArray();
+    sink.name("b");
+    sink.value(true);
+    sink.endObject();
+
+    assertThat(sink.toString()).isEqualTo("{\"a\":[1,{},null],\"b\":true}");
+  }
+
+  @Test
+  public void numbers() {
+    Utf8JsonSink sink = new Utf8JsonSink();
+    sink.beginArray();
+    sink.value(Long.MIN_VALUE);
+    sink.value(Long.MAX_VALUE);
+    sink.value(0);
+    sink.value(-42);
+    sink.value(0.1f);
+    sink.value(-2.5);
+    sink.endArray();
+
+    assertThat(sink.toString())
+        .isEqualTo("[-9223372036854775808,9223372036854775807,0,-42,0.1,-2.5]");
+    assertThrows(IllegalArgumentException.class, () -> sink.value(Double.NaN));
+    assertThrows(IllegalArgumentException.class, () -> sink.value(Float.POSITIVE_INFINITY));
+  }
+
+  @Test
+  public void strings() {
+    Utf8JsonSink sink = new Utf8JsonSink();
+    sink.value("\"\\\n\u0001\u00e9\u20ac\ud83d\ude00\ud83d");
+
+    assertThat(sink.toByteArray())
+        .isEqualTo("\"\\\"\\\\\\n\\u0001\u00e9\u20ac\ud83d\ude00?\"".getBytes(UTF_8));
+  }
+
+  @Test
+  public void reset() {
+    Utf8JsonSink sink = new Utf8JsonSink();
+    sink.value("x");
+    sink.reset();
+    sink.value("y");
+
+    assertThat(sink.toString()).isEqualTo("\"y\"");
+    assertThat(sink.size()).isEqualTo(3);
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.extension.json;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class Utf8JsonSourceTest {
+  private static Utf8JsonSource source(String json) {
+    return new Utf8JsonSource(json.getBytes(UTF_8));
+  }
+
+  @Test
+  public void strings() throws IOException {
+    Utf8JsonSource source =
+        source("[\"plain\", \"\u00e9\ud83d\ude00\", \"a\\\"b\\\\c\\/d\\n\\u00e9\\ud83d\\ude00\"]");
+    source.beginArray();
+
+    assertThat(source.nextString()).isEqualTo("plain");
+    assertThat(source.hasNext()).isTrue();
+    assertThat(source.nextString()).isEqualTo("\u00e9\ud83d\ude00");
+    assertThat(source.hasNext()).isTrue();
+    assertThat(source.nextString()).isEqualTo("a\"b\\c/d\n\u00e9\ud83d\ude00");
+    assertThat(source.hasNext()).isFalse();
+    source.endArray();
+  }
+
+  @Test
+  public void numbers() throws IOException {
+    Utf8JsonSource source =
+        source("[-9223372036854775808, 2147483647, 1.5e-3, -0.25, 12345678901234567890]");
+    source.beginArray();
+
+    assertThat(source.nextLong()).isEqualTo(Long.MIN_VALUE);
+    source.hasNext();
+    assertThat(source.nextInt()).isEqualTo(Integer.MAX_VALUE);
+    source.hasNext();
+    assertThat(source.nextDouble()).isEqualTo(1.5e-3);
+    source.hasNext();
+    assertThat(source.nextDouble()).isEqualTo(-0.25);
+    source.hasNext();
+    assertThrows(IOException.class, source::nextLong);
+    assertThat(source.nextDouble()).isEqualTo(12345678901234567890.0);
+  }
+
+  @Test
+  public void decimalsAgreeWithParseDouble() throws IOException {
+    String[] decimals = {
+      "0.1",
+      "-0.0",
+      "9.99",
+      "123.456",
+      "0.30000000000000004",
+      "999999999999999.9",
+      "1.000000000000001",
+      "00.5",
+    };
+    for (String decimal : decimals) {
+      assertThat(source(decimal).nextDouble()).isEqualTo(Double.parseDouble(decimal));
+    }
+  }
+
+  @Test
+  public void negativeZero() throws IOException {
+    assertThat(source("-0").nextDouble()).isEqualTo(-0.0);
+    Utf8JsonSource source = source("[-0, 0]");
+    source.beginArray();
+
+    assertThat(source.nextDouble()).isEqualTo(-0.0);
+    source.hasNext();
+    assertThat(source.nextDouble()).isEqualTo(0.0);
+  }
+
+  @Test
+  public void malformedNumbers() {
+    String[] numbers = {"+1.5", "+1", "-.5", ".5", "1.", "-", "1e", "1e+", "1.5.5", "1-2", "--1"};
+    for (String number : numbers) {
+      IOException e = assertThrows(IOException.class, () -> source(number).nextDouble());
+      assertThat(e).hasMessageThat().isEqualTo("Malformed number at offset 0");
+    }
+  }
+
+  @Test
+  public void intOutOfRange() throws IOException {
+    Utf8JsonSource source = source("2147483648");
+
+    IOException e = assertThrows(IOException.class, source::nextInt);
+
+    assertThat(e).hasMessageThat().isEqualTo("Number out of range for int at offset 0");
+  }
+
+  @Test
+  public void smallIntegralsOutOfRange() throws IOException {
+    assertThat(source("-128").nextByte()).isEqualTo(Byte.MIN_VALUE);
+    assertThat(source("32767").nextShort()).isEqualTo(Short.MAX_VALUE);
+
+    IOException e = assertThrows(IOException.class, () -> source("300").nextByte());
+    assertThat(e).hasMessageThat().isEqualTo("Number out of range for byte at offset 0");
+    e = assertThrows(IOException.class, () -> source("-32769").nextShort());
+    assertThat(e).hasMessageThat().isEqualTo("Number out of range for short at offset 0");
+  }
+
+  @Test
+  public void nextChar() throws IOException {
+    assertThat(source("\"\\u00e9\"").nextChar()).isEqualTo('\u00e9');
+
+    IOException e = assertThrows(IOException.class, () -> source("\"\"").nextChar());
+    assertThat(e).hasMessageThat().isEqualTo("Expected a string of one character at offset 0");
+    assertThrows(IOException.class, () -> source("\"ab\"").nextChar());
+  }
+
+  @Test
+  public void nextName() throws IOException {
+    JsonName[] names = {JsonName.of("a"), JsonName.of("b\"c")};
+    Utf8JsonSource source = source("{\"a\":1, \"b\\\"c\":2, \"d\":3}");
+    source.beginObject();
+
+    assertThat(source.hasNext()).isTrue();
+    assertThat(source.nextName(names)).isEqualTo(0);
+    source.skipValue();
+    assertThat(source.hasNext()).isTrue();
+    assertThat(source.nextName(names)).isEqualTo(1);
+    source.skipValue();
+    assertThat(source.hasNext()).isTrue();
+    assertThat(source.nextName(names)).isEqualTo(-1);
+    source.skipValue();
+    assertThat(source.hasNext()).isFalse();
+    source.endObject();
+  }
+
+  @Test
+  public void nextNull() throws IOException {
+    Utf8JsonSource source = source("[null, \"x\"]");
+    source.beginArray();
+
+    assertThat(source.nextNull()).isTrue();
+    source.hasNext();
+    assertThat(source.nextNull()).isFalse();
+    assertThat(source.nextString()).isEqualTo("x");
+  }
+
+  @Test
+  public void malformed() {
+    assertThrows(IOException.class, () -> readArray("[1 2]"));
+    assertThrows(IOException.class, () -> readArray("[1,]"));
+    assertThrows(IOException.class, () -> readArray("[1"));
+    assertThrows(IOException.class, () -> source("\"a\nb\"").nextString());
+    assertThrows(IOException.class, () -> source("\"\\x\"").nextString());
+    assertThrows(IOException.class, () -> source("nul").skipValue());
+  }
+
+  private static void readArray(String json) throws IOException {
+    Utf8JsonSource source = source(json);
+    source.beginArray();
+    while (source.hasNext()) {
+      source.skipValue();
+    }
+    source.endArray();
+  }
+}
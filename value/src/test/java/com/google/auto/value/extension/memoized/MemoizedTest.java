@@ -24,11 +24,15 @@ import com.google.auto.value.AutoValue;
 import com.google.auto.value.AutoValue.CopyAnnotations;
 import com.google.auto.value.extension.memoized.MemoizedTest.HashCodeEqualsOptimization.EqualsCounter;
 import com.google.common.collect.ImmutableList;
+import com.google.common.testing.SerializableTester;
 import com.google.errorprone.annotations.Immutable;
 import com.google.errorprone.annotations.ImmutableTypeParameter;
+import java.io.Serializable;
 import java.lang.reflect.AnnotatedType;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import org.junit.Before;
 import org.junit.Test;
@@ -600,4 +604,81 @@ public class MemoizedTest {
           .isTrue();
     }
   }
+
+  @AutoValue
+  abstract static class EagerValue<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    transient int derivedCount;
+
+    abstract T value();
+
+    @Memoized(eager = true)
+    String derived() {
+      derivedCount++;
+      return "derived " + value();
+    }
+
+    @Memoized(eager = true)
+    int derivedLength() {
+      return derived().length();
+    }
+
+    @Memoized(eager = true)
+    @javax.annotation.Nullable
+    String nullable() {
+      return null;
+    }
+
+    @Override
+    @Memoized(eager = true)
+    public abstract int hashCode();
+  }
+
+  @Test
+  public void eager() throws ReflectiveOperationException {
+    EagerValue<String> eager = new AutoValue_MemoizedTest_EagerValue<>("string");
+    assertThat(eager.derivedCount).isEqualTo(1);
+    assertThat(eager.derived()).isEqualTo("derived string");
+    assertThat(eager.derived()).isSameInstanceAs(eager.derived());
+    assertThat(eager.derivedLength()).isEqualTo("derived string".length());
+    assertThat(eager.nullable()).isNull();
+    assertThat(eager.hashCode())
+        .isEqualTo(new AutoValue_MemoizedTest_EagerValue<>("string").hashCode());
+    assertThat(eager.derivedCount).isEqualTo(1);
+
+    Field field = AutoValue_MemoizedTest_EagerValue.class.getDeclaredField("derived");
+    assertThat(Modifier.isFinal(field.getModifiers())).isTrue();
+    assertThat(Modifier.isVolatile(field.getModifiers())).isFalse();
+    assertThat(Modifier.isTransient(field.getModifiers())).isTrue();
+  }
+
+  @Test
+  public void eagerSerialization() {
+    EagerValue<String> eager = new AutoValue_MemoizedTest_EagerValue<>("string");
+    EagerValue<String> copy = SerializableTester.reserializeAndAssert(eager);
+    assertThat(copy.derived()).isEqualTo("derived string");
+    assertThat(copy.derivedLength()).isEqualTo("derived string".length());
+    assertThat(copy.derivedCount).isEqualTo(1);
+  }
+
+  @AutoValue
+  abstract static class EagerNotNullableButReturnsNull {
+    abstract String string();
+
+    @Memoized(eager = true)
+    String notNullable() {
+      return null;
+    }
+  }
+
+  @Test
+  public void eagerNotNullableButReturnsNull() {
+    try {
+      new AutoValue_MemoizedTest_EagerNotNullableButReturnsNull("string");
+      fail();
+    } catch (NullPointerException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("notNullable() cannot return null");
+    }
+  }
 }
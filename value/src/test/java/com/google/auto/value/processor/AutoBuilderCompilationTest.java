@@ -72,19 +72,23 @@ public final class AutoBuilderCompilationTest {
           "  public Baz build() {",
           "    if (set$0 != 0x1",
           "          || this.aString == null) {",
-          "      StringBuilder missing = new StringBuilder();",
-          "      if ((set$0 & 0x1) == 0) {",
-          "        missing.append(\" anInt\");",
-          "      }",
-          "      if (this.aString == null) {",
-          "        missing.append(\" aString\");",
-          "      }",
-          "      throw new IllegalStateException(\"Missing required properties:\" + missing);",
+          "      throw missingRequiredProperties$();",
           "    }",
           "    return new Baz(",
           "        this.anInt,",
           "        this.aString);",
           "  }",
+          "",
+          "  private IllegalStateException missingRequiredProperties$() {",
+          "    StringBuilder missing = new StringBuilder();",
+          "    if ((set$0 & 0x1) == 0) {",
+          "      missing.append(\" anInt\");",
+          "    }",
+          "    if (this.aString == null) {",
+          "      missing.append(\" aString\");",
+          "    }",
+          "    return new IllegalStateException(\"Missing required properties:\" + missing);",
+          "  }",
           "}");
 
   @Test
@@ -566,7 +566,83 @@ public class AutoValueCompilationTest {
   }
 
   @Test
-  public void autoValueMustBeClass() {
+  public void interfaceGeneratesRecord() {
+    double version = Double.parseDouble(JAVA_SPECIFICATION_VERSION.value());
+    assume().that(version).isAtLeast(16.0);
+    JavaFileObject javaFileObject =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.Baz",
+            "package foo.bar;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "",
+            "@AutoValue",
+            "public interface Baz {",
+            "  long buh();",
+            "  String name();",
+            "",
+            "  static Baz create(long buh, String name) {",
+            "    return new AutoValue_Baz(buh, name);",
+            "  }",
+            "}");
+    JavaFileObject expectedOutput =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.AutoValue_Baz",
+            "package foo.bar;",
+            "",
+            GeneratedImport.importGeneratedAnnotationType(),
+            "",
+            "@Generated(\"" + AutoValueProcessor.class.getName() + "\")",
+            "record AutoValue_Baz(long buh, String name) implements Baz {",
+            "  AutoValue_Baz {",
+            "    if (name == null) {",
+            "      throw new NullPointerException(\"Null name\");",
+            "    }",
+            "  }",
+            "}");
+    Compilation compilation =
+        javac()
+            .withProcessors(new AutoValueProcessor())
+            .withOptions("-A" + Nullables.NULLABLE_OPTION + "=")
+            .compile(javaFileObject);
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation)
+        .generatedSourceFile("foo.bar.AutoValue_Baz")
+        .hasSourceEquivalentTo(expectedOutput);
+  }
+
+  @Test
+  public void interfaceWithArrayGeneratesClass() {
+    // A record's equals and hashCode would compare arrays by identity, so we fall back to a class.
+    JavaFileObject javaFileObject =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.Baz",
+            "package foo.bar;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "",
+            "@AutoValue",
+            "public interface Baz {",
+            "  @SuppressWarnings(\"mutable\")",
+            "  byte[] bytes();",
+            "",
+            "  static Baz create(byte[] bytes) {",
+            "    return new AutoValue_Baz(bytes);",
+            "  }",
+            "}");
+    Compilation compilation =
+        javac().withProcessors(new AutoValueProcessor()).compile(javaFileObject);
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation)
+        .generatedSourceFile("foo.bar.AutoValue_Baz")
+        .contentsAsUtf8String()
+        .contains("final class AutoValue_Baz implements Baz {");
+  }
+
+  @Test
+  public void interfaceBeforeRecordsGeneratesClass() {
+    double version = Double.parseDouble(JAVA_SPECIFICATION_VERSION.value());
+    assume().that(version).isAtLeast(16.0);
     JavaFileObject javaFileObject =
         JavaFileObjects.forSourceLines(
             "foo.bar.Baz",
@@ -577,13 +653,279 @@ public class AutoValueCompilationTest {
             "@AutoValue",
             "public interface Baz {",
             "  String buh();",
+            "",
+            "  static Baz create(String buh) {",
+            "    return new AutoValue_Baz(buh);",
+            "  }",
+            "}");
+    Compilation compilation =
+        javac()
+            .withProcessors(new AutoValueProcessor())
+            .withOptions("--release", "11")
+            .compile(javaFileObject);
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation)
+        .generatedSourceFile("foo.bar.AutoValue_Baz")
+        .contentsAsUtf8String()
+        .contains("final class AutoValue_Baz implements Baz {");
+  }
+
+  @Test
+  public void appendTo() {
+    JavaFileObject javaFileObject =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.Baz",
+            "package foo.bar;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import java.util.List;",
+            "",
+            "@AutoValue",
+            "public abstract class Baz {",
+            "  public abstract int anInt();",
+            "  public abstract List<Baz> children();",
+            "",
+            "  abstract void appendTo(StringBuilder sb);",
+            "",
+            "  public static Baz create(int anInt, List<Baz> children) {",
+            "    return new AutoValue_Baz(anInt, children);",
+            "  }",
+            "}");
+    JavaFileObject expectedOutput =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.AutoValue_Baz",
+            "package foo.bar;",
+            "",
+            "import java.util.Iterator;",
+            "import java.util.List;",
+            GeneratedImport.importGeneratedAnnotationType(),
+            "",
+            "@Generated(\"" + AutoValueProcessor.class.getName() + "\")",
+            "final class AutoValue_Baz extends Baz {",
+            "  private final int anInt;",
+            "  private final List<Baz> children;",
+            "",
+            "  AutoValue_Baz(int anInt, List<Baz> children) {",
+            "    this.anInt = anInt;",
+            "    if (children == null) {",
+            "      throw new NullPointerException(\"Null children\");",
+            "    }",
+            "    this.children = children;",
+            "  }",
+            "",
+            "  @Override public int anInt() {",
+            "    return anInt;",
+            "  }",
+            "",
+            "  @Override public List<Baz> children() {",
+            "    return children;",
+            "  }",
+            "",
+            "  @Override void appendTo(StringBuilder sb) {",
+            "    sb.append(\"Baz{anInt=\");",
+            "    sb.append(this.anInt);",
+            "    sb.append(\", children=\");",
+            "    sb.append('[');",
+            "    for (Iterator<? extends Baz> i$ = this.children.iterator(); i$.hasNext();) {",
+            "      Baz e$ = i$.next();",
+            "      if (e$ == null) {",
+            "        sb.append(\"null\");",
+            "      } else {",
+            "        e$.appendTo(sb);",
+            "      }",
+            "      if (i$.hasNext()) {",
+            "        sb.append(\", \");",
+            "      }",
+            "    }",
+            "    sb.append(']');",
+            "    sb.append('}');",
+            "  }",
+            "",
+            "  @Override public String toString() {",
+            "    StringBuilder sb = new StringBuilder(56);",
+            "    appendTo(sb);",
+            "    return sb.toString();",
+            "  }",
+            "",
+            "  @Override public boolean equals(Object o) {",
+            "    if (o == this) {",
+            "      return true;",
+            "    }",
+            "    if (o instanceof Baz) {",
+            "      Baz that = (Baz) o;",
+            "      return this.anInt == that.anInt()",
+            "          && this.children.equals(that.children());",
+            "    }",
+            "    return false;",
+            "  }",
+            "",
+            "  @Override public int hashCode() {",
+            "    int h$ = 1;",
+            "    h$ *= 1000003;",
+            "    h$ ^= anInt;",
+            "    h$ *= 1000003;",
+            "    h$ ^= children.hashCode();",
+            "    return h$;",
+            "  }",
+            "}");
+    Compilation compilation =
+        javac()
+            .withProcessors(new AutoValueProcessor())
+            .withOptions("-A" + Nullables.NULLABLE_OPTION + "=")
+            .compile(javaFileObject);
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation)
+        .generatedSourceFile("foo.bar.AutoValue_Baz")
+        .hasSourceEquivalentTo(expectedOutput);
+  }
+
+  @Test
+  public void appendToWithHandWrittenToString() {
+    JavaFileObject javaFileObject =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.Baz",
+            "package foo.bar;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "",
+            "@AutoValue",
+            "public abstract class Baz {",
+            "  public abstract int anInt();",
+            "",
+            "  abstract void appendTo(StringBuilder sb);",
+            "",
+            "  @Override public String toString() {",
+            "    return \"Baz \" + anInt();",
+            "  }",
+            "}");
+    Compilation compilation =
+        javac().withProcessors(new AutoValueProcessor()).compile(javaFileObject);
+    assertThat(compilation)
+        .hadErrorContaining(
+            "[AutoValueAppendToWithoutToString] An abstract appendTo(StringBuilder) method can only"
+                + " be implemented if AutoValue also implements toString()")
+        .inFile(javaFileObject)
+        .onLineContaining("class Baz");
+  }
+
+  @Test
+  public void appendToWithToPrettyString() {
+    JavaFileObject javaFileObject =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.Baz",
+            "package foo.bar;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import com.google.auto.value.extension.toprettystring.ToPrettyString;",
+            "",
+            "@AutoValue",
+            "public abstract class Baz {",
+            "  public abstract int anInt();",
+            "",
+            "  abstract void appendTo(StringBuilder sb);",
+            "",
+            "  @ToPrettyString",
+            "  @Override public abstract String toString();",
+            "}");
+    Compilation compilation =
+        javac().withProcessors(new AutoValueProcessor()).compile(javaFileObject);
+    assertThat(compilation)
+        .hadErrorContaining("[AutoValueAppendToWithoutToString]")
+        .inFile(javaFileObject)
+        .onLineContaining("class Baz");
+  }
+
+  @Test
+  public void stableHashCode() {
+    JavaFileObject javaFileObject =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.Baz",
+            "package foo.bar;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import java.util.List;",
+            "import java.util.concurrent.TimeUnit;",
+            "",
+            "@AutoValue",
+            "@AutoValue.StableHashCode",
+            "public abstract class Baz {",
+            "  public abstract TimeUnit unit();",
+            "  public abstract Class<?> type();",
+            "  public abstract List<String> names();",
+            "",
+            "  public static Baz create(TimeUnit unit, Class<?> type, List<String> names) {",
+            "    return new AutoValue_Baz(unit, type, names);",
+            "  }",
+            "}");
+    Compilation compilation =
+        javac().withProcessors(new AutoValueProcessor()).compile(javaFileObject);
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation)
+        .generatedSourceFile("foo.bar.AutoValue_Baz")
+        .contentsAsUtf8String()
+        .contains(
+            "    h$ ^= unit.name().hashCode();\n"
+                + "    h$ *= 1000003;\n"
+                + "    h$ ^= type.getName().hashCode();\n"
+                + "    h$ *= 1000003;\n"
+                + "    h$ ^= names.hashCode();\n");
+  }
+
+  @Test
+  public void stableHashCodeUnstableProperty() {
+    JavaFileObject javaFileObject =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.Baz",
+            "package foo.bar;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import java.util.List;",
+            "import java.util.concurrent.TimeUnit;",
+            "",
+            "@AutoValue",
+            "@AutoValue.StableHashCode",
+            "public abstract class Baz {",
+            "  public abstract String name();",
+            "  public abstract Object object();",
+            "  public abstract List<TimeUnit> units();",
+            "}");
+    Compilation compilation =
+        javac().withProcessors(new AutoValueProcessor()).compile(javaFileObject);
+    assertThat(compilation)
+        .hadErrorContaining("Property object of a @StableHashCode class cannot have type")
+        .inFile(javaFileObject)
+        .onLineContaining("Object object();");
+    assertThat(compilation)
+        .hadErrorContaining("Property units of a @StableHashCode class cannot have type")
+        .inFile(javaFileObject)
+        .onLineContaining("List<TimeUnit> units();");
+    assertThat(compilation).hadErrorCount(2);
+  }
+
+  @Test
+  public void stableHashCodeWithExplicitHashCode() {
+    JavaFileObject javaFileObject =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.Baz",
+            "package foo.bar;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "",
+            "@AutoValue",
+            "@AutoValue.StableHashCode",
+            "public abstract class Baz {",
+            "  public abstract String name();",
+            "",
+            "  @Override public int hashCode() {",
+            "    return name().length();",
+            "  }",
             "}");
     Compilation compilation =
         javac().withProcessors(new AutoValueProcessor()).compile(javaFileObject);
     assertThat(compilation)
-        .hadErrorContaining("@AutoValue only applies to classes")
+        .hadWarningContaining("@StableHashCode has no effect")
         .inFile(javaFileObject)
-        .onLineContaining("interface Baz");
+        .onLineContaining("public abstract class Baz");
   }
 
   @Test
@@ -789,25 +1131,6 @@ public class AutoValueCompilationTest {
         .onLineContaining("String[] strings()");
   }
 
-  @Test
-  public void annotationOnInterface() {
-    JavaFileObject javaFileObject =
-        JavaFileObjects.forSourceLines(
-            "foo.bar.Baz",
-            "package foo.bar;",
-            "",
-            "import com.google.auto.value.AutoValue;",
-            "",
-            "@AutoValue",
-            "public interface Baz {}");
-    Compilation compilation =
-        javac().withProcessors(new AutoValueProcessor()).compile(javaFileObject);
-    assertThat(compilation)
-        .hadErrorContaining("AutoValue only applies to classes")
-        .inFile(javaFileObject)
-        .onLineContaining("interface Baz");
-  }
-
   @Test
   public void annotationOnEnum() {
     JavaFileObject javaFileObject =
@@ -1428,17 +1751,7 @@ public class AutoValueCompilationTest {
             "      if (set$0 != 1",
             "          || this.aByteArray == null",
             "          || this.aList == null) {",
-            "        StringBuilder missing = new StringBuilder();",
-            "        if ((set$0 & 1) == 0) {",
-            "            missing.append(\" anInt\");",
-            "        }",
-            "        if (this.aByteArray == null) {",
-            "          missing.append(\" aByteArray\");",
-            "        }",
-            "        if (this.aList == null) {",
-            "          missing.append(\" aList\");",
-            "        }",
-            "        throw new IllegalStateException(\"Missing required properties:\" + missing);",
+            "        throw missingRequiredProperties$();",
             "      }",
             "      return new AutoValue_Baz<T>(",
             "          this.anInt,",
@@ -1449,6 +1762,20 @@ public class AutoValueCompilationTest {
             "          this.anOptionalString,",
             "          this.aNestedAutoValue);",
             "    }",
+            "",
+            "    private IllegalStateException missingRequiredProperties$() {",
+            "      StringBuilder missing = new StringBuilder();",
+            "      if ((set$0 & 1) == 0) {",
+            "          missing.append(\" anInt\");",
+            "      }",
+            "      if (this.aByteArray == null) {",
+            "        missing.append(\" aByteArray\");",
+            "      }",
+            "      if (this.aList == null) {",
+            "        missing.append(\" aList\");",
+            "      }",
+            "      return new IllegalStateException(\"Missing required properties:\" + missing);",
+            "    }",
             "  }",
             "}");
     Compilation compilation =
@@ -1722,17 +2049,7 @@ public class AutoValueCompilationTest {
             "      if (set$0 != 1",
             "          || this.aByteArray == null",
             "          || this.aList == null) {",
-            "        StringBuilder missing = new StringBuilder();",
-            "        if ((set$0 & 1) == 0) {",
-            "            missing.append(\" anInt\");",
-            "        }",
-            "        if (this.aByteArray == null) {",
-            "          missing.append(\" aByteArray\");",
-            "        }",
-            "        if (this.aList == null) {",
-            "          missing.append(\" aList\");",
-            "        }",
-            "        throw new IllegalStateException(\"Missing required properties:\" + missing);",
+            "        throw missingRequiredProperties$();",
             "      }",
             "      return new AutoValue_Baz<T>(",
             "          this.anInt,",
@@ -1742,6 +2059,20 @@ public class AutoValueCompilationTest {
             "          this.anImmutableMap,",
             "          this.anOptionalString);",
             "    }",
+            "",
+            "    private IllegalStateException missingRequiredProperties$() {",
+            "      StringBuilder missing = new StringBuilder();",
+            "      if ((set$0 & 1) == 0) {",
+            "          missing.append(\" anInt\");",
+            "      }",
+            "      if (this.aByteArray == null) {",
+            "        missing.append(\" aByteArray\");",
+            "      }",
+            "      if (this.aList == null) {",
+            "        missing.append(\" aList\");",
+            "      }",
+            "      return new IllegalStateException(\"Missing required properties:\" + missing);",
+            "    }",
             "  }",
             "}");
     Compilation compilation =
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.processor;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.testing.compile.CompilationRule;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests that {@link TypeEncoder#decodeAndReformat} produces exactly the same text as {@link
+ * TypeEncoder#decode} followed by {@link Reformatter#fixup}.
+ */
+@RunWith(JUnit4.class)
+public class DecodeAndReformatTest {
+  @Rule public final CompilationRule compilationRule = new CompilationRule();
+
+  private Types typeUtils;
+  private Elements elementUtils;
+  private TypeMirror javaLangObject;
+
+  @Before
+  public void setUp() {
+    typeUtils = compilationRule.getTypes();
+    elementUtils = compilationRule.getElements();
+    javaLangObject = elementUtils.getTypeElement("java.lang.Object").asType();
+  }
+
+  private void assertEquivalent(String text) throws IOException {
+    String twoPasses =
+        Reformatter.fixup(
+            TypeEncoder.decode(text, elementUtils, typeUtils, "foo.bar", javaLangObject));
+    StringWriter writer = new StringWriter();
+    TypeEncoder.decodeAndReformat(text, elementUtils, typeUtils, "foo.bar", javaLangObject)
+        .writeTo(writer);
+    assertWithMessage("text <%s>", text).that(writer.toString()).isEqualTo(twoPasses);
+  }
+
+  @Test
+  public void simpleClass() throws IOException {
+    assertEquivalent(
+        "\n"
+            + "package foo.bar;\n"
+            + "\n"
+            + "`import`\n"
+            + "\n"
+            + "final class AutoValue_Baz  extends Baz  {\n"
+            + "\n"
+            + "  private final `java.util.List`<`java.lang.String`>  strings ;\n"
+            + "\n"
+            + "  AutoValue_Baz (\n"
+            + "      `java.util.List`<`java.lang.String`> strings  ) {\n"
+            + "    if (strings == null) {\n"
+            + "      throw new `java.lang.NullPointerException`(\"Null strings\");\n"
+            + "    }\n"
+            + "    this.strings = strings;\n"
+            + "  }\n"
+            + "\n"
+            + "\n"
+            + "  @`java.lang.Override`\n"
+            + "  public `java.lang.String` toString() {\n"
+            + "    return \"Baz{\"\n"
+            + "        + \"strings=\" + strings\n"
+            + "        + \"}\";\n"
+            + "  }\n"
+            + "}\n");
+  }
+
+  @Test
+  public void noImports() throws IOException {
+    assertEquivalent("package foo.bar;\n\n`import`\n\nclass Baz {\n  int x ;\n}\n");
+  }
+
+  @Test
+  public void noImportMarker() throws IOException {
+    assertEquivalent("class Baz {\n  `java.util.Map`<`java.lang.String`, int[]> map;\n}\n");
+  }
+
+  @Test
+  public void noFinalNewline() throws IOException {
+    assertEquivalent("`import`\nclass Baz {\n  `java.util.List`<?> list;\n}");
+  }
+
+  @Test
+  public void annotatedQualifiedTypes() throws IOException {
+    // java.awt.List and java.util.List are both referenced, so neither can be imported, and the
+    // `«java.util.List` token decodes to "java.util." rather than nothing.
+    assertEquivalent(
+        "`import`\n"
+            + "class Baz {\n"
+            + "  `java.awt.List` awtList;\n"
+            + "  `«java.util.List`@`java.lang.Deprecated` `»java.util.List`<?> list;\n"
+            + "  `«java.util.Map`@`java.lang.Deprecated` `»java.util.Map`<?, ?> map;\n"
+            + "  abstract void f( `«java.util.Map`@`java.lang.Deprecated` `»java.util.Map` m);\n"
+            + "}\n");
+  }
+
+  @Test
+  public void backquotesInStringsAndComments() throws IOException {
+    assertEquivalent(
+        "`import`\n"
+            + "class Baz {\n"
+            + "  /* `java.util.List` is not decoded here */\n"
+            + "  String s = \"nor `java.util.List` here\"; // nor `java.util.List` here\n"
+            + "  char c = '`';\n"
+            + "  `java.util.List`<?> list;\n"
+            + "}\n");
+  }
+
+  private static final ImmutableList<String> FRAGMENTS =
+      ImmutableList.of(
+          " ",
+          "   ",
+          "\n",
+          "\n    ",
+          "\n\n",
+          "(",
+          ")",
+          "{",
+          "}",
+          ";",
+          ",",
+          ".",
+          "+",
+          "?",
+          "@",
+          "x",
+          "foo",
+          "\"a  `java.util.List` b\"",
+          "/* c  `java.util.List` */",
+          "// c\n",
+          "`java.lang.String`",
+          "`java.util.List`",
+          "`java.awt.List`",
+          "`java.util.Map.Entry`",
+          "`«java.util.Map`",
+          "`»java.util.Map`",
+          "`«java.util.List`",
+          "`»java.util.List`",
+          "`java.util.concurrent.TimeUnit`");
+
+  // Splices random sequences of fragments together, which exercises combinations that our
+  // templates may not currently produce, such as spaces on both sides of a type that decodes to
+  // nothing.
+  @Test
+  public void randomFragments() throws IOException {
+    Random random = new Random(2606);
+    for (int i = 0; i < 2000; i++) {
+      StringBuilder text = new StringBuilder();
+      if (random.nextBoolean()) {
+        text.append("package foo.bar;\n\n`import`");
+      }
+      int length = random.nextInt(40);
+      for (int j = 0; j < length; j++) {
+        text.append(FRAGMENTS.get(random.nextInt(FRAGMENTS.size())));
+      }
+      assertEquivalent(text.toString());
+    }
+  }
+}
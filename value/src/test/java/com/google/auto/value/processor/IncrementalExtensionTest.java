@@ -20,6 +20,12 @@ import static com.google.common.truth.Truth.assertThat;
 
 import com.google.auto.value.extension.AutoValueExtension;
 import com.google.auto.value.extension.AutoValueExtension.IncrementalExtensionType;
+import com.google.auto.value.extension.columnar.processor.ColumnarExtension;
+import com.google.auto.value.extension.diff.processor.DiffExtension;
+import com.google.auto.value.extension.fingerprint.processor.FingerprintExtension;
+import com.google.auto.value.extension.flyweight.processor.FlyweightExtension;
+import com.google.auto.value.extension.indexed.processor.IndexedPropertiesExtension;
+import com.google.auto.value.extension.json.processor.JsonExtension;
 import com.google.auto.value.extension.memoized.processor.MemoizeExtension;
 import com.google.auto.value.extension.serializable.processor.SerializableAutoValueExtension;
 import com.google.auto.value.extension.toprettystring.processor.ToPrettyStringExtension;
@@ -48,6 +54,12 @@ public class IncrementalExtensionTest {
     assertThat(builtInExtensions)
         .comparingElementsUsing(transforming(e -> (Object) e.getClass(), "is class"))
         .containsExactly(
+            ColumnarExtension.class,
+            DiffExtension.class,
+            FingerprintExtension.class,
+            FlyweightExtension.class,
+            IndexedPropertiesExtension.class,
+            JsonExtension.class,
             MemoizeExtension.class,
             SerializableAutoValueExtension.class,
             ToPrettyStringExtension.class);
@@ -19,6 +19,7 @@ import static com.google.common.truth.Truth.assertThat;
 import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.fail;
 
+import com.google.auto.value.extension.AutoValueExtension;
 import com.google.common.collect.ImmutableList;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -133,6 +134,25 @@ public final class SimpleServiceLoaderTest {
     assertThat(classes2).containsExactlyElementsIn(classes1).inOrder();
   }
 
+  @Test
+  public void loadTwiceFromOwnLoader() {
+    // Provider classes are cached for this loader, but each call still makes new instances.
+    ClassLoader loader = SimpleServiceLoader.class.getClassLoader();
+
+    ImmutableList<AutoValueExtension> providers1 =
+        SimpleServiceLoader.load(AutoValueExtension.class, loader);
+    ImmutableList<AutoValueExtension> providers2 =
+        SimpleServiceLoader.load(AutoValueExtension.class, loader);
+
+    assertThat(providers1).isNotEmpty();
+    List<Class<?>> classes1 = providers1.stream().map(Object::getClass).collect(toList());
+    List<Class<?>> classes2 = providers2.stream().map(Object::getClass).collect(toList());
+    assertThat(classes2).containsExactlyElementsIn(classes1).inOrder();
+    for (int i = 0; i < providers1.size(); i++) {
+      assertThat(providers2.get(i)).isNotSameInstanceAs(providers1.get(i));
+    }
+  }
+
   @Test
   public void noProviders() throws Exception {
     ClassLoader loader = loaderForJarWithEntries(CharSequence.class.getName());
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.auto.value.processor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+import static java.util.stream.Collectors.toList;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.CompilationRule;
+import com.google.testing.compile.JavaFileObjects;
+import java.util.List;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.JavaFileObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link TypeLookupCache}. */
+@RunWith(JUnit4.class)
+public class TypeLookupCacheTest {
+  @Rule public final CompilationRule compilationRule = new CompilationRule();
+
+  private TypeLookupCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new TypeLookupCache(compilationRule.getElements(), compilationRule.getTypes());
+  }
+
+  @Test
+  public void getTypeElement() {
+    TypeElement list = cache.getTypeElement("java.util.List");
+    assertThat(list.getQualifiedName().toString()).isEqualTo("java.util.List");
+    assertThat(cache.getTypeElement("java.util.List")).isSameInstanceAs(list);
+    assertThat(cache.getTypeElement("java.util.NoSuchList")).isNull();
+    assertThat(cache.getTypeElement("java.util.NoSuchList")).isNull();
+    assertThat(cache.statistics()).startsWith("type lookups: 2 hits, 2 misses;");
+
+    cache.clear();
+    assertThat(cache.getTypeElement("java.util.List")).isEqualTo(list);
+    assertThat(cache.statistics()).startsWith("type lookups: 2 hits, 3 misses;");
+  }
+
+  private static class Parent {
+    static class Visible {}
+
+    private static class Invisible {}
+  }
+
+  private abstract static class Child extends Parent implements java.util.Map<String, String> {
+    class Inner {}
+  }
+
+  @Test
+  public void nonPrivateDeclaredTypes() {
+    TypeElement child = cache.getTypeElement(Child.class.getCanonicalName());
+    List<TypeMirror> declared = cache.nonPrivateDeclaredTypes(child);
+    List<String> names = declared.stream().map(TypeMirror::toString).collect(toList());
+    assertThat(names)
+        .containsAtLeast(
+            Child.class.getCanonicalName(),
+            Child.Inner.class.getCanonicalName(),
+            Parent.class.getCanonicalName(),
+            Parent.Visible.class.getCanonicalName(),
+            "java.util.Map<K,V>",
+            "java.util.Map.Entry<K,V>",
+            "java.lang.Object");
+    assertThat(names).doesNotContain(Parent.class.getCanonicalName() + ".Invisible");
+
+    assertThat(cache.nonPrivateDeclaredTypes(child)).isSameInstanceAs(declared);
+    // Child, Parent, Map, and Object were each scanned once. Object was found twice, through
+    // Parent and Map, and was scanned only the first time.
+    assertThat(cache.statistics()).endsWith("supertype scans: 2 hits, 4 misses");
+  }
+
+  @Test
+  public void statisticsNote() {
+    JavaFileObject foo =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.Foo",
+            "package foo.bar;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import java.util.List;",
+            "",
+            "@AutoValue",
+            "abstract class Foo {",
+            "  abstract List<String> strings();",
+            "}");
+    JavaFileObject bar =
+        JavaFileObjects.forSourceLines(
+            "foo.bar.Bar",
+            "package foo.bar;",
+            "",
+            "import com.google.auto.value.AutoValue;",
+            "import java.util.List;",
+            "",
+            "@AutoValue",
+            "abstract class Bar {",
+            "  abstract List<String> strings();",
+            "}");
+    Compilation compilation =
+        javac()
+            .withProcessors(new AutoValueProcessor())
+            .withOptions("-A" + TypeLookupCache.STATISTICS_OPTION)
+            .compile(foo, bar);
+    assertThat(compilation).succeededWithoutWarnings();
+    assertThat(compilation).hadNoteContaining("@AutoValue type lookup cache: type lookups:");
+  }
+}